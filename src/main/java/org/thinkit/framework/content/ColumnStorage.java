@@ -0,0 +1,121 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+/**
+ * The interface that abstracts the storage of the attribute values held by
+ * {@link ContentStore} .
+ * <p>
+ * The values are addressed by the slot of the attribute and the row of the
+ * selection node. The {@code null} value means that the attribute is not
+ * defined in the selection node.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+interface ColumnStorage {
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return The number of rows
+     */
+    int rowCount();
+
+    /**
+     * Returns the value of the slot in the row.
+     *
+     * @param slot The slot of the attribute
+     * @param row  The row
+     * @return The value, or {@code null} if the value is not defined
+     */
+    String get(int slot, int row);
+
+    /**
+     * Returns the ID of the value of the slot in the row.
+     * <p>
+     * The rows of a slot with the same ID hold the equal values, so a scan of the
+     * column can evaluate each ID only once and decode only the IDs in its result
+     * with {@link #valueOf(int, int)} . The equal values may have the different
+     * IDs in the storage that does not deduplicate the values.
+     *
+     * @param slot The slot of the attribute
+     * @param row  The row
+     * @return The ID of the value, or {@code -1} if the value is not defined
+     */
+    int idAt(int slot, int row);
+
+    /**
+     * Returns the value of the ID returned by {@link #idAt(int, int)} .
+     *
+     * @param slot The slot of the attribute
+     * @param id   The ID of the value
+     * @return The value
+     */
+    String valueOf(int slot, int id);
+
+    /**
+     * Returns the upper bound of the IDs of the slot, exclusive.
+     *
+     * @param slot The slot of the attribute
+     * @return The upper bound of the IDs
+     */
+    int idLimit(int slot);
+
+    /**
+     * Returns the values of the slot indexed by the row.
+     * <p>
+     * The returned array must not be modified. Depending on the storage, it is
+     * either the column itself or a copy built for each call, so it is used only
+     * to build the indexes when the content is loaded and never by the queries.
+     *
+     * @param slot The slot of the attribute
+     * @return The values of the slot
+     */
+    String[] column(int slot);
+
+    /**
+     * Returns the rows whose value of the slot equals the value passed as an
+     * argument by scanning the column.
+     *
+     * @param slot  The slot of the attribute
+     * @param value The value to be compared
+     * @return The rows in ascending order
+     */
+    int[] findRows(int slot, String value);
+
+    /**
+     * Builds the hash index on the slot.
+     *
+     * @param slot The slot of the attribute
+     * @return The hash index
+     */
+    HashIndex createHashIndex(int slot);
+
+    /**
+     * The hash index mapping the value of an attribute to the rows.
+     */
+    @FunctionalInterface
+    interface HashIndex {
+
+        /**
+         * Returns the rows whose value equals the value passed as an argument.
+         *
+         * @param value The value
+         * @return The rows in ascending order
+         */
+        int[] rows(String value);
+    }
+}
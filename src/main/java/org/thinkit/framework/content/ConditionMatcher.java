@@ -0,0 +1,469 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import lombok.NonNull;
+
+/**
+ * The matcher that resolves the condition IDs matching the conditions by
+ * comparing the operands as UTF-8 byte sequences.
+ * <p>
+ * The operands of all condition nodes are encoded in UTF-8 once when the
+ * matcher is built and stored one after another in one shared buffer, and the
+ * key names are replaced with their IDs. The operands of the conditions are
+ * encoded once per resolution into the scratch buffers reused by each thread,
+ * so testing a condition node compares the byte ranges in place without
+ * decoding or allocating any string or array.
+ * <p>
+ * The condition node matches a conditional map if the operand of each of its
+ * conditions whose key name is included in the map is equal to the value of
+ * the map, where the {@code null} operand matches only the {@code null} value.
+ * The conditions whose key names are not included in the map are ignored. This
+ * is the only implementation of the rule, used by all loaders of the content.
+ * <p>
+ * The conditions keyed by the enum constants implementing {@link Condition} are
+ * resolved by their ordinals. The key name IDs of the constants of each enum
+ * class are looked up once and cached, so the key names are neither converted
+ * nor hashed on the subsequent resolutions.
+ * <p>
+ * The matcher is read-only after it has been built and can be shared between
+ * threads.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ConditionMatcher {
+
+    /**
+     * The offset in the scratch buffer of the key name not included in the
+     * conditional map
+     */
+    private static final int ABSENT_OPERAND = -1;
+
+    /**
+     * The offset in the scratch buffer of the {@code null} operand
+     */
+    private static final int NULL_OPERAND = -2;
+
+    /**
+     * The UTF-8 encoding of the replacement of an unpaired surrogate, which is the
+     * same as {@link String#getBytes(java.nio.charset.Charset)}
+     */
+    private static final byte REPLACEMENT = '?';
+
+    /**
+     * The scratch buffers of each thread
+     */
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    /**
+     * The ID of each key name
+     */
+    private final Map<String, Integer> keyIds;
+
+    /**
+     * The condition IDs of the condition nodes
+     */
+    private final String[] conditionIds;
+
+    /**
+     * The start of the conditions of each condition node, where the start of the
+     * node {@code size} is the number of conditions
+     */
+    private final int[] nodeStarts;
+
+    /**
+     * The key name ID of each condition
+     */
+    private final int[] conditionKeys;
+
+    /**
+     * The offset of the operand of each condition in the shared buffer, or
+     * {@code -1} if the operand is {@code null}
+     */
+    private final int[] operandOffsets;
+
+    /**
+     * The length of the operand of each condition
+     */
+    private final int[] operandLengths;
+
+    /**
+     * The UTF-8 encoded operands
+     */
+    private final byte[] operands;
+
+    /**
+     * The key name IDs of the constants of each enum class implementing
+     * {@link Condition} by the ordinal, where {@code -1} means the key name not
+     * used by any condition node
+     */
+    private final ConcurrentMap<Class<?>, int[]> enumKeyIds;
+
+    /**
+     * Constructor
+     *
+     * @param keyIds         The ID of each key name
+     * @param conditionIds   The condition IDs of the condition nodes
+     * @param nodeStarts     The start of the conditions of each condition node
+     * @param conditionKeys  The key name ID of each condition
+     * @param operandOffsets The offset of the operand of each condition
+     * @param operandLengths The length of the operand of each condition
+     * @param operands       The UTF-8 encoded operands
+     */
+    private ConditionMatcher(@NonNull Map<String, Integer> keyIds, @NonNull String[] conditionIds,
+            @NonNull int[] nodeStarts, @NonNull int[] conditionKeys, @NonNull int[] operandOffsets,
+            @NonNull int[] operandLengths, @NonNull byte[] operands) {
+        this.keyIds = keyIds;
+        this.conditionIds = conditionIds;
+        this.nodeStarts = nodeStarts;
+        this.conditionKeys = conditionKeys;
+        this.operandOffsets = operandOffsets;
+        this.operandLengths = operandLengths;
+        this.operands = operands;
+        this.enumKeyIds = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Returns the matcher of the condition nodes passed as an argument.
+     *
+     * @param conditionNodes The condition nodes
+     * @return The matcher of the condition nodes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ConditionMatcher of(@NonNull List<ConditionNode> conditionNodes) {
+
+        final Map<String, Integer> keyIds = new HashMap<>();
+        final String[] conditionIds = new String[conditionNodes.size()];
+        final int[] nodeStarts = new int[conditionNodes.size() + 1];
+        int conditionCount = 0;
+
+        for (int i = 0; i < conditionIds.length; i++) {
+            final ConditionNode conditionNode = conditionNodes.get(i);
+            conditionIds[i] = conditionNode.getConditionId();
+            nodeStarts[i] = conditionCount;
+            conditionCount += conditionNode.getKeyNames().length;
+        }
+
+        nodeStarts[conditionIds.length] = conditionCount;
+
+        final int[] conditionKeys = new int[conditionCount];
+        final int[] operandOffsets = new int[conditionCount];
+        final int[] operandLengths = new int[conditionCount];
+        final byte[][] encodedOperands = new byte[conditionCount][];
+        int operandSize = 0;
+        int condition = 0;
+
+        for (ConditionNode conditionNode : conditionNodes) {
+            final String[] keyNames = conditionNode.getKeyNames();
+            final String[] nodeOperands = conditionNode.getOperands();
+
+            for (int i = 0; i < keyNames.length; i++, condition++) {
+                conditionKeys[condition] = keyIds.computeIfAbsent(keyNames[i], keyName -> keyIds.size());
+
+                if (nodeOperands[i] == null) {
+                    operandOffsets[condition] = -1;
+                    continue;
+                }
+
+                encodedOperands[condition] = nodeOperands[i].getBytes(StandardCharsets.UTF_8);
+                operandOffsets[condition] = operandSize;
+                operandLengths[condition] = encodedOperands[condition].length;
+                operandSize += operandLengths[condition];
+            }
+        }
+
+        final byte[] operands = new byte[operandSize];
+
+        for (int i = 0; i < conditionCount; i++) {
+            if (encodedOperands[i] != null) {
+                System.arraycopy(encodedOperands[i], 0, operands, operandOffsets[i], operandLengths[i]);
+            }
+        }
+
+        return new ConditionMatcher(keyIds, conditionIds, nodeStarts, conditionKeys, operandOffsets, operandLengths,
+                operands);
+    }
+
+    /**
+     * Returns the condition IDs of the condition nodes matching any of the
+     * conditional maps passed as an argument.
+     *
+     * @param conditions The conditional list to use when matching conditions
+     * @return The condition IDs matching the conditions
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Set<String> resolve(@NonNull List<Map<String, String>> conditions) {
+
+        final Scratch scratch = SCRATCH.get();
+        final int keyCount = this.keyIds.size();
+        scratch.reset(conditions.size() * keyCount);
+
+        for (int i = 0; i < conditions.size(); i++) {
+            for (Entry<String, String> entry : conditions.get(i).entrySet()) {
+                final Integer keyId = this.keyIds.get(entry.getKey());
+
+                if (keyId != null) {
+                    scratch.put(i * keyCount + keyId, entry.getValue());
+                }
+            }
+        }
+
+        return this.resolve(conditions.size(), scratch);
+    }
+
+    /**
+     * Returns the condition IDs of the condition nodes matching any of the
+     * conditional maps keyed by {@link Condition} passed as an argument.
+     * <p>
+     * The key names of the enum constants are resolved by their ordinals, and
+     * the other keys are resolved by {@link Condition#getString()} .
+     *
+     * @param conditions The conditional list to use when matching conditions
+     * @return The condition IDs matching the conditions
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Set<String> resolveConditions(@NonNull List<? extends Map<? extends Condition, String>> conditions) {
+
+        final Scratch scratch = SCRATCH.get();
+        final int keyCount = this.keyIds.size();
+        scratch.reset(conditions.size() * keyCount);
+
+        for (int i = 0; i < conditions.size(); i++) {
+            for (Entry<? extends Condition, String> entry : conditions.get(i).entrySet()) {
+                final int keyId = this.keyIdOf(entry.getKey());
+
+                if (keyId >= 0) {
+                    scratch.put(i * keyCount + keyId, entry.getValue());
+                }
+            }
+        }
+
+        return this.resolve(conditions.size(), scratch);
+    }
+
+    /**
+     * Returns the condition IDs of the condition nodes matching any of the
+     * conditional maps encoded in the scratch buffers.
+     *
+     * @param conditionCount The number of the conditional maps
+     * @param scratch        The scratch buffers holding the encoded operands
+     * @return The condition IDs matching the conditions
+     */
+    private Set<String> resolve(int conditionCount, @NonNull Scratch scratch) {
+
+        final Set<String> matchedConditionIds = new HashSet<>();
+        final int keyCount = this.keyIds.size();
+
+        for (int node = 0; node < this.conditionIds.length && conditionCount > 0; node++) {
+            if (matchedConditionIds.contains(this.conditionIds[node])) {
+                continue;
+            }
+
+            for (int condition = 0; condition < conditionCount; condition++) {
+                if (this.matches(node, condition * keyCount, scratch)) {
+                    matchedConditionIds.add(this.conditionIds[node]);
+                    break;
+                }
+            }
+        }
+
+        return matchedConditionIds;
+    }
+
+    /**
+     * Returns the key name ID of the condition key passed as an argument.
+     *
+     * @param conditionKey The condition key
+     * @return The key name ID, or {@code -1} if no condition node uses the key
+     *         name
+     */
+    private int keyIdOf(@NonNull Condition conditionKey) {
+
+        if (conditionKey instanceof Enum) {
+            final Enum<?> constant = (Enum<?>) conditionKey;
+            return this.enumKeyIds.computeIfAbsent(constant.getDeclaringClass(), this::resolveEnumKeyIds)[constant
+                    .ordinal()];
+        }
+
+        final Integer keyId = this.keyIds.get(conditionKey.getString());
+        return keyId == null ? -1 : keyId;
+    }
+
+    /**
+     * Resolves the key name IDs of the constants of the enum class passed as an
+     * argument.
+     *
+     * @param enumClass The enum class implementing {@link Condition}
+     * @return The key name IDs by the ordinal
+     */
+    private int[] resolveEnumKeyIds(@NonNull Class<?> enumClass) {
+
+        final Object[] constants = enumClass.getEnumConstants();
+        final int[] resolvedKeyIds = new int[constants.length];
+
+        for (int i = 0; i < constants.length; i++) {
+            final Integer keyId = this.keyIds.get(((Condition) constants[i]).getString());
+            resolvedKeyIds[i] = keyId == null ? -1 : keyId;
+        }
+
+        return resolvedKeyIds;
+    }
+
+    /**
+     * Tests whether all conditions of the condition node are met by the encoded
+     * conditional map.
+     *
+     * @param node    The index of the condition node
+     * @param base    The first slot of the conditional map in the scratch
+     *                buffers
+     * @param scratch The scratch buffers holding the encoded operands
+     * @return {@code true} if all conditions are met, otherwise {@code false}
+     */
+    private boolean matches(int node, int base, @NonNull Scratch scratch) {
+
+        for (int i = this.nodeStarts[node], end = this.nodeStarts[node + 1]; i < end; i++) {
+            final int slot = base + this.conditionKeys[i];
+            final int operandOffset = scratch.offsets[slot];
+
+            if (operandOffset == ABSENT_OPERAND) {
+                continue;
+            }
+
+            final int offset = this.operandOffsets[i];
+
+            if (offset < 0 || operandOffset == NULL_OPERAND) {
+                if ((offset < 0) != (operandOffset == NULL_OPERAND)) {
+                    return false;
+                }
+            } else if (!Arrays.equals(this.operands, offset, offset + this.operandLengths[i], scratch.bytes,
+                    operandOffset, operandOffset + scratch.lengths[slot])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * The scratch buffers holding the UTF-8 encoded operands of the conditions
+     * during a resolution, which are reused by each thread.
+     */
+    private static final class Scratch {
+
+        /**
+         * The encoded operands
+         */
+        private byte[] bytes = new byte[64];
+
+        /**
+         * The offset of the operand of each slot in the encoded operands, or
+         * {@link #ABSENT_OPERAND} or {@link #NULL_OPERAND}
+         */
+        private int[] offsets = new int[16];
+
+        /**
+         * The length of the operand of each slot
+         */
+        private int[] lengths = new int[16];
+
+        /**
+         * The size of the encoded operands
+         */
+        private int size;
+
+        /**
+         * Clears the buffers for the number of slots passed as an argument.
+         *
+         * @param slotCount The number of slots, which is the number of the
+         *                  conditional maps multiplied by the number of key names
+         */
+        private void reset(int slotCount) {
+
+            if (this.offsets.length < slotCount) {
+                this.offsets = new int[slotCount];
+                this.lengths = new int[slotCount];
+            }
+
+            Arrays.fill(this.offsets, 0, slotCount, ABSENT_OPERAND);
+            this.size = 0;
+        }
+
+        /**
+         * Encodes the operand passed as an argument in UTF-8 into the slot.
+         *
+         * @param slot    The slot
+         * @param operand The operand, or {@code null}
+         */
+        private void put(int slot, String operand) {
+
+            if (operand == null) {
+                this.offsets[slot] = NULL_OPERAND;
+                return;
+            }
+
+            final int length = operand.length();
+
+            if (this.bytes.length - this.size < length * 3) {
+                this.bytes = Arrays.copyOf(this.bytes, Math.max(this.bytes.length * 2, this.size + length * 3));
+            }
+
+            final byte[] buffer = this.bytes;
+            int position = this.size;
+
+            for (int i = 0; i < length; i++) {
+                final char c = operand.charAt(i);
+
+                if (c < 0x80) {
+                    buffer[position++] = (byte) c;
+                } else if (c < 0x800) {
+                    buffer[position++] = (byte) (0xC0 | c >> 6);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (!Character.isSurrogate(c)) {
+                    buffer[position++] = (byte) (0xE0 | c >> 12);
+                    buffer[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | c & 0x3F);
+                } else if (Character.isHighSurrogate(c) && i + 1 < length
+                        && Character.isLowSurrogate(operand.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, operand.charAt(++i));
+                    buffer[position++] = (byte) (0xF0 | codePoint >> 18);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    buffer[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    buffer[position++] = REPLACEMENT;
+                }
+            }
+
+            this.offsets[slot] = this.size;
+            this.lengths[slot] = position - this.size;
+            this.size = position;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The class that represents a condition node read from the content.
+ * <p>
+ * The key names and the operands of the conditions are held in parallel arrays
+ * in the order defined in the content. The condition nodes are matched against
+ * the conditions by {@link ConditionMatcher} .
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@Getter
+@RequiredArgsConstructor
+final class ConditionNode {
+
+    /**
+     * The condition ID
+     */
+    @NonNull
+    private final String conditionId;
+
+    /**
+     * The key names of the conditions
+     */
+    @NonNull
+    private final String[] keyNames;
+
+    /**
+     * The operands of the conditions
+     */
+    @NonNull
+    private final String[] operands;
+}
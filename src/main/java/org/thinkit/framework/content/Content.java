@@ -14,16 +14,17 @@
 
 package org.thinkit.framework.content;
 
+import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 import org.thinkit.common.base.precondition.Preconditions;
-import org.thinkit.common.catalog.Extension;
 import org.thinkit.framework.content.annotation.ContentMapping;
-import org.thinkit.framework.content.catalog.ContentRoot;
 import org.thinkit.framework.content.entity.ContentEntity;
 
 import lombok.NonNull;
@@ -67,6 +68,18 @@ public interface Content<R extends ContentEntity> {
     /**
      * Refers to the content file associated with the content object passed as an
      * argument and perform the loading process.
+     * <p>
+     * The content file is read with the streaming parser, and the compressed
+     * content file such as {@code "name.json.gz"} is decompressed while it is
+     * read. The content file of a {@link ContentFormat} other than JSON and the
+     * legacy XML content file are loaded into the content store instead.
+     * <p>
+     * The JSON content file is not loaded into the content store by this method,
+     * so the memory used does not depend on the size of the content file, and it
+     * is read again on every call. Once the content store of the content has been
+     * loaded by another method such as {@link #prepareQuery(Content)} or
+     * {@link #loadContentByKey(Content, String)} , the records are selected from
+     * the content store without reading the content file.
      *
      * @param content The content
      * @return A map containing the content data for the {@code content} specified
@@ -81,20 +94,22 @@ public interface Content<R extends ContentEntity> {
      */
     default List<Map<String, String>> loadContent(@NonNull Content<R> content) {
 
-        final Class<?> contentClass = content.getClass();
-        final ContentMapping mapping = contentClass.getAnnotation(ContentMapping.class);
         final Set<Attribute> attributes = this.getAttributes();
-        final List<Map<Condition, String>> conditions = this.getConditions();
 
-        Preconditions.requireNonNull(mapping);
         Preconditions.requireNonNull(attributes);
         Preconditions.requireNonEmpty(attributes);
 
-        final List<Map<String, String>> contents = ContentLoader.load(
-                contentClass.getClassLoader()
-                        .getResourceAsStream(ContentRoot.ROOT.getTag() + mapping.content() + Extension.json()),
-                attributes.stream().map(Attribute::getString).collect(Collectors.toSet()),
-                conditions == null ? new ArrayList<>(0) : this.toStringConditions());
+        final List<Map<String, String>> contents = new ArrayList<>();
+
+        final Optional<ContentStore> store = this.getLoadedContentStore(content);
+
+        if (store.isPresent()) {
+            contents.addAll(store.get().select(this.toStringAttributes(),
+                    this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions()));
+        } else {
+            ContentLoader.forEach(this.getContentStream(content), this.toStringAttributes(),
+                    this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions(), contents::add);
+        }
 
         if (contents.isEmpty()) {
             throw new ContentHandlingException(
@@ -104,21 +119,401 @@ public interface Content<R extends ContentEntity> {
         return contents;
     }
 
+    /**
+     * Refers to the content file associated with the content object passed as an
+     * argument and returns the first record that matches the conditions.
+     * <p>
+     * Unlike {@link #loadContent(Content)} , the loading process stops at the first
+     * matching record, so use this method instead of
+     * {@code loadContent(this).get(0)} when only one record is needed. If the
+     * conditions are specified, the JSON content file is read twice, first only
+     * its condition nodes, so no record is held until the first matching record
+     * is found even if the condition nodes are defined after the selection nodes.
+     *
+     * @param content The content
+     * @return The first record of the content data, or {@link Optional#empty()} if
+     *         no record matches
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    default Optional<Map<String, String>> loadFirstContent(@NonNull Content<R> content) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        final Optional<ContentStore> store = this.getLoadedContentStore(content);
+
+        if (store.isPresent()) {
+            return store.get().selectFirst(this.toStringAttributes(),
+                    this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions());
+        }
+
+        return ContentLoader.loadFirst(() -> this.getContentStream(content), this.toStringAttributes(),
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions());
+    }
+
+    /**
+     * Refers to the content file associated with the content object passed as an
+     * argument and returns the only record that matches the conditions.
+     * <p>
+     * The loading process fails as soon as the second matching record is found.
+     * The JSON content file is read in the same way as
+     * {@link #loadFirstContent(Content)} .
+     *
+     * @param content The content
+     * @return The only record of the content data, or {@link Optional#empty()} if
+     *         no record matches
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If more than one record matches
+     */
+    default Optional<Map<String, String>> loadUniqueContent(@NonNull Content<R> content) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        final Optional<ContentStore> store = this.getLoadedContentStore(content);
+
+        if (store.isPresent()) {
+            return store.get().selectUnique(this.toStringAttributes(),
+                    this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions());
+        }
+
+        return ContentLoader.loadUnique(() -> this.getContentStream(content), this.toStringAttributes(),
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions());
+    }
+
+    /**
+     * Refers to the content store associated with the content object passed as an
+     * argument and returns the records keyed by the enum constants of the
+     * attributes.
+     * <p>
+     * The records are the same as the ones returned by
+     * {@link #loadContent(Content)} , but the attributes and the enum conditions
+     * are resolved to the content by their ordinals only once per enum class, so
+     * use this method when the attributes of the content are defined as an enum.
+     *
+     * @param <A>           The enum type of the attributes
+     * @param content       The content
+     * @param attributeType The enum class of the attributes returned by
+     *                      {@link #getAttributes()}
+     * @return The records keyed by the enum constants of the attributes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception ClassCastException   If an attribute returned by
+     *                                 {@link #getAttributes()} is not a constant
+     *                                 of the enum class
+     * @throws ContentHandlingException If the return value of the implemented
+     *                                  {@link #getAttributes()} method is
+     *                                  {@code null} or empty, or if no record
+     *                                  matches
+     */
+    default <A extends Enum<A> & Attribute> List<EnumMap<A, String>> loadEnumContent(@NonNull Content<R> content,
+            @NonNull Class<A> attributeType) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        final Set<A> enumAttributes = EnumSet.noneOf(attributeType);
+        attributes.forEach(attribute -> enumAttributes.add(attributeType.cast(attribute)));
+
+        final List<EnumMap<A, String>> contents = this.getContentStore(content).selectEnum(attributeType,
+                enumAttributes, this.getConditions() == null ? new ArrayList<>(0) : this.toSplitConditions());
+
+        if (contents.isEmpty()) {
+            throw new ContentHandlingException(
+                    "Could not get a value from the content. Please check the input information or implementation.");
+        }
+
+        return contents;
+    }
+
+    /**
+     * Refers to the content store associated with the content object passed as an
+     * argument and returns the records whose attribute equals the value.
+     * <p>
+     * The content file is loaded into the {@link ContentStore} only at the first
+     * call, and the hash indexes are built on the attributes declared in
+     * {@link ContentMapping#indexes()} . If the attribute passed as an argument is
+     * declared there, the records are looked up without scanning the content.
+     *
+     * @param content   The content
+     * @param attribute The attribute to be compared
+     * @param value     The value to be compared
+     * @return The records whose attribute equals the value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    default List<Map<String, String>> loadContentByIndex(@NonNull Content<R> content, @NonNull Attribute attribute,
+            @NonNull String value) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        return this.getContentStore(content).find(this.toStringAttributes(),
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions(), attribute.getString(),
+                value);
+    }
+
+    /**
+     * Refers to the content store associated with the content object passed as an
+     * argument and returns the records whose attribute starts with the prefix.
+     * <p>
+     * If the attribute passed as an argument is declared in
+     * {@link ContentMapping#prefixIndexes()} , the records are looked up with the
+     * radix tree built when the content file is loaded.
+     *
+     * @param content   The content
+     * @param attribute The attribute to be compared
+     * @param prefix    The prefix to be compared
+     * @return The records whose attribute starts with the prefix
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    default List<Map<String, String>> loadContentByPrefix(@NonNull Content<R> content, @NonNull Attribute attribute,
+            @NonNull String prefix) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        return this.getContentStore(content).findByPrefix(this.toStringAttributes(),
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions(), attribute.getString(),
+                prefix);
+    }
+
+    /**
+     * Refers to the content store associated with the content object passed as an
+     * argument and returns the records whose numeric attribute is in the range.
+     * <p>
+     * If the attribute passed as an argument is declared in
+     * {@link ContentMapping#rangeIndexes()} , the records are looked up by binary
+     * search on the sorted column built when the content file is loaded.
+     *
+     * @param content   The content
+     * @param attribute The attribute to be compared
+     * @param range     The range to be compared
+     * @return The records whose numeric attribute is in the range
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    default List<Map<String, String>> loadContentByRange(@NonNull Content<R> content, @NonNull Attribute attribute,
+            @NonNull NumericRange range) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        return this.getContentStore(content).findByRange(this.toStringAttributes(),
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions(), attribute.getString(),
+                range);
+    }
+
+    /**
+     * Refers to the content store associated with the content object passed as an
+     * argument and returns the distinct values of the attribute.
+     * <p>
+     * The values are collected directly from the column of the content store
+     * without building the records, so use this method instead of
+     * {@link #loadContent(Content)} when only the distinct values of one attribute
+     * are needed.
+     *
+     * @param content   The content
+     * @param attribute The attribute
+     * @return The distinct values in the order of the first appearance
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    default Set<String> loadDistinctValues(@NonNull Content<R> content, @NonNull Attribute attribute) {
+        return this.getContentStore(content).distinct(
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions(), attribute.getString());
+    }
+
+    /**
+     * Refers to the content store associated with the content object passed as an
+     * argument and returns the record whose primary key equals the key.
+     * <p>
+     * The primary key is declared by {@link ContentMapping#primaryKey()} or the
+     * {@code "primaryKey"} in the metadata of the content file, and the record is
+     * fetched from the hash table built when the content file is loaded.
+     *
+     * @param content The content
+     * @param key     The value of the primary key
+     * @return The record whose primary key equals the key, or
+     *         {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the primary key is not declared
+     */
+    default Optional<Map<String, String>> loadContentByKey(@NonNull Content<R> content, @NonNull String key) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        return this.getContentStore(content).get(this.toStringAttributes(),
+                this.getConditions() == null ? new ArrayList<>(0) : this.toStringConditions(), key);
+    }
+
+    /**
+     * Prepares the query that fetches the attributes of this content from the
+     * content store associated with the content object passed as an argument.
+     * <p>
+     * The condition keys of the query are taken from the
+     * {@link #getConditions()} method in the same order as
+     * {@link #loadContent(Content)} uses them, and the returned query is executed
+     * with the operands bound in that order. Hold the returned query and execute
+     * it repeatedly instead of calling {@link #loadContent(Content)} for each
+     * request.
+     *
+     * @param content The content
+     * @return The prepared query
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    default PreparedQuery prepareQuery(@NonNull Content<R> content) {
+
+        final Set<Attribute> attributes = this.getAttributes();
+
+        Preconditions.requireNonNull(attributes);
+        Preconditions.requireNonEmpty(attributes);
+
+        final List<String> conditionKeyNames = new ArrayList<>(0);
+
+        if (this.getConditions() != null) {
+            this.toStringConditions().forEach(condition -> conditionKeyNames.addAll(condition.keySet()));
+        }
+
+        return this.getContentStore(content).prepare(this.toStringAttributes(), conditionKeyNames);
+    }
+
+    /**
+     * Returns the content store of the content object passed as an argument,
+     * loading it from the content file at the first call.
+     *
+     * @param content The content
+     * @return The content store
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument or
+     *                                  the content is not annotated with
+     *                                  {@link ContentMapping}
+     */
+    private ContentStore getContentStore(@NonNull Content<R> content) {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(content.getClass());
+
+        Preconditions.requireNonNull(descriptor.getMapping());
+
+        return ContentStoreCache.get(content.getClass(), () -> {
+            if (descriptor.isXml()) {
+                return ContentStore.loadXml(descriptor.openContentStream(), descriptor.getDefinition());
+            }
+
+            if (descriptor.getFormat() != null) {
+                return ContentStore.load(descriptor.openContentStream(), descriptor.getFormat(),
+                        descriptor.getDefinition());
+            }
+
+            return ContentStore.load(descriptor.openContentStream(), descriptor.getDefinition());
+        });
+    }
+
+    /**
+     * Returns the content store of the content object passed as an argument if
+     * the records are selected from it. The content file other than JSON is read
+     * only through the content store, which is loaded at the first call. The
+     * content store of the JSON content file is returned only if it has already
+     * been loaded, and the JSON content file is read with the streaming parser
+     * otherwise.
+     *
+     * @param content The content
+     * @return The content store, or {@link Optional#empty()} if the content file
+     *         is read with the streaming parser
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private Optional<ContentStore> getLoadedContentStore(@NonNull Content<R> content) {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(content.getClass());
+
+        if (descriptor.isXml() || descriptor.getFormat() != null) {
+            return Optional.of(this.getContentStore(content));
+        }
+
+        return ContentStoreCache.getIfLoaded(content.getClass());
+    }
+
+    /**
+     * Returns the stream of the content file mapped to the content object passed
+     * as an argument by {@link ContentMapping} .
+     * <p>
+     * The mapping and the resource path are resolved only once for each content
+     * class by {@link ContentDescriptor} .
+     *
+     * @param content The content
+     * @return The stream of the content file
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument or
+     *                                  the content is not annotated with
+     *                                  {@link ContentMapping}
+     */
+    private InputStream getContentStream(@NonNull Content<R> content) {
+        return ContentDescriptor.of(content.getClass()).openContentStream();
+    }
+
+    /**
+     * Converts the set of attributes obtained from the {@link #getAttributes()}
+     * method into the set of attribute names.
+     * <p>
+     * The names are cached by {@link ContentDescriptor} while the
+     * {@link #getAttributes()} method returns the same set.
+     *
+     * @return The set of attribute names
+     */
+    private Set<String> toStringAttributes() {
+        return ContentDescriptor.of(this.getClass()).toAttributeNames(this.getAttributes());
+    }
+
     /**
      * Converts the list of conditions obtained from the {@link #getConditions()}
      * method into a suitable format as an argument of the
      * {@link ContentLoader#load(java.io.InputStream, Set, List)} method and returns
      * it.
+     * <p>
+     * The converted conditions are cached by {@link ContentDescriptor} while the
+     * {@link #getConditions()} method returns the equal list.
      *
      * @return The converted condition list
      */
     private List<Map<String, String>> toStringConditions() {
+        return ContentDescriptor.of(this.getClass()).toStringConditions(this.getConditions());
+    }
+
+    /**
+     * Splits the list of conditions obtained from the {@link #getConditions()}
+     * method into the conditional maps of one condition each, in the same way as
+     * {@link #toStringConditions()} , keeping the condition keys as they are.
+     *
+     * @return The split condition list
+     */
+    private List<Map<Condition, String>> toSplitConditions() {
 
-        final List<Map<String, String>> conditions = new ArrayList<>(0);
+        final List<Map<Condition, String>> conditions = new ArrayList<>(0);
 
         this.getConditions().forEach(condition -> {
             condition.forEach((conditionKey, operand) -> {
-                conditions.add(Map.of(conditionKey.getString(), operand));
+                conditions.add(Map.of(conditionKey, operand));
             });
         });
 
@@ -0,0 +1,531 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import lombok.NonNull;
+
+/**
+ * The bundle that packs multiple content files into one file with a header
+ * offset table, so that each content is located by its name in constant time.
+ * <p>
+ * The bundle file is written by {@link ContentBundleWriter} and consists of the
+ * following regions in the big-endian byte order:
+ *
+ * <pre>
+ * header      : magic (int), version (int), entry count (int), hash table capacity (int)
+ * hash table  : entry index plus one (int) for each bucket, where 0 means an empty bucket
+ * entry table : name offset (int), name length (int), data offset (long), data length (long),
+ *               compression code (int), extension length (int) for each entry
+ * names       : the UTF-8 encoded name of each content followed by the extension of its file
+ * data        : the bytes of the content files
+ * </pre>
+ * <p>
+ * The name of a content is its path relative to the content root without the
+ * extension, which is the same as {@link org.thinkit.framework.content.annotation.ContentMapping#content()}
+ * . The extension of the content file, such as {@code ".json"} or
+ * {@code ".csv"} , is stored with each entry and returned by
+ * {@link #getExtension(String)} , so the format of the content is known
+ * without looking up the class path. The bytes of the content file are stored
+ * as they are, so the content compressed in one of the formats of
+ * {@link ContentCompression} is decompressed while it is read. The compression
+ * is identified by {@link ContentCompression#getCode()} , which never changes
+ * when the compression formats are added or reordered.
+ * <p>
+ * The bundle file of the version {@code 1} , whose entries have no extension,
+ * is still readable, and all of its contents are JSON contents.
+ * <p>
+ * The bundle file is mapped into memory when it is opened, and the contents are
+ * read from the mapped buffer without any further I/O call. The bundle is
+ * read-only and can be shared between threads. When a bundle is installed by
+ * {@link #install(ContentBundle)} , {@link Content} reads the contents from the
+ * bundle instead of looking up the resources on the class path.
+ *
+ * <pre>
+ * Install the bundle at the start of the application:
+ * <code>ContentBundle.install(ContentBundle.open(Path.of("content.bundle")));</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public final class ContentBundle implements Closeable {
+
+    /**
+     * The magic number of the bundle file ({@code "CFB1"})
+     */
+    static final int MAGIC = 0x43464231;
+
+    /**
+     * The version of the bundle format
+     */
+    static final int VERSION = 2;
+
+    /**
+     * The version of the bundle format whose entries have no extension
+     */
+    private static final int VERSION_WITHOUT_EXTENSION = 1;
+
+    /**
+     * The extension of the contents of the bundle file without extension
+     */
+    private static final String DEFAULT_EXTENSION = ".json";
+
+    /**
+     * The size of the header
+     */
+    static final int HEADER_SIZE = 16;
+
+    /**
+     * The size of an entry of the entry table
+     */
+    static final int ENTRY_SIZE = 32;
+
+    /**
+     * The size of an entry of the entry table without extension
+     */
+    private static final int ENTRY_SIZE_WITHOUT_EXTENSION = 28;
+
+    /**
+     * The bundle installed for the contents, or {@code null}
+     */
+    private static volatile ContentBundle installed;
+
+    /**
+     * The mapped bundle file
+     */
+    private final ByteBuffer buffer;
+
+    /**
+     * The number of entries
+     */
+    private final int entryCount;
+
+    /**
+     * The capacity of the hash table, which is a power of two
+     */
+    private final int capacity;
+
+    /**
+     * The offset of the entry table
+     */
+    private final int entryTableOffset;
+
+    /**
+     * The size of an entry of the entry table
+     */
+    private final int entrySize;
+
+    /**
+     * {@code true} if the bundle has been closed, otherwise {@code false}
+     */
+    private volatile boolean closed;
+
+    /**
+     * Constructor
+     *
+     * @param buffer The mapped bundle file
+     *
+     * @throws ContentHandlingException If the bundle file is malformed
+     */
+    private ContentBundle(@NonNull ByteBuffer buffer) {
+
+        this.buffer = buffer.order(ByteOrder.BIG_ENDIAN);
+
+        try {
+            if (buffer.getInt(0) != MAGIC) {
+                throw new ContentHandlingException("The file is not a content bundle.");
+            }
+
+            final int version = buffer.getInt(4);
+
+            if (version != VERSION && version != VERSION_WITHOUT_EXTENSION) {
+                throw new ContentHandlingException(
+                        String.format("Unsupported version %d of the content bundle.", version));
+            }
+
+            this.entrySize = version == VERSION ? ENTRY_SIZE : ENTRY_SIZE_WITHOUT_EXTENSION;
+
+            this.entryCount = buffer.getInt(8);
+            this.capacity = buffer.getInt(12);
+        } catch (IndexOutOfBoundsException e) {
+            throw new ContentHandlingException("The content bundle is truncated.", e);
+        }
+
+        if (this.entryCount < 0 || this.capacity <= this.entryCount || Integer.bitCount(this.capacity) != 1) {
+            throw new ContentHandlingException("The header of the content bundle is malformed.");
+        }
+
+        this.entryTableOffset = HEADER_SIZE + this.capacity * Integer.BYTES;
+
+        if ((long) this.entryTableOffset + (long) this.entryCount * this.entrySize > buffer.limit()) {
+            throw new ContentHandlingException("The content bundle is truncated.");
+        }
+    }
+
+    /**
+     * Opens the bundle file passed as an argument and maps it into memory.
+     *
+     * @param bundleFile The path of the bundle file
+     * @return The bundle
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the bundle file cannot be read or is
+     *                                  malformed
+     */
+    public static ContentBundle open(@NonNull Path bundleFile) {
+        try (FileChannel channel = FileChannel.open(bundleFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new ContentHandlingException(
+                        String.format("The content bundle %s exceeds the maximum size.", bundleFile));
+            }
+
+            return new ContentBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new ContentHandlingException(String.format("Could not open the content bundle %s.", bundleFile), e);
+        }
+    }
+
+    /**
+     * Returns the bundle of the bytes passed as an argument. The array must not
+     * be modified after it is passed.
+     *
+     * @param bundle The bytes of the bundle file
+     * @return The bundle
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the bundle is malformed
+     */
+    public static ContentBundle of(@NonNull byte[] bundle) {
+        return new ContentBundle(ByteBuffer.wrap(bundle));
+    }
+
+    /**
+     * Installs the bundle passed as an argument, from which {@link Content} reads
+     * the contents included in it. The bundle installed before is replaced, and
+     * the content stores loaded by {@link Content} are evicted, so the contents
+     * are loaded from the bundle at the next access.
+     *
+     * @param bundle The bundle
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static void install(@NonNull ContentBundle bundle) {
+        installed = bundle;
+        ContentStoreCache.clear();
+    }
+
+    /**
+     * Uninstalls the bundle, so that {@link Content} reads the contents from the
+     * class path again. The content stores loaded by {@link Content} are
+     * evicted.
+     */
+    public static void uninstall() {
+        installed = null;
+        ContentStoreCache.clear();
+    }
+
+    /**
+     * Returns the installed bundle.
+     *
+     * @return The installed bundle, or {@link Optional#empty()} if no bundle is
+     *         installed
+     */
+    public static Optional<ContentBundle> getInstalled() {
+        return Optional.ofNullable(installed);
+    }
+
+    /**
+     * Returns the number of contents in the bundle.
+     *
+     * @return The number of contents
+     */
+    public int size() {
+        return this.entryCount;
+    }
+
+    /**
+     * Returns the names of the contents in the bundle in the order they were
+     * written.
+     *
+     * @return The unmodifiable list of the names
+     */
+    public List<String> getNames() {
+
+        final List<String> names = new ArrayList<>(this.entryCount);
+
+        for (int entry = 0; entry < this.entryCount; entry++) {
+            names.add(this.getName(entry));
+        }
+
+        return Collections.unmodifiableList(names);
+    }
+
+    /**
+     * Tests whether the bundle contains the content passed as an argument.
+     *
+     * @param name The name of the content
+     * @return {@code true} if the bundle contains the content, otherwise
+     *         {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean contains(@NonNull String name) {
+        return this.find(name) >= 0;
+    }
+
+    /**
+     * Returns the extension of the content file passed as an argument without the
+     * suffix of its compression format, such as {@code ".json"} or
+     * {@code ".csv"} .
+     *
+     * @param name The name of the content
+     * @return The extension of the content file, or {@link Optional#empty()} if
+     *         the bundle does not contain the content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the bundle has been closed
+     */
+    public Optional<String> getExtension(@NonNull String name) {
+
+        final int entry = this.find(name);
+
+        if (entry < 0) {
+            return Optional.empty();
+        }
+
+        if (this.entrySize == ENTRY_SIZE_WITHOUT_EXTENSION) {
+            return Optional.of(DEFAULT_EXTENSION);
+        }
+
+        final int position = this.entryTableOffset + entry * this.entrySize;
+        final byte[] extension = new byte[this.buffer.getInt(position + 28)];
+        this.buffer.get(this.buffer.getInt(position) + this.buffer.getInt(position + 4), extension);
+
+        return Optional.of(new String(extension, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Opens the stream of the content passed as an argument. If the content is
+     * compressed, the returned stream decompresses it while it is read.
+     *
+     * @param name The name of the content
+     * @return The stream of the content, or {@link Optional#empty()} if the
+     *         bundle does not contain the content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the bundle has been closed or the
+     *                                  content is malformed
+     */
+    public Optional<InputStream> openContent(@NonNull String name) {
+
+        final int entry = this.find(name);
+
+        if (entry < 0) {
+            return Optional.empty();
+        }
+
+        final int position = this.entryTableOffset + entry * this.entrySize;
+        final long dataOffset = this.buffer.getLong(position + 8);
+        final long dataLength = this.buffer.getLong(position + 16);
+        final Optional<ContentCompression> compression = ContentCompression.ofCode(this.buffer.getInt(position + 24));
+
+        if (dataOffset < 0 || dataLength < 0 || dataOffset + dataLength > this.buffer.limit()
+                || compression.isEmpty()) {
+            throw new ContentHandlingException(String.format("The entry of the content %s is malformed.", name));
+        }
+
+        try {
+            return Optional.of(compression.get()
+                    .decompress(new ByteBufferInputStream(this.buffer.slice((int) dataOffset, (int) dataLength))));
+        } catch (IOException e) {
+            throw new ContentHandlingException(String.format("Could not decompress the content %s.", name), e);
+        }
+    }
+
+    /**
+     * Closes the bundle. The streams opened before remain readable, and the
+     * mapped memory is released when they become unreachable.
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+
+        if (installed == this) {
+            installed = null;
+        }
+    }
+
+    /**
+     * Returns the index of the entry of the content passed as an argument by the
+     * hash table.
+     *
+     * @param name The name of the content
+     * @return The index of the entry, or {@code -1} if the bundle does not
+     *         contain the content
+     *
+     * @throws ContentHandlingException If the bundle has been closed
+     */
+    private int find(@NonNull String name) {
+
+        if (this.closed) {
+            throw new ContentHandlingException("The content bundle has been closed.");
+        }
+
+        final byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+        final int mask = this.capacity - 1;
+
+        for (int bucket = hash(name) & mask;; bucket = (bucket + 1) & mask) {
+            final int entry = this.buffer.getInt(HEADER_SIZE + bucket * Integer.BYTES) - 1;
+
+            if (entry < 0) {
+                return -1;
+            }
+
+            if (entry >= this.entryCount) {
+                throw new ContentHandlingException("The hash table of the content bundle is malformed.");
+            }
+
+            if (this.nameEquals(entry, encodedName)) {
+                return entry;
+            }
+        }
+    }
+
+    /**
+     * Tests whether the name of the entry equals the encoded name.
+     *
+     * @param entry       The index of the entry
+     * @param encodedName The UTF-8 encoded name
+     * @return {@code true} if the name of the entry equals the encoded name,
+     *         otherwise {@code false}
+     */
+    private boolean nameEquals(int entry, @NonNull byte[] encodedName) {
+
+        final int position = this.entryTableOffset + entry * this.entrySize;
+        final int nameLength = this.buffer.getInt(position + 4);
+
+        if (nameLength != encodedName.length) {
+            return false;
+        }
+
+        final int nameOffset = this.buffer.getInt(position);
+
+        for (int i = 0; i < nameLength; i++) {
+            if (this.buffer.get(nameOffset + i) != encodedName[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Returns the name of the entry.
+     *
+     * @param entry The index of the entry
+     * @return The name of the entry
+     */
+    private String getName(int entry) {
+
+        final int position = this.entryTableOffset + entry * this.entrySize;
+        final byte[] name = new byte[this.buffer.getInt(position + 4)];
+        this.buffer.get(this.buffer.getInt(position), name);
+
+        return new String(name, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the hash of the name of the content, which is shared with
+     * {@link ContentBundleWriter} .
+     *
+     * @param name The name of the content
+     * @return The hash of the name
+     */
+    static int hash(@NonNull String name) {
+        final int hashCode = name.hashCode();
+        return hashCode ^ (hashCode >>> 16);
+    }
+
+    /**
+     * The input stream that reads the bytes of the buffer.
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        /**
+         * The buffer
+         */
+        private final ByteBuffer buffer;
+
+        /**
+         * Constructor
+         *
+         * @param buffer The buffer
+         */
+        private ByteBufferInputStream(@NonNull ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return this.buffer.hasRemaining() ? this.buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+
+            if (length == 0) {
+                return 0;
+            }
+
+            if (!this.buffer.hasRemaining()) {
+                return -1;
+            }
+
+            final int read = Math.min(length, this.buffer.remaining());
+
+            this.buffer.get(bytes, offset, read);
+
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+
+            final int skipped = (int) Math.max(0, Math.min(n, this.buffer.remaining()));
+            this.buffer.position(this.buffer.position() + skipped);
+
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return this.buffer.remaining();
+        }
+    }
+}
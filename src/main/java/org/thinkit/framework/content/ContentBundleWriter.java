@@ -0,0 +1,304 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.thinkit.common.catalog.Extension;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * The class that writes the content files under a directory into one
+ * {@link ContentBundle} file.
+ * <p>
+ * The content files are the files with the extension {@code ".json"} ,
+ * {@code ".xml"} or the extension of one of the available
+ * {@link ContentFormat} , such as {@code ".csv"} , and the ones compressed in
+ * one of the formats of {@link ContentCompression} , such as
+ * {@code ".json.gz"} . The other files are ignored. The extension of each
+ * content file is written with its entry, so the content is read in its own
+ * format from the bundle. The name of each content is its path relative to the
+ * directory without the extension, so the directory of the content root gives
+ * the names mapped by
+ * {@link org.thinkit.framework.content.annotation.ContentMapping#content()} .
+ * The contents are written in the order of their names, so the same directory
+ * always produces the same bundle file.
+ * <p>
+ * The {@link #main(String[])} method is the entry point for the build tools.
+ *
+ * <pre>
+ * Bundle the contents of the resources in Gradle:
+ * <code>
+ * task bundleContent(type: JavaExec) {
+ *     classpath = sourceSets.main.runtimeClasspath
+ *     main = 'org.thinkit.framework.content.ContentBundleWriter'
+ *     args = ["$buildDir/resources/main/content", "$buildDir/content.bundle"]
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ContentBundleWriter {
+
+    /**
+     * Writes the content files under the directory passed as the first argument
+     * into the bundle file passed as the second argument.
+     *
+     * @param args The directory of the content files and the path of the bundle
+     *             file
+     *
+     * @exception IllegalArgumentException If the number of arguments is not two
+     * @throws ContentHandlingException    If the content files cannot be read or
+     *                                     the bundle file cannot be written
+     */
+    public static void main(String[] args) {
+
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ContentBundleWriter <content directory> <bundle file>");
+        }
+
+        write(Path.of(args[0]), Path.of(args[1]));
+    }
+
+    /**
+     * Writes the content files under the directory passed as an argument into the
+     * bundle file.
+     *
+     * @param contentDirectory The directory of the content files
+     * @param bundleFile       The path of the bundle file
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content files cannot be read, the
+     *                                  same name is mapped to multiple content
+     *                                  files or the bundle file cannot be written
+     */
+    public static void write(@NonNull Path contentDirectory, @NonNull Path bundleFile) {
+
+        final List<Entry> entries = getEntries(contentDirectory);
+        final int capacity = Integer.highestOneBit(Math.max(entries.size(), 1) * 2 - 1) << 1;
+        final int[] hashTable = new int[capacity];
+        final byte[][] names = new byte[entries.size()][];
+        final byte[][] extensions = new byte[entries.size()][];
+        final long[] dataLengths = new long[entries.size()];
+
+        long namesSize = 0;
+
+        for (int i = 0; i < entries.size(); i++) {
+            final Entry entry = entries.get(i);
+            names[i] = entry.name.getBytes(StandardCharsets.UTF_8);
+            extensions[i] = entry.extension.getBytes(StandardCharsets.UTF_8);
+            namesSize += names[i].length + extensions[i].length;
+
+            int bucket = ContentBundle.hash(entry.name) & (capacity - 1);
+
+            while (hashTable[bucket] != 0) {
+                bucket = (bucket + 1) & (capacity - 1);
+            }
+
+            hashTable[bucket] = i + 1;
+
+            try {
+                dataLengths[i] = Files.size(entry.path);
+            } catch (IOException e) {
+                throw new ContentHandlingException(String.format("Could not read the content file %s.", entry.path),
+                        e);
+            }
+        }
+
+        final long namesOffset = ContentBundle.HEADER_SIZE + (long) capacity * Integer.BYTES
+                + (long) entries.size() * ContentBundle.ENTRY_SIZE;
+        long bundleSize = namesOffset + namesSize;
+
+        for (long dataLength : dataLengths) {
+            bundleSize += dataLength;
+        }
+
+        if (bundleSize > Integer.MAX_VALUE) {
+            throw new ContentHandlingException("The content bundle exceeds the maximum size.");
+        }
+
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(bundleFile)))) {
+            output.writeInt(ContentBundle.MAGIC);
+            output.writeInt(ContentBundle.VERSION);
+            output.writeInt(entries.size());
+            output.writeInt(capacity);
+
+            for (int bucket : hashTable) {
+                output.writeInt(bucket);
+            }
+
+            long nameOffset = namesOffset;
+            long dataOffset = namesOffset + namesSize;
+
+            for (int i = 0; i < entries.size(); i++) {
+                output.writeInt((int) nameOffset);
+                output.writeInt(names[i].length);
+                output.writeLong(dataOffset);
+                output.writeLong(dataLengths[i]);
+                output.writeInt(entries.get(i).compression.getCode());
+                output.writeInt(extensions[i].length);
+
+                nameOffset += names[i].length + extensions[i].length;
+                dataOffset += dataLengths[i];
+            }
+
+            for (int i = 0; i < entries.size(); i++) {
+                output.write(names[i]);
+                output.write(extensions[i]);
+            }
+
+            for (Entry entry : entries) {
+                Files.copy(entry.path, output);
+            }
+        } catch (IOException e) {
+            throw new ContentHandlingException(String.format("Could not write the content bundle %s.", bundleFile),
+                    e);
+        }
+    }
+
+    /**
+     * Returns the entries of the content files under the directory in the order
+     * of their names.
+     *
+     * @param contentDirectory The directory of the content files
+     * @return The entries of the content files
+     *
+     * @throws ContentHandlingException If the directory cannot be read or the same
+     *                                  name is mapped to multiple content files
+     */
+    private static List<Entry> getEntries(@NonNull Path contentDirectory) {
+
+        final List<Path> files;
+
+        try (Stream<Path> paths = Files.walk(contentDirectory)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new ContentHandlingException(
+                    String.format("Could not read the content directory %s.", contentDirectory), e);
+        }
+
+        final List<Entry> entries = new ArrayList<>(files.size());
+        final Set<String> names = new HashSet<>(files.size());
+
+        for (Path file : files) {
+            final String relativePath = contentDirectory.relativize(file).toString().replace(file.getFileSystem()
+                    .getSeparator(), "/");
+            final ContentCompression compression = ContentCompression.of(relativePath);
+            final String baseName = relativePath.substring(0,
+                    relativePath.length() - compression.getSuffix().length());
+            final Optional<String> extension = getExtension(baseName);
+
+            if (extension.isEmpty()) {
+                continue;
+            }
+
+            final String name = baseName.substring(0, baseName.length() - extension.get().length());
+
+            if (!names.add(name)) {
+                throw new ContentHandlingException(
+                        String.format("The content %s is defined by multiple content files.", name));
+            }
+
+            entries.add(new Entry(name, file, extension.get(), compression));
+        }
+
+        entries.sort((entry, other) -> entry.name.compareTo(other.name));
+
+        return entries;
+    }
+
+    /**
+     * Returns the extension of the content file passed as an argument.
+     *
+     * @param baseName The path of the content file without the suffix of its
+     *                 compression format
+     * @return The extension of the content file, or {@link Optional#empty()} if
+     *         the file is not a content file
+     */
+    private static Optional<String> getExtension(@NonNull String baseName) {
+
+        if (baseName.endsWith(Extension.json())) {
+            return Optional.of(Extension.json());
+        }
+
+        if (baseName.endsWith(ContentDescriptor.XML_EXTENSION)) {
+            return Optional.of(ContentDescriptor.XML_EXTENSION);
+        }
+
+        return ContentFormats.ofFileName(baseName).map(ContentFormat::getExtension);
+    }
+
+    /**
+     * The content file to be written into the bundle.
+     */
+    private static final class Entry {
+
+        /**
+         * The name of the content
+         */
+        private final String name;
+
+        /**
+         * The path of the content file
+         */
+        private final Path path;
+
+        /**
+         * The extension of the content file without the suffix of its compression
+         * format
+         */
+        private final String extension;
+
+        /**
+         * The compression format of the content file
+         */
+        private final ContentCompression compression;
+
+        /**
+         * Constructor
+         *
+         * @param name        The name of the content
+         * @param path        The path of the content file
+         * @param extension   The extension of the content file
+         * @param compression The compression format of the content file
+         */
+        private Entry(@NonNull String name, @NonNull Path path, @NonNull String extension,
+                @NonNull ContentCompression compression) {
+            this.name = name;
+            this.path = path;
+            this.extension = extension;
+            this.compression = compression;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The enum constant that manages the compression formats of the content file.
+ * <p>
+ * The compression format is identified by the suffix appended to the name of
+ * the content file, such as {@code "name.json.gz"} . The compressed stream is
+ * decompressed while it is read, so the decompressed content is passed to the
+ * streaming parser through a fixed-size buffer and is never held in memory as
+ * a whole.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+enum ContentCompression {
+
+    /**
+     * The compression by gzip ({@code ".gz"})
+     */
+    GZIP(".gz", 0) {
+
+        @Override
+        InputStream decompress(@NonNull InputStream contentStream) throws IOException {
+            return new GZIPInputStream(contentStream, BUFFER_SIZE);
+        }
+    },
+
+    /**
+     * The compression by deflate in the zlib format ({@code ".deflate"})
+     */
+    DEFLATE(".deflate", 1) {
+
+        @Override
+        InputStream decompress(@NonNull InputStream contentStream) {
+            return new InflaterInputStream(contentStream, new Inflater(), BUFFER_SIZE) {
+
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        super.inf.end();
+                    }
+                }
+            };
+        }
+    },
+
+    /**
+     * No compression ({@code ""})
+     */
+    NONE("", 2) {
+
+        @Override
+        InputStream decompress(@NonNull InputStream contentStream) {
+            return contentStream;
+        }
+    };
+
+    /**
+     * The size of the buffer for the compressed data
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The suffix appended to the name of the content file
+     */
+    @Getter
+    private final String suffix;
+
+    /**
+     * The code of the compression format written into the {@link ContentBundle}
+     * file, which must never be changed once it has been assigned
+     */
+    @Getter
+    private final int code;
+
+    /**
+     * Returns the stream that decompresses the content stream passed as an
+     * argument while it is read.
+     *
+     * @param contentStream The compressed content stream
+     * @return The decompressed content stream
+     * @throws IOException If the header of the compressed stream cannot be read
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    abstract InputStream decompress(@NonNull InputStream contentStream) throws IOException;
+
+    /**
+     * Returns the compression format identified by the suffix of the file name
+     * passed as an argument.
+     *
+     * @param fileName The file name
+     * @return The compression format, or {@link #NONE} if the file name has no
+     *         known suffix
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static ContentCompression of(@NonNull String fileName) {
+
+        for (ContentCompression compression : values()) {
+            if (compression != NONE && fileName.endsWith(compression.suffix)) {
+                return compression;
+            }
+        }
+
+        return NONE;
+    }
+
+    /**
+     * Opens the content file passed as an argument. If the name of the content
+     * file has the suffix of a compression format, the returned stream
+     * decompresses it while it is read.
+     *
+     * @param contentFile The path of content file
+     * @return The stream of the content file
+     * @throws IOException If the content file cannot be opened
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static InputStream open(@NonNull Path contentFile) throws IOException {
+
+        final InputStream contentStream = Files.newInputStream(contentFile);
+
+        try {
+            return of(String.valueOf(contentFile.getFileName())).decompress(contentStream);
+        } catch (IOException e) {
+            contentStream.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the compression format of the code passed as an argument.
+     *
+     * @param code The code of the compression format
+     * @return The compression format, or {@link Optional#empty()} if the code is
+     *         unknown
+     */
+    static Optional<ContentCompression> ofCode(int code) {
+
+        for (ContentCompression compression : values()) {
+            if (compression.code == code) {
+                return Optional.of(compression);
+            }
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,535 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.thinkit.common.base.precondition.Preconditions;
+import org.thinkit.common.catalog.Extension;
+import org.thinkit.framework.content.annotation.ContentMapping;
+import org.thinkit.framework.content.catalog.ContentRoot;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class that holds the metadata of a content class resolved by reflection.
+ * <p>
+ * The descriptor of each content class is created only once and cached in a
+ * {@link ClassValue} , so the annotation lookup and the building of the
+ * resource path are skipped on the subsequent loads. The attribute names and
+ * the string conditions are also cached against the last set of attributes and
+ * the last list of conditions, since {@link Content#getAttributes()} and
+ * {@link Content#getConditions()} usually return the same values on every
+ * call. The resource of the content in the installed bundle is cached against
+ * the bundle instance.
+ * <p>
+ * If the content file is not found, the file compressed in one of the formats
+ * of {@link ContentCompression} , such as {@code "name.json.gz"} , is resolved
+ * instead and decompressed while it is read. If a {@link ContentBundle} is
+ * installed and contains the content, the content is read from the bundle
+ * without looking up the class path, and its format is determined by the
+ * extension stored in the bundle. If neither the JSON content file nor the
+ * compressed one is found, the content file of one of the
+ * {@link ContentFormat} , such as {@code "name.csv"} , is resolved and returned
+ * by {@link #getFormat()} . The legacy XML content file {@code "name.xml"} is
+ * resolved last, and {@link #isXml()} returns {@code true} for it.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentDescriptor {
+
+    /**
+     * The extension of the legacy XML content file
+     */
+    static final String XML_EXTENSION = ".xml";
+
+    /**
+     * The descriptors of the content classes
+     */
+    private static final ClassValue<ContentDescriptor> DESCRIPTORS = new ClassValue<>() {
+
+        @Override
+        protected ContentDescriptor computeValue(Class<?> contentClass) {
+            return new ContentDescriptor(contentClass);
+        }
+    };
+
+    /**
+     * The content class
+     */
+    private final Class<?> contentClass;
+
+    /**
+     * The content mapping, or {@code null} if the content class is not annotated
+     */
+    @Getter
+    private final ContentMapping mapping;
+
+    /**
+     * The resource path of the uncompressed content file, or {@code null} if the
+     * content class is not annotated
+     */
+    private final String basePath;
+
+    /**
+     * The resolved resource of the content file, or {@code null} if it has not
+     * been resolved yet
+     */
+    private volatile Resource resource;
+
+    /**
+     * The definition of indexes declared by the content mapping, or {@code null}
+     * if the content class is not annotated
+     */
+    @Getter
+    private final IndexDefinition definition;
+
+    /**
+     * The resource of the content in the bundle resolved last, or {@code null}
+     */
+    private volatile BundledResource bundledResource;
+
+    /**
+     * The attribute names resolved last
+     */
+    private volatile AttributeNames attributeNames;
+
+    /**
+     * The string conditions resolved last
+     */
+    private volatile StringConditions stringConditions;
+
+    /**
+     * Constructor
+     *
+     * @param contentClass The content class
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ContentDescriptor(@NonNull Class<?> contentClass) {
+        this.contentClass = contentClass;
+        this.mapping = contentClass.getAnnotation(ContentMapping.class);
+        this.basePath = this.mapping == null ? null
+                : ContentRoot.ROOT.getTag() + this.mapping.content() + Extension.json();
+        this.definition = this.mapping == null ? null : IndexDefinition.of(this.mapping);
+    }
+
+    /**
+     * Returns the descriptor of the content class passed as an argument.
+     *
+     * @param contentClass The content class
+     * @return The descriptor of the content class
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ContentDescriptor of(@NonNull Class<?> contentClass) {
+        return DESCRIPTORS.get(contentClass);
+    }
+
+    /**
+     * Opens the stream of the content file mapped to the content class. If the
+     * installed bundle contains the content, the stream of the bundled content is
+     * returned. If the content file is compressed, the returned stream
+     * decompresses it while it is read.
+     *
+     * @return The stream of the content file, or {@code null} if the content file
+     *         is not found
+     *
+     * @exception NullPointerException  If the content class is not annotated with
+     *                                  {@link ContentMapping}
+     * @throws ContentHandlingException If the header of the compressed content
+     *                                  file cannot be read
+     */
+    public InputStream openContentStream() {
+        Preconditions.requireNonNull(this.mapping);
+
+        final Optional<ContentBundle> bundle = ContentBundle.getInstalled();
+
+        if (bundle.isPresent()) {
+            final Optional<InputStream> bundledContent = bundle.get().openContent(this.mapping.content());
+
+            if (bundledContent.isPresent()) {
+                return bundledContent.get();
+            }
+        }
+
+        final String resourcePath = this.getResourcePath();
+        final InputStream contentStream = this.contentClass.getClassLoader().getResourceAsStream(resourcePath);
+
+        if (contentStream == null) {
+            return null;
+        }
+
+        try {
+            return this.getCompression().decompress(contentStream);
+        } catch (IOException e) {
+            try {
+                contentStream.close();
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+
+            throw new ContentHandlingException(
+                    String.format("Could not decompress the content file %s.", resourcePath), e);
+        }
+    }
+
+    /**
+     * Returns the resource path of the content file, including the suffix of its
+     * compression format.
+     *
+     * @return The resource path of the content file, or {@code null} if the
+     *         content class is not annotated
+     */
+    public String getResourcePath() {
+        return this.getResource().path;
+    }
+
+    /**
+     * Returns the compression format of the content file.
+     *
+     * @return The compression format of the content file
+     */
+    public ContentCompression getCompression() {
+        return this.getResource().compression;
+    }
+
+    /**
+     * Tests whether the content file is the legacy XML content file. If the
+     * installed bundle contains the content, the extension of the bundled content
+     * file is tested instead.
+     *
+     * @return {@code true} if the content file is the XML content file, otherwise
+     *         {@code false}
+     */
+    public boolean isXml() {
+        return this.getBundledResource().orElseGet(this::getResource).xml;
+    }
+
+    /**
+     * Returns the format of the content file other than JSON and XML. If the
+     * installed bundle contains the content, the format of the bundled content
+     * file is returned instead.
+     *
+     * @return The format of the content file, or {@code null} if the content file
+     *         is the JSON or the XML content file
+     */
+    public ContentFormat getFormat() {
+        return this.getBundledResource().orElseGet(this::getResource).format;
+    }
+
+    /**
+     * Returns the resource of the content file contained in the installed bundle.
+     * The resource is cached against the bundle instance, since the bundle can be
+     * installed and uninstalled at any time, and the class path is never looked
+     * up.
+     *
+     * @return The resource of the bundled content file, or
+     *         {@link Optional#empty()} if no bundle is installed or the installed
+     *         bundle does not contain the content
+     */
+    private Optional<Resource> getBundledResource() {
+
+        final Optional<ContentBundle> installed = ContentBundle.getInstalled();
+
+        if (this.mapping == null || installed.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final ContentBundle bundle = installed.get();
+        final BundledResource cached = this.bundledResource;
+
+        if (cached != null && cached.bundle == bundle) {
+            return cached.resource;
+        }
+
+        final Optional<Resource> resource = bundle.getExtension(this.mapping.content())
+                .map(extension -> new Resource(ContentRoot.ROOT.getTag() + this.mapping.content() + extension,
+                        ContentCompression.NONE, ContentFormats.ofFileName(extension).orElse(null),
+                        extension.equals(XML_EXTENSION)));
+        this.bundledResource = new BundledResource(bundle, resource);
+
+        return resource;
+    }
+
+    /**
+     * Returns the resolved resource of the content file on the class path. The
+     * class path is looked up only at the first call, and the content found in
+     * the installed bundle never causes the lookup, since
+     * {@link #openContentStream()} , {@link #isXml()} and {@link #getFormat()}
+     * check the bundle first.
+     *
+     * @return The resolved resource of the content file
+     */
+    private Resource getResource() {
+
+        Resource resource = this.resource;
+
+        if (resource == null) {
+            resource = this.mapping == null ? new Resource(null, ContentCompression.NONE, null, false)
+                    : this.resolveResource();
+            this.resource = resource;
+        }
+
+        return resource;
+    }
+
+    /**
+     * Resolves the resource of the content file. The uncompressed JSON content
+     * file takes precedence over the compressed ones, followed by the content
+     * files of the formats, and the XML content file is resolved only if none of
+     * them is found.
+     *
+     * @return The resolved resource of the content file
+     */
+    private Resource resolveResource() {
+
+        final ClassLoader classLoader = this.contentClass.getClassLoader();
+
+        if (classLoader.getResource(this.basePath) != null) {
+            return new Resource(this.basePath, ContentCompression.NONE, null, false);
+        }
+
+        for (ContentCompression compression : ContentCompression.values()) {
+            if (classLoader.getResource(this.basePath + compression.getSuffix()) != null) {
+                return new Resource(this.basePath + compression.getSuffix(), compression, null, false);
+            }
+        }
+
+        final String contentPath = ContentRoot.ROOT.getTag() + this.mapping.content();
+
+        for (ContentFormat format : ContentFormats.all()) {
+            for (ContentCompression compression : ContentCompression.values()) {
+                final String formatPath = contentPath + format.getExtension() + compression.getSuffix();
+
+                if (classLoader.getResource(formatPath) != null) {
+                    return new Resource(formatPath, compression, format, false);
+                }
+            }
+        }
+
+        final String xmlPath = contentPath + XML_EXTENSION;
+
+        if (classLoader.getResource(xmlPath) != null) {
+            return new Resource(xmlPath, ContentCompression.NONE, null, true);
+        }
+
+        return new Resource(this.basePath, ContentCompression.NONE, null, false);
+    }
+
+    /**
+     * Returns the names of the attributes passed as an argument.
+     * <p>
+     * If the set of attributes has the same elements as the last one, the cached
+     * names are returned without being converted again. The set is compared with
+     * the copy taken at the last conversion, so the cached names stay correct
+     * even if the caller modifies and reuses the set.
+     *
+     * @param attributes The attributes
+     * @return The unmodifiable set of the attribute names
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Set<String> toAttributeNames(@NonNull Set<Attribute> attributes) {
+
+        final AttributeNames cached = this.attributeNames;
+
+        if (cached != null && cached.attributes.equals(attributes)) {
+            return cached.names;
+        }
+
+        final Set<String> names = new HashSet<>(attributes.size() * 4 / 3 + 1);
+
+        for (Attribute attribute : attributes) {
+            names.add(attribute.getString());
+        }
+
+        final AttributeNames resolved = new AttributeNames(Set.copyOf(attributes), Set.copyOf(names));
+        this.attributeNames = resolved;
+
+        return resolved.names;
+    }
+
+    /**
+     * Returns the conditions passed as an argument as the conditional maps of one
+     * condition each, whose keys are the names of the condition keys.
+     * <p>
+     * If the list of conditions is equal to the last one, the cached conditions
+     * are returned without being converted again. The list is compared with the
+     * copy taken at the last conversion, so the cached conditions stay correct
+     * even if the caller modifies and reuses the list.
+     *
+     * @param conditions The conditions
+     * @return The unmodifiable list of the string conditions
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public List<Map<String, String>> toStringConditions(@NonNull List<Map<Condition, String>> conditions) {
+
+        final StringConditions cached = this.stringConditions;
+
+        if (cached != null && cached.conditions.equals(conditions)) {
+            return cached.names;
+        }
+
+        final List<Map<Condition, String>> copy = new ArrayList<>(conditions.size());
+        final List<Map<String, String>> names = new ArrayList<>(conditions.size());
+
+        for (Map<Condition, String> condition : conditions) {
+            copy.add(Map.copyOf(condition));
+            condition.forEach((conditionKey, operand) -> names.add(Map.of(conditionKey.getString(), operand)));
+        }
+
+        final StringConditions resolved = new StringConditions(List.copyOf(copy), List.copyOf(names));
+        this.stringConditions = resolved;
+
+        return resolved.names;
+    }
+
+    /**
+     * The resolved resource of the content file.
+     */
+    private static final class Resource {
+
+        /**
+         * The resource path, or {@code null} if the content class is not annotated
+         */
+        private final String path;
+
+        /**
+         * The compression format
+         */
+        private final ContentCompression compression;
+
+        /**
+         * The format other than JSON and XML, or {@code null}
+         */
+        private final ContentFormat format;
+
+        /**
+         * {@code true} if the resource is the XML content file, otherwise
+         * {@code false}
+         */
+        private final boolean xml;
+
+        /**
+         * Constructor
+         *
+         * @param path        The resource path
+         * @param compression The compression format
+         * @param format      The format other than JSON and XML, or {@code null}
+         * @param xml         {@code true} if the resource is the XML content file,
+         *                    otherwise {@code false}
+         */
+        private Resource(String path, @NonNull ContentCompression compression, ContentFormat format, boolean xml) {
+            this.path = path;
+            this.compression = compression;
+            this.format = format;
+            this.xml = xml;
+        }
+    }
+
+    /**
+     * The pair of the bundle and the resource of the content in it.
+     */
+    private static final class BundledResource {
+
+        /**
+         * The bundle, compared by identity
+         */
+        private final ContentBundle bundle;
+
+        /**
+         * The resource of the content, or {@link Optional#empty()} if the bundle
+         * does not contain the content
+         */
+        private final Optional<Resource> resource;
+
+        /**
+         * Constructor
+         *
+         * @param bundle   The bundle
+         * @param resource The resource of the content
+         */
+        private BundledResource(@NonNull ContentBundle bundle, @NonNull Optional<Resource> resource) {
+            this.bundle = bundle;
+            this.resource = resource;
+        }
+    }
+
+    /**
+     * The pair of the set of attributes and their names.
+     */
+    private static final class AttributeNames {
+
+        /**
+         * The copy of the set of attributes, compared by equality
+         */
+        private final Set<Attribute> attributes;
+
+        /**
+         * The names of the attributes
+         */
+        private final Set<String> names;
+
+        /**
+         * Constructor
+         *
+         * @param attributes The copy of the set of attributes
+         * @param names      The names of the attributes
+         */
+        private AttributeNames(@NonNull Set<Attribute> attributes, @NonNull Set<String> names) {
+            this.attributes = attributes;
+            this.names = names;
+        }
+    }
+
+    /**
+     * The pair of the list of conditions and their string conditions.
+     */
+    private static final class StringConditions {
+
+        /**
+         * The copy of the list of conditions, compared by equality
+         */
+        private final List<Map<Condition, String>> conditions;
+
+        /**
+         * The string conditions
+         */
+        private final List<Map<String, String>> names;
+
+        /**
+         * Constructor
+         *
+         * @param conditions The copy of the list of conditions
+         * @param names      The string conditions
+         */
+        private StringConditions(@NonNull List<Map<Condition, String>> conditions,
+                @NonNull List<Map<String, String>> names) {
+            this.conditions = conditions;
+            this.names = names;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The interface that defines the format of the content file other than JSON.
+ * <p>
+ * The format reads the content file and passes its nodes to the
+ * {@link ContentSink} , which converts them into the same representation as
+ * the nodes read from the JSON content. So the content of any format can be
+ * loaded with {@link ContentLoader#load(InputStream, ContentFormat, Set, List)}
+ * or {@link ContentStore#load(InputStream, ContentFormat, IndexDefinition)} .
+ * <p>
+ * The formats are discovered with {@link java.util.ServiceLoader} in addition
+ * to the built-in formats returned by {@link #csv()} , {@link #tsv()} and
+ * {@link #ndjson()} . To
+ * add a format, implement this interface with a public no-argument constructor
+ * and list the class in the
+ * {@code META-INF/services/org.thinkit.framework.content.ContentFormat} file.
+ * The content file whose name ends with the extension of a discovered format,
+ * optionally followed by the suffix of a compression format, is resolved for
+ * the content mapping and {@link ContentLoader#scan(Path, Set, List)} .
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public interface ContentFormat {
+
+    /**
+     * Returns the extension of the content file of the format including the
+     * leading dot, such as {@code ".csv"} .
+     *
+     * @return The extension of the content file
+     */
+    public String getExtension();
+
+    /**
+     * Reads the content from the stream and passes its nodes to the sink in the
+     * order defined in the content.
+     * <p>
+     * The metadata, the data types and the condition nodes must be passed before
+     * the first selection node, so that the selection nodes can be filtered as
+     * soon as they have been read. The stream is closed by the caller.
+     * <p>
+     * The stream can be read only once, so the format whose condition nodes may
+     * follow the selection nodes, such as {@link #ndjson()} , has to hold every
+     * selection node in memory until the end of the stream before passing it. Use
+     * {@link #read(Path, ContentSink)} for such a format if the memory used must
+     * not depend on the size of the content.
+     *
+     * @param contentStream The stream of content file
+     * @param sink          The sink to which the nodes are passed
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    public void read(InputStream contentStream, ContentSink sink) throws IOException;
+
+    /**
+     * Reads the content from the content file and passes its nodes to the sink in
+     * the same way as {@link #read(InputStream, ContentSink)} . This method is
+     * called by {@link ContentLoader#scan(Path, Set, List)} , which must not hold
+     * the content file in memory.
+     * <p>
+     * Unlike the stream, the content file can be read more than once, so the
+     * format whose condition nodes may follow the selection nodes can read the
+     * file twice instead of holding the selection nodes in memory. The default
+     * implementation reads the file once with
+     * {@link #read(InputStream, ContentSink)} . If the name of the content file
+     * has the suffix of a compression format, the file is decompressed while it
+     * is read.
+     *
+     * @param contentFile The path of content file
+     * @param sink        The sink to which the nodes are passed
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    public default void read(Path contentFile, ContentSink sink) throws IOException {
+        try (InputStream contentStream = ContentCompression.open(contentFile)) {
+            this.read(contentStream, sink);
+        }
+    }
+
+    /**
+     * Reads the whole content from the stream to be loaded into memory and passes
+     * its nodes to the sink in the same way as
+     * {@link #read(InputStream, ContentSink)} . This method is called by
+     * {@link ContentStore#load(InputStream, ContentFormat, IndexDefinition)} ,
+     * which holds all nodes in memory anyway, so the format may read the whole
+     * stream at once to parse it faster. The default implementation calls
+     * {@link #read(InputStream, ContentSink)} .
+     *
+     * @param contentStream The stream of content file
+     * @param sink          The sink to which the nodes are passed
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    public default void readFully(InputStream contentStream, ContentSink sink) throws IOException {
+        this.read(contentStream, sink);
+    }
+
+    /**
+     * Returns the built-in format of the comma-separated values. The first row
+     * is the header row of the attribute names, and the rows starting with
+     * {@code "#metadata"} , {@code "#dataType"} or {@code "#conditionNode"}
+     * before it define the metadata, the data types and the condition nodes.
+     *
+     * @return The CSV format
+     */
+    public static ContentFormat csv() {
+        return DelimitedContentFormat.CSV;
+    }
+
+    /**
+     * Returns the built-in format of the tab-separated values.
+     *
+     * @return The TSV format
+     */
+    public static ContentFormat tsv() {
+        return DelimitedContentFormat.TSV;
+    }
+
+    /**
+     * Returns the built-in format of the newline-delimited JSON, in which each line
+     * is a JSON object holding one selection node, condition node or metadata. The
+     * nodes can be appended to the content file without rewriting it, and the
+     * lines are parsed in parallel when the whole content is loaded into the
+     * {@link ContentStore} .
+     * <p>
+     * Since the condition nodes may be defined on any line, reading the content
+     * from a stream holds all selection nodes until the end of the stream. Read
+     * the large content from the content file with
+     * {@link ContentLoader#scan(Path, Set, List)} or
+     * {@link ContentLoader#scanEach(Path, Set, List, java.util.function.Consumer)}
+     * , which read the file twice instead.
+     *
+     * @return The NDJSON format
+     */
+    public static ContentFormat ndjson() {
+        return NdjsonContentFormat.NDJSON;
+    }
+}
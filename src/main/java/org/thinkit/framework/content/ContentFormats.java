@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.framework.content;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.NonNull;
+
+/**
+ * The class that manages the {@link ContentFormat} available to the framework.
+ * <p>
+ * The built-in formats come first, followed by the formats discovered with
+ * {@link ServiceLoader} in the order in which they are listed. The formats are
+ * discovered only once, and if more than one format has the same extension,
+ * the first one is used.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ContentFormats {
+
+    /**
+     * The available formats
+     */
+    private static final List<ContentFormat> FORMATS = discover();
+
+    /**
+     * Returns the available formats.
+     *
+     * @return The unmodifiable list of the available formats
+     */
+    static List<ContentFormat> all() {
+        return FORMATS;
+    }
+
+    /**
+     * Returns the format of the content file whose name is passed as an argument.
+     * The suffix of the compression format is ignored.
+     *
+     * @param fileName The name of the content file
+     * @return The format of the content file, or {@link Optional#empty()} if the
+     *         content file has no extension of the available formats
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static Optional<ContentFormat> ofFileName(@NonNull String fileName) {
+
+        final String suffix = ContentCompression.of(fileName).getSuffix();
+        final String baseName = fileName.substring(0, fileName.length() - suffix.length());
+
+        for (ContentFormat format : FORMATS) {
+            if (baseName.endsWith(format.getExtension())) {
+                return Optional.of(format);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Discovers the available formats.
+     *
+     * @return The unmodifiable list of the available formats
+     */
+    private static List<ContentFormat> discover() {
+
+        final List<ContentFormat> formats = new ArrayList<>();
+        formats.add(ContentFormat.csv());
+        formats.add(ContentFormat.tsv());
+        formats.add(ContentFormat.ndjson());
+
+        for (ContentFormat format : ServiceLoader.load(ContentFormat.class)) {
+            if (formats.stream().noneMatch(added -> added.getExtension().equals(format.getExtension()))) {
+                formats.add(format);
+            }
+        }
+
+        return List.copyOf(formats);
+    }
+}
@@ -0,0 +1,453 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class that generates synthetic content files for scale and stress
+ * testing.
+ * <p>
+ * The generated content is a valid content file that can be loaded by
+ * {@link ContentLoader} , and its shape is controlled by the following
+ * parameters:
+ * <ul>
+ * <li>{@code selectionNodes} : The number of selection nodes</li>
+ * <li>{@code conditionNodes} : The number of condition nodes</li>
+ * <li>{@code attributesPerNode} : The number of attributes per selection
+ * node</li>
+ * <li>{@code conditionsPerNode} : The number of conditions per condition
+ * node</li>
+ * <li>{@code cardinality} : The number of distinct values per attribute and
+ * condition</li>
+ * <li>{@code selectivity} : The ratio of selection nodes matched by
+ * {@link #getMatchingConditions()}</li>
+ * <li>{@code seed} : The seed of the random values</li>
+ * </ul>
+ * <p>
+ * The attributes are named {@code "attribute0"} to
+ * {@code "attribute(n - 1)"} and the condition keys are named
+ * {@code "condition0"} to {@code "condition(n - 1)"} . Only the condition node
+ * whose condition ID is {@code "0"} is matched by the conditions returned from
+ * {@link #getMatchingConditions()} , and each selection node refers to that
+ * condition node with the probability specified as {@code selectivity} . If no
+ * condition node is generated, all selection nodes are unconditional.
+ * <p>
+ * The content is written with the streaming generator, so the memory used does
+ * not depend on the number of nodes to be generated.
+ *
+ * <pre>
+ * Generate the content file with 100,000 selection nodes:
+ * <code>ContentGenerator.builder().selectionNodes(100000).conditionNodes(100).build().generate(path);</code>
+ * </pre>
+ *
+ * <pre>
+ * Generate the content file from the Gradle task:
+ * <code>./gradlew generateContent -PselectionNodes=1000000 -PconditionNodes=100 -Poutput=build/content/large.json</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@Getter
+public final class ContentGenerator {
+
+    /**
+     * The prefix of the attribute name
+     */
+    private static final String ATTRIBUTE_PREFIX = "attribute";
+
+    /**
+     * The prefix of the condition key name
+     */
+    private static final String CONDITION_PREFIX = "condition";
+
+    /**
+     * The condition ID matched by the matching conditions
+     */
+    private static final String MATCHING_CONDITION_ID = "0";
+
+    /**
+     * The operand matched by the matching conditions
+     */
+    private static final String MATCHING_OPERAND = "0";
+
+    /**
+     * The shared JSON factory
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The number of selection nodes
+     */
+    private final int selectionNodes;
+
+    /**
+     * The number of condition nodes
+     */
+    private final int conditionNodes;
+
+    /**
+     * The number of attributes per selection node
+     */
+    private final int attributesPerNode;
+
+    /**
+     * The number of conditions per condition node
+     */
+    private final int conditionsPerNode;
+
+    /**
+     * The number of distinct values per attribute and condition
+     */
+    private final int cardinality;
+
+    /**
+     * The ratio of selection nodes matched by the matching conditions
+     */
+    private final double selectivity;
+
+    /**
+     * The seed of the random values
+     */
+    private final long seed;
+
+    /**
+     * Constructor
+     *
+     * @param selectionNodes    The number of selection nodes
+     * @param conditionNodes    The number of condition nodes
+     * @param attributesPerNode The number of attributes per selection node
+     * @param conditionsPerNode The number of conditions per condition node
+     * @param cardinality       The number of distinct values per attribute and
+     *                          condition
+     * @param selectivity       The ratio of selection nodes matched by the
+     *                          matching conditions
+     * @param seed              The seed of the random values
+     *
+     * @exception IllegalArgumentException If the number of nodes is negative, if
+     *                                     the number of attributes, conditions or
+     *                                     the cardinality is less than {@code 1} ,
+     *                                     or if the selectivity is not in the
+     *                                     range from {@code 0.0} to {@code 1.0}
+     */
+    @Builder
+    private ContentGenerator(Integer selectionNodes, Integer conditionNodes, Integer attributesPerNode,
+            Integer conditionsPerNode, Integer cardinality, Double selectivity, Long seed) {
+        this.selectionNodes = selectionNodes == null ? 1000 : selectionNodes;
+        this.conditionNodes = conditionNodes == null ? 0 : conditionNodes;
+        this.attributesPerNode = attributesPerNode == null ? 5 : attributesPerNode;
+        this.conditionsPerNode = conditionsPerNode == null ? 1 : conditionsPerNode;
+        this.cardinality = cardinality == null ? 100 : cardinality;
+        this.selectivity = selectivity == null ? 0.1 : selectivity;
+        this.seed = seed == null ? 0L : seed;
+
+        if (this.selectionNodes < 0 || this.conditionNodes < 0) {
+            throw new IllegalArgumentException("The number of nodes must not be negative.");
+        }
+
+        if (this.attributesPerNode < 1 || this.conditionsPerNode < 1 || this.cardinality < 1) {
+            throw new IllegalArgumentException(
+                    "The number of attributes, conditions and the cardinality must be positive.");
+        }
+
+        if (this.selectivity < 0.0 || this.selectivity > 1.0) {
+            throw new IllegalArgumentException("The selectivity must be in the range from 0.0 to 1.0.");
+        }
+    }
+
+    /**
+     * Returns the name of the attribute at the specified index.
+     *
+     * @param index The index of attribute
+     * @return The name of the attribute
+     */
+    public static String attributeName(int index) {
+        return ATTRIBUTE_PREFIX + index;
+    }
+
+    /**
+     * Returns the key name of the condition at the specified index.
+     *
+     * @param index The index of condition
+     * @return The key name of the condition
+     */
+    public static String conditionKeyName(int index) {
+        return CONDITION_PREFIX + index;
+    }
+
+    /**
+     * Returns the conditions that match only the condition node with the
+     * condition ID {@code "0"} , in the format of the argument of
+     * {@link ContentLoader#load(java.io.InputStream, java.util.Set, List)} .
+     *
+     * @return The matching conditions
+     */
+    public List<Map<String, String>> getMatchingConditions() {
+
+        final List<Map<String, String>> conditions = new ArrayList<>(1);
+
+        if (this.conditionNodes > 0) {
+            final Map<String, String> condition = new HashMap<>(1);
+            condition.put(conditionKeyName(0), MATCHING_OPERAND);
+            conditions.add(condition);
+        }
+
+        return conditions;
+    }
+
+    /**
+     * Generates the content file to the path specified as an argument.
+     * <p>
+     * The parent directories are created if they do not exist.
+     *
+     * @param contentPath The path of the content file to be generated
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception UncheckedIOException If an I/O error occurs
+     */
+    public void generate(@NonNull Path contentPath) {
+        try {
+            final Path parent = contentPath.toAbsolutePath().getParent();
+
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+
+            try (OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(contentPath))) {
+                this.generate(outputStream);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Generates the content to the output stream specified as an argument.
+     * <p>
+     * The output stream is not closed by this method.
+     *
+     * @param outputStream The output stream to which the content is written
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @exception UncheckedIOException If an I/O error occurs
+     */
+    public void generate(@NonNull OutputStream outputStream) {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(outputStream, JsonEncoding.UTF8)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+            final SplittableRandom random = new SplittableRandom(this.seed);
+
+            generator.writeStartObject();
+            this.writeMetadata(generator);
+            this.writeSelectionNodes(generator, random);
+            this.writeConditionNodes(generator, random);
+            generator.writeEndObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the metadata of the generated content.
+     *
+     * @param generator The JSON generator
+     * @throws IOException If an I/O error occurs
+     */
+    private void writeMetadata(@NonNull JsonGenerator generator) throws IOException {
+        generator.writeObjectFieldStart("metadata");
+        generator.writeStringField("author", ContentGenerator.class.getSimpleName());
+        generator.writeStringField("encoding", "UTF-8");
+        generator.writeStringField("description",
+                String.format("Generated content with %d selection nodes and %d condition nodes.",
+                        this.selectionNodes, this.conditionNodes));
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writes the selection nodes of the generated content.
+     *
+     * @param generator The JSON generator
+     * @param random    The random generator
+     * @throws IOException If an I/O error occurs
+     */
+    private void writeSelectionNodes(@NonNull JsonGenerator generator, @NonNull SplittableRandom random)
+            throws IOException {
+        generator.writeArrayFieldStart(SelectionNodeKey.SELECTION_NODES.getKey());
+
+        for (int i = 0; i < this.selectionNodes; i++) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(SelectionNodeKey.NODE.getKey());
+            generator.writeStringField(SelectionNodeKey.CONDITION_ID.getKey(), this.nextConditionId(random));
+
+            for (int j = 0; j < this.attributesPerNode; j++) {
+                generator.writeStringField(attributeName(j), String.valueOf(random.nextInt(this.cardinality)));
+            }
+
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+
+    /**
+     * Writes the condition nodes of the generated content.
+     * <p>
+     * Only the condition node with the condition ID {@code "0"} has the matching
+     * operands, and the operands of the other condition nodes never match them.
+     *
+     * @param generator The JSON generator
+     * @param random    The random generator
+     * @throws IOException If an I/O error occurs
+     */
+    private void writeConditionNodes(@NonNull JsonGenerator generator, @NonNull SplittableRandom random)
+            throws IOException {
+        generator.writeArrayFieldStart(ConditionNodeKey.CONDITION_NODES.getKey());
+
+        for (int i = 0; i < this.conditionNodes; i++) {
+            generator.writeStartObject();
+            generator.writeObjectFieldStart(ConditionNodeKey.NODE.getKey());
+            generator.writeStringField(ConditionNodeKey.CONDITION_ID.getKey(), String.valueOf(i));
+            generator.writeBooleanField(ConditionNodeKey.EXCLUDE.getKey(), false);
+            generator.writeArrayFieldStart(ConditionNodeKey.CONDITIONS.getKey());
+
+            for (int j = 0; j < this.conditionsPerNode; j++) {
+                generator.writeStartObject();
+                generator.writeStringField(ConditionNodeKey.KEY_NAME.getKey(), conditionKeyName(j));
+                generator.writeStringField(ConditionNodeKey.OPERATOR.getKey(), "=");
+                generator.writeStringField(ConditionNodeKey.OPERAND.getKey(), i == 0 ? MATCHING_OPERAND
+                        : String.valueOf(1 + random.nextInt(this.cardinality)));
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+
+        generator.writeEndArray();
+    }
+
+    /**
+     * Returns the condition ID of the next selection node.
+     * <p>
+     * If no condition node is generated, the empty string is returned so that the
+     * selection node is loaded unconditionally. Otherwise the matching condition
+     * ID is returned with the probability of the selectivity, and one of the other
+     * condition IDs is returned in the remaining cases. If only the matching
+     * condition node is generated, there is no other condition ID to refer to,
+     * so the matching condition ID is always returned.
+     *
+     * @param random The random generator
+     * @return The condition ID of the next selection node
+     */
+    private String nextConditionId(@NonNull SplittableRandom random) {
+
+        if (this.conditionNodes == 0) {
+            return "";
+        }
+
+        if (this.conditionNodes == 1 || random.nextDouble() < this.selectivity) {
+            return MATCHING_CONDITION_ID;
+        }
+
+        return String.valueOf(1 + random.nextInt(this.conditionNodes - 1));
+    }
+
+    /**
+     * Generates the content file from the command line.
+     * <p>
+     * The arguments are given in the format {@code "--name=value"} , and the
+     * names are the same as the builder methods. The path of the generated
+     * content file is given by {@code "--output"} .
+     *
+     * <pre>
+     * <code>java org.thinkit.framework.content.ContentGenerator --output=large.json --selectionNodes=1000000</code>
+     * </pre>
+     *
+     * @param args The command line arguments
+     *
+     * @exception IllegalArgumentException If an argument is not in the format
+     *                                     {@code "--name=value"} or the name is
+     *                                     unknown
+     */
+    public static void main(String[] args) {
+
+        final ContentGeneratorBuilder builder = ContentGenerator.builder();
+        String output = "build/content/generatedContent.json";
+
+        for (String arg : args) {
+            final int separator = arg.indexOf('=');
+
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException(String.format("Invalid argument: %s", arg));
+            }
+
+            final String name = arg.substring(2, separator);
+            final String value = arg.substring(separator + 1);
+
+            switch (name) {
+                case "output":
+                    output = value;
+                    break;
+                case "selectionNodes":
+                    builder.selectionNodes(Integer.parseInt(value));
+                    break;
+                case "conditionNodes":
+                    builder.conditionNodes(Integer.parseInt(value));
+                    break;
+                case "attributesPerNode":
+                    builder.attributesPerNode(Integer.parseInt(value));
+                    break;
+                case "conditionsPerNode":
+                    builder.conditionsPerNode(Integer.parseInt(value));
+                    break;
+                case "cardinality":
+                    builder.cardinality(Integer.parseInt(value));
+                    break;
+                case "selectivity":
+                    builder.selectivity(Double.parseDouble(value));
+                    break;
+                case "seed":
+                    builder.seed(Long.parseLong(value));
+                    break;
+                default:
+                    throw new IllegalArgumentException(String.format("Unknown argument: %s", name));
+            }
+        }
+
+        builder.build().generate(Paths.get(output));
+    }
+}
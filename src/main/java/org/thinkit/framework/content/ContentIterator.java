@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.Closeable;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * The iterator that lazily reads the records matching the conditions from the
+ * content with {@link ContentReader} .
+ * <p>
+ * The records are returned in the order defined in the content. If the
+ * condition nodes are defined after the selection nodes, the selection nodes
+ * that follow the first conditional one are held until the condition nodes have
+ * been read, because whether they can be fetched is not known until then, so
+ * the memory used grows with the size of the content. Otherwise no record is
+ * held and the first record is available as soon as it has been read.
+ * <p>
+ * If the content can be read twice, resolve the condition IDs from the
+ * condition nodes first and create the iterator with
+ * {@link #ofConditionIds(InputStream, Set, Set)} , which skips the condition
+ * nodes and never holds a selection node regardless of their order.
+ * <p>
+ * The content stream is closed when the iteration is completed or
+ * {@link #close()} is called.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentIterator implements Iterator<Map<String, String>>, Closeable {
+
+    /**
+     * The content reader
+     */
+    private final ContentReader reader;
+
+    /**
+     * The attribute names to be acquired
+     */
+    private final String[] attributes;
+
+    /**
+     * The slots of the attributes to be acquired, resolved once by the schema of
+     * the reader
+     */
+    private final int[] slots;
+
+    /**
+     * The conditional list to use when matching conditions
+     */
+    private final List<Map<String, String>> conditions;
+
+    /**
+     * The condition nodes read so far
+     */
+    private final List<ConditionNode> conditionNodes;
+
+    /**
+     * The condition IDs matching the conditions, or {@code null} if they have not
+     * been resolved yet
+     */
+    private Set<String> conditionIds;
+
+    /**
+     * The selection nodes waiting for the condition nodes to be read
+     */
+    private final Deque<SelectionNode> pendingNodes;
+
+    /**
+     * The record to be returned next
+     */
+    private Map<String, String> nextContent;
+
+    /**
+     * {@code true} if the iteration is completed, otherwise {@code false}
+     */
+    private boolean completed;
+
+    /**
+     * Constructor
+     *
+     * @param reader       The content reader
+     * @param attributes   The attribute names to be acquired
+     * @param conditions   The conditional list to use when matching conditions
+     * @param conditionIds The condition IDs matching the conditions, or
+     *                     {@code null} if they are resolved from the condition
+     *                     nodes read by the reader
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private ContentIterator(@NonNull ContentReader reader, @NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, Set<String> conditionIds) {
+        this.reader = reader;
+        this.attributes = attributes.toArray(new String[0]);
+        this.slots = reader.getSchema().slotsOf(this.attributes);
+        this.conditions = conditions;
+        this.conditionIds = conditionIds;
+        this.conditionNodes = new ArrayList<>();
+        this.pendingNodes = new ArrayDeque<>();
+    }
+
+    /**
+     * Returns the new instance of {@link ContentIterator} based on the arguments.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The attribute names to be acquired
+     * @param conditions    The conditional list to use when matching conditions
+     * @return The new instance of {@link ContentIterator}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ContentIterator of(@NonNull InputStream contentStream, @NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions) {
+
+        final Set<String> readAttributes = new HashSet<>(attributes);
+        readAttributes.add(SelectionNodeKey.CONDITION_ID.getKey());
+
+        return new ContentIterator(ContentReader.of(contentStream, readAttributes, !conditions.isEmpty()),
+                attributes, conditions, conditions.isEmpty() ? Set.of() : null);
+    }
+
+    /**
+     * Returns the new instance of {@link ContentIterator} that fetches the
+     * selection nodes with the condition IDs resolved in advance. The condition
+     * nodes of the content are skipped, and no selection node is held.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The attribute names to be acquired
+     * @param conditionIds  The condition IDs matching the conditions
+     * @return The new instance of {@link ContentIterator}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ContentIterator ofConditionIds(@NonNull InputStream contentStream, @NonNull Set<String> attributes,
+            @NonNull Set<String> conditionIds) {
+
+        final Set<String> readAttributes = new HashSet<>(attributes);
+        readAttributes.add(SelectionNodeKey.CONDITION_ID.getKey());
+
+        return new ContentIterator(ContentReader.of(contentStream, readAttributes, false), attributes, List.of(),
+                conditionIds);
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        if (this.nextContent == null && !this.completed) {
+            this.nextContent = this.computeNext();
+
+            if (this.nextContent == null) {
+                this.close();
+            }
+        }
+
+        return this.nextContent != null;
+    }
+
+    @Override
+    public Map<String, String> next() {
+
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Map<String, String> content = this.nextContent;
+        this.nextContent = null;
+
+        return content;
+    }
+
+    /**
+     * Reads the content until the next record to be returned is found.
+     *
+     * @return The next record, or {@code null} if there is no more record
+     */
+    private Map<String, String> computeNext() {
+
+        while (true) {
+            if (this.isConditionResolved() && !this.pendingNodes.isEmpty()) {
+                final SelectionNode pendingNode = this.pendingNodes.poll();
+
+                if (pendingNode.isSelectable(this.getConditionIds())) {
+                    return pendingNode.toContent(this.attributes, this.slots);
+                }
+
+                continue;
+            }
+
+            final ContentReader.NodeType nodeType = this.reader.next();
+
+            if (nodeType == null) {
+                if (this.pendingNodes.isEmpty()) {
+                    return null;
+                }
+
+                continue;
+            }
+
+            if (nodeType == ContentReader.NodeType.CONDITION_NODE) {
+                this.conditionNodes.add(this.reader.getConditionNode());
+                continue;
+            }
+
+            final SelectionNode selectionNode = this.reader.getSelectionNode();
+
+            if (!this.isConditionResolved()) {
+                if (this.pendingNodes.isEmpty() && selectionNode.getConditionId().isEmpty()) {
+                    return selectionNode.toContent(this.attributes, this.slots);
+                }
+
+                this.pendingNodes.add(selectionNode);
+                continue;
+            }
+
+            if (selectionNode.isSelectable(this.getConditionIds())) {
+                return selectionNode.toContent(this.attributes, this.slots);
+            }
+        }
+    }
+
+    /**
+     * Returns the condition IDs matching the conditions, resolving them with
+     * {@link ConditionMatcher} at the first call after the condition nodes have
+     * been read.
+     *
+     * @return The condition IDs matching the conditions
+     */
+    private Set<String> getConditionIds() {
+
+        if (this.conditionIds == null) {
+            this.conditionIds = ConditionMatcher.of(this.conditionNodes).resolve(this.conditions);
+            this.conditionNodes.clear();
+        }
+
+        return this.conditionIds;
+    }
+
+    /**
+     * Tests whether the condition IDs matching the conditions have been resolved.
+     * <p>
+     * If no condition is specified, no conditional selection node can be fetched
+     * and the condition nodes do not need to be read. If the condition IDs have
+     * been resolved in advance, the condition nodes are not read either.
+     *
+     * @return {@code true} if the condition IDs have been resolved, otherwise
+     *         {@code false}
+     */
+    private boolean isConditionResolved() {
+        return this.conditionIds != null || this.reader.isConditionNodesRead();
+    }
+
+    @Override
+    public void close() {
+        if (!this.completed) {
+            this.completed = true;
+            this.pendingNodes.clear();
+            this.reader.close();
+        }
+    }
+}
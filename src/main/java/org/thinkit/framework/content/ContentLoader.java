@@ -14,14 +14,26 @@
 
 package org.thinkit.framework.content;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import org.apache.commons.lang3.StringUtils;
 import org.thinkit.common.base.precondition.Preconditions;
@@ -54,6 +66,72 @@ import lombok.NonNull;
  * If the condition is specified:
  * <code>List&lt;Map&lt;String, String&gt;&gt; contents = ContentLoader.load(contentStream, attributes, conditions);</code>
  * </pre>
+ * <p>
+ * If only one record is needed, use {@link #loadFirst(InputStream, Set, List)}
+ * or {@link #loadUnique(InputStream, Set, List)} instead. These methods stop
+ * scanning the selection nodes as soon as the result is determined and do not
+ * build the records that are not returned.
+ *
+ * <pre>
+ * If only the first record is needed:
+ * <code>Optional&lt;Map&lt;String, String&gt;&gt; content = ContentLoader.loadFirst(contentStream, attributes, conditions);</code>
+ * </pre>
+ * <p>
+ * To process a large result without holding it in memory, use
+ * {@link #stream(InputStream, Set, List)} ,
+ * {@link #iterator(InputStream, Set, List)} or
+ * {@link #forEach(InputStream, Set, List, Consumer)} . These methods read the
+ * content with the streaming parser and build each record only when it is
+ * requested.
+ *
+ * <pre>
+ * If the records are processed one by one:
+ * <code>
+ * try (Stream&lt;Map&lt;String, String&gt;&gt; contents = ContentLoader.stream(contentStream, attributes, conditions)) {
+ *     contents.forEach(content -&gt; ...);
+ * }
+ * </code>
+ * </pre>
+ * <p>
+ * The streaming methods taking {@link InputStream} can read the content only
+ * once. If the condition nodes are defined after the selection nodes, which is
+ * the standard layout, the conditional selection nodes are held until the
+ * condition nodes have been read, so the memory used by these methods grows
+ * with the size of the content. Use the methods taking {@link Path} described
+ * below to read such a content without holding the selection nodes.
+ * <p>
+ * If the records are pushed to a reactive subscriber, use
+ * {@link #publisher(InputStream, Set, List, Executor)} , which reads the
+ * content only as far as the subscriber has requested.
+ * <p>
+ * If the same content is queried many times, use
+ * {@link #loadLazily(InputStream)} , which returns the {@link LazyContent}
+ * that parses each selection node only at its first access and skips the
+ * selection nodes not selected by the conditions without parsing them.
+ * <p>
+ * If the content file is too large to be held in memory, use
+ * {@link #scan(Path, Set, List)} or {@link #scanEach(Path, Set, List, Consumer)}
+ * instead. These methods read the content file twice through fixed-size
+ * buffers, first only its condition nodes and then only its selection nodes, so
+ * the memory used for reading does not depend on the size of the file. The
+ * content file compressed in one of the formats of {@link ContentCompression}
+ * , such as {@code "name.json.gz"} , is decompressed while it is read.
+ *
+ * <pre>
+ * If the content file is larger than the heap:
+ * <code>ContentLoader.scanEach(contentFile, attributes, conditions, content -&gt; ...);</code>
+ * </pre>
+ * <p>
+ * The content of a format other than JSON, such as CSV, is read with
+ * {@link #load(InputStream, ContentFormat, Set, List)} or
+ * {@link #forEach(InputStream, ContentFormat, Set, List, Consumer)} . The
+ * content file whose name has the extension of a {@link ContentFormat} is also
+ * read with the format by {@link #scan(Path, Set, List)} .
+ *
+ * <pre>
+ * If the content is a CSV file:
+ * <code>List&lt;Map&lt;String, String&gt;&gt; contents = ContentLoader.load(contentStream, ContentFormat.csv(), attributes, conditions);</code>
+ * </pre>
  *
  * @author Kato Shinya
  * @since 1.0.0
@@ -113,12 +191,661 @@ public final class ContentLoader {
         Preconditions.requireNonEmpty(attributes);
 
         final Map<String, Object> rawContent = getContent(contentStream);
-        final List<Map<String, Object>> conditionNodes = getNodeList(rawContent, ConditionNodeKey.CONDITION_NODES);
+        return getContentList(attributes, rawContent, resolveConditionIdList(rawContent, conditions));
+    }
+
+    /**
+     * Gets the first element that matches the conditions from the content file
+     * specified as an argument.
+     * <p>
+     * Use this {@link ContentLoader#loadFirst(InputStream, Set)} method if there
+     * are no fetch conditions in the content definition.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @return The first element retrieved from the content file, or
+     *         {@link Optional#empty()} if there is no element to be retrieved
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Optional<Map<String, String>> loadFirst(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes) {
+        return loadFirst(contentStream, attributes, new ArrayList<>(0));
+    }
+
+    /**
+     * Gets the first element that matches the conditions from the content file
+     * specified as an argument.
+     * <p>
+     * The content is read with the streaming parser in the order defined in the
+     * content, and the reading stops at the first matching node. Only the returned
+     * element is built. If the condition nodes are defined after the selection
+     * nodes, the conditional selection nodes read before them are held until the
+     * condition nodes have been read, so the first conditional match cannot be
+     * returned before the whole content has been read.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The first element retrieved from the content file, or
+     *         {@link Optional#empty()} if there is no element to be retrieved
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Optional<Map<String, String>> loadFirst(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+        return first(ContentIterator.of(contentStream, attributes, conditions));
+    }
+
+    /**
+     * Gets the first element that matches the conditions from the content opened
+     * by the source passed as an argument.
+     * <p>
+     * If the conditions are not empty, the content is opened twice. The condition
+     * IDs are resolved from the condition nodes first, and then the selection
+     * nodes are read until the first matching node, so no selection node is held
+     * even if the condition nodes are defined after the selection nodes.
+     *
+     * @param contentSource The source that opens the stream of content file each
+     *                      time it is called
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The first element retrieved from the content file, or
+     *         {@link Optional#empty()} if there is no element to be retrieved
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    static Optional<Map<String, String>> loadFirst(@NonNull final Supplier<InputStream> contentSource,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+        return first(openIterator(contentSource, attributes, conditions));
+    }
+
+    /**
+     * Gets the only element that matches the conditions from the content file
+     * specified as an argument.
+     * <p>
+     * Use this {@link ContentLoader#loadUnique(InputStream, Set)} method if there
+     * are no fetch conditions in the content definition.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @return The only element retrieved from the content file, or
+     *         {@link Optional#empty()} if there is no element to be retrieved
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If more than one element matches
+     */
+    public static Optional<Map<String, String>> loadUnique(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes) {
+        return loadUnique(contentStream, attributes, new ArrayList<>(0));
+    }
+
+    /**
+     * Gets the only element that matches the conditions from the content file
+     * specified as an argument.
+     * <p>
+     * The content is read with the streaming parser in the order defined in the
+     * content, and the reading fails as soon as the second matching node is found.
+     * If the condition nodes are defined after the selection nodes, the
+     * conditional selection nodes are held until the condition nodes have been
+     * read.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The only element retrieved from the content file, or
+     *         {@link Optional#empty()} if there is no element to be retrieved
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If more than one element matches
+     */
+    public static Optional<Map<String, String>> loadUnique(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+        return unique(ContentIterator.of(contentStream, attributes, conditions));
+    }
+
+    /**
+     * Gets the only element that matches the conditions from the content opened
+     * by the source passed as an argument.
+     * <p>
+     * The content is opened twice if the conditions are not empty, in the same
+     * way as {@link #loadFirst(Supplier, Set, List)} , and the reading fails as
+     * soon as the second matching node is found.
+     *
+     * @param contentSource The source that opens the stream of content file each
+     *                      time it is called
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The only element retrieved from the content file, or
+     *         {@link Optional#empty()} if there is no element to be retrieved
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If more than one element matches
+     */
+    static Optional<Map<String, String>> loadUnique(@NonNull final Supplier<InputStream> contentSource,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+        return unique(openIterator(contentSource, attributes, conditions));
+    }
+
+    /**
+     * Returns the first element of the iterator and closes it.
+     *
+     * @param contents The iterator of the elements
+     * @return The first element, or {@link Optional#empty()} if there is no
+     *         element
+     */
+    private static Optional<Map<String, String>> first(@NonNull final ContentIterator contents) {
+        try (contents) {
+            return contents.hasNext() ? Optional.of(contents.next()) : Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the only element of the iterator and closes it.
+     *
+     * @param contents The iterator of the elements
+     * @return The only element, or {@link Optional#empty()} if there is no element
+     *
+     * @throws ContentHandlingException If the iterator has more than one element
+     */
+    private static Optional<Map<String, String>> unique(@NonNull final ContentIterator contents) {
+        try (contents) {
+            if (!contents.hasNext()) {
+                return Optional.empty();
+            }
+
+            final Map<String, String> content = contents.next();
+
+            if (contents.hasNext()) {
+                throw new ContentHandlingException(
+                        "More than one record matched the conditions where a unique record was expected.");
+            }
+
+            return Optional.of(content);
+        }
+    }
+
+    /**
+     * Opens the iterator of the elements of the content opened by the source
+     * passed as an argument. If the conditions are not empty, the condition IDs
+     * are resolved from the content opened first, and the iterator reads the
+     * content opened again without holding any selection node.
+     *
+     * @param contentSource The source that opens the stream of content file each
+     *                      time it is called
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The iterator of the elements
+     */
+    private static ContentIterator openIterator(@NonNull final Supplier<InputStream> contentSource,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+
+        if (conditions.isEmpty()) {
+            return ContentIterator.of(contentSource.get(), attributes, conditions);
+        }
+
+        return ContentIterator.ofConditionIds(contentSource.get(), attributes,
+                resolveConditionIds(contentSource.get(), conditions));
+    }
+
+    /**
+     * Returns the stream of the elements defined in the content file specified as
+     * an argument.
+     * <p>
+     * Use this {@link ContentLoader#stream(InputStream, Set)} method if there are
+     * no fetch conditions in the content definition.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @return The stream of the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Stream<Map<String, String>> stream(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes) {
+        return stream(contentStream, attributes, new ArrayList<>(0));
+    }
+
+    /**
+     * Returns the stream of the elements defined in the content file specified as
+     * an argument.
+     * <p>
+     * The content is read lazily with the streaming parser as the returned stream
+     * is consumed. The elements are returned in the order defined in the content.
+     * The content stream is closed when the returned stream is closed.
+     * <p>
+     * If the condition nodes are defined before the selection nodes, no element is
+     * held in memory. Otherwise the conditional selection nodes are held from the
+     * first one until the condition nodes have been read, since whether they can
+     * be fetched is not known until then, so the memory used grows with the size
+     * of the content. Use {@link ContentLoader#scanEach(Path, Set, List, Consumer)}
+     * to read such a content file without holding the selection nodes.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The stream of the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Stream<Map<String, String>> stream(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+
+        final ContentIterator contents = ContentIterator.of(contentStream, attributes, conditions);
+
+        return StreamSupport
+                .stream(Spliterators.spliteratorUnknownSize(contents, Spliterator.ORDERED | Spliterator.NONNULL),
+                        false)
+                .onClose(contents::close);
+    }
+
+    /**
+     * Returns the iterator of the elements defined in the content file specified
+     * as an argument.
+     * <p>
+     * Use this {@link ContentLoader#iterator(InputStream, Set)} method if there are
+     * no fetch conditions in the content definition.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @return The iterator of the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Iterator<Map<String, String>> iterator(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes) {
+        return iterator(contentStream, attributes, new ArrayList<>(0));
+    }
+
+    /**
+     * Returns the iterator of the elements defined in the content file specified
+     * as an argument.
+     * <p>
+     * The content is read lazily with the streaming parser as the returned
+     * iterator advances. The content stream is closed when the iteration is
+     * completed, so close the content stream yourself if the iteration is stopped
+     * on the way.
+     * <p>
+     * If the condition nodes are defined after the selection nodes, the
+     * conditional selection nodes are held from the first one until the condition
+     * nodes have been read, in the same way as
+     * {@link ContentLoader#stream(InputStream, Set, List)} .
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The iterator of the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Iterator<Map<String, String>> iterator(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+        return ContentIterator.of(contentStream, attributes, conditions);
+    }
+
+    /**
+     * Passes each element defined in the content file specified as an argument to
+     * the consumer.
+     * <p>
+     * Use this {@link ContentLoader#forEach(InputStream, Set, Consumer)} method if
+     * there are no fetch conditions in the content definition.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param consumer      The consumer to which each element is passed
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static void forEach(@NonNull final InputStream contentStream, @NonNull final Set<String> attributes,
+            @NonNull final Consumer<Map<String, String>> consumer) {
+        forEach(contentStream, attributes, new ArrayList<>(0), consumer);
+    }
+
+    /**
+     * Passes each element defined in the content file specified as an argument to
+     * the consumer.
+     * <p>
+     * Each element is passed to the consumer in the order defined in the content.
+     * The content stream is closed when this method returns.
+     * <p>
+     * If the condition nodes are defined before the selection nodes, each element
+     * is passed as soon as it has been read, and no element is held in memory.
+     * Otherwise the conditional selection nodes are held from the first one until
+     * the condition nodes have been read, in the same way as
+     * {@link ContentLoader#stream(InputStream, Set, List)} . Use
+     * {@link ContentLoader#scanEach(Path, Set, List, Consumer)} to read such a
+     * content file without holding the selection nodes.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @param consumer      The consumer to which each element is passed
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static void forEach(@NonNull final InputStream contentStream, @NonNull final Set<String> attributes,
+            @NonNull final List<Map<String, String>> conditions,
+            @NonNull final Consumer<Map<String, String>> consumer) {
+        Preconditions.requireNonEmpty(attributes);
+
+        try (ContentIterator contents = ContentIterator.of(contentStream, attributes, conditions)) {
+            contents.forEachRemaining(consumer);
+        }
+    }
+
+    /**
+     * Gets each element defined in the content of the format specified as an
+     * argument and return it as List.
+     * <p>
+     * The result is the same as {@link ContentLoader#load(InputStream, Set, List)}
+     * for the JSON content with the same nodes. The content stream is closed when
+     * this method returns.
+     *
+     * @param contentStream The stream of content file
+     * @param format        The format of the content
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The List containing the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static List<Map<String, String>> load(@NonNull final InputStream contentStream,
+            @NonNull final ContentFormat format, @NonNull final Set<String> attributes,
+            @NonNull final List<Map<String, String>> conditions) {
+
+        final List<Map<String, String>> contentList = new ArrayList<>(0);
+        forEach(contentStream, format, attributes, conditions, contentList::add);
+
+        return contentList;
+    }
+
+    /**
+     * Passes each element defined in the content of the format specified as an
+     * argument to the consumer.
+     * <p>
+     * The condition IDs are resolved when the first selection node has been read,
+     * since the format passes the condition nodes before the selection nodes.
+     * Then each element is passed to the consumer as soon as the format passes it.
+     * The content stream is closed when this method returns.
+     * <p>
+     * Whether the selection nodes are held in memory depends on the format. The
+     * format whose condition nodes may follow the selection nodes, such as
+     * {@link ContentFormat#ndjson()} , holds all selection nodes until the end of
+     * the stream, since the stream can be read only once. Use
+     * {@link ContentLoader#scanEach(Path, Set, List, Consumer)} to read such a
+     * content from the content file without holding the selection nodes.
+     *
+     * @param contentStream The stream of content file
+     * @param format        The format of the content
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @param consumer      The consumer to which each element is passed
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static void forEach(@NonNull final InputStream contentStream, @NonNull final ContentFormat format,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions,
+            @NonNull final Consumer<Map<String, String>> consumer) {
+        Preconditions.requireNonEmpty(attributes);
+
+        final NodeSink sink = createFilteringSink(attributes, conditions, consumer);
+
+        try (contentStream) {
+            format.read(contentStream, sink);
+        } catch (IOException e) {
+            throw new ContentHandlingException(
+                    String.format("Could not read the content of the format %s.", format.getExtension()), e);
+        }
+    }
+
+    /**
+     * Returns the sink that passes each element selected by the conditions to the
+     * consumer.
+     * <p>
+     * The condition IDs are resolved when the first selection node has been
+     * passed, so the format must pass the condition nodes before the selection
+     * nodes.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content file
+     * @param consumer   The consumer to which each element is passed
+     * @return The sink
+     */
+    private static NodeSink createFilteringSink(@NonNull final Set<String> attributes,
+            @NonNull final List<Map<String, String>> conditions,
+            @NonNull final Consumer<Map<String, String>> consumer) {
+
+        final Set<String> readAttributes = new HashSet<>(attributes);
+        readAttributes.add(SelectionNodeKey.CONDITION_ID.getKey());
+
+        final String[] attributeNames = attributes.toArray(new String[0]);
+        final ContentSchema schema = ContentSchema.of(readAttributes);
+        final int[] slots = schema.slotsOf(attributeNames);
+        final List<ConditionNode> conditionNodes = new ArrayList<>();
+        final AtomicReference<Set<String>> conditionIds = new AtomicReference<>();
+
+        return new NodeSink(schema, conditionNodes::add, selectionNode -> {
+            if (conditionIds.get() == null) {
+                conditionIds.set(
+                        conditions.isEmpty() ? Set.of() : ConditionMatcher.of(conditionNodes).resolve(conditions));
+            }
+
+            if (selectionNode.isSelectable(conditionIds.get())) {
+                consumer.accept(selectionNode.toContent(attributeNames, slots));
+            }
+        });
+    }
+
+    /**
+     * Returns the publisher of the elements defined in the content file specified
+     * as an argument.
+     * <p>
+     * The elements are read and emitted in the thread that requests them from the
+     * subscription. Use
+     * {@link ContentLoader#publisher(InputStream, Set, List, Executor)} to emit
+     * them on another thread.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The publisher of the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Flow.Publisher<Map<String, String>> publisher(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
+        return publisher(contentStream, attributes, conditions, Runnable::run);
+    }
+
+    /**
+     * Returns the publisher of the elements defined in the content file specified
+     * as an argument.
+     * <p>
+     * The returned publisher honours the demand of the subscriber. The content is
+     * read with the streaming parser only as far as the subscriber has requested,
+     * so a slow subscriber never causes the elements to be buffered in memory.
+     * The publisher accepts only one subscriber, and the content stream is closed
+     * when the subscription is completed or cancelled.
+     *
+     * @param contentStream The stream of content file
+     * @param attributes    The Attribute names to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @param executor      The executor on which the elements are read and
+     *                      emitted
+     * @return The publisher of the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public static Flow.Publisher<Map<String, String>> publisher(@NonNull final InputStream contentStream,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions,
+            @NonNull final Executor executor) {
+        Preconditions.requireNonEmpty(attributes);
+        return new ContentPublisher(ContentIterator.of(contentStream, attributes, conditions), executor);
+    }
+
+    /**
+     * Opens the content file specified as an argument as the {@link LazyContent}
+     * , which parses each selection node only when it is accessed for the first
+     * time and caches it.
+     * <p>
+     * Use this method instead of {@link ContentLoader#load(InputStream, Set, List)}
+     * if the same content is queried many times, or only a few of its selection
+     * nodes are accessed. The content stream is read as a whole and closed when
+     * this method returns.
+     *
+     * <pre>
+     * Query the same content many times:
+     * <code>LazyContent content = ContentLoader.loadLazily(contentStream);</code>
+     * <code>List&lt;Map&lt;String, String&gt;&gt; contents = content.load(attributes, conditions);</code>
+     * </pre>
+     *
+     * @param contentStream The UTF-8 encoded stream of content file
+     * @return The lazy content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read or its
+     *                                  structure is malformed
+     */
+    public static LazyContent loadLazily(@NonNull final InputStream contentStream) {
+        return LazyContent.of(contentStream);
+    }
+
+    /**
+     * Gets each element defined in the content file specified as an argument by
+     * scanning the file, and return it as a list.
+     * <p>
+     * Use this {@link ContentLoader#scan(Path, Set)} method if there are no fetch
+     * conditions in the content definition.
+     *
+     * @param contentFile The path of content file
+     * @param attributes  The Attribute names to be acquired
+     * @return The List containing the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the content file cannot be read
+     */
+    public static List<Map<String, String>> scan(@NonNull final Path contentFile,
+            @NonNull final Set<String> attributes) {
+        return scan(contentFile, attributes, new ArrayList<>(0));
+    }
+
+    /**
+     * Gets each element defined in the content file specified as an argument by
+     * scanning the file, and return it as a list.
+     * <p>
+     * The result is the same as {@link ContentLoader#load(InputStream, Set, List)}
+     * , but the content file is never held in memory as a whole. Only the returned
+     * elements are held in memory.
+     *
+     * @param contentFile The path of content file
+     * @param attributes  The Attribute names to be acquired
+     * @param conditions  The conditional list to use when getting data from the
+     *                    content file
+     * @return The List containing the elements retrieved from the content file
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the content file cannot be read
+     */
+    public static List<Map<String, String>> scan(@NonNull final Path contentFile,
+            @NonNull final Set<String> attributes, @NonNull final List<Map<String, String>> conditions) {
 
-        final List<String> conditionIdList = conditionNodes.isEmpty() ? new ArrayList<>(0)
-                : getConditionIdList(conditionNodes, conditions);
+        final List<Map<String, String>> contentList = new ArrayList<>(0);
+        scanEach(contentFile, attributes, conditions, contentList::add);
 
-        return getContentList(attributes, rawContent, conditionIdList);
+        return contentList;
+    }
+
+    /**
+     * Passes each element defined in the content file specified as an argument to
+     * the consumer by scanning the file.
+     * <p>
+     * If the conditions are not empty, the content file is read once to resolve
+     * the condition IDs from the condition nodes, skipping the selection nodes.
+     * Then the file is read again and each selection node is passed to the
+     * consumer as soon as it has been read, skipping the condition nodes. Unlike
+     * {@link ContentLoader#forEach(InputStream, Set, List, Consumer)} , the
+     * selection nodes defined before the condition nodes are never buffered, so
+     * the memory used does not depend on the size of the content file.
+     * <p>
+     * If the name of the content file has the extension of a
+     * {@link ContentFormat} , the file is read with
+     * {@link ContentFormat#read(Path, ContentSink)} instead, which also reads the
+     * file twice if the condition nodes may follow the selection nodes.
+     *
+     * @param contentFile The path of content file
+     * @param attributes  The Attribute names to be acquired
+     * @param conditions  The conditional list to use when getting data from the
+     *                    content file
+     * @param consumer    The consumer to which each element is passed
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the content file cannot be read
+     */
+    public static void scanEach(@NonNull final Path contentFile, @NonNull final Set<String> attributes,
+            @NonNull final List<Map<String, String>> conditions,
+            @NonNull final Consumer<Map<String, String>> consumer) {
+        Preconditions.requireNonEmpty(attributes);
+
+        final Optional<ContentFormat> format = ContentFormats.ofFileName(String.valueOf(contentFile.getFileName()));
+
+        if (format.isPresent()) {
+            try {
+                format.get().read(contentFile, createFilteringSink(attributes, conditions, consumer));
+                return;
+            } catch (IOException e) {
+                throw new ContentHandlingException(String.format("Could not read the content file %s.", contentFile),
+                        e);
+            }
+        }
+
+        final Set<String> conditionIds = scanConditionIds(contentFile, conditions);
+
+        try (ContentIterator contents = ContentIterator.ofConditionIds(ContentCompression.open(contentFile),
+                attributes, conditionIds)) {
+            contents.forEachRemaining(consumer);
+        } catch (IOException e) {
+            throw new ContentHandlingException(String.format("Could not open the content file %s.", contentFile), e);
+        }
     }
 
     /**
@@ -200,6 +927,58 @@ public final class ContentLoader {
         return JsonConverter.toLinkedHashMap(FluentStreamReader.of(contentStream).toString());
     }
 
+    /**
+     * Returns the condition IDs matching the conditions by scanning only the
+     * condition nodes of the content file. The file is not read if the conditions
+     * are empty.
+     *
+     * @param contentFile The path of content file
+     * @param conditions  The conditional list to use when getting data from the
+     *                    content file
+     * @return The condition IDs matching the conditions
+     *
+     * @throws ContentHandlingException If the content file cannot be read
+     */
+    private static Set<String> scanConditionIds(@NonNull final Path contentFile,
+            @NonNull final List<Map<String, String>> conditions) {
+
+        if (conditions.isEmpty()) {
+            return Set.of();
+        }
+
+        try {
+            return resolveConditionIds(ContentCompression.open(contentFile), conditions);
+        } catch (IOException e) {
+            throw new ContentHandlingException(String.format("Could not open the content file %s.", contentFile), e);
+        }
+    }
+
+    /**
+     * Returns the condition IDs matching the conditions by reading only the
+     * condition nodes of the content stream, which is closed when this method
+     * returns.
+     *
+     * @param contentStream The stream of content file
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content file
+     * @return The condition IDs matching the conditions
+     *
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    private static Set<String> resolveConditionIds(@NonNull final InputStream contentStream,
+            @NonNull final List<Map<String, String>> conditions) {
+
+        final List<ConditionNode> conditionNodes = new ArrayList<>();
+
+        try (ContentReader reader = ContentReader.ofConditionNodes(contentStream)) {
+            while (reader.next() != null) {
+                conditionNodes.add(reader.getConditionNode());
+            }
+        }
+
+        return ConditionMatcher.of(conditionNodes).resolve(conditions);
+    }
+
     /**
      * Returns the content list based on the information passed as arguments.
      * <p>
@@ -223,26 +1002,77 @@ public final class ContentLoader {
 
         for (Map<String, Object> nodeList : selectionNodes) {
             final Map<String, Object> nodeMap = getNodeMap(nodeList, SelectionNodeKey.NODE);
-            final String conditionId = getString(nodeMap, SelectionNodeKey.CONDITION_ID);
 
-            if (!StringUtils.isEmpty(conditionId) && !conditionIdList.contains(conditionId)) {
-                continue;
+            if (isSelectable(nodeMap, conditionIdList)) {
+                contentList.add(toContent(attributes, nodeMap));
             }
+        }
 
-            final Map<String, String> content = new HashMap<>(0);
+        return contentList;
+    }
 
-            for (String attribute : attributes) {
-                content.put(attribute, getString(nodeMap, attribute));
-            }
+    /**
+     * Tests whether the selection node can be fetched with the condition IDs
+     * passed as an argument.
+     * <p>
+     * The selection node without the condition ID can be fetched unconditionally.
+     *
+     * @param nodeMap         The selection node map
+     * @param conditionIdList A list containing the condition ID to be fetched
+     * @return {@code true} if the selection node can be fetched, otherwise
+     *         {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private static boolean isSelectable(@NonNull Map<String, Object> nodeMap, @NonNull List<String> conditionIdList) {
+        final String conditionId = getString(nodeMap, SelectionNodeKey.CONDITION_ID);
+        return StringUtils.isEmpty(conditionId) || conditionIdList.contains(conditionId);
+    }
 
-            contentList.add(content);
+    /**
+     * Builds the content record containing the values of the attributes passed as
+     * an argument from the selection node.
+     *
+     * @param attributes The list of keys associated to the values to be fetched
+     *                   from the content
+     * @param nodeMap    The selection node map
+     * @return The content record
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private static Map<String, String> toContent(@NonNull Set<String> attributes,
+            @NonNull Map<String, Object> nodeMap) {
+
+        final Map<String, String> content = new HashMap<>(attributes.size());
+
+        for (String attribute : attributes) {
+            content.put(attribute, getString(nodeMap, attribute));
         }
 
-        return contentList;
+        return content;
+    }
+
+    /**
+     * Gets the condition ID used to load the content from the content map and
+     * returns it as a list.
+     *
+     * @param rawContent The unprocessed content objects
+     * @param conditions The conditional map to use when matching conditions
+     * @return The List of condition IDs obtained as a result of matching
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private static List<String> resolveConditionIdList(@NonNull Map<String, Object> rawContent,
+            @NonNull List<Map<String, String>> conditions) {
+        final List<Map<String, Object>> conditionNodes = getNodeList(rawContent, ConditionNodeKey.CONDITION_NODES);
+        return conditionNodes.isEmpty() ? new ArrayList<>(0) : getConditionIdList(conditionNodes, conditions);
     }
 
     /**
      * Gets the condition ID used to load the content and returns it as a list.
+     * <p>
+     * The condition nodes are matched against the conditions by
+     * {@link ConditionMatcher} in the same way as the other loaders.
      *
      * @param conditionNodes The list containing the conditional nodes
      * @param conditions     The conditional map to use when matching conditions
@@ -253,28 +1083,24 @@ public final class ContentLoader {
     private static List<String> getConditionIdList(@NonNull List<Map<String, Object>> conditionNodes,
             @NonNull List<Map<String, String>> conditions) {
 
-        final List<String> conditionIdList = new ArrayList<>(0);
-
-        conditions.forEach(condition -> {
-            conditionNodes.forEach(nodeList -> {
-
-                final Map<String, Object> nodeMap = getNodeMap(nodeList, ConditionNodeKey.NODE);
-                final List<Map<String, Object>> conditionList = getNodeList(nodeMap, ConditionNodeKey.CONDITIONS);
+        final List<ConditionNode> nodes = new ArrayList<>(conditionNodes.size());
 
-                if (all(conditionList, condition)) {
-                    conditionIdList.add(getString(nodeMap, ConditionNodeKey.CONDITION_ID));
-                }
-            });
-        });
-
-        return conditionIdList;
+        for (Map<String, Object> nodeList : conditionNodes) {
+            final Map<String, Object> nodeMap = getNodeMap(nodeList, ConditionNodeKey.NODE);
+            nodes.add(toConditionNode(getString(nodeMap, ConditionNodeKey.CONDITION_ID),
+                    getNodeList(nodeMap, ConditionNodeKey.CONDITIONS)));
+        }
 
+        return new ArrayList<>(ConditionMatcher.of(nodes).resolve(conditions));
     }
 
     /**
      * Tests the conditions defined in the content against those passed to
      * {@link #load(InputStream, Set, List)} and determine if all conditions are
      * met.
+     * <p>
+     * The conditions are matched by {@link ConditionMatcher} in the same way as
+     * the other loaders.
      *
      * @param contentConditionList The List of conditions defined in the content
      * @param conditions           The conditional map to use when matching
@@ -285,20 +1111,30 @@ public final class ContentLoader {
      */
     private static boolean all(@NonNull List<Map<String, Object>> contentConditionList,
             @NonNull Map<String, String> conditions) {
+        return !ConditionMatcher.of(List.of(toConditionNode("", contentConditionList)))
+                .resolve(List.of(conditions)).isEmpty();
+    }
 
-        final Set<Entry<String, String>> entrySet = conditions.entrySet();
+    /**
+     * Converts the conditions defined in the content into the condition node.
+     *
+     * @param conditionId          The condition ID
+     * @param contentConditionList The List of conditions defined in the content
+     * @return The condition node
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private static ConditionNode toConditionNode(@NonNull String conditionId,
+            @NonNull List<Map<String, Object>> contentConditionList) {
 
-        for (Map<String, Object> contentCondition : contentConditionList) {
-            final String keyName = getString(contentCondition, ConditionNodeKey.KEY_NAME);
-            final String value = getString(contentCondition, ConditionNodeKey.OPERAND);
+        final String[] keyNames = new String[contentConditionList.size()];
+        final String[] operands = new String[contentConditionList.size()];
 
-            for (Entry<String, String> entry : entrySet) {
-                if (Objects.equals(keyName, entry.getKey()) && !Objects.equals(value, entry.getValue())) {
-                    return false;
-                }
-            }
+        for (int i = 0; i < keyNames.length; i++) {
+            keyNames[i] = getString(contentConditionList.get(i), ConditionNodeKey.KEY_NAME);
+            operands[i] = getString(contentConditionList.get(i), ConditionNodeKey.OPERAND);
         }
 
-        return true;
+        return new ConditionNode(conditionId, keyNames, operands);
     }
 }
@@ -0,0 +1,307 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import lombok.NonNull;
+
+/**
+ * The publisher that emits the records of the content to a subscriber
+ * according to its demand.
+ * <p>
+ * The records are pulled from the underlying iterator only when the subscriber
+ * has requested them, so a slow subscriber never causes the records to be
+ * buffered. At most one record is read ahead so that the completion can be
+ * signaled as soon as the last record has been emitted. The records are
+ * emitted on the executor passed to the constructor, one task at a time, so
+ * {@link Flow.Subscriber#onNext(Object)} is never called concurrently.
+ * <p>
+ * Since the content can be read only once, the publisher accepts only one
+ * subscriber. The second and subsequent subscribers are notified of
+ * {@link IllegalStateException} through {@link Flow.Subscriber#onError} .
+ * <p>
+ * Only the errors of reading the records are signaled through
+ * {@link Flow.Subscriber#onError} . If the subscriber itself throws an
+ * exception, the subscription is cancelled, the content is closed and the
+ * exception is rethrown to the executor instead of being signaled back to the
+ * subscriber, as required by the Reactive Streams specification.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentPublisher implements Flow.Publisher<Map<String, String>> {
+
+    /**
+     * The iterator of the records
+     */
+    private final Iterator<Map<String, String>> contents;
+
+    /**
+     * The executor on which the records are emitted
+     */
+    private final Executor executor;
+
+    /**
+     * {@code true} if the publisher has been subscribed, otherwise {@code false}
+     */
+    private final AtomicBoolean subscribed;
+
+    /**
+     * Constructor
+     *
+     * @param contents The iterator of the records
+     * @param executor The executor on which the records are emitted
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    ContentPublisher(@NonNull Iterator<Map<String, String>> contents, @NonNull Executor executor) {
+        this.contents = contents;
+        this.executor = executor;
+        this.subscribed = new AtomicBoolean();
+    }
+
+    @Override
+    public void subscribe(@NonNull Flow.Subscriber<? super Map<String, String>> subscriber) {
+
+        if (!this.subscribed.compareAndSet(false, true)) {
+            subscriber.onSubscribe(new Flow.Subscription() {
+
+                @Override
+                public void request(long n) {
+                    // do nothing
+                }
+
+                @Override
+                public void cancel() {
+                    // do nothing
+                }
+            });
+            subscriber.onError(new IllegalStateException("The content publisher allows only one subscriber."));
+            return;
+        }
+
+        final ContentSubscription subscription = new ContentSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * The subscription that emits the records while the demand of the subscriber
+     * remains.
+     */
+    private final class ContentSubscription implements Flow.Subscription, Runnable {
+
+        /**
+         * The subscriber
+         */
+        private final Flow.Subscriber<? super Map<String, String>> subscriber;
+
+        /**
+         * The number of records requested and not yet emitted
+         */
+        private final AtomicLong demand;
+
+        /**
+         * The number of pending drain requests, used to run only one drain loop at a
+         * time
+         */
+        private final AtomicInteger pending;
+
+        /**
+         * {@code true} if the subscription has been cancelled or terminated,
+         * otherwise {@code false}
+         */
+        private volatile boolean done;
+
+        /**
+         * The error caused by an invalid request, or {@code null}
+         */
+        private volatile Throwable requestError;
+
+        /**
+         * Constructor
+         *
+         * @param subscriber The subscriber
+         */
+        private ContentSubscription(@NonNull Flow.Subscriber<? super Map<String, String>> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong();
+            this.pending = new AtomicInteger();
+        }
+
+        @Override
+        public void request(long n) {
+
+            if (n <= 0) {
+                this.requestError = new IllegalArgumentException(
+                        String.format("The number of requested records must be positive but was %d.", n));
+            } else {
+                this.demand.getAndAccumulate(n, (current, added) -> {
+                    final long sum = current + added;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+
+            this.schedule();
+        }
+
+        @Override
+        public void cancel() {
+            this.done = true;
+            this.schedule();
+        }
+
+        /**
+         * Schedules the drain loop on the executor unless it is already running.
+         */
+        private void schedule() {
+            if (this.pending.getAndIncrement() == 0) {
+                executor.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+
+            int missed = 1;
+
+            do {
+                this.drain();
+                missed = this.pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emits the records while the demand remains and terminates the subscription
+         * when the records are exhausted or an error occurs.
+         * <p>
+         * Only the errors of the records are signalled to the subscriber. If the
+         * subscriber itself throws an exception, the subscription is cancelled and
+         * the exception is rethrown to the executor, since the subscriber must not
+         * be signalled any more.
+         */
+        private void drain() {
+
+            if (this.done) {
+                this.closeContents();
+                return;
+            }
+
+            final Throwable error = this.requestError;
+
+            if (error != null) {
+                this.terminate(error);
+                return;
+            }
+
+            while (this.demand.get() > 0 && !this.done) {
+                final Map<String, String> record = this.nextRecord();
+
+                if (record == null) {
+                    return;
+                }
+
+                this.demand.decrementAndGet();
+                this.signal(() -> this.subscriber.onNext(record));
+            }
+
+            if (!this.done && this.demand.get() == 0) {
+                try {
+                    if (contents.hasNext()) {
+                        return;
+                    }
+                } catch (RuntimeException e) {
+                    this.terminate(e);
+                    return;
+                }
+
+                this.complete();
+            }
+        }
+
+        /**
+         * Reads the next record, completing or terminating the subscription if no
+         * record can be read.
+         *
+         * @return The next record, or {@code null} if the records are exhausted or
+         *         an error occurs
+         */
+        private Map<String, String> nextRecord() {
+
+            try {
+                if (contents.hasNext()) {
+                    return contents.next();
+                }
+            } catch (RuntimeException e) {
+                this.terminate(e);
+                return null;
+            }
+
+            this.complete();
+            return null;
+        }
+
+        /**
+         * Completes the subscription.
+         */
+        private void complete() {
+            this.done = true;
+            this.signal(this.subscriber::onComplete);
+        }
+
+        /**
+         * Terminates the subscription with the error passed as an argument.
+         *
+         * @param error The error
+         */
+        private void terminate(@NonNull Throwable error) {
+            this.done = true;
+            this.closeContents();
+            this.signal(() -> this.subscriber.onError(error));
+        }
+
+        /**
+         * Signals the subscriber. If the subscriber throws an exception, the
+         * subscription is cancelled, the contents are closed and the exception is
+         * rethrown.
+         *
+         * @param signal The signal to the subscriber
+         */
+        private void signal(@NonNull Runnable signal) {
+            try {
+                signal.run();
+            } catch (RuntimeException e) {
+                this.done = true;
+                this.closeContents();
+                throw e;
+            }
+        }
+
+        /**
+         * Closes the iterator of the records if it holds the content stream.
+         */
+        private void closeContents() {
+            if (contents instanceof ContentIterator) {
+                ((ContentIterator) contents).close();
+            }
+        }
+    }
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class that reads the nodes of the content file one by one with the
+ * streaming JSON parser.
+ * <p>
+ * Unlike {@link ContentLoader#load(InputStream, Set, List)} , the content is
+ * never held in memory as a whole. Each call to {@link #next()} reads only the
+ * next selection node or condition node, and the nodes are returned in the
+ * order defined in the content.
+ *
+ * <pre>
+ * <code>
+ * try (ContentReader reader = ContentReader.of(contentStream)) {
+ *     while (reader.next() != null) {
+ *         // do something
+ *     }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentReader implements Closeable {
+
+    /**
+     * The shared JSON factory
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The type of node read by {@link ContentReader#next()}
+     */
+    enum NodeType {
+
+        /**
+         * The selection node
+         */
+        SELECTION_NODE,
+
+        /**
+         * The condition node
+         */
+        CONDITION_NODE;
+    }
+
+    /**
+     * The JSON parser
+     */
+    private final JsonParser parser;
+
+    /**
+     * The schema of the attributes read from the selection nodes
+     */
+    @Getter
+    private final ContentSchema schema;
+
+    /**
+     * The buffer of the values of the selection node being read
+     */
+    private String[] values;
+
+    /**
+     * {@code true} if the selection nodes are read, otherwise {@code false}
+     */
+    private final boolean readSelectionNodes;
+
+    /**
+     * {@code true} if the condition nodes are read, otherwise {@code false}
+     */
+    private final boolean readConditionNodes;
+
+    /**
+     * The array of nodes being read
+     */
+    private NodeType currentArray;
+
+    /**
+     * The selection node read last
+     */
+    @Getter
+    private SelectionNode selectionNode;
+
+    /**
+     * The condition node read last
+     */
+    @Getter
+    private ConditionNode conditionNode;
+
+    /**
+     * {@code true} if all condition nodes of the content have been read,
+     * otherwise {@code false}
+     */
+    @Getter
+    private boolean conditionNodesRead;
+
+    /**
+     * The scalar values of the metadata read from the content
+     */
+    @Getter
+    private final Map<String, String> metadata;
+
+    /**
+     * The data types of the attributes declared in the metadata
+     */
+    @Getter
+    private final Map<String, String> dataTypes;
+
+    /**
+     * Constructor
+     *
+     * @param parser             The JSON parser
+     * @param schema             The schema of the attributes read from the
+     *                           selection nodes
+     * @param readSelectionNodes {@code true} if the selection nodes are read,
+     *                           otherwise {@code false}
+     * @param readConditionNodes {@code true} if the condition nodes are read,
+     *                           otherwise {@code false}
+     */
+    private ContentReader(@NonNull JsonParser parser, @NonNull ContentSchema schema, boolean readSelectionNodes,
+            boolean readConditionNodes) {
+        this.parser = parser;
+        this.schema = schema;
+        this.values = new String[Math.max(schema.size(), 8)];
+        this.readSelectionNodes = readSelectionNodes;
+        this.readConditionNodes = readConditionNodes;
+        this.metadata = new LinkedHashMap<>();
+        this.dataTypes = new LinkedHashMap<>();
+    }
+
+    /**
+     * Returns the new instance of {@link ContentReader} that reads all attributes
+     * and condition nodes from the content stream.
+     *
+     * @param contentStream The stream of content file
+     * @return The new instance of {@link ContentReader}
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content stream cannot be read
+     */
+    public static ContentReader of(@NonNull InputStream contentStream) {
+        return of(contentStream, null, true);
+    }
+
+    /**
+     * Returns the new instance of {@link ContentReader} from the content stream.
+     * <p>
+     * Only the attributes passed as an argument are read from the selection nodes
+     * into the slots of the schema fixed to them. If all attributes are read, the
+     * schema is inferred as the union of the attribute names of the selection
+     * nodes. If {@code readConditionNodes} is {@code false} , the condition nodes are
+     * skipped without being built.
+     *
+     * @param contentStream      The stream of content file
+     * @param attributes         The attribute names to be read, or {@code null}
+     *                           if all attributes are read
+     * @param readConditionNodes {@code true} if the condition nodes are read,
+     *                           otherwise {@code false}
+     * @return The new instance of {@link ContentReader}
+     *
+     * @exception NullPointerException  If {@code null} is passed as the content
+     *                                  stream
+     * @throws ContentHandlingException If the content stream cannot be read
+     */
+    public static ContentReader of(@NonNull InputStream contentStream, Set<String> attributes,
+            boolean readConditionNodes) {
+        try {
+            return new ContentReader(JSON_FACTORY.createParser(contentStream),
+                    attributes == null ? ContentSchema.inferred() : ContentSchema.of(attributes), true,
+                    readConditionNodes);
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Returns the new instance of {@link ContentReader} that reads only the
+     * condition nodes from the content stream. The selection nodes are skipped
+     * without being built, and the reading ends as soon as the condition nodes
+     * have been read, so the selection nodes defined after them are not scanned.
+     *
+     * @param contentStream The stream of content file
+     * @return The new instance of {@link ContentReader}
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content stream cannot be read
+     */
+    public static ContentReader ofConditionNodes(@NonNull InputStream contentStream) {
+        try {
+            return new ContentReader(JSON_FACTORY.createParser(contentStream), ContentSchema.of(Set.of()), false,
+                    true);
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Reads the selection node from the range of the content passed as an
+     * argument.
+     *
+     * @param content The content
+     * @param offset  The offset of the element of the selection node array
+     * @param length  The length of the element
+     * @param schema  The schema of the attributes read from the selection node,
+     *                which is shared by the nodes read from the same content
+     * @return The selection node
+     *
+     * @exception NullPointerException  If {@code null} is passed as the content
+     * @throws ContentHandlingException If the range is not a valid selection node
+     */
+    static SelectionNode readSelectionNode(@NonNull byte[] content, int offset, int length,
+            @NonNull ContentSchema schema) {
+        try (JsonParser parser = JSON_FACTORY.createParser(content, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ContentHandlingException(String.format("No selection node at the offset %d.", offset));
+            }
+
+            return new ContentReader(parser, schema, true, false).readSelectionNode();
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Reads the condition node from the range of the content passed as an
+     * argument.
+     *
+     * @param content The content
+     * @param offset  The offset of the element of the condition node array
+     * @param length  The length of the element
+     * @return The condition node
+     *
+     * @exception NullPointerException  If {@code null} is passed as the content
+     * @throws ContentHandlingException If the range is not a valid condition node
+     */
+    static ConditionNode readConditionNode(@NonNull byte[] content, int offset, int length) {
+        try (JsonParser parser = JSON_FACTORY.createParser(content, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ContentHandlingException(String.format("No condition node at the offset %d.", offset));
+            }
+
+            return new ContentReader(parser, ContentSchema.of(Set.of()), false, true).readConditionNode();
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Reads the metadata from the range of the content passed as an argument and
+     * returns the reader holding it, whose {@link #getMetadata()} and
+     * {@link #getDataTypes()} return the values read. No node is read.
+     *
+     * @param content The content
+     * @param offset  The offset of the metadata object
+     * @param length  The length of the metadata object
+     * @return The reader holding the metadata
+     *
+     * @exception NullPointerException  If {@code null} is passed as the content
+     * @throws ContentHandlingException If the range is not a valid metadata
+     *                                  object
+     */
+    static ContentReader readMetadata(@NonNull byte[] content, int offset, int length) {
+        try (JsonParser parser = JSON_FACTORY.createParser(content, offset, length)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new ContentHandlingException(String.format("No metadata at the offset %d.", offset));
+            }
+
+            final ContentReader reader = new ContentReader(parser, ContentSchema.of(Set.of()), false, false);
+            reader.readMetadata();
+
+            return reader;
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Reads the next node of the content.
+     * <p>
+     * The node read is available from {@link #getSelectionNode()} or
+     * {@link #getConditionNode()} depending on the returned type.
+     *
+     * @return The type of the node read, or {@code null} if the end of the content
+     *         has been reached
+     *
+     * @throws ContentHandlingException If the content is malformed or an I/O error
+     *                                  occurs
+     */
+    public NodeType next() {
+        try {
+            return this.nextNode();
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Reads the next node of the content.
+     *
+     * @return The type of the node read, or {@code null} if the end of the content
+     *         has been reached
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private NodeType nextNode() throws IOException {
+
+        while (true) {
+            if (this.conditionNodesRead && !this.readSelectionNodes) {
+                return null;
+            }
+
+            if (this.currentArray != null) {
+                final JsonToken token = this.parser.nextToken();
+
+                if (token == JsonToken.END_ARRAY) {
+                    if (this.currentArray == NodeType.CONDITION_NODE) {
+                        this.conditionNodesRead = true;
+                    }
+
+                    this.currentArray = null;
+                    continue;
+                }
+
+                if (token != JsonToken.START_OBJECT) {
+                    throw new IOException(String.format("Unexpected token %s in the node array.", token));
+                }
+
+                if (this.currentArray == NodeType.SELECTION_NODE) {
+                    this.selectionNode = this.readSelectionNode();
+                } else {
+                    this.conditionNode = this.readConditionNode();
+                }
+
+                return this.currentArray;
+            }
+
+            final JsonToken token = this.parser.nextToken();
+
+            if (token == null) {
+                this.conditionNodesRead = true;
+                return null;
+            }
+
+            if (token != JsonToken.FIELD_NAME) {
+                continue;
+            }
+
+            final String fieldName = this.parser.getCurrentName();
+            final JsonToken valueToken = this.parser.nextToken();
+
+            if (valueToken == JsonToken.START_OBJECT && MetadataKey.METADATA.getKey().equals(fieldName)) {
+                this.readMetadata();
+            } else if (valueToken == JsonToken.START_ARRAY && this.readSelectionNodes
+                    && SelectionNodeKey.SELECTION_NODES.getKey().equals(fieldName)) {
+                this.currentArray = NodeType.SELECTION_NODE;
+            } else if (valueToken == JsonToken.START_ARRAY && this.readConditionNodes
+                    && ConditionNodeKey.CONDITION_NODES.getKey().equals(fieldName)) {
+                this.currentArray = NodeType.CONDITION_NODE;
+            } else {
+                if (ConditionNodeKey.CONDITION_NODES.getKey().equals(fieldName)) {
+                    this.conditionNodesRead = true;
+                }
+
+                this.parser.skipChildren();
+            }
+        }
+    }
+
+    /**
+     * Reads the scalar values of the metadata from the current position of the
+     * parser. The data types of the attributes are read from the nested
+     * {@code "dataTypes"} object, and the other nested values are skipped.
+     * <p>
+     * The parser must be on the start of the metadata object.
+     *
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private void readMetadata() throws IOException {
+
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String key = this.parser.getCurrentName();
+            final JsonToken valueToken = this.parser.nextToken();
+
+            if (valueToken == JsonToken.START_OBJECT && MetadataKey.DATA_TYPES.getKey().equals(key)) {
+                this.readDataTypes();
+            } else if (valueToken.isStructStart()) {
+                this.parser.skipChildren();
+            } else {
+                this.metadata.put(key, valueToken == JsonToken.VALUE_NULL ? null : this.parser.getText());
+            }
+        }
+    }
+
+    /**
+     * Reads the data types of the attributes from the current position of the
+     * parser. The nested values are skipped.
+     * <p>
+     * The parser must be on the start of the data type object.
+     *
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private void readDataTypes() throws IOException {
+
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String attribute = this.parser.getCurrentName();
+            final JsonToken valueToken = this.parser.nextToken();
+
+            if (valueToken.isStructStart()) {
+                this.parser.skipChildren();
+            } else if (valueToken != JsonToken.VALUE_NULL) {
+                this.dataTypes.put(attribute, this.parser.getText());
+            }
+        }
+    }
+
+    /**
+     * Reads the selection node from the current position of the parser.
+     * <p>
+     * The parser must be on the start of the element of the selection node array.
+     *
+     * @return The selection node
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private SelectionNode readSelectionNode() throws IOException {
+
+        String conditionId = "";
+        int width = 0;
+
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = this.parser.getCurrentName();
+
+            if (this.parser.nextToken() != JsonToken.START_OBJECT
+                    || !SelectionNodeKey.NODE.getKey().equals(fieldName)) {
+                this.parser.skipChildren();
+                continue;
+            }
+
+            while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = this.parser.getCurrentName();
+                final JsonToken valueToken = this.parser.nextToken();
+
+                if (valueToken.isStructStart()) {
+                    this.parser.skipChildren();
+                    continue;
+                }
+
+                final String value = valueToken == JsonToken.VALUE_NULL ? null : this.parser.getText();
+
+                if (SelectionNodeKey.CONDITION_ID.getKey().equals(key)) {
+                    conditionId = value == null ? "" : value;
+                }
+
+                final int slot = this.schema.slotForRead(key);
+
+                if (slot < 0) {
+                    continue;
+                }
+
+                if (slot >= this.values.length) {
+                    this.values = Arrays.copyOf(this.values, Math.max(this.values.length * 2, slot + 1));
+                }
+
+                this.values[slot] = value;
+                width = Math.max(width, slot + 1);
+            }
+        }
+
+        final String[] nodeValues = Arrays.copyOf(this.values, width);
+        Arrays.fill(this.values, 0, width, null);
+
+        return new SelectionNode(conditionId, nodeValues, this.schema);
+    }
+
+    /**
+     * Reads the condition node from the current position of the parser.
+     * <p>
+     * The parser must be on the start of the element of the condition node array.
+     *
+     * @return The condition node
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private ConditionNode readConditionNode() throws IOException {
+
+        String conditionId = "";
+        final List<String> keyNames = new ArrayList<>();
+        final List<String> operands = new ArrayList<>();
+
+        while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+            final String fieldName = this.parser.getCurrentName();
+
+            if (this.parser.nextToken() != JsonToken.START_OBJECT
+                    || !ConditionNodeKey.NODE.getKey().equals(fieldName)) {
+                this.parser.skipChildren();
+                continue;
+            }
+
+            while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = this.parser.getCurrentName();
+                final JsonToken valueToken = this.parser.nextToken();
+
+                if (valueToken == JsonToken.START_ARRAY && ConditionNodeKey.CONDITIONS.getKey().equals(key)) {
+                    this.readConditions(keyNames, operands);
+                } else if (valueToken.isStructStart()) {
+                    this.parser.skipChildren();
+                } else if (ConditionNodeKey.CONDITION_ID.getKey().equals(key)) {
+                    conditionId = this.parser.getText();
+                }
+            }
+        }
+
+        return new ConditionNode(conditionId, keyNames.toArray(new String[0]), operands.toArray(new String[0]));
+    }
+
+    /**
+     * Reads the conditions of the condition node from the current position of the
+     * parser and adds the key names and the operands to the lists.
+     * <p>
+     * The parser must be on the start of the condition array.
+     *
+     * @param keyNames The list to which the key names are added
+     * @param operands The list to which the operands are added
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private void readConditions(@NonNull List<String> keyNames, @NonNull List<String> operands) throws IOException {
+
+        while (this.parser.nextToken() == JsonToken.START_OBJECT) {
+            String keyName = null;
+            String operand = null;
+
+            while (this.parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = this.parser.getCurrentName();
+                final JsonToken valueToken = this.parser.nextToken();
+
+                if (valueToken.isStructStart()) {
+                    this.parser.skipChildren();
+                } else if (ConditionNodeKey.KEY_NAME.getKey().equals(key)) {
+                    keyName = this.parser.getText();
+                } else if (ConditionNodeKey.OPERAND.getKey().equals(key)) {
+                    operand = valueToken == JsonToken.VALUE_NULL ? null : this.parser.getText();
+                }
+            }
+
+            keyNames.add(keyName);
+            operands.add(operand);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            this.parser.close();
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not close the content.", e);
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * The record of the {@link ContentStore} that exposes the values of its
+ * attributes with the typed getters.
+ * <p>
+ * The record is a view of a row of the content store and holds no values by
+ * itself. The values of the attributes declared in the {@code "dataTypes"} of
+ * the metadata of the content are read from the primitive columns parsed at
+ * load time, without parsing or boxing. The values of the other attributes are
+ * parsed from the string on each call.
+ *
+ * <pre>
+ * Read the typed value of the record:
+ * <code>
+ * for (ContentRecord record : store.selectRecords(conditions)) {
+ *     long price = record.getLong("price");
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public final class ContentRecord {
+
+    /**
+     * The content store
+     */
+    private final ContentStore store;
+
+    /**
+     * The row of the record
+     */
+    private final int row;
+
+    /**
+     * Constructor
+     *
+     * @param store The content store
+     * @param row   The row of the record
+     */
+    ContentRecord(@NonNull ContentStore store, int row) {
+        this.store = store;
+        this.row = row;
+    }
+
+    /**
+     * Returns the value of the attribute as a string.
+     *
+     * @param attribute The attribute name
+     * @return The value, or {@code null} if the record has no value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public String getString(@NonNull String attribute) {
+        return this.store.valueAt(this.store.slotOf(attribute), this.row);
+    }
+
+    /**
+     * Tests whether the record has no value of the attribute.
+     *
+     * @param attribute The attribute name
+     * @return {@code true} if the record has no value, otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean isNull(@NonNull String attribute) {
+
+        final TypedColumn column = this.store.getTypedColumn(attribute);
+
+        if (column != null) {
+            return column.isNull(this.row);
+        }
+
+        return this.getString(attribute) == null;
+    }
+
+    /**
+     * Returns the value of the attribute as an {@code int} .
+     *
+     * @param attribute The attribute name
+     * @return The value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the record has no value or the value is
+     *                                  not an {@code int}
+     */
+    public int getInt(@NonNull String attribute) {
+
+        final TypedColumn column = this.store.getTypedColumn(attribute);
+
+        if (column != null) {
+            return column.getInt(this.row);
+        }
+
+        return DataType.parseInt(this.requireString(attribute));
+    }
+
+    /**
+     * Returns the value of the attribute as a {@code long} .
+     *
+     * @param attribute The attribute name
+     * @return The value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the record has no value or the value is
+     *                                  not a {@code long}
+     */
+    public long getLong(@NonNull String attribute) {
+
+        final TypedColumn column = this.store.getTypedColumn(attribute);
+
+        if (column != null) {
+            return column.getLong(this.row);
+        }
+
+        return DataType.parseLong(this.requireString(attribute));
+    }
+
+    /**
+     * Returns the value of the attribute as a {@code double} .
+     *
+     * @param attribute The attribute name
+     * @return The value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the record has no value or the value is
+     *                                  not a {@code double}
+     */
+    public double getDouble(@NonNull String attribute) {
+
+        final TypedColumn column = this.store.getTypedColumn(attribute);
+
+        if (column != null) {
+            return column.getDouble(this.row);
+        }
+
+        return DataType.parseDouble(this.requireString(attribute));
+    }
+
+    /**
+     * Returns the value of the attribute as a {@code boolean} .
+     *
+     * @param attribute The attribute name
+     * @return The value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the record has no value or the value is
+     *                                  not a {@code boolean}
+     */
+    public boolean getBoolean(@NonNull String attribute) {
+
+        final TypedColumn column = this.store.getTypedColumn(attribute);
+
+        if (column != null) {
+            return column.getBoolean(this.row);
+        }
+
+        return DataType.parseBoolean(this.requireString(attribute));
+    }
+
+    /**
+     * Returns the values of the attributes passed as an argument as strings.
+     *
+     * @param attributes The attribute names
+     * @return The map of the values, where the value of the attribute the record
+     *         does not have is {@code null}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Map<String, String> toMap(@NonNull Set<String> attributes) {
+
+        final Map<String, String> content = new HashMap<>(attributes.size());
+
+        for (String attribute : attributes) {
+            content.put(attribute, this.getString(attribute));
+        }
+
+        return content;
+    }
+
+    /**
+     * Returns the value of the attribute as a string, requiring the value.
+     *
+     * @param attribute The attribute name
+     * @return The value
+     *
+     * @throws ContentHandlingException If the record has no value
+     */
+    private String requireString(@NonNull String attribute) {
+
+        final String value = this.getString(attribute);
+
+        if (value == null) {
+            throw new ContentHandlingException(
+                    String.format("The attribute %s has no value at the row %d.", attribute, this.row));
+        }
+
+        return value;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.NonNull;
+
+/**
+ * The schema of the attributes of the selection nodes, which maps each
+ * attribute name to its slot in the positional values of the nodes.
+ * <p>
+ * The schema is either fixed to the attribute names to be read, where the
+ * other attributes are skipped, or inferred as the union of the attribute names
+ * of all selection nodes read, where a slot is added for each attribute name
+ * found for the first time. The slot of an attribute never changes once it has
+ * been assigned, so the slots resolved before reading a node remain valid.
+ * <p>
+ * The schema is shared by all nodes read by one {@link ContentReader} , or by
+ * all nodes parsed by one {@link LazyContent} from multiple threads. The slots
+ * are looked up without locking, and only the addition of a slot is serialized,
+ * so the schema can be read and grown by threads concurrently.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentSchema {
+
+    /**
+     * The slot of each attribute name
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * The attribute name of each slot, which is replaced with a longer copy when
+     * a slot is added
+     */
+    private volatile String[] names;
+
+    /**
+     * {@code true} if no slot is added while reading, otherwise {@code false}
+     */
+    private final boolean fixed;
+
+    /**
+     * Constructor
+     *
+     * @param fixed {@code true} if no slot is added while reading, otherwise
+     *              {@code false}
+     */
+    private ContentSchema(boolean fixed) {
+        this.slots = new ConcurrentHashMap<>();
+        this.names = new String[0];
+        this.fixed = fixed;
+    }
+
+    /**
+     * Returns the schema fixed to the attribute names passed as an argument.
+     *
+     * @param attributes The attribute names to be read
+     * @return The fixed schema
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static ContentSchema of(@NonNull Collection<String> attributes) {
+
+        final ContentSchema schema = new ContentSchema(true);
+
+        for (String attribute : attributes) {
+            schema.add(attribute);
+        }
+
+        return schema;
+    }
+
+    /**
+     * Returns the schema inferred from the attribute names of the selection nodes
+     * read.
+     *
+     * @return The empty schema to be inferred
+     */
+    public static ContentSchema inferred() {
+        return new ContentSchema(false);
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return The number of slots
+     */
+    public int size() {
+        return this.names.length;
+    }
+
+    /**
+     * Returns the attribute name of the slot passed as an argument.
+     *
+     * @param slot The slot
+     * @return The attribute name of the slot
+     */
+    public String getName(int slot) {
+        return this.names[slot];
+    }
+
+    /**
+     * Returns the slot of the attribute name passed as an argument.
+     *
+     * @param attribute The attribute name
+     * @return The slot of the attribute, or {@code -1} if the schema does not
+     *         have the attribute
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int slotOf(@NonNull String attribute) {
+        final Integer slot = this.slots.get(attribute);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Returns the slots of the attribute names passed as an argument in the same
+     * order.
+     *
+     * @param attributes The attribute names
+     * @return The slots of the attributes, where {@code -1} means the schema does
+     *         not have the attribute
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int[] slotsOf(@NonNull String[] attributes) {
+
+        final int[] slots = new int[attributes.length];
+
+        for (int i = 0; i < attributes.length; i++) {
+            slots[i] = this.slotOf(attributes[i]);
+        }
+
+        return slots;
+    }
+
+    /**
+     * Returns the slot in which the value of the attribute read from the node is
+     * stored, adding the slot if the schema is inferred and does not have the
+     * attribute yet.
+     *
+     * @param attribute The attribute name
+     * @return The slot of the attribute, or {@code -1} if the attribute is not
+     *         read
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    int slotForRead(@NonNull String attribute) {
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot != null) {
+            return slot;
+        }
+
+        return this.fixed ? -1 : this.add(attribute);
+    }
+
+    /**
+     * Adds the slot of the attribute name. The name of the slot is published
+     * before the slot, so the thread that finds the slot also finds its name.
+     *
+     * @param attribute The attribute name
+     * @return The slot added
+     */
+    private synchronized int add(@NonNull String attribute) {
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot != null) {
+            return slot;
+        }
+
+        final String[] names = Arrays.copyOf(this.names, this.names.length + 1);
+        names[names.length - 1] = attribute;
+        this.names = names;
+        this.slots.put(attribute, names.length - 1);
+
+        return names.length - 1;
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.framework.content;
+
+/**
+ * The interface that receives the nodes read by a {@link ContentFormat} .
+ * <p>
+ * The sink copies the values passed to it, so the format may reuse the arrays
+ * passed for the subsequent nodes. The tabular formats should pass the same
+ * array of attribute names for all selection nodes, since the slots of the
+ * attributes are then resolved only once.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public interface ContentSink {
+
+    /**
+     * Passes the scalar value of the metadata of the content.
+     *
+     * @param key   The key of the metadata
+     * @param value The value of the metadata
+     *
+     * @throws IllegalStateException If a selection node has already been passed
+     */
+    public void metadata(String key, String value);
+
+    /**
+     * Passes the data type of the attribute declared in the metadata of the
+     * content, which is the same as an entry of the {@code "dataTypes"} object of
+     * the metadata of the JSON content.
+     *
+     * @param attribute The attribute name
+     * @param tag       The tag of the data type, such as {@code "int"}
+     *
+     * @throws IllegalStateException If a selection node has already been passed
+     */
+    public void dataType(String attribute, String tag);
+
+    /**
+     * Passes the condition node of the content.
+     *
+     * @param conditionId The condition ID
+     * @param keyNames    The key names of the conditions
+     * @param operands    The operands of the conditions in the same order as the
+     *                    key names
+     *
+     * @throws IllegalStateException    If a selection node has already been
+     *                                  passed
+     * @throws IllegalArgumentException If the number of the operands differs from
+     *                                  the number of the key names
+     */
+    public void conditionNode(String conditionId, String[] keyNames, String[] operands);
+
+    /**
+     * Passes the selection node of the content. The value of the attribute
+     * {@code "conditionId"} is used as the condition ID of the node, and the node
+     * without it is unconditional. The {@code null} value of the attribute
+     * {@code "conditionId"} is read as the empty string.
+     *
+     * @param attributes The attribute names
+     * @param values     The values of the attributes in the same order as the
+     *                   attribute names, where the missing trailing values are
+     *                   {@code null}
+     *
+     * @throws IllegalArgumentException If there are more values than the
+     *                                  attribute names
+     */
+    public void selectionNode(String[] attributes, String[] values);
+}
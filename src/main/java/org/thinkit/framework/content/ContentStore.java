@@ -0,0 +1,1548 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+import org.apache.commons.lang3.StringUtils;
+import org.thinkit.common.base.precondition.Preconditions;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class that holds the whole content in memory and answers the queries
+ * against it with the indexes built at load time.
+ * <p>
+ * While {@link ContentLoader} reads the content file on each call, the
+ * {@link ContentStore} reads it once and keeps the values of the selection
+ * nodes column by column. The attributes declared in the
+ * {@link IndexDefinition} are indexed with hash indexes, so the records whose
+ * attribute equals a value can be looked up without scanning the content, and
+ * the attributes declared as the prefix indexes are indexed with radix trees
+ * for the prefix queries. The numeric attributes declared as the range indexes
+ * are held in sorted primitive columns for the range queries.
+ * <p>
+ * The attributes whose data types are declared in the {@code "dataTypes"} of
+ * the metadata of the content are parsed once at load time into the primitive
+ * columns, such as {@code long[]} or {@code double[]} , and their values are
+ * read without parsing or boxing through the {@link ContentRecord} returned by
+ * {@link #selectRecords(List)} .
+ * <p>
+ * The attributes and the conditions defined as the enum constants are resolved
+ * by their ordinals with {@link #selectEnum(Class, Set, List)} . The slots of
+ * the constants of each enum class are looked up once and cached, and the
+ * records are returned as {@link EnumMap} , so no attribute name is hashed per
+ * record.
+ * <p>
+ * The values are held on the heap by default. If the
+ * {@link IndexDefinition#isOffHeap()} is {@code true} , the distinct values, the
+ * columns and the hash indexes are held in the direct buffers outside of the
+ * heap instead, and only the values accessed are decoded onto the heap. The
+ * radix trees, the range indexes and the table of the primary key are held on
+ * the heap in both modes.
+ * <p>
+ * The {@link ContentStore} is immutable after it has been loaded and can be
+ * shared between threads.
+ *
+ * <pre>
+ * Look up the records by the value of the indexed attribute:
+ * <code>
+ * ContentStore store = ContentStore.load(contentStream, IndexDefinition.builder().indexes(Set.of("code")).build());
+ * List&lt;Map&lt;String, String&gt;&gt; contents = store.find(attributes, conditions, "code", "A001");
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public final class ContentStore {
+
+    /**
+     * The empty row list
+     */
+    private static final int[] NO_ROWS = new int[0];
+
+    /**
+     * The value whose result of the predicate has not been evaluated yet
+     */
+    private static final byte UNRESOLVED = 0;
+
+    /**
+     * The value matching the predicate
+     */
+    private static final byte MATCHED = 1;
+
+    /**
+     * The value not matching the predicate
+     */
+    private static final byte UNMATCHED = 2;
+
+    /**
+     * The slot of each attribute
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * The storage of the attribute values
+     */
+    private final ColumnStorage storage;
+
+    /**
+     * The condition IDs of the selection nodes
+     */
+    private final String[] conditionIds;
+
+    /**
+     * The condition nodes
+     */
+    private final List<ConditionNode> conditionNodes;
+
+    /**
+     * The matcher of the condition nodes
+     */
+    private final ConditionMatcher conditionMatcher;
+
+    /**
+     * The definition of indexes
+     */
+    @Getter
+    private final IndexDefinition definition;
+
+    /**
+     * The hash indexes mapping the value of the attribute to the rows
+     */
+    private final Map<String, ColumnStorage.HashIndex> hashIndexes;
+
+    /**
+     * The radix trees mapping the prefix of the value of the attribute to the rows
+     */
+    private final Map<String, RadixTree> prefixIndexes;
+
+    /**
+     * The range indexes holding the sorted numeric values of the attribute
+     */
+    private final Map<String, RangeIndex> rangeIndexes;
+
+    /**
+     * The attribute name of the primary key, or the empty string if the primary
+     * key is not declared
+     */
+    private final String primaryKey;
+
+    /**
+     * The open addressing hash table of the primary key holding the row plus one,
+     * where {@code 0} means an empty bucket
+     */
+    private final int[] keyTable;
+
+    /**
+     * The rows grouped by the condition ID, where the unconditional rows are
+     * grouped by the empty string
+     */
+    private final Map<String, int[]> conditionalRows;
+
+    /**
+     * The data types of the attributes declared in the metadata
+     */
+    private final Map<String, DataType> dataTypes;
+
+    /**
+     * The primitive columns of the attributes whose data types are not
+     * {@link DataType#STRING}
+     */
+    private final Map<String, TypedColumn> typedColumns;
+
+    /**
+     * The slots of the constants of each enum class implementing
+     * {@link Attribute} by the ordinal
+     */
+    private final ConcurrentMap<Class<?>, int[]> enumSlots;
+
+    /**
+     * Constructor
+     *
+     * @param slots          The slot of each attribute
+     * @param storage        The storage of the attribute values
+     * @param conditionIds   The condition IDs of the selection nodes
+     * @param conditionNodes The condition nodes
+     * @param definition     The definition of indexes
+     * @param primaryKey     The attribute name of the primary key, or the empty
+     *                       string if the primary key is not declared
+     * @param dataTypes      The data types of the attributes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the values of the primary key are not
+     *                                  unique or a value cannot be parsed as its
+     *                                  data type
+     */
+    ContentStore(@NonNull Map<String, Integer> slots, @NonNull ColumnStorage storage, @NonNull String[] conditionIds,
+            @NonNull List<ConditionNode> conditionNodes, @NonNull IndexDefinition definition,
+            @NonNull String primaryKey, @NonNull Map<String, DataType> dataTypes) {
+        this.slots = slots;
+        this.storage = storage;
+        this.conditionIds = conditionIds;
+        this.conditionNodes = conditionNodes;
+        this.conditionMatcher = ConditionMatcher.of(conditionNodes);
+        this.definition = definition;
+        this.hashIndexes = new HashMap<>(definition.getIndexes().size());
+
+        for (String attribute : definition.getIndexes()) {
+            this.hashIndexes.put(attribute, this.buildHashIndex(attribute));
+        }
+
+        this.prefixIndexes = new HashMap<>(definition.getPrefixIndexes().size());
+
+        for (String attribute : definition.getPrefixIndexes()) {
+            final Integer slot = slots.get(attribute);
+            this.prefixIndexes.put(attribute, RadixTree.of(slot == null ? new String[0] : storage.column(slot)));
+        }
+
+        this.rangeIndexes = new HashMap<>(definition.getRangeIndexes().size());
+
+        for (String attribute : definition.getRangeIndexes()) {
+            final Integer slot = slots.get(attribute);
+            this.rangeIndexes.put(attribute, RangeIndex.of(slot == null ? new String[0] : storage.column(slot)));
+        }
+
+        this.conditionalRows = groupRows(conditionIds);
+        this.primaryKey = primaryKey;
+        this.keyTable = primaryKey.isEmpty() ? null : this.buildKeyTable(primaryKey);
+        this.dataTypes = dataTypes;
+        this.typedColumns = new HashMap<>(dataTypes.size());
+        this.enumSlots = new ConcurrentHashMap<>();
+
+        dataTypes.forEach((attribute, dataType) -> {
+            final Integer slot = slots.get(attribute);
+
+            if (slot != null && dataType != DataType.STRING) {
+                this.typedColumns.put(attribute, TypedColumn.of(attribute, dataType, storage.column(slot)));
+            }
+        });
+    }
+
+    /**
+     * Loads the whole content from the content stream without indexes.
+     *
+     * @param contentStream The stream of content file
+     * @return The content store
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static ContentStore load(@NonNull InputStream contentStream) {
+        return load(contentStream, IndexDefinition.none());
+    }
+
+    /**
+     * Loads the whole content from the content stream and builds the indexes
+     * defined by the argument.
+     * <p>
+     * If the definition requires the parallel load, the content is loaded with
+     * {@link #loadParallel(InputStream, IndexDefinition, ForkJoinPool)} on the
+     * {@link ForkJoinPool#commonPool()} . The content stream is closed when this
+     * method returns.
+     *
+     * @param contentStream The stream of content file
+     * @param definition    The definition of indexes
+     * @return The content store
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static ContentStore load(@NonNull InputStream contentStream, @NonNull IndexDefinition definition) {
+
+        if (definition.isParallel()) {
+            return loadParallel(contentStream, definition, ForkJoinPool.commonPool());
+        }
+
+        try (ContentReader reader = ContentReader.of(contentStream)) {
+            return new ContentStoreBuilder(definition.isOffHeap()).addAll(reader).build(definition);
+        }
+    }
+
+    /**
+     * Loads the whole content from the content stream, parsing its selection
+     * nodes in parallel on the pool passed as an argument, and builds the indexes
+     * defined by the argument.
+     * <p>
+     * The content is read into memory and the offsets of its nodes are recorded
+     * by a structural pre-scan with {@link NodeOffsetIndex} . The selection nodes
+     * are then split into ranges that are parsed in parallel and merged in the
+     * order defined in the content, so the returned store is the same as the one
+     * returned by {@link #load(InputStream, IndexDefinition)} . The content stream
+     * is closed when this method returns.
+     *
+     * @param contentStream The UTF-8 encoded stream of content file
+     * @param definition    The definition of indexes
+     * @param pool          The pool on which the selection nodes are parsed
+     * @return The content store
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read or its
+     *                                  structure is malformed
+     */
+    public static ContentStore loadParallel(@NonNull InputStream contentStream, @NonNull IndexDefinition definition,
+            @NonNull ForkJoinPool pool) {
+
+        final byte[] content;
+
+        try (contentStream) {
+            content = contentStream.readAllBytes();
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+
+        return new ContentStoreBuilder(definition.isOffHeap()).addAll(content, NodeOffsetIndex.of(content), pool)
+                .build(definition);
+    }
+
+    /**
+     * Loads the whole content of the format passed as an argument from the
+     * content stream and builds the indexes defined by the argument.
+     * <p>
+     * The nodes read by the format are stored in the same way as the ones read
+     * from the JSON content. The content is read by
+     * {@link ContentFormat#readFully(InputStream, ContentSink)} , since the whole
+     * content is held in memory anyway. The content stream is closed when this method
+     * returns.
+     *
+     * @param contentStream The stream of content file
+     * @param format        The format of the content
+     * @param definition    The definition of indexes
+     * @return The content store
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static ContentStore load(@NonNull InputStream contentStream, @NonNull ContentFormat format,
+            @NonNull IndexDefinition definition) {
+
+        final ContentStoreBuilder builder = new ContentStoreBuilder(definition.isOffHeap());
+        final NodeSink sink = new NodeSink(ContentSchema.inferred(), builder::addConditionNode,
+                builder::addSelectionNode);
+
+        try (contentStream) {
+            format.readFully(contentStream, sink);
+        } catch (IOException e) {
+            throw new ContentHandlingException(
+                    String.format("Could not read the content of the format %s.", format.getExtension()), e);
+        }
+
+        return builder.addMetadata(sink.getMetadata()).addDataTypes(sink.getDataTypes()).build(definition);
+    }
+
+    /**
+     * Loads the whole legacy XML content from the content stream and builds the
+     * indexes defined by the argument.
+     * <p>
+     * The XML content is parsed in one pass by {@link XmlContentReader} , and the
+     * returned store answers the queries in the same way as the one loaded from
+     * the JSON content. The content stream is closed when this method returns.
+     *
+     * @param contentStream The stream of XML content file
+     * @param definition    The definition of indexes
+     * @return The content store
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static ContentStore loadXml(@NonNull InputStream contentStream, @NonNull IndexDefinition definition) {
+        try (XmlContentReader reader = XmlContentReader.of(contentStream)) {
+            return new ContentStoreBuilder(definition.isOffHeap()).addAll(reader).build(definition);
+        }
+    }
+
+    /**
+     * Returns the number of selection nodes in the content.
+     *
+     * @return The number of selection nodes
+     */
+    public int size() {
+        return this.conditionIds.length;
+    }
+
+    /**
+     * Tests whether the hash index is built on the attribute passed as an
+     * argument.
+     *
+     * @param attribute The attribute name
+     * @return {@code true} if the attribute is indexed, otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean isIndexed(@NonNull String attribute) {
+        return this.hashIndexes.containsKey(attribute);
+    }
+
+    /**
+     * Tests whether the radix tree is built on the attribute passed as an
+     * argument.
+     *
+     * @param attribute The attribute name
+     * @return {@code true} if the attribute is indexed for the prefix queries,
+     *         otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean isPrefixIndexed(@NonNull String attribute) {
+        return this.prefixIndexes.containsKey(attribute);
+    }
+
+    /**
+     * Tests whether the sorted numeric column is built on the attribute passed as
+     * an argument.
+     *
+     * @param attribute The attribute name
+     * @return {@code true} if the attribute is indexed for the range queries,
+     *         otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean isRangeIndexed(@NonNull String attribute) {
+        return this.rangeIndexes.containsKey(attribute);
+    }
+
+    /**
+     * Returns the attribute name of the primary key declared by the definition of
+     * indexes or the metadata of the content.
+     *
+     * @return The attribute name of the primary key, or {@link Optional#empty()}
+     *         if the primary key is not declared
+     */
+    public Optional<String> getPrimaryKey() {
+        return this.primaryKey.isEmpty() ? Optional.empty() : Optional.of(this.primaryKey);
+    }
+
+    /**
+     * Returns the record whose primary key equals the key passed as an argument
+     * and that can be fetched without conditions.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param key        The value of the primary key
+     * @return The record, or {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the primary key is not declared
+     */
+    public Optional<Map<String, String>> get(@NonNull Set<String> attributes, @NonNull String key) {
+        return this.get(attributes, List.of(), key);
+    }
+
+    /**
+     * Returns the record whose primary key equals the key passed as an argument
+     * and that can be fetched with the conditions.
+     * <p>
+     * The record is fetched by probing the hash table of the primary key, so the
+     * cost does not depend on the size of the content.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param key        The value of the primary key
+     * @return The record, or {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If the primary key is not declared
+     */
+    public Optional<Map<String, String>> get(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, @NonNull String key) {
+        Preconditions.requireNonEmpty(attributes);
+
+        if (this.keyTable == null) {
+            throw new ContentHandlingException(
+                    "The primary key is not declared. Please declare it in the metadata or the content mapping.");
+        }
+
+        final int row = this.findRowByKey(key);
+
+        if (row < 0 || !this.isSelectable(row, this.resolveConditionIds(conditions))) {
+            return Optional.empty();
+        }
+
+        final String[] attributeNames = attributes.toArray(new String[0]);
+
+        return Optional.of(this.toContent(attributeNames, this.slotsOf(attributeNames), row));
+    }
+
+    /**
+     * Returns the typed record whose primary key equals the key passed as an
+     * argument and that can be fetched without conditions.
+     *
+     * @param key The value of the primary key
+     * @return The record, or {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the primary key is not declared
+     */
+    public Optional<ContentRecord> getRecord(@NonNull String key) {
+        return this.getRecord(List.of(), key);
+    }
+
+    /**
+     * Returns the typed record whose primary key equals the key passed as an
+     * argument and that can be fetched with the conditions.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param key        The value of the primary key
+     * @return The record, or {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the primary key is not declared
+     */
+    public Optional<ContentRecord> getRecord(@NonNull List<Map<String, String>> conditions, @NonNull String key) {
+
+        if (this.keyTable == null) {
+            throw new ContentHandlingException(
+                    "The primary key is not declared. Please declare it in the metadata or the content mapping.");
+        }
+
+        final int row = this.findRowByKey(key);
+
+        if (row < 0 || !this.isSelectable(row, this.resolveConditionIds(conditions))) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new ContentRecord(this, row));
+    }
+
+    /**
+     * Returns the data type of the attribute declared in the metadata of the
+     * content.
+     *
+     * @param attribute The attribute name
+     * @return The data type, or {@link DataType#STRING} if it is not declared
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public DataType getDataType(@NonNull String attribute) {
+        return this.dataTypes.getOrDefault(attribute, DataType.STRING);
+    }
+
+    /**
+     * Returns the number of records that can be fetched without conditions.
+     *
+     * @return The number of records
+     */
+    public int count() {
+        return this.count(List.of());
+    }
+
+    /**
+     * Returns the number of records that can be fetched with the conditions,
+     * without building the records.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The number of records
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int count(@NonNull List<Map<String, String>> conditions) {
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        int count = 0;
+
+        for (int row = 0; row < this.conditionIds.length; row++) {
+            if (this.isSelectable(row, matchedConditionIds)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns the distinct values of the attribute of the records that can be
+     * fetched without conditions.
+     *
+     * @param attribute The attribute name
+     * @return The distinct values in the order of the first appearance
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Set<String> distinct(@NonNull String attribute) {
+        return this.distinct(List.of(), attribute);
+    }
+
+    /**
+     * Returns the distinct values of the attribute of the records that can be
+     * fetched with the conditions, without building the records. The
+     * {@code null} values are not included.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name
+     * @return The distinct values in the order of the first appearance
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Set<String> distinct(@NonNull List<Map<String, String>> conditions, @NonNull String attribute) {
+        return this.groupByCount(conditions, attribute).keySet();
+    }
+
+    /**
+     * Returns the number of records of each value of the attribute that can be
+     * fetched without conditions.
+     *
+     * @param attribute The attribute name
+     * @return The number of records of each value in the order of the first
+     *         appearance
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Map<String, Integer> groupByCount(@NonNull String attribute) {
+        return this.groupByCount(List.of(), attribute);
+    }
+
+    /**
+     * Returns the number of records of each value of the attribute that can be
+     * fetched with the conditions, without building the records. The records
+     * whose value is {@code null} are not counted.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name
+     * @return The number of records of each value in the order of the first
+     *         appearance
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Map<String, Integer> groupByCount(@NonNull List<Map<String, String>> conditions,
+            @NonNull String attribute) {
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot == null) {
+            return new LinkedHashMap<>(0);
+        }
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        final int[] idCounts = new int[this.storage.idLimit(slot)];
+        final int[] ids = new int[Math.min(idCounts.length, this.conditionIds.length)];
+        int idCount = 0;
+
+        for (int row = 0; row < this.conditionIds.length; row++) {
+            final int id = this.storage.idAt(slot, row);
+
+            if (id >= 0 && this.isSelectable(row, matchedConditionIds) && idCounts[id]++ == 0) {
+                ids[idCount++] = id;
+            }
+        }
+
+        final Map<String, Integer> counts = new LinkedHashMap<>();
+
+        for (int i = 0; i < idCount; i++) {
+            counts.merge(this.storage.valueOf(slot, ids[i]), idCounts[ids[i]], Integer::sum);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Returns the minimum value of the attribute of the records that can be
+     * fetched without conditions.
+     *
+     * @param attribute The attribute name
+     * @return The minimum value, or {@link Optional#empty()} if no record has the
+     *         value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Optional<String> min(@NonNull String attribute) {
+        return this.min(List.of(), attribute);
+    }
+
+    /**
+     * Returns the minimum value of the attribute of the records that can be
+     * fetched with the conditions, without building the records.
+     * <p>
+     * If all values are numeric, they are compared as the numbers, otherwise as
+     * the strings. The {@code null} values are ignored.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name
+     * @return The minimum value, or {@link Optional#empty()} if no record has the
+     *         value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Optional<String> min(@NonNull List<Map<String, String>> conditions, @NonNull String attribute) {
+        return this.extreme(conditions, attribute, -1);
+    }
+
+    /**
+     * Returns the maximum value of the attribute of the records that can be
+     * fetched without conditions.
+     *
+     * @param attribute The attribute name
+     * @return The maximum value, or {@link Optional#empty()} if no record has the
+     *         value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Optional<String> max(@NonNull String attribute) {
+        return this.max(List.of(), attribute);
+    }
+
+    /**
+     * Returns the maximum value of the attribute of the records that can be
+     * fetched with the conditions, without building the records.
+     * <p>
+     * If all values are numeric, they are compared as the numbers, otherwise as
+     * the strings. The {@code null} values are ignored.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name
+     * @return The maximum value, or {@link Optional#empty()} if no record has the
+     *         value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Optional<String> max(@NonNull List<Map<String, String>> conditions, @NonNull String attribute) {
+        return this.extreme(conditions, attribute, 1);
+    }
+
+    /**
+     * Prepares the query that fetches the attributes with the conditions whose key
+     * names are passed as an argument.
+     * <p>
+     * The returned {@link PreparedQuery} resolves the attributes and the condition
+     * keys against this content store only once, and can be executed repeatedly
+     * with the operands bound to the condition keys.
+     *
+     * @param attributes        The Attribute names to be acquired
+     * @param conditionKeyNames The key names of the conditions in the order the
+     *                          operands are bound
+     * @return The prepared query
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public PreparedQuery prepare(@NonNull Set<String> attributes, @NonNull List<String> conditionKeyNames) {
+        Preconditions.requireNonEmpty(attributes);
+        return new PreparedQuery(this, attributes, conditionKeyNames);
+    }
+
+    /**
+     * Returns the records that can be fetched without conditions.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> select(@NonNull Set<String> attributes) {
+        return this.select(attributes, List.of());
+    }
+
+    /**
+     * Returns the records that can be fetched with the conditions, which is the
+     * same result as {@link ContentLoader#load(InputStream, Set, List)} .
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> select(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions) {
+        return this.select(attributes, conditions, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the first record that can be fetched with the conditions, which is
+     * the first record returned by {@link #select(Set, List)} . The rows after the
+     * first matching row are not tested.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The first record, or {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public Optional<Map<String, String>> selectFirst(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions) {
+        return this.select(attributes, conditions, 1).stream().findFirst();
+    }
+
+    /**
+     * Returns the only record that can be fetched with the conditions. The rows
+     * after the second matching row are not tested.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The only record, or {@link Optional#empty()} if no record matches
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     * @throws ContentHandlingException If more than one record matches
+     */
+    public Optional<Map<String, String>> selectUnique(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions) {
+
+        final List<Map<String, String>> contents = this.select(attributes, conditions, 2);
+
+        if (contents.size() > 1) {
+            throw new ContentHandlingException(
+                    "More than one record matched the conditions where a unique record was expected.");
+        }
+
+        return contents.stream().findFirst();
+    }
+
+    /**
+     * Returns the records that can be fetched with the conditions up to the
+     * limit. The rows are tested in order and the test stops when the limit has
+     * been reached.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param limit      The maximum number of records
+     * @return The records retrieved from the content
+     *
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    private List<Map<String, String>> select(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, int limit) {
+        Preconditions.requireNonEmpty(attributes);
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        final String[] attributeNames = attributes.toArray(new String[0]);
+        final int[] attributeSlots = this.slotsOf(attributeNames);
+        final List<Map<String, String>> contents = new ArrayList<>();
+
+        for (int row = 0; row < this.conditionIds.length && contents.size() < limit; row++) {
+            if (this.isSelectable(row, matchedConditionIds)) {
+                contents.add(this.toContent(attributeNames, attributeSlots, row));
+            }
+        }
+
+        return contents;
+    }
+
+    /**
+     * Returns the records that can be fetched with the conditions keyed by
+     * {@link Condition} , which are the same records as the ones returned by
+     * {@link #select(Set, List)} .
+     * <p>
+     * The attributes are resolved to their slots by the ordinal, and each record
+     * is returned as the {@link EnumMap} of the attribute enum class. The keys of
+     * the conditions defined as the enum constants are also resolved by the
+     * ordinal.
+     *
+     * @param <A>           The enum type of the attributes
+     * @param attributeType The enum class of the attributes
+     * @param attributes    The attributes to be acquired
+     * @param conditions    The conditional list to use when getting data from the
+     *                      content
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public <A extends Enum<A> & Attribute> List<EnumMap<A, String>> selectEnum(@NonNull Class<A> attributeType,
+            @NonNull Set<A> attributes, @NonNull List<? extends Map<? extends Condition, String>> conditions) {
+        Preconditions.requireNonEmpty(attributes);
+
+        final int[] slotsByOrdinal = this.enumSlots.computeIfAbsent(attributeType, this::resolveEnumSlots);
+        final List<A> selectedAttributes = new ArrayList<>(attributes);
+        final int[] selectedSlots = new int[selectedAttributes.size()];
+
+        for (int i = 0; i < selectedSlots.length; i++) {
+            selectedSlots[i] = slotsByOrdinal[selectedAttributes.get(i).ordinal()];
+        }
+
+        final Set<String> matchedConditionIds = this.conditionMatcher.resolveConditions(conditions);
+        final List<EnumMap<A, String>> contents = new ArrayList<>();
+
+        for (int row = 0; row < this.conditionIds.length; row++) {
+            if (this.isSelectable(row, matchedConditionIds)) {
+                final EnumMap<A, String> content = new EnumMap<>(attributeType);
+
+                for (int i = 0; i < selectedSlots.length; i++) {
+                    content.put(selectedAttributes.get(i), this.valueAt(selectedSlots[i], row));
+                }
+
+                contents.add(content);
+            }
+        }
+
+        return contents;
+    }
+
+    /**
+     * Returns the typed records that can be fetched without conditions.
+     *
+     * @return The records retrieved from the content
+     */
+    public List<ContentRecord> selectRecords() {
+        return this.selectRecords(List.of());
+    }
+
+    /**
+     * Returns the typed records that can be fetched with the conditions. The
+     * records are the same as the ones returned by {@link #select(Set, List)} ,
+     * and the values of the attributes whose data types are declared are read
+     * from the primitive columns.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public List<ContentRecord> selectRecords(@NonNull List<Map<String, String>> conditions) {
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        final List<ContentRecord> records = new ArrayList<>();
+
+        for (int row = 0; row < this.conditionIds.length; row++) {
+            if (this.isSelectable(row, matchedConditionIds)) {
+                records.add(new ContentRecord(this, row));
+            }
+        }
+
+        return records;
+    }
+
+    /**
+     * Returns the records whose attribute equals the value passed as an argument
+     * and that can be fetched without conditions.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param attribute  The attribute name to be compared
+     * @param value      The value to be compared
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> find(@NonNull Set<String> attributes, @NonNull String attribute,
+            @NonNull String value) {
+        return this.find(attributes, List.of(), attribute, value);
+    }
+
+    /**
+     * Returns the records whose attribute equals the value passed as an argument
+     * and that can be fetched with the conditions.
+     * <p>
+     * If the hash index is built on the attribute, the records are looked up in
+     * constant time regardless of the size of the content. Otherwise all selection
+     * nodes are scanned.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name to be compared
+     * @param value      The value to be compared
+     * @return The records retrieved from the content, in the order defined in the
+     *         content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> find(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, @NonNull String attribute, @NonNull String value) {
+        Preconditions.requireNonEmpty(attributes);
+        return this.toContents(attributes, conditions, this.findRows(attribute, value));
+    }
+
+    /**
+     * Returns the records whose attribute starts with the prefix passed as an
+     * argument and that can be fetched without conditions.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param attribute  The attribute name to be compared
+     * @param prefix     The prefix to be compared
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> findByPrefix(@NonNull Set<String> attributes, @NonNull String attribute,
+            @NonNull String prefix) {
+        return this.findByPrefix(attributes, List.of(), attribute, prefix);
+    }
+
+    /**
+     * Returns the records whose attribute starts with the prefix passed as an
+     * argument and that can be fetched with the conditions.
+     * <p>
+     * If the radix tree is built on the attribute, the records are looked up by
+     * walking down the tree along the prefix. Otherwise all selection nodes are
+     * scanned.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name to be compared
+     * @param prefix     The prefix to be compared
+     * @return The records retrieved from the content, in the order defined in the
+     *         content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> findByPrefix(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, @NonNull String attribute, @NonNull String prefix) {
+        Preconditions.requireNonEmpty(attributes);
+        return this.toContents(attributes, conditions, this.findRowsByPrefix(attribute, prefix));
+    }
+
+    /**
+     * Returns the records whose numeric attribute is in the range passed as an
+     * argument and that can be fetched without conditions.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param attribute  The attribute name to be compared
+     * @param range      The range to be compared
+     * @return The records retrieved from the content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> findByRange(@NonNull Set<String> attributes, @NonNull String attribute,
+            @NonNull NumericRange range) {
+        return this.findByRange(attributes, List.of(), attribute, range);
+    }
+
+    /**
+     * Returns the records whose numeric attribute is in the range passed as an
+     * argument and that can be fetched with the conditions.
+     * <p>
+     * If the sorted numeric column is built on the attribute, the records are
+     * looked up by binary search. Otherwise all selection nodes are scanned and
+     * their values are parsed. The values that are not numeric never match.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name to be compared
+     * @param range      The range to be compared
+     * @return The records retrieved from the content, in the order defined in the
+     *         content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the attribute list is empty
+     */
+    public List<Map<String, String>> findByRange(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, @NonNull String attribute, @NonNull NumericRange range) {
+        Preconditions.requireNonEmpty(attributes);
+        return this.toContents(attributes, conditions, this.findRowsByRange(attribute, range));
+    }
+
+    /**
+     * Returns the slot of the attribute passed as an argument.
+     *
+     * @param attribute The attribute name
+     * @return The slot of the attribute, or {@code -1} if no selection node defines
+     *         the attribute
+     */
+    int slotOf(@NonNull String attribute) {
+        final Integer slot = this.slots.get(attribute);
+        return slot == null ? -1 : slot;
+    }
+
+    /**
+     * Returns the value of the slot in the row.
+     *
+     * @param slot The slot returned by {@link #slotOf(String)}
+     * @param row  The row
+     * @return The value, or {@code null} if the slot is {@code -1} or the value is
+     *         not defined
+     */
+    String valueAt(int slot, int row) {
+        return slot < 0 ? null : this.storage.get(slot, row);
+    }
+
+    /**
+     * Resolves the slots of the constants of the enum class passed as an
+     * argument.
+     *
+     * @param enumClass The enum class implementing {@link Attribute}
+     * @return The slots by the ordinal, where {@code -1} means the attribute not
+     *         defined by any selection node
+     */
+    private int[] resolveEnumSlots(@NonNull Class<?> enumClass) {
+
+        final Object[] constants = enumClass.getEnumConstants();
+        final int[] resolvedSlots = new int[constants.length];
+
+        for (int i = 0; i < constants.length; i++) {
+            resolvedSlots[i] = this.slotOf(((Attribute) constants[i]).getString());
+        }
+
+        return resolvedSlots;
+    }
+
+    /**
+     * Returns the primitive column of the attribute passed as an argument.
+     *
+     * @param attribute The attribute name
+     * @return The primitive column, or {@code null} if the data type of the
+     *         attribute is not declared or is {@link DataType#STRING}
+     */
+    TypedColumn getTypedColumn(@NonNull String attribute) {
+        return this.typedColumns.get(attribute);
+    }
+
+    /**
+     * Returns the condition nodes of the content.
+     *
+     * @return The condition nodes
+     */
+    List<ConditionNode> getConditionNodes() {
+        return this.conditionNodes;
+    }
+
+    /**
+     * Returns the rows whose condition ID equals the argument.
+     *
+     * @param conditionId The condition ID, or the empty string for the
+     *                    unconditional rows
+     * @return The rows in ascending order
+     */
+    int[] getConditionalRows(@NonNull String conditionId) {
+        return this.conditionalRows.getOrDefault(conditionId, NO_ROWS);
+    }
+
+    /**
+     * Returns the rows whose attribute equals the value passed as an argument.
+     *
+     * @param attribute The attribute name to be compared
+     * @param value     The value to be compared
+     * @return The rows in ascending order
+     */
+    private int[] findRows(@NonNull String attribute, @NonNull String value) {
+
+        final ColumnStorage.HashIndex hashIndex = this.hashIndexes.get(attribute);
+
+        if (hashIndex != null) {
+            return hashIndex.rows(value);
+        }
+
+        final Integer slot = this.slots.get(attribute);
+
+        return slot == null ? NO_ROWS : this.storage.findRows(slot, value);
+    }
+
+    /**
+     * Returns the rows whose attribute starts with the prefix passed as an
+     * argument.
+     *
+     * @param attribute The attribute name to be compared
+     * @param prefix    The prefix to be compared
+     * @return The rows in ascending order
+     */
+    private int[] findRowsByPrefix(@NonNull String attribute, @NonNull String prefix) {
+
+        final RadixTree radixTree = this.prefixIndexes.get(attribute);
+
+        if (radixTree != null) {
+            return radixTree.findByPrefix(prefix);
+        }
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot == null) {
+            return NO_ROWS;
+        }
+
+        return this.scanRows(slot, value -> value.startsWith(prefix));
+    }
+
+    /**
+     * Returns the rows whose numeric attribute is in the range passed as an
+     * argument.
+     *
+     * @param attribute The attribute name to be compared
+     * @param range     The range to be compared
+     * @return The rows in ascending order
+     */
+    private int[] findRowsByRange(@NonNull String attribute, @NonNull NumericRange range) {
+
+        final RangeIndex rangeIndex = this.rangeIndexes.get(attribute);
+
+        if (rangeIndex != null) {
+            return rangeIndex.findRows(range);
+        }
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot == null) {
+            return NO_ROWS;
+        }
+
+        return this.scanRows(slot, value -> RangeIndex.isInRange(value, range));
+    }
+
+    /**
+     * Returns the rows whose value of the slot matches the predicate by scanning
+     * the column. The predicate is evaluated once per ID of the values, so each
+     * distinct value is decoded at most once.
+     *
+     * @param slot      The slot of the attribute
+     * @param predicate The predicate of the values other than {@code null}
+     * @return The rows in ascending order
+     */
+    private int[] scanRows(int slot, @NonNull Predicate<String> predicate) {
+
+        final byte[] results = new byte[this.storage.idLimit(slot)];
+        final int[] rows = new int[this.conditionIds.length];
+        int size = 0;
+
+        for (int row = 0; row < rows.length; row++) {
+            final int id = this.storage.idAt(slot, row);
+
+            if (id < 0) {
+                continue;
+            }
+
+            if (results[id] == UNRESOLVED) {
+                results[id] = predicate.test(this.storage.valueOf(slot, id)) ? MATCHED : UNMATCHED;
+            }
+
+            if (results[id] == MATCHED) {
+                rows[size++] = row;
+            }
+        }
+
+        return Arrays.copyOf(rows, size);
+    }
+
+    /**
+     * Builds the records of the rows that can be fetched with the conditions.
+     *
+     * @param attributes The Attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param rows       The rows in ascending order
+     * @return The records of the rows
+     */
+    private List<Map<String, String>> toContents(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions, @NonNull int[] rows) {
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        final String[] attributeNames = attributes.toArray(new String[0]);
+        final int[] attributeSlots = this.slotsOf(attributeNames);
+        final List<Map<String, String>> contents = new ArrayList<>(rows.length);
+
+        for (int row : rows) {
+            if (this.isSelectable(row, matchedConditionIds)) {
+                contents.add(this.toContent(attributeNames, attributeSlots, row));
+            }
+        }
+
+        return contents;
+    }
+
+    /**
+     * Returns the row whose primary key equals the key passed as an argument.
+     *
+     * @param key The value of the primary key
+     * @return The row, or {@code -1} if no row matches
+     */
+    private int findRowByKey(@NonNull String key) {
+
+        final Integer slot = this.slots.get(this.primaryKey);
+
+        if (slot == null) {
+            return -1;
+        }
+
+        final int mask = this.keyTable.length - 1;
+
+        for (int bucket = hash(key) & mask;; bucket = (bucket + 1) & mask) {
+            final int entry = this.keyTable[bucket];
+
+            if (entry == 0) {
+                return -1;
+            }
+
+            if (key.equals(this.storage.get(slot, entry - 1))) {
+                return entry - 1;
+            }
+        }
+    }
+
+    /**
+     * Builds the open addressing hash table of the primary key with linear
+     * probing.
+     * <p>
+     * The capacity of the table is the power of two at least twice the number of
+     * rows, so the load factor never exceeds 0.5.
+     *
+     * @param primaryKey The attribute name of the primary key
+     * @return The hash table holding the row plus one
+     *
+     * @throws ContentHandlingException If the primary key is not defined in a
+     *                                  selection node or its values are not unique
+     */
+    private int[] buildKeyTable(@NonNull String primaryKey) {
+
+        final Integer slot = this.slots.get(primaryKey);
+
+        if (slot == null && this.conditionIds.length > 0) {
+            throw new ContentHandlingException(
+                    String.format("The primary key %s is not defined in the selection nodes.", primaryKey));
+        }
+
+        final int[] table = new int[Integer.highestOneBit(Math.max(this.conditionIds.length, 1) * 2 - 1) << 1];
+
+        if (slot == null) {
+            return table;
+        }
+
+        final int mask = table.length - 1;
+
+        for (int row = 0; row < this.conditionIds.length; row++) {
+            final String key = this.storage.get(slot, row);
+
+            if (key == null) {
+                throw new ContentHandlingException(
+                        String.format("The primary key %s is not defined in the selection node %d.", primaryKey, row));
+            }
+
+            int bucket = hash(key) & mask;
+
+            while (table[bucket] != 0) {
+                if (key.equals(this.storage.get(slot, table[bucket] - 1))) {
+                    throw new ContentHandlingException(
+                            String.format("The primary key %s has the duplicate value %s.", primaryKey, key));
+                }
+
+                bucket = (bucket + 1) & mask;
+            }
+
+            table[bucket] = row + 1;
+        }
+
+        return table;
+    }
+
+    /**
+     * Spreads the higher bits of the hash code of the key to the lower bits.
+     *
+     * @param key The key
+     * @return The spread hash code
+     */
+    private static int hash(@NonNull String key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Builds the hash index on the attribute passed as an argument.
+     *
+     * @param attribute The attribute name
+     * @return The hash index
+     */
+    private ColumnStorage.HashIndex buildHashIndex(@NonNull String attribute) {
+        final Integer slot = this.slots.get(attribute);
+        return slot == null ? value -> NO_ROWS : this.storage.createHashIndex(slot);
+    }
+
+    /**
+     * Groups the rows by the values of the column passed as an argument.
+     * <p>
+     * The rows of each value are held in ascending order, and the {@code null}
+     * values are not grouped.
+     *
+     * @param column The values indexed by the row
+     * @return The map of the value to the rows
+     */
+    static Map<String, int[]> groupRows(@NonNull String[] column) {
+
+        final Map<String, int[]> counts = new HashMap<>();
+
+        for (String value : column) {
+            if (value != null) {
+                counts.computeIfAbsent(value, key -> new int[1])[0]++;
+            }
+        }
+
+        final Map<String, int[]> groups = new HashMap<>(counts.size() * 4 / 3 + 1);
+        final Map<String, int[]> cursors = new HashMap<>(counts.size() * 4 / 3 + 1);
+
+        for (int row = 0; row < column.length; row++) {
+            final String value = column[row];
+
+            if (value == null) {
+                continue;
+            }
+
+            final int[] cursor = cursors.computeIfAbsent(value, key -> new int[1]);
+            groups.computeIfAbsent(value, key -> new int[counts.get(key)[0]])[cursor[0]++] = row;
+        }
+
+        return groups;
+    }
+
+    /**
+     * Returns the minimum or maximum value of the attribute of the records that
+     * can be fetched with the conditions.
+     * <p>
+     * The numeric and the string extremes are tracked at the same time in one
+     * pass, and the numeric one is returned if all values are numeric.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @param attribute  The attribute name
+     * @param sign       {@code -1} for the minimum, {@code 1} for the maximum
+     * @return The extreme value, or {@link Optional#empty()} if no record has the
+     *         value
+     */
+    private Optional<String> extreme(@NonNull List<Map<String, String>> conditions, @NonNull String attribute,
+            int sign) {
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot == null) {
+            return Optional.empty();
+        }
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        final boolean[] visited = new boolean[this.storage.idLimit(slot)];
+
+        String stringExtreme = null;
+        String numericExtreme = null;
+        Number numericExtremeValue = null;
+        boolean numeric = true;
+
+        for (int row = 0; row < this.conditionIds.length; row++) {
+            final int id = this.storage.idAt(slot, row);
+
+            if (id < 0 || visited[id] || !this.isSelectable(row, matchedConditionIds)) {
+                continue;
+            }
+
+            visited[id] = true;
+
+            final String value = this.storage.valueOf(slot, id);
+
+            if (stringExtreme == null || Integer.signum(value.compareTo(stringExtreme)) == sign) {
+                stringExtreme = value;
+            }
+
+            if (!numeric) {
+                continue;
+            }
+
+            final Number number = RangeIndex.parseNumber(value);
+
+            if (number == null) {
+                numeric = false;
+            } else if (numericExtremeValue == null
+                    || Integer.signum(RangeIndex.compare(number, numericExtremeValue)) == sign) {
+                numericExtreme = value;
+                numericExtremeValue = number;
+            }
+        }
+
+        return Optional.ofNullable(numeric ? numericExtreme : stringExtreme);
+    }
+
+    /**
+     * Returns the condition IDs of the condition nodes matching the conditions.
+     *
+     * @param conditions The conditional list to use when matching conditions
+     * @return The condition IDs matching the conditions
+     */
+    private Set<String> resolveConditionIds(@NonNull List<Map<String, String>> conditions) {
+        return this.conditionMatcher.resolve(conditions);
+    }
+
+    /**
+     * Tests whether the row can be fetched with the condition IDs passed as an
+     * argument.
+     *
+     * @param row                 The row
+     * @param matchedConditionIds The condition IDs matching the conditions
+     * @return {@code true} if the row can be fetched, otherwise {@code false}
+     */
+    private boolean isSelectable(int row, @NonNull Set<String> matchedConditionIds) {
+        final String conditionId = this.conditionIds[row];
+        return StringUtils.isEmpty(conditionId) || matchedConditionIds.contains(conditionId);
+    }
+
+    /**
+     * Returns the slots of the attributes passed as an argument, resolved once
+     * per query rather than once per row.
+     *
+     * @param attributes The attribute names
+     * @return The slot of each attribute, or {@code -1} if no selection node
+     *         defines it
+     */
+    private int[] slotsOf(@NonNull String[] attributes) {
+
+        final int[] attributeSlots = new int[attributes.length];
+
+        for (int i = 0; i < attributes.length; i++) {
+            attributeSlots[i] = this.slotOf(attributes[i]);
+        }
+
+        return attributeSlots;
+    }
+
+    /**
+     * Builds the record containing the values of the attributes to be acquired
+     * from the row.
+     *
+     * @param attributes     The Attribute names to be acquired
+     * @param attributeSlots The slots of the attributes returned by
+     *                       {@link #slotsOf(String[])}
+     * @param row            The row
+     * @return The record
+     */
+    private Map<String, String> toContent(@NonNull String[] attributes, @NonNull int[] attributeSlots, int row) {
+
+        final Map<String, String> content = new HashMap<>(attributes.length);
+
+        for (int i = 0; i < attributes.length; i++) {
+            content.put(attributes[i], this.valueAt(attributeSlots[i], row));
+        }
+
+        return content;
+    }
+}
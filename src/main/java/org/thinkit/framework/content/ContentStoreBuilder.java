@@ -0,0 +1,449 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import lombok.NonNull;
+
+/**
+ * The class that accumulates the nodes read from the content and builds the
+ * {@link ContentStore} .
+ * <p>
+ * The values of the selection nodes are stored column by column. The set of
+ * attributes is the union of the keys of all selection nodes, and the value of
+ * an attribute that is not defined in a selection node is {@code null} . If the
+ * builder is created for the off-heap storage, the values are written into
+ * {@link OffHeapColumnStorage.Builder} as they are added, so the values of all
+ * rows are never held on the heap.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentStoreBuilder {
+
+    /**
+     * The initial capacity of the columns
+     */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /**
+     * The minimum number of selection nodes parsed by a task of the parallel load
+     */
+    private static final int MIN_CHUNK_SIZE = 1024;
+
+    /**
+     * The slot of each attribute
+     */
+    private final Map<String, Integer> slots;
+
+    /**
+     * The columns of the attribute values, which are empty if the values are
+     * written into the off-heap columns
+     */
+    private final List<String[]> columns;
+
+    /**
+     * The builder of the off-heap columns, or {@code null} if the values are held
+     * on the heap
+     */
+    private final OffHeapColumnStorage.Builder offHeapColumns;
+
+    /**
+     * The condition IDs of the selection nodes
+     */
+    private String[] conditionIds;
+
+    /**
+     * The condition nodes
+     */
+    private final List<ConditionNode> conditionNodes;
+
+    /**
+     * The metadata of the content
+     */
+    private final Map<String, String> metadata;
+
+    /**
+     * The data types of the attributes declared in the metadata
+     */
+    private final Map<String, String> dataTypes;
+
+    /**
+     * The number of selection nodes
+     */
+    private int size;
+
+    /**
+     * The schema of the selection node added last
+     */
+    private ContentSchema schema;
+
+    /**
+     * The column of each slot of the schema of the selection node added last
+     */
+    private int[] schemaColumns;
+
+    /**
+     * Constructor
+     */
+    ContentStoreBuilder() {
+        this(false);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param offHeap {@code true} if the values are written into the off-heap
+     *                columns as they are added, otherwise {@code false}
+     */
+    ContentStoreBuilder(boolean offHeap) {
+        this.slots = new HashMap<>();
+        this.columns = new ArrayList<>();
+        this.offHeapColumns = offHeap ? new OffHeapColumnStorage.Builder(INITIAL_CAPACITY) : null;
+        this.conditionIds = new String[INITIAL_CAPACITY];
+        this.conditionNodes = new ArrayList<>();
+        this.metadata = new HashMap<>();
+        this.dataTypes = new HashMap<>();
+        this.schemaColumns = new int[0];
+    }
+
+    /**
+     * Adds the selection node passed as an argument.
+     *
+     * @param selectionNode The selection node
+     * @return This builder
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ContentStoreBuilder addSelectionNode(@NonNull SelectionNode selectionNode) {
+
+        if (this.size == this.conditionIds.length) {
+            this.grow();
+        }
+
+        this.conditionIds[this.size] = selectionNode.getConditionId();
+
+        final int[] columns = this.resolveColumns(selectionNode);
+
+        for (int slot = 0; slot < selectionNode.size(); slot++) {
+            if (this.offHeapColumns == null) {
+                this.columns.get(columns[slot])[this.size] = selectionNode.get(slot);
+            } else {
+                this.offHeapColumns.set(columns[slot], this.size, selectionNode.get(slot));
+            }
+        }
+
+        this.size++;
+        return this;
+    }
+
+    /**
+     * Adds the condition node passed as an argument.
+     *
+     * @param conditionNode The condition node
+     * @return This builder
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ContentStoreBuilder addConditionNode(@NonNull ConditionNode conditionNode) {
+        this.conditionNodes.add(conditionNode);
+        return this;
+    }
+
+    /**
+     * Adds the metadata of the content passed as an argument.
+     *
+     * @param metadata The metadata of the content
+     * @return This builder
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ContentStoreBuilder addMetadata(@NonNull Map<String, String> metadata) {
+        this.metadata.putAll(metadata);
+        return this;
+    }
+
+    /**
+     * Adds the data types of the attributes passed as an argument.
+     *
+     * @param dataTypes The tags of the data types of the attributes
+     * @return This builder
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ContentStoreBuilder addDataTypes(@NonNull Map<String, String> dataTypes) {
+        this.dataTypes.putAll(dataTypes);
+        return this;
+    }
+
+    /**
+     * Reads all nodes and the metadata from the content reader passed as an
+     * argument and adds them.
+     *
+     * @param reader The content reader
+     * @return This builder
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ContentStoreBuilder addAll(@NonNull ContentReader reader) {
+
+        ContentReader.NodeType nodeType;
+
+        while ((nodeType = reader.next()) != null) {
+            if (nodeType == ContentReader.NodeType.SELECTION_NODE) {
+                this.addSelectionNode(reader.getSelectionNode());
+            } else {
+                this.addConditionNode(reader.getConditionNode());
+            }
+        }
+
+        return this.addMetadata(reader.getMetadata()).addDataTypes(reader.getDataTypes());
+    }
+
+    /**
+     * Reads all nodes from the XML content reader passed as an argument and adds
+     * them.
+     *
+     * @param reader The XML content reader
+     * @return This builder
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public ContentStoreBuilder addAll(@NonNull XmlContentReader reader) {
+
+        ContentReader.NodeType nodeType;
+
+        while ((nodeType = reader.next()) != null) {
+            if (nodeType == ContentReader.NodeType.SELECTION_NODE) {
+                this.addSelectionNode(reader.getSelectionNode());
+            } else {
+                this.addConditionNode(reader.getConditionNode());
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Parses the nodes and the metadata of the content at the offsets recorded by
+     * the index passed as an argument and adds them.
+     * <p>
+     * The selection nodes are split into ranges of consecutive nodes, which are
+     * parsed in parallel on the pool with their own inferred schema. The parsed
+     * ranges are added in the order defined in the content, so the result is the
+     * same as {@link #addAll(ContentReader)} .
+     *
+     * @param content The UTF-8 encoded content
+     * @param index   The offsets of the nodes of the content
+     * @param pool    The pool on which the selection nodes are parsed
+     * @return This builder
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If a node is malformed
+     */
+    public ContentStoreBuilder addAll(@NonNull byte[] content, @NonNull NodeOffsetIndex index,
+            @NonNull ForkJoinPool pool) {
+
+        final int selectionNodeCount = index.getSelectionNodeCount();
+        final int chunkCount = Math.max(1,
+                Math.min(pool.getParallelism() * 4, selectionNodeCount / MIN_CHUNK_SIZE));
+        final List<ForkJoinTask<SelectionNode[]>> tasks = new ArrayList<>(chunkCount);
+
+        for (int i = 0; i < chunkCount; i++) {
+            final int start = (int) ((long) selectionNodeCount * i / chunkCount);
+            final int end = (int) ((long) selectionNodeCount * (i + 1) / chunkCount);
+            tasks.add(pool.submit(() -> readSelectionNodes(content, index, start, end)));
+        }
+
+        if (index.hasMetadata()) {
+            final ContentReader reader = ContentReader.readMetadata(content, index.getMetadataOffset(),
+                    index.getMetadataLength());
+            this.addMetadata(reader.getMetadata()).addDataTypes(reader.getDataTypes());
+        }
+
+        for (int i = 0, size = index.getConditionNodeCount(); i < size; i++) {
+            this.addConditionNode(ContentReader.readConditionNode(content, index.getConditionNodeOffset(i),
+                    index.getConditionNodeLength(i)));
+        }
+
+        for (ForkJoinTask<SelectionNode[]> task : tasks) {
+            for (SelectionNode selectionNode : task.join()) {
+                this.addSelectionNode(selectionNode);
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * Builds the content store with the indexes defined by the argument.
+     * <p>
+     * The primary key declared by the definition takes precedence over the one
+     * declared in the metadata of the content. If this builder has written the
+     * values into the off-heap columns, they are used as they are. Otherwise if
+     * the definition requires the off-heap storage, the columns are moved to it
+     * and released from the heap.
+     * The values of the attributes whose data types are declared are parsed into
+     * the primitive columns.
+     *
+     * @param definition The definition of indexes
+     * @return The content store
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If a data type is unknown or a value
+     *                                  cannot be parsed as its data type
+     */
+    public ContentStore build(@NonNull IndexDefinition definition) {
+
+        final String primaryKey = definition.getPrimaryKey().isEmpty()
+                ? this.metadata.getOrDefault(MetadataKey.PRIMARY_KEY.getKey(), "")
+                : definition.getPrimaryKey();
+
+        final ColumnStorage storage = this.offHeapColumns != null ? this.offHeapColumns.build(this.size)
+                : this.buildHeapColumns(definition.isOffHeap());
+
+        final Map<String, DataType> resolvedDataTypes = new HashMap<>(this.dataTypes.size());
+        this.dataTypes.forEach((attribute, tag) -> resolvedDataTypes.put(attribute, DataType.of(tag)));
+
+        return new ContentStore(new HashMap<>(this.slots), storage, Arrays.copyOf(this.conditionIds, this.size),
+                List.copyOf(this.conditionNodes), definition, primaryKey == null ? "" : primaryKey, resolvedDataTypes);
+    }
+
+    /**
+     * Builds the storage of the columns held on the heap.
+     *
+     * @param offHeap {@code true} if the columns are moved to the off-heap
+     *                storage, otherwise {@code false}
+     * @return The column storage
+     */
+    private ColumnStorage buildHeapColumns(boolean offHeap) {
+
+        final String[][] trimmedColumns = new String[this.columns.size()][];
+
+        for (int i = 0; i < trimmedColumns.length; i++) {
+            trimmedColumns[i] = Arrays.copyOf(this.columns.get(i), this.size);
+        }
+
+        return offHeap ? OffHeapColumnStorage.of(trimmedColumns, this.size)
+                : new HeapColumnStorage(trimmedColumns, this.size);
+    }
+
+    /**
+     * Parses the selection nodes in the range of indexes passed as arguments with
+     * their own inferred schema, since the inferred schema is not shared between
+     * threads.
+     *
+     * @param content The UTF-8 encoded content
+     * @param index   The offsets of the nodes of the content
+     * @param start   The index of the first selection node, inclusive
+     * @param end     The index of the last selection node, exclusive
+     * @return The selection nodes
+     */
+    private static SelectionNode[] readSelectionNodes(@NonNull byte[] content, @NonNull NodeOffsetIndex index,
+            int start, int end) {
+
+        final ContentSchema schema = ContentSchema.inferred();
+        final SelectionNode[] selectionNodes = new SelectionNode[end - start];
+
+        for (int i = start; i < end; i++) {
+            selectionNodes[i - start] = ContentReader.readSelectionNode(content, index.getSelectionNodeOffset(i),
+                    index.getSelectionNodeLength(i), schema);
+        }
+
+        return selectionNodes;
+    }
+
+    /**
+     * Returns the columns of the slots of the selection node. The columns are
+     * resolved only for the slots added to its schema since the last call, so the
+     * attribute names are looked up once per schema rather than once per node.
+     *
+     * @param selectionNode The selection node
+     * @return The column of each slot of the schema
+     */
+    private int[] resolveColumns(@NonNull SelectionNode selectionNode) {
+
+        final ContentSchema nodeSchema = selectionNode.getSchema();
+
+        if (nodeSchema != this.schema) {
+            this.schema = nodeSchema;
+            this.schemaColumns = new int[0];
+        }
+
+        if (this.schemaColumns.length < selectionNode.size()) {
+            final int resolved = this.schemaColumns.length;
+            this.schemaColumns = Arrays.copyOf(this.schemaColumns, nodeSchema.size());
+
+            for (int slot = resolved; slot < this.schemaColumns.length; slot++) {
+                this.schemaColumns[slot] = this.column(nodeSchema.getName(slot));
+            }
+        }
+
+        return this.schemaColumns;
+    }
+
+    /**
+     * Returns the column of the attribute passed as an argument, adding it if it
+     * does not exist yet.
+     *
+     * @param attribute The attribute name
+     * @return The index of the column of the attribute
+     */
+    private int column(@NonNull String attribute) {
+
+        final Integer slot = this.slots.get(attribute);
+
+        if (slot != null) {
+            return slot;
+        }
+
+        final int added;
+
+        if (this.offHeapColumns == null) {
+            added = this.columns.size();
+            this.columns.add(new String[this.conditionIds.length]);
+        } else {
+            added = this.offHeapColumns.addColumn();
+        }
+
+        this.slots.put(attribute, added);
+
+        return added;
+    }
+
+    /**
+     * Doubles the capacity of the columns.
+     */
+    private void grow() {
+
+        final int capacity = this.conditionIds.length * 2;
+        this.conditionIds = Arrays.copyOf(this.conditionIds, capacity);
+
+        for (int i = 0; i < this.columns.size(); i++) {
+            this.columns.set(i, Arrays.copyOf(this.columns.get(i), capacity));
+        }
+
+        if (this.offHeapColumns != null) {
+            this.offHeapColumns.grow(capacity);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import lombok.NonNull;
+
+/**
+ * The cache that holds the {@link ContentStore} loaded for each content class.
+ * <p>
+ * The content file mapped to a content class is loaded at the first lookup and
+ * the loaded {@link ContentStore} is reused by the subsequent lookups. The
+ * concurrent lookups of a content that is not loaded yet are coalesced into one
+ * load: the first thread runs the loader and the other threads wait for its
+ * result instead of parsing the same content file at the same time. If the
+ * load fails, all waiting threads receive the same exception and the next
+ * lookup loads the content again.
+ * <p>
+ * The content stores are held in a {@link ClassValue} , so the cache does not
+ * prevent the content classes from being unloaded. All content stores are
+ * evicted when a {@link ContentBundle} is installed or uninstalled, since the
+ * content may be read from another file after that.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class ContentStoreCache {
+
+    /**
+     * The content store loaded or being loaded for each content class
+     */
+    private static final ClassValue<AtomicReference<Entry>> STORES = new ClassValue<>() {
+
+        @Override
+        protected AtomicReference<Entry> computeValue(Class<?> contentClass) {
+            return new AtomicReference<>();
+        }
+    };
+
+    /**
+     * The generation of the cache, which is incremented to evict all content
+     * stores at once
+     */
+    private static final AtomicInteger GENERATION = new AtomicInteger();
+
+    /**
+     * Constructor
+     */
+    private ContentStoreCache() {
+    }
+
+    /**
+     * Returns the content store of the content class passed as an argument,
+     * loading it with the loader if it has not been loaded yet.
+     * <p>
+     * If another thread is already loading the content store, this method waits
+     * for it and returns its result.
+     *
+     * @param contentClass The content class
+     * @param loader       The loader of the content store
+     * @return The content store of the content class
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content store cannot be loaded
+     */
+    static ContentStore get(@NonNull Class<?> contentClass, @NonNull Supplier<ContentStore> loader) {
+
+        final AtomicReference<Entry> slot = STORES.get(contentClass);
+
+        while (true) {
+            final int generation = GENERATION.get();
+            final Entry entry = slot.get();
+
+            if (entry != null && entry.generation == generation) {
+                return join(entry.future);
+            }
+
+            final Entry newEntry = new Entry(generation, new CompletableFuture<>());
+
+            if (slot.compareAndSet(entry, newEntry)) {
+                return load(slot, loader, newEntry);
+            }
+        }
+    }
+
+    /**
+     * Returns the content store of the content class passed as an argument only
+     * if it has already been loaded. The content store is never loaded, and this
+     * method never waits for the content store being loaded by another thread.
+     *
+     * @param contentClass The content class
+     * @return The loaded content store, or {@link Optional#empty()} if it has not
+     *         been loaded
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static Optional<ContentStore> getIfLoaded(@NonNull Class<?> contentClass) {
+
+        final Entry entry = STORES.get(contentClass).get();
+
+        if (entry == null || entry.generation != GENERATION.get() || !entry.future.isDone()
+                || entry.future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(entry.future.join());
+    }
+
+    /**
+     * Removes the content store of the content class passed as an argument, so
+     * the next lookup loads the content again.
+     *
+     * @param contentClass The content class
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    static void evict(@NonNull Class<?> contentClass) {
+        STORES.get(contentClass).set(null);
+    }
+
+    /**
+     * Removes all content stores from the cache. The content stores being loaded
+     * are not returned to the lookups made after this call.
+     */
+    static void clear() {
+        GENERATION.incrementAndGet();
+    }
+
+    /**
+     * Waits for the content store of the future and returns it.
+     *
+     * @param future The future of the content store
+     * @return The content store
+     *
+     * @throws ContentHandlingException If the content store cannot be loaded
+     */
+    private static ContentStore join(@NonNull CompletableFuture<ContentStore> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+
+            throw new ContentHandlingException("Could not load the content.", e.getCause());
+        }
+    }
+
+    /**
+     * Loads the content store with the loader and completes the future of the
+     * entry with the result.
+     *
+     * @param slot   The slot of the content class
+     * @param loader The loader of the content store
+     * @param entry  The entry registered for the content class
+     * @return The loaded content store
+     */
+    private static ContentStore load(@NonNull AtomicReference<Entry> slot, @NonNull Supplier<ContentStore> loader,
+            @NonNull Entry entry) {
+        try {
+            final ContentStore store = loader.get();
+            entry.future.complete(store);
+            return store;
+        } catch (RuntimeException | Error e) {
+            slot.compareAndSet(entry, null);
+            entry.future.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * The content store loaded or being loaded in a generation of the cache.
+     */
+    private static final class Entry {
+
+        /**
+         * The generation of the cache in which the entry was registered
+         */
+        private final int generation;
+
+        /**
+         * The future of the content store
+         */
+        private final CompletableFuture<ContentStore> future;
+
+        /**
+         * Constructor
+         *
+         * @param generation The generation of the cache
+         * @param future     The future of the content store
+         */
+        private Entry(int generation, @NonNull CompletableFuture<ContentStore> future) {
+            this.generation = generation;
+            this.future = future;
+        }
+    }
+}
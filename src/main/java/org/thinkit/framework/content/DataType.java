@@ -0,0 +1,181 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Locale;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The enum constant that manages the data types of the attributes declared in
+ * the {@code "dataTypes"} of the metadata of the content.
+ *
+ * <pre>
+ * Declare the data types of the attributes in the content file:
+ * <code>
+ * "metadata": {
+ *     "dataTypes": {"price": "long", "rate": "double", "active": "boolean"}
+ * }
+ * </code>
+ * </pre>
+ * <p>
+ * The values of the typed attributes are parsed once when the content is loaded
+ * into the {@link ContentStore} and held in the primitive columns.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+public enum DataType {
+
+    /**
+     * The string ({@code "string"})
+     */
+    STRING("string"),
+
+    /**
+     * The 32-bit integer ({@code "int"})
+     */
+    INT("int"),
+
+    /**
+     * The 64-bit integer ({@code "long"}) , where the suffix {@code "L"} is
+     * allowed
+     */
+    LONG("long"),
+
+    /**
+     * The double-precision floating-point number ({@code "double"})
+     */
+    DOUBLE("double"),
+
+    /**
+     * The boolean ({@code "boolean"}) , which is {@code "true"} or
+     * {@code "false"} ignoring case
+     */
+    BOOLEAN("boolean");
+
+    /**
+     * The tag declared in the content
+     */
+    @Getter
+    private final String tag;
+
+    /**
+     * Returns the data type of the tag passed as an argument ignoring case.
+     *
+     * @param tag The tag declared in the content
+     * @return The data type of the tag
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the tag is not a known data type
+     */
+    public static DataType of(@NonNull String tag) {
+
+        final String normalizedTag = tag.trim().toLowerCase(Locale.ROOT);
+
+        for (DataType dataType : values()) {
+            if (dataType.tag.equals(normalizedTag)) {
+                return dataType;
+            }
+        }
+
+        throw new ContentHandlingException(String.format("Unknown data type %s.", tag));
+    }
+
+    /**
+     * Parses the value passed as an argument as an {@code int} .
+     *
+     * @param value The value
+     * @return The parsed value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the value is not an {@code int}
+     */
+    static int parseInt(@NonNull String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ContentHandlingException(String.format("The value %s is not an int.", value), e);
+        }
+    }
+
+    /**
+     * Parses the value passed as an argument as a {@code long} , allowing the
+     * suffix {@code "L"} .
+     *
+     * @param value The value
+     * @return The parsed value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the value is not a {@code long}
+     */
+    static long parseLong(@NonNull String value) {
+
+        final String trimmedValue = value.trim();
+        final int end = trimmedValue.endsWith("L") || trimmedValue.endsWith("l") ? trimmedValue.length() - 1
+                : trimmedValue.length();
+
+        try {
+            return Long.parseLong(trimmedValue.substring(0, end));
+        } catch (NumberFormatException e) {
+            throw new ContentHandlingException(String.format("The value %s is not a long.", value), e);
+        }
+    }
+
+    /**
+     * Parses the value passed as an argument as a {@code double} .
+     *
+     * @param value The value
+     * @return The parsed value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the value is not a {@code double}
+     */
+    static double parseDouble(@NonNull String value) {
+        try {
+            return Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new ContentHandlingException(String.format("The value %s is not a double.", value), e);
+        }
+    }
+
+    /**
+     * Parses the value passed as an argument as a {@code boolean} .
+     *
+     * @param value The value
+     * @return The parsed value
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the value is neither {@code "true"} nor
+     *                                  {@code "false"}
+     */
+    static boolean parseBoolean(@NonNull String value) {
+
+        final String trimmedValue = value.trim();
+
+        if ("true".equalsIgnoreCase(trimmedValue)) {
+            return true;
+        }
+
+        if ("false".equalsIgnoreCase(trimmedValue)) {
+            return false;
+        }
+
+        throw new ContentHandlingException(String.format("The value %s is not a boolean.", value));
+    }
+}
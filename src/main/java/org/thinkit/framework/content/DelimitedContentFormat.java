@@ -0,0 +1,418 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The built-in {@link ContentFormat} of the delimiter-separated values such as
+ * CSV and TSV.
+ * <p>
+ * The first row that is not a directive is the header row, which defines the
+ * attribute names, and each of the following rows is a selection node. The
+ * value of the {@code "conditionId"} column is the condition ID of the node,
+ * and the node is unconditional if the column is not defined or empty. The
+ * fields are quoted with double quotes as defined by RFC 4180, and an empty
+ * field is read as {@code null} unless it is quoted.
+ * <p>
+ * The rows before the header row whose first field starts with {@code "#"}
+ * are the directives. The metadata, the data types of the attributes and the
+ * condition nodes are defined by the directives, and the other directives are
+ * ignored as comments.
+ *
+ * <pre>
+ * <code>
+ * #metadata,primaryKey,code
+ * #dataType,price,int
+ * #conditionNode,1,type,fruit
+ * conditionId,code,name
+ * ,A001,apple
+ * 1,B001,banana
+ * </code>
+ * </pre>
+ * <p>
+ * The directive {@code #dataType} is followed by the attribute name and the tag
+ * of its data type. The directive {@code #conditionNode} is followed by the
+ * condition ID and the pairs of the key name and the operand of its
+ * conditions. The rows are read one by one through a fixed-size buffer, so the
+ * memory used for reading does not depend on the size of the content file.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class DelimitedContentFormat implements ContentFormat {
+
+    /**
+     * The format of the comma-separated values
+     */
+    static final DelimitedContentFormat CSV = new DelimitedContentFormat(',', ".csv");
+
+    /**
+     * The format of the tab-separated values
+     */
+    static final DelimitedContentFormat TSV = new DelimitedContentFormat('\t', ".tsv");
+
+    /**
+     * The directive of the metadata
+     */
+    private static final String METADATA_DIRECTIVE = "#metadata";
+
+    /**
+     * The directive of the condition node
+     */
+    private static final String CONDITION_NODE_DIRECTIVE = "#conditionNode";
+
+    /**
+     * The directive of the data type of an attribute
+     */
+    private static final String DATA_TYPE_DIRECTIVE = "#dataType";
+
+    /**
+     * The size of the read buffer
+     */
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * The byte order mark
+     */
+    private static final char BOM = '\uFEFF';
+
+    /**
+     * The delimiter of the fields
+     */
+    private final char delimiter;
+
+    /**
+     * The extension of the content file
+     */
+    @Getter
+    private final String extension;
+
+    /**
+     * Constructor
+     *
+     * @param delimiter The delimiter of the fields
+     * @param extension The extension of the content file
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private DelimitedContentFormat(char delimiter, @NonNull String extension) {
+        this.delimiter = delimiter;
+        this.extension = extension;
+    }
+
+    @Override
+    public void read(@NonNull InputStream contentStream, @NonNull ContentSink sink) throws IOException {
+
+        final RowReader reader = new RowReader(new InputStreamReader(contentStream, StandardCharsets.UTF_8));
+        final List<String> fields = new ArrayList<>();
+        String[] attributes = null;
+        String[] values = null;
+
+        while (reader.readRow(fields)) {
+            if (fields.size() == 1 && fields.get(0) == null) {
+                continue;
+            }
+
+            if (attributes == null) {
+                final String first = fields.get(0);
+
+                if (first != null && first.startsWith("#")) {
+                    this.readDirective(fields, sink, reader.getRowNumber());
+                    continue;
+                }
+
+                attributes = new String[fields.size()];
+
+                for (int i = 0; i < attributes.length; i++) {
+                    if (fields.get(i) == null) {
+                        throw new IOException(
+                                String.format("The header row has an empty attribute name at the column %d.", i + 1));
+                    }
+
+                    attributes[i] = fields.get(i);
+                }
+
+                values = new String[attributes.length];
+                continue;
+            }
+
+            if (fields.size() > attributes.length) {
+                throw new IOException(String.format("The row %d has %d fields but the header row has %d.",
+                        reader.getRowNumber(), fields.size(), attributes.length));
+            }
+
+            for (int i = 0; i < values.length; i++) {
+                values[i] = i < fields.size() ? fields.get(i) : null;
+            }
+
+            sink.selectionNode(attributes, values);
+        }
+    }
+
+    /**
+     * Reads the directive passed as an argument.
+     *
+     * @param fields    The fields of the directive row
+     * @param sink      The sink to which the directive is passed
+     * @param rowNumber The row number of the directive
+     * @throws IOException If the directive is malformed
+     */
+    private void readDirective(@NonNull List<String> fields, @NonNull ContentSink sink, long rowNumber)
+            throws IOException {
+
+        final String directive = fields.get(0);
+
+        if (METADATA_DIRECTIVE.equals(directive)) {
+            if (fields.size() != 3 || fields.get(1) == null) {
+                throw new IOException(
+                        String.format("The metadata at the row %d must have a key and a value.", rowNumber));
+            }
+
+            sink.metadata(fields.get(1), fields.get(2));
+        } else if (DATA_TYPE_DIRECTIVE.equals(directive)) {
+            if (fields.size() != 3 || fields.get(1) == null || fields.get(2) == null) {
+                throw new IOException(String.format(
+                        "The data type at the row %d must have an attribute name and a tag.", rowNumber));
+            }
+
+            sink.dataType(fields.get(1), fields.get(2));
+        } else if (CONDITION_NODE_DIRECTIVE.equals(directive)) {
+            if (fields.size() < 2 || fields.size() % 2 != 0 || fields.get(1) == null) {
+                throw new IOException(String.format(
+                        "The condition node at the row %d must have a condition ID and pairs of key name and operand.",
+                        rowNumber));
+            }
+
+            final int conditionCount = (fields.size() - 2) / 2;
+            final String[] keyNames = new String[conditionCount];
+            final String[] operands = new String[conditionCount];
+
+            for (int i = 0; i < conditionCount; i++) {
+                keyNames[i] = fields.get(2 + i * 2);
+                operands[i] = fields.get(3 + i * 2);
+
+                if (keyNames[i] == null) {
+                    throw new IOException(
+                            String.format("The condition node at the row %d has an empty key name.", rowNumber));
+                }
+            }
+
+            sink.conditionNode(fields.get(1), keyNames, operands);
+        }
+    }
+
+    /**
+     * The reader that splits the characters into the rows of fields.
+     */
+    private final class RowReader {
+
+        /**
+         * The reader of the characters
+         */
+        private final Reader reader;
+
+        /**
+         * The read buffer
+         */
+        private final char[] buffer;
+
+        /**
+         * The builder of the field being read
+         */
+        private final StringBuilder field;
+
+        /**
+         * The position of the next character in the buffer
+         */
+        private int position;
+
+        /**
+         * The number of characters in the buffer
+         */
+        private int limit;
+
+        /**
+         * The number of the row read last, starting with 1
+         */
+        @Getter
+        private long rowNumber;
+
+        /**
+         * {@code true} if the first character has not been read yet, otherwise
+         * {@code false}
+         */
+        private boolean first;
+
+        /**
+         * Constructor
+         *
+         * @param reader The reader of the characters
+         */
+        private RowReader(@NonNull Reader reader) {
+            this.reader = reader;
+            this.buffer = new char[BUFFER_SIZE];
+            this.field = new StringBuilder();
+            this.first = true;
+        }
+
+        /**
+         * Reads the next row into the list of fields passed as an argument.
+         *
+         * @param fields The list into which the fields are read
+         * @return {@code true} if a row has been read, or {@code false} if the end of
+         *         the content has been reached
+         * @throws IOException If a quoted field is not closed or an I/O error occurs
+         */
+        private boolean readRow(@NonNull List<String> fields) throws IOException {
+
+            fields.clear();
+
+            int c = this.read();
+
+            if (this.first) {
+                this.first = false;
+
+                if (c == BOM) {
+                    c = this.read();
+                }
+            }
+
+            if (c < 0) {
+                return false;
+            }
+
+            this.rowNumber++;
+
+            while (true) {
+                this.field.setLength(0);
+                boolean quoted = false;
+
+                if (c == '"') {
+                    quoted = true;
+                    c = this.readQuoted();
+                } else {
+                    while (c >= 0 && c != DelimitedContentFormat.this.delimiter && c != '\n' && c != '\r') {
+                        this.field.append((char) c);
+                        c = this.read();
+                    }
+                }
+
+                fields.add(quoted || this.field.length() > 0 ? this.field.toString() : null);
+
+                if (c == DelimitedContentFormat.this.delimiter) {
+                    c = this.read();
+                    continue;
+                }
+
+                if (c == '\r' && this.peek() == '\n') {
+                    this.read();
+                }
+
+                if (c >= 0 && c != '\n' && c != '\r') {
+                    throw new IOException(String.format("Unexpected character after the quoted field at the row %d.",
+                            this.rowNumber));
+                }
+
+                return true;
+            }
+        }
+
+        /**
+         * Reads the quoted field whose opening quote has been read, and returns the
+         * character following the closing quote.
+         *
+         * @return The character following the closing quote, or {@code -1} if the end
+         *         of the content has been reached
+         * @throws IOException If the quoted field is not closed or an I/O error occurs
+         */
+        private int readQuoted() throws IOException {
+
+            while (true) {
+                final int c = this.read();
+
+                if (c < 0) {
+                    throw new IOException(
+                            String.format("The quoted field at the row %d is not closed.", this.rowNumber));
+                }
+
+                if (c != '"') {
+                    this.field.append((char) c);
+                    continue;
+                }
+
+                final int next = this.read();
+
+                if (next != '"') {
+                    return next;
+                }
+
+                this.field.append('"');
+            }
+        }
+
+        /**
+         * Reads the next character.
+         *
+         * @return The next character, or {@code -1} if the end of the content has
+         *         been reached
+         * @throws IOException If an I/O error occurs
+         */
+        private int read() throws IOException {
+            return this.fill() ? this.buffer[this.position++] : -1;
+        }
+
+        /**
+         * Returns the next character without reading it.
+         *
+         * @return The next character, or {@code -1} if the end of the content has
+         *         been reached
+         * @throws IOException If an I/O error occurs
+         */
+        private int peek() throws IOException {
+            return this.fill() ? this.buffer[this.position] : -1;
+        }
+
+        /**
+         * Fills the buffer if all characters in it have been read.
+         *
+         * @return {@code true} if the buffer has a character to be read, otherwise
+         *         {@code false}
+         * @throws IOException If an I/O error occurs
+         */
+        private boolean fill() throws IOException {
+
+            while (this.position >= this.limit) {
+                this.limit = this.reader.read(this.buffer);
+                this.position = 0;
+
+                if (this.limit < 0) {
+                    this.limit = 0;
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+}
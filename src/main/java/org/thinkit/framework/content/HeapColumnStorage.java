@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import lombok.NonNull;
+
+/**
+ * The column storage that holds the attribute values in the arrays of strings
+ * on the heap.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class HeapColumnStorage implements ColumnStorage {
+
+    /**
+     * The empty row list
+     */
+    private static final int[] NO_ROWS = new int[0];
+
+    /**
+     * The columns of the attribute values
+     */
+    private final String[][] columns;
+
+    /**
+     * The number of rows
+     */
+    private final int rowCount;
+
+    /**
+     * Constructor
+     *
+     * @param columns  The columns of the attribute values
+     * @param rowCount The number of rows
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    HeapColumnStorage(@NonNull String[][] columns, int rowCount) {
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    @Override
+    public int rowCount() {
+        return this.rowCount;
+    }
+
+    @Override
+    public String get(int slot, int row) {
+        return this.columns[slot][row];
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Since the values are not deduplicated on the heap, the ID of a value is its
+     * row.
+     */
+    @Override
+    public int idAt(int slot, int row) {
+        return this.columns[slot][row] == null ? -1 : row;
+    }
+
+    @Override
+    public String valueOf(int slot, int id) {
+        return this.columns[slot][id];
+    }
+
+    @Override
+    public int idLimit(int slot) {
+        return this.rowCount;
+    }
+
+    @Override
+    public String[] column(int slot) {
+        return this.columns[slot];
+    }
+
+    @Override
+    public int[] findRows(int slot, @NonNull String value) {
+
+        final String[] column = this.columns[slot];
+        final int[] rows = new int[column.length];
+        int size = 0;
+
+        for (int row = 0; row < column.length; row++) {
+            if (value.equals(column[row])) {
+                rows[size++] = row;
+            }
+        }
+
+        return Arrays.copyOf(rows, size);
+    }
+
+    @Override
+    public HashIndex createHashIndex(int slot) {
+        final Map<String, int[]> groups = ContentStore.groupRows(this.columns[slot]);
+        return value -> groups.getOrDefault(value, NO_ROWS);
+    }
+}
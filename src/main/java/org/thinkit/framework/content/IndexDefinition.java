@@ -0,0 +1,164 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+import lombok.Builder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that defines the indexes built by {@link ContentStore} when the
+ * content is loaded.
+ *
+ * <pre>
+ * Define the hash index on the attribute {@code "code"}:
+ * <code>IndexDefinition definition = IndexDefinition.builder().indexes(Set.of("code")).build();</code>
+ * </pre>
+ *
+ * <pre>
+ * Define the radix tree on the attribute {@code "postalCode"} for the prefix queries:
+ * <code>IndexDefinition definition = IndexDefinition.builder().prefixIndexes(Set.of("postalCode")).build();</code>
+ * </pre>
+ *
+ * <pre>
+ * Define the sorted numeric column on the attribute {@code "price"} for the range queries:
+ * <code>IndexDefinition definition = IndexDefinition.builder().rangeIndexes(Set.of("price")).build();</code>
+ * </pre>
+ *
+ * <pre>
+ * Declare the attribute {@code "code"} as the primary key:
+ * <code>IndexDefinition definition = IndexDefinition.builder().primaryKey("code").build();</code>
+ * </pre>
+ *
+ * <pre>
+ * Hold the values of a large content outside of the heap:
+ * <code>IndexDefinition definition = IndexDefinition.builder().offHeap(true).build();</code>
+ * </pre>
+ *
+ * <pre>
+ * Parse the selection nodes of a large JSON content in parallel:
+ * <code>IndexDefinition definition = IndexDefinition.builder().parallel(true).build();</code>
+ * </pre>
+ * <p>
+ * If the primary key is not declared by the definition, the {@code "primaryKey"}
+ * in the metadata of the content file is used instead.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class IndexDefinition {
+
+    /**
+     * The definition without indexes
+     */
+    private static final IndexDefinition NONE = IndexDefinition.builder().build();
+
+    /**
+     * The attribute names on which the hash indexes are built
+     */
+    private final Set<String> indexes;
+
+    /**
+     * The attribute names on which the radix trees for the prefix queries are
+     * built
+     */
+    private final Set<String> prefixIndexes;
+
+    /**
+     * The attribute names on which the sorted numeric columns for the range
+     * queries are built
+     */
+    private final Set<String> rangeIndexes;
+
+    /**
+     * The attribute name of the primary key, or the empty string if the primary
+     * key is not declared
+     */
+    private final String primaryKey;
+
+    /**
+     * {@code true} if the values are held outside of the heap, otherwise
+     * {@code false}
+     */
+    private final boolean offHeap;
+
+    /**
+     * {@code true} if the selection nodes of the JSON content are parsed in
+     * parallel, otherwise {@code false}
+     */
+    private final boolean parallel;
+
+    /**
+     * Constructor
+     *
+     * @param indexes       The attribute names on which the hash indexes are built
+     * @param prefixIndexes The attribute names on which the radix trees for the
+     *                      prefix queries are built
+     * @param rangeIndexes  The attribute names on which the sorted numeric columns
+     *                      for the range queries are built
+     * @param primaryKey    The attribute name of the primary key
+     * @param offHeap       {@code true} if the values are held outside of the
+     *                      heap, otherwise {@code false}
+     * @param parallel      {@code true} if the selection nodes of the JSON
+     *                      content are parsed in parallel, otherwise
+     *                      {@code false}
+     */
+    @Builder
+    private IndexDefinition(Set<String> indexes, Set<String> prefixIndexes, Set<String> rangeIndexes,
+            String primaryKey, boolean offHeap, boolean parallel) {
+        this.indexes = indexes == null ? Set.of() : Set.copyOf(indexes);
+        this.prefixIndexes = prefixIndexes == null ? Set.of() : Set.copyOf(prefixIndexes);
+        this.rangeIndexes = rangeIndexes == null ? Set.of() : Set.copyOf(rangeIndexes);
+        this.primaryKey = primaryKey == null ? "" : primaryKey;
+        this.offHeap = offHeap;
+        this.parallel = parallel;
+    }
+
+    /**
+     * Returns the definition without indexes.
+     *
+     * @return The definition without indexes
+     */
+    public static IndexDefinition none() {
+        return NONE;
+    }
+
+    /**
+     * Returns the definition of indexes declared by the {@link ContentMapping}
+     * annotation passed as an argument.
+     *
+     * @param mapping The content mapping
+     * @return The definition of indexes declared by the annotation
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static IndexDefinition of(@NonNull ContentMapping mapping) {
+        return IndexDefinition.builder().indexes(new HashSet<>(Arrays.asList(mapping.indexes())))
+                .prefixIndexes(new HashSet<>(Arrays.asList(mapping.prefixIndexes())))
+                .rangeIndexes(new HashSet<>(Arrays.asList(mapping.rangeIndexes()))).primaryKey(mapping.primaryKey())
+                .offHeap(mapping.offHeap()).parallel(mapping.parallel()).build();
+    }
+}
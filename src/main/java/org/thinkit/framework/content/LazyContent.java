@@ -0,0 +1,398 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import lombok.NonNull;
+
+/**
+ * The content whose nodes are parsed lazily on demand.
+ * <p>
+ * When the content is opened, only the offsets of the nodes and the condition
+ * IDs of the selection nodes are recorded by a structural pre-scan of its
+ * bytes, and no node is materialized. Each selection node is parsed from its
+ * own range when it is accessed. The selection nodes whose condition ID is not
+ * selected by the conditions are skipped without being parsed. The condition
+ * nodes are parsed once at the first access that requires them and are shared
+ * by the subsequent accesses.
+ * <p>
+ * The parsed selection nodes are cached with all of their attributes by
+ * default, so the subsequent accesses never parse them again at the cost of
+ * holding them in addition to the bytes of the content. Open the content with
+ * {@link #of(byte[], boolean)} without the cache to keep the memory used to the
+ * bytes and the offsets, parsing the selection nodes again on each access.
+ * <p>
+ * The lazy content can be shared by threads without locking. The selection
+ * nodes are parsed by the threads concurrently, and a node parsed by more than
+ * one thread at the same time is cached only once, so the threads always see
+ * the same node.
+ *
+ * <pre>
+ * Fetch the 100th record without parsing the other selection nodes:
+ * <code>LazyContent content = LazyContent.of(contentStream);</code>
+ * <code>Map&lt;String, String&gt; record = content.getSelectionNode(99, attributes);</code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public final class LazyContent {
+
+    /**
+     * The content
+     */
+    private final byte[] content;
+
+    /**
+     * The offsets of the nodes
+     */
+    private final NodeOffsetIndex index;
+
+    /**
+     * The schema inferred from the attribute names of the selection nodes parsed
+     */
+    private final ContentSchema schema;
+
+    /**
+     * The selection nodes parsed, where {@code null} means the node has not been
+     * parsed yet, or {@code null} if the selection nodes are not cached
+     */
+    private final AtomicReferenceArray<SelectionNode> selectionNodes;
+
+    /**
+     * The matcher of the condition nodes, or {@code null} if they have not been
+     * parsed yet
+     */
+    private volatile ConditionMatcher conditionMatcher;
+
+    /**
+     * Constructor
+     *
+     * @param content    The content
+     * @param index      The offsets of the nodes
+     * @param cacheNodes {@code true} if the parsed selection nodes are cached,
+     *                   otherwise {@code false}
+     */
+    private LazyContent(@NonNull byte[] content, @NonNull NodeOffsetIndex index, boolean cacheNodes) {
+        this.content = content;
+        this.index = index;
+        this.schema = ContentSchema.inferred();
+        this.selectionNodes = cacheNodes ? new AtomicReferenceArray<>(index.getSelectionNodeCount()) : null;
+    }
+
+    /**
+     * Reads all bytes of the content stream passed as an argument, closes it and
+     * returns the lazy content that has only scanned the offsets of the nodes.
+     *
+     * @param contentStream The UTF-8 encoded content stream
+     * @return The lazy content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read or its
+     *                                  structure is malformed
+     */
+    public static LazyContent of(@NonNull InputStream contentStream) {
+        return of(contentStream, true);
+    }
+
+    /**
+     * Reads all bytes of the content stream passed as an argument, closes it and
+     * returns the lazy content that has only scanned the offsets of the nodes.
+     *
+     * @param contentStream The UTF-8 encoded content stream
+     * @param cacheNodes    {@code true} if the parsed selection nodes are cached,
+     *                      otherwise {@code false}
+     * @return The lazy content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read or its
+     *                                  structure is malformed
+     */
+    public static LazyContent of(@NonNull InputStream contentStream, boolean cacheNodes) {
+        try (contentStream) {
+            return of(contentStream.readAllBytes(), cacheNodes);
+        } catch (IOException e) {
+            throw new ContentHandlingException("Could not read the content.", e);
+        }
+    }
+
+    /**
+     * Returns the lazy content that has only scanned the offsets of the nodes of
+     * the content passed as an argument. The array must not be modified after it
+     * is passed.
+     *
+     * @param content The UTF-8 encoded content
+     * @return The lazy content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the structure of the content is
+     *                                  malformed
+     */
+    public static LazyContent of(@NonNull byte[] content) {
+        return of(content, true);
+    }
+
+    /**
+     * Returns the lazy content that has only scanned the offsets of the nodes of
+     * the content passed as an argument. The array must not be modified after it
+     * is passed.
+     *
+     * @param content    The UTF-8 encoded content
+     * @param cacheNodes {@code true} if the parsed selection nodes are cached,
+     *                   otherwise {@code false}
+     * @return The lazy content
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the structure of the content is
+     *                                  malformed
+     */
+    public static LazyContent of(@NonNull byte[] content, boolean cacheNodes) {
+        return new LazyContent(content, NodeOffsetIndex.of(content), cacheNodes);
+    }
+
+    /**
+     * Returns the number of selection nodes.
+     *
+     * @return The number of selection nodes
+     */
+    public int selectionNodeCount() {
+        return this.index.getSelectionNodeCount();
+    }
+
+    /**
+     * Returns the number of condition nodes.
+     *
+     * @return The number of condition nodes
+     */
+    public int conditionNodeCount() {
+        return this.index.getConditionNodeCount();
+    }
+
+    /**
+     * Parses only the selection node at the index passed as an argument and
+     * returns its record, regardless of its condition.
+     *
+     * @param index      The index of the selection node
+     * @param attributes The attribute names to be acquired
+     * @return The record of the selection node
+     *
+     * @exception NullPointerException      If {@code null} is passed as an
+     *                                      argument
+     * @exception IndexOutOfBoundsException If the index is out of range
+     */
+    public Map<String, String> getSelectionNode(int index, @NonNull Set<String> attributes) {
+        return this.readSelectionNode(index).toContent(attributes);
+    }
+
+    /**
+     * Returns the records of the content without conditions.
+     *
+     * @param attributes The attribute names to be acquired
+     * @return The records
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public List<Map<String, String>> load(@NonNull Set<String> attributes) {
+        return this.load(attributes, List.of());
+    }
+
+    /**
+     * Returns the records of the content with the conditions. The result is the
+     * same as {@link ContentLoader#load(InputStream, Set, List)} .
+     *
+     * @param attributes The attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The records
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public List<Map<String, String>> load(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions) {
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+        final String[] attributeNames = attributes.toArray(new String[0]);
+
+        final List<SelectionNode> selectedNodes = new ArrayList<>();
+
+        for (int i = 0, size = this.selectionNodeCount(); i < size; i++) {
+            if (this.isCandidate(i, matchedConditionIds)) {
+                final SelectionNode selectionNode = this.readSelectionNode(i);
+
+                if (selectionNode.isSelectable(matchedConditionIds)) {
+                    selectedNodes.add(selectionNode);
+                }
+            }
+        }
+
+        final int[] slots = this.schema.slotsOf(attributeNames);
+        final List<Map<String, String>> contents = new ArrayList<>(selectedNodes.size());
+
+        for (SelectionNode selectionNode : selectedNodes) {
+            contents.add(selectionNode.toContent(attributeNames, slots));
+        }
+
+        return contents;
+    }
+
+    /**
+     * Returns the first record of the content without conditions. The selection
+     * nodes after the first record are not parsed.
+     *
+     * @param attributes The attribute names to be acquired
+     * @return The first record, or {@link Optional#empty()} if no record exists
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Optional<Map<String, String>> loadFirst(@NonNull Set<String> attributes) {
+        return this.loadFirst(attributes, List.of());
+    }
+
+    /**
+     * Returns the first record of the content with the conditions. The selection
+     * nodes after the first record are not parsed.
+     *
+     * @param attributes The attribute names to be acquired
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The first record, or {@link Optional#empty()} if no record exists
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Optional<Map<String, String>> loadFirst(@NonNull Set<String> attributes,
+            @NonNull List<Map<String, String>> conditions) {
+
+        final Set<String> matchedConditionIds = this.resolveConditionIds(conditions);
+
+        for (int i = 0, size = this.selectionNodeCount(); i < size; i++) {
+            if (this.isCandidate(i, matchedConditionIds)) {
+                final SelectionNode selectionNode = this.readSelectionNode(i);
+
+                if (selectionNode.isSelectable(matchedConditionIds)) {
+                    return Optional.of(selectionNode.toContent(attributes));
+                }
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Tests whether the selection node at the index passed as an argument may be
+     * selected by its condition ID recorded by the pre-scan, without parsing the
+     * node.
+     *
+     * @param index               The index of the selection node
+     * @param matchedConditionIds The condition IDs matching the conditions
+     * @return {@code true} if the node may be selected, otherwise {@code false}
+     */
+    private boolean isCandidate(int index, @NonNull Set<String> matchedConditionIds) {
+        final String conditionId = this.index.getSelectionNodeConditionId(index);
+        return conditionId == null || conditionId.isEmpty() || matchedConditionIds.contains(conditionId);
+    }
+
+    /**
+     * Returns the selection node at the index passed as an argument, parsing it
+     * with all of its attributes unless it has been cached. If another thread
+     * has cached the same node in the meantime, the cached node is returned
+     * instead of the node parsed.
+     *
+     * @param index The index of the selection node
+     * @return The selection node
+     *
+     * @exception IndexOutOfBoundsException If the index is out of range
+     */
+    private SelectionNode readSelectionNode(int index) {
+
+        Objects.checkIndex(index, this.selectionNodeCount());
+
+        if (this.selectionNodes == null) {
+            return this.parseSelectionNode(index);
+        }
+
+        final SelectionNode cached = this.selectionNodes.get(index);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final SelectionNode selectionNode = this.parseSelectionNode(index);
+
+        return this.selectionNodes.compareAndSet(index, null, selectionNode) ? selectionNode
+                : this.selectionNodes.get(index);
+    }
+
+    /**
+     * Parses the selection node at the index passed as an argument with all of
+     * its attributes.
+     *
+     * @param index The index of the selection node
+     * @return The selection node
+     */
+    private SelectionNode parseSelectionNode(int index) {
+        return ContentReader.readSelectionNode(this.content, this.index.getSelectionNodeOffset(index),
+                this.index.getSelectionNodeLength(index), this.schema);
+    }
+
+    /**
+     * Returns the condition IDs of the condition nodes matching the conditions.
+     * The condition nodes are not parsed if the conditions are empty.
+     *
+     * @param conditions The conditional list to use when getting data from the
+     *                   content
+     * @return The condition IDs matching the conditions
+     */
+    private Set<String> resolveConditionIds(@NonNull List<Map<String, String>> conditions) {
+
+        if (conditions.isEmpty()) {
+            return Set.of();
+        }
+
+        return this.getConditionMatcher().resolve(conditions);
+    }
+
+    /**
+     * Returns the matcher of the condition nodes, parsing them at the first call.
+     *
+     * @return The matcher of the condition nodes
+     */
+    private ConditionMatcher getConditionMatcher() {
+
+        ConditionMatcher conditionMatcher = this.conditionMatcher;
+
+        if (conditionMatcher == null) {
+            final List<ConditionNode> conditionNodes = new ArrayList<>(this.conditionNodeCount());
+
+            for (int i = 0, size = this.conditionNodeCount(); i < size; i++) {
+                conditionNodes.add(ContentReader.readConditionNode(this.content, this.index.getConditionNodeOffset(i),
+                        this.index.getConditionNodeLength(i)));
+            }
+
+            conditionMatcher = ConditionMatcher.of(conditionNodes);
+            this.conditionMatcher = conditionMatcher;
+        }
+
+        return conditionMatcher;
+    }
+}
@@ -0,0 +1,658 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.framework.content;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The built-in {@link ContentFormat} of the newline-delimited JSON, in which
+ * each line is one node of the content.
+ * <p>
+ * Each line is a JSON object with one field, whose name is the type of the
+ * node and whose value is the node itself. New nodes can be appended to the end
+ * of the content file without rewriting it, and the condition nodes may be
+ * defined on any line.
+ *
+ * <pre>
+ * <code>
+ * {"metadata": {"primaryKey": "code", "dataTypes": {"price": "long"}}}
+ * {"conditionNode": {"conditionId": "1", "conditions": [{"keyName": "type", "operand": "fruit"}]}}
+ * {"selectionNode": {"conditionId": "", "code": "A001", "name": "apple"}}
+ * {"selectionNode": {"conditionId": "1", "code": "B001", "name": "banana"}}
+ * </code>
+ * </pre>
+ * <p>
+ * The content is parsed from the stream line by line through the fixed-size
+ * buffer of the parser. Since the condition nodes may follow the selection
+ * nodes, {@link #read(InputStream, ContentSink)} holds the selection nodes
+ * until the end of the stream, while {@link #read(Path, ContentSink)} reads
+ * the content file twice, the metadata and the condition nodes first, so the
+ * memory used does not depend on the size of the content file.
+ * <p>
+ * When the whole content is loaded by
+ * {@link #readFully(InputStream, ContentSink)} , the content is split into
+ * chunks at the line breaks and the chunks are parsed in parallel on the
+ * {@link ForkJoinPool#commonPool()} , since the lines are independent of each
+ * other. The nodes are passed to the sink in the order defined in the content
+ * after all chunks have been parsed, the metadata and the condition nodes
+ * first.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class NdjsonContentFormat implements ContentFormat {
+
+    /**
+     * The format of the newline-delimited JSON
+     */
+    static final NdjsonContentFormat NDJSON = new NdjsonContentFormat();
+
+    /**
+     * The shared JSON factory
+     */
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    /**
+     * The field name of the selection node
+     */
+    private static final String SELECTION_NODE = "selectionNode";
+
+    /**
+     * The field name of the condition node
+     */
+    private static final String CONDITION_NODE = "conditionNode";
+
+    /**
+     * The field name of the metadata
+     */
+    private static final String METADATA = "metadata";
+
+    /**
+     * The minimum size of a chunk parsed in parallel
+     */
+    private static final int MIN_CHUNK_SIZE = 1 << 20;
+
+    /**
+     * The extension of the content file
+     */
+    @Getter
+    private final String extension;
+
+    /**
+     * Constructor
+     */
+    private NdjsonContentFormat() {
+        this.extension = ".ndjson";
+    }
+
+    @Override
+    public void read(@NonNull InputStream contentStream, @NonNull ContentSink sink) throws IOException {
+
+        final Chunk chunk = new Chunk();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(contentStream)) {
+            parse(parser, 0, chunk);
+        }
+
+        passTo(List.of(chunk), sink);
+    }
+
+    @Override
+    public void read(@NonNull Path contentFile, @NonNull ContentSink sink) throws IOException {
+
+        try (InputStream contentStream = ContentCompression.open(contentFile);
+                JsonParser parser = JSON_FACTORY.createParser(contentStream)) {
+            parse(parser, 0, new SinkReader(sink, false));
+        }
+
+        try (InputStream contentStream = ContentCompression.open(contentFile);
+                JsonParser parser = JSON_FACTORY.createParser(contentStream)) {
+            parse(parser, 0, new SinkReader(sink, true));
+        }
+    }
+
+    @Override
+    public void readFully(@NonNull InputStream contentStream, @NonNull ContentSink sink) throws IOException {
+
+        final byte[] content = contentStream.readAllBytes();
+        final int[] bounds = split(content, ForkJoinPool.getCommonPoolParallelism());
+        final List<Chunk> chunks;
+
+        try {
+            chunks = IntStream.range(0, bounds.length - 1).parallel()
+                    .mapToObj(i -> parseChunk(content, bounds[i], bounds[i + 1])).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        passTo(chunks, sink);
+    }
+
+    /**
+     * Passes the nodes of the chunks to the sink, the metadata and the data types
+     * first, followed by the condition nodes and the selection nodes.
+     *
+     * @param chunks The chunks in the order defined in the content
+     * @param sink   The sink to which the nodes are passed
+     */
+    private static void passTo(@NonNull List<Chunk> chunks, @NonNull ContentSink sink) {
+
+        for (Chunk chunk : chunks) {
+            for (String[] entry : chunk.metadata) {
+                sink.metadata(entry[0], entry[1]);
+            }
+        }
+
+        for (Chunk chunk : chunks) {
+            for (String[] entry : chunk.dataTypes) {
+                sink.dataType(entry[0], entry[1]);
+            }
+        }
+
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.conditionIds.size(); i++) {
+                sink.conditionNode(chunk.conditionIds.get(i), chunk.keyNames.get(i), chunk.operands.get(i));
+            }
+        }
+
+        for (Chunk chunk : chunks) {
+            for (int i = 0; i < chunk.values.size(); i++) {
+                sink.selectionNode(chunk.attributes.get(i), chunk.values.get(i));
+            }
+        }
+    }
+
+    /**
+     * Splits the content into chunks at the line breaks.
+     *
+     * @param content     The content
+     * @param parallelism The target number of chunks
+     * @return The bounds of the chunks, where the chunk {@code i} starts at the
+     *         bound {@code i} and ends before the bound {@code i + 1}
+     */
+    static int[] split(@NonNull byte[] content, int parallelism) {
+
+        final int chunkCount = Math.max(1, Math.min(parallelism, content.length / MIN_CHUNK_SIZE));
+        final int[] bounds = new int[chunkCount + 1];
+        int count = 1;
+
+        for (int i = 1; i < chunkCount; i++) {
+            int bound = Math.max((int) ((long) content.length * i / chunkCount), bounds[count - 1]);
+
+            while (bound < content.length && content[bound - 1] != '\n') {
+                bound++;
+            }
+
+            if (bound > bounds[count - 1] && bound < content.length) {
+                bounds[count++] = bound;
+            }
+        }
+
+        bounds[count++] = content.length;
+
+        return Arrays.copyOf(bounds, count);
+    }
+
+    /**
+     * Parses the nodes of the chunk.
+     *
+     * @param content The content
+     * @param start   The start offset of the chunk
+     * @param end     The end offset of the chunk
+     * @return The nodes of the chunk
+     *
+     * @throws UncheckedIOException If the chunk is malformed
+     */
+    private static Chunk parseChunk(@NonNull byte[] content, int start, int end) {
+
+        final Chunk chunk = new Chunk();
+
+        try (JsonParser parser = JSON_FACTORY.createParser(content, start, end - start)) {
+            parse(parser, start, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return chunk;
+    }
+
+    /**
+     * Parses the lines from the parser and passes the nodes to the reader. The
+     * nodes of the types which the reader does not read are skipped without
+     * being converted.
+     *
+     * @param parser The parser
+     * @param start  The offset of the first byte of the parser in the content
+     * @param reader The reader to which the nodes are passed
+     * @throws IOException If the content is malformed or an I/O error occurs
+     */
+    private static void parse(@NonNull JsonParser parser, long start, @NonNull NodeReader reader)
+            throws IOException {
+
+        JsonToken token;
+
+        while ((token = parser.nextToken()) != null) {
+            if (token != JsonToken.START_OBJECT || parser.nextToken() != JsonToken.FIELD_NAME) {
+                throw malformed(parser, start);
+            }
+
+            final String type = parser.getCurrentName();
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw malformed(parser, start);
+            }
+
+            if (SELECTION_NODE.equals(type) && reader.selectionNodes) {
+                reader.readSelectionNode(parser);
+            } else if (CONDITION_NODE.equals(type) && reader.definitions) {
+                reader.readConditionNode(parser);
+            } else if (METADATA.equals(type) && reader.definitions) {
+                reader.readMetadata(parser);
+            } else {
+                parser.skipChildren();
+            }
+
+            if (parser.nextToken() != JsonToken.END_OBJECT) {
+                throw malformed(parser, start);
+            }
+        }
+    }
+
+    /**
+     * Returns the exception reporting the malformed line at the current position
+     * of the parser.
+     *
+     * @param parser The parser
+     * @param start  The offset of the first byte of the parser in the content
+     * @return The exception
+     */
+    private static IOException malformed(@NonNull JsonParser parser, long start) {
+        return new IOException(String.format("The line at the offset %d is not a node of the content.",
+                start + parser.getTokenLocation().getByteOffset()));
+    }
+
+    /**
+     * The reader that converts the nodes at the current position of the parser
+     * and passes them on.
+     */
+    private abstract static class NodeReader {
+
+        /**
+         * {@code true} if the selection nodes are read, otherwise {@code false}
+         */
+        private final boolean selectionNodes;
+
+        /**
+         * {@code true} if the metadata and the condition nodes are read, otherwise
+         * {@code false}
+         */
+        private final boolean definitions;
+
+        /**
+         * The buffer of the attribute names of the selection node being read
+         */
+        private final List<String> nodeAttributes = new ArrayList<>();
+
+        /**
+         * The buffer of the values of the selection node being read
+         */
+        private final List<String> nodeValues = new ArrayList<>();
+
+        /**
+         * The attribute names of the selection node read last
+         */
+        private String[] lastAttributes = new String[0];
+
+        /**
+         * Constructor
+         *
+         * @param selectionNodes {@code true} if the selection nodes are read
+         * @param definitions    {@code true} if the metadata and the condition nodes
+         *                       are read
+         */
+        private NodeReader(boolean selectionNodes, boolean definitions) {
+            this.selectionNodes = selectionNodes;
+            this.definitions = definitions;
+        }
+
+        /**
+         * Passes on the selection node.
+         *
+         * @param attributes The attribute names, where the same array is shared by
+         *                   the consecutive nodes with the same attribute names
+         * @param values     The values
+         */
+        abstract void selectionNode(String[] attributes, String[] values);
+
+        /**
+         * Passes on the condition node.
+         *
+         * @param conditionId The condition ID
+         * @param keyNames    The key names of the conditions
+         * @param operands    The operands of the conditions
+         */
+        abstract void conditionNode(String conditionId, String[] keyNames, String[] operands);
+
+        /**
+         * Passes on the value of the metadata.
+         *
+         * @param key   The key of the metadata
+         * @param value The value of the metadata
+         */
+        abstract void metadata(String key, String value);
+
+        /**
+         * Passes on the data type of the attribute.
+         *
+         * @param attribute The attribute name
+         * @param tag       The tag of the data type
+         */
+        abstract void dataType(String attribute, String tag);
+
+        /**
+         * Reads the selection node from the current position of the parser. The
+         * nested values are skipped.
+         *
+         * @param parser The parser on the start of the node
+         * @throws IOException If the node is malformed
+         */
+        private void readSelectionNode(@NonNull JsonParser parser) throws IOException {
+
+            this.nodeAttributes.clear();
+            this.nodeValues.clear();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String attribute = parser.getCurrentName();
+                final JsonToken valueToken = parser.nextToken();
+
+                if (valueToken.isStructStart()) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                this.nodeAttributes.add(attribute);
+                this.nodeValues.add(valueToken == JsonToken.VALUE_NULL ? null : parser.getText());
+            }
+
+            if (!this.isLastAttributes()) {
+                this.lastAttributes = this.nodeAttributes.toArray(new String[0]);
+            }
+
+            this.selectionNode(this.lastAttributes, this.nodeValues.toArray(new String[0]));
+        }
+
+        /**
+         * Tests whether the attribute names of the selection node being read are the
+         * same as the ones read last.
+         *
+         * @return {@code true} if the attribute names are the same, otherwise
+         *         {@code false}
+         */
+        private boolean isLastAttributes() {
+
+            if (this.nodeAttributes.size() != this.lastAttributes.length) {
+                return false;
+            }
+
+            for (int i = 0; i < this.lastAttributes.length; i++) {
+                if (!this.lastAttributes[i].equals(this.nodeAttributes.get(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        /**
+         * Reads the condition node from the current position of the parser.
+         *
+         * @param parser The parser on the start of the node
+         * @throws IOException If the node is malformed
+         */
+        private void readConditionNode(@NonNull JsonParser parser) throws IOException {
+
+            String conditionId = "";
+            final List<String> conditionKeyNames = new ArrayList<>();
+            final List<String> conditionOperands = new ArrayList<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                final JsonToken valueToken = parser.nextToken();
+
+                if (valueToken == JsonToken.START_ARRAY && ConditionNodeKey.CONDITIONS.getKey().equals(key)) {
+                    readConditions(parser, conditionKeyNames, conditionOperands);
+                } else if (valueToken.isStructStart()) {
+                    parser.skipChildren();
+                } else if (ConditionNodeKey.CONDITION_ID.getKey().equals(key)) {
+                    conditionId = parser.getText();
+                }
+            }
+
+            this.conditionNode(conditionId, conditionKeyNames.toArray(new String[0]),
+                    conditionOperands.toArray(new String[0]));
+        }
+
+        /**
+         * Reads the conditions of the condition node from the current position of
+         * the parser.
+         *
+         * @param parser    The parser on the start of the condition array
+         * @param keyNames  The list to which the key names are added
+         * @param operands  The list to which the operands are added
+         * @throws IOException If the conditions are malformed
+         */
+        private static void readConditions(@NonNull JsonParser parser, @NonNull List<String> keyNames,
+                @NonNull List<String> operands) throws IOException {
+
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                String keyName = null;
+                String operand = null;
+
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    final String key = parser.getCurrentName();
+                    final JsonToken valueToken = parser.nextToken();
+
+                    if (valueToken.isStructStart()) {
+                        parser.skipChildren();
+                    } else if (ConditionNodeKey.KEY_NAME.getKey().equals(key)) {
+                        keyName = parser.getText();
+                    } else if (ConditionNodeKey.OPERAND.getKey().equals(key)) {
+                        operand = valueToken == JsonToken.VALUE_NULL ? null : parser.getText();
+                    }
+                }
+
+                keyNames.add(keyName);
+                operands.add(operand);
+            }
+        }
+
+        /**
+         * Reads the scalar values of the metadata from the current position of the
+         * parser. The data types of the attributes are read from the nested
+         * {@code "dataTypes"} object, and the other nested values are skipped.
+         *
+         * @param parser The parser on the start of the metadata
+         * @throws IOException If the metadata is malformed
+         */
+        private void readMetadata(@NonNull JsonParser parser) throws IOException {
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String key = parser.getCurrentName();
+                final JsonToken valueToken = parser.nextToken();
+
+                if (valueToken == JsonToken.START_OBJECT && MetadataKey.DATA_TYPES.getKey().equals(key)) {
+                    this.readDataTypes(parser);
+                } else if (valueToken.isStructStart()) {
+                    parser.skipChildren();
+                } else {
+                    this.metadata(key, valueToken == JsonToken.VALUE_NULL ? null : parser.getText());
+                }
+            }
+        }
+
+        /**
+         * Reads the data types of the attributes from the current position of the
+         * parser. The nested values are skipped.
+         *
+         * @param parser The parser on the start of the data type object
+         * @throws IOException If the data types are malformed
+         */
+        private void readDataTypes(@NonNull JsonParser parser) throws IOException {
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                final String attribute = parser.getCurrentName();
+                final JsonToken valueToken = parser.nextToken();
+
+                if (valueToken.isStructStart()) {
+                    parser.skipChildren();
+                } else if (valueToken != JsonToken.VALUE_NULL) {
+                    this.dataType(attribute, parser.getText());
+                }
+            }
+        }
+    }
+
+    /**
+     * The nodes parsed from a chunk, which are held until they are passed to the
+     * sink.
+     */
+    private static final class Chunk extends NodeReader {
+
+        /**
+         * The pairs of the key and the value of the metadata
+         */
+        private final List<String[]> metadata = new ArrayList<>();
+
+        /**
+         * The pairs of the attribute name and the tag of the data types
+         */
+        private final List<String[]> dataTypes = new ArrayList<>();
+
+        /**
+         * The condition IDs of the condition nodes
+         */
+        private final List<String> conditionIds = new ArrayList<>();
+
+        /**
+         * The key names of the condition nodes
+         */
+        private final List<String[]> keyNames = new ArrayList<>();
+
+        /**
+         * The operands of the condition nodes
+         */
+        private final List<String[]> operands = new ArrayList<>();
+
+        /**
+         * The attribute names of the selection nodes, where the same array is shared
+         * by the consecutive nodes with the same attribute names
+         */
+        private final List<String[]> attributes = new ArrayList<>();
+
+        /**
+         * The values of the selection nodes
+         */
+        private final List<String[]> values = new ArrayList<>();
+
+        /**
+         * Constructor
+         */
+        private Chunk() {
+            super(true, true);
+        }
+
+        @Override
+        void selectionNode(String[] attributes, String[] values) {
+            this.attributes.add(attributes);
+            this.values.add(values);
+        }
+
+        @Override
+        void conditionNode(String conditionId, String[] keyNames, String[] operands) {
+            this.conditionIds.add(conditionId);
+            this.keyNames.add(keyNames);
+            this.operands.add(operands);
+        }
+
+        @Override
+        void metadata(String key, String value) {
+            this.metadata.add(new String[] { key, value });
+        }
+
+        @Override
+        void dataType(String attribute, String tag) {
+            this.dataTypes.add(new String[] { attribute, tag });
+        }
+    }
+
+    /**
+     * The reader that passes the nodes to the sink as soon as they have been read.
+     */
+    private static final class SinkReader extends NodeReader {
+
+        /**
+         * The sink
+         */
+        private final ContentSink sink;
+
+        /**
+         * Constructor
+         *
+         * @param sink           The sink to which the nodes are passed
+         * @param selectionNodes {@code true} if only the selection nodes are read,
+         *                       or {@code false} if only the metadata and the
+         *                       condition nodes are read
+         */
+        private SinkReader(@NonNull ContentSink sink, boolean selectionNodes) {
+            super(selectionNodes, !selectionNodes);
+            this.sink = sink;
+        }
+
+        @Override
+        void selectionNode(String[] attributes, String[] values) {
+            this.sink.selectionNode(attributes, values);
+        }
+
+        @Override
+        void conditionNode(String conditionId, String[] keyNames, String[] operands) {
+            this.sink.conditionNode(conditionId, keyNames, operands);
+        }
+
+        @Override
+        void metadata(String key, String value) {
+            this.sink.metadata(key, value);
+        }
+
+        @Override
+        void dataType(String attribute, String tag) {
+            this.sink.dataType(attribute, tag);
+        }
+    }
+}
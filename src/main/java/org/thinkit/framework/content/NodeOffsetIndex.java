@@ -0,0 +1,662 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import lombok.NonNull;
+
+/**
+ * The index of the byte offsets of the nodes in the content, built by a
+ * structural pre-scan of the content.
+ * <p>
+ * The pre-scan only tracks the nesting of the objects, the arrays and the
+ * strings byte by byte, without decoding the strings or building any token.
+ * It records the start and the end of each element of the
+ * {@code "selectionNodes"} and {@code "conditionNodes"} arrays at the top level
+ * of the content, and the range of the {@code "metadata"} object, so that each
+ * node can be parsed individually later. The condition ID of each selection
+ * node is also recorded, so that the nodes not selected by the conditions are
+ * never parsed. The condition IDs are decoded only once for each distinct
+ * value.
+ * <p>
+ * The content must be encoded in UTF-8. Since every byte of a multi-byte
+ * character of UTF-8 is greater than {@code 0x7F} , the structural characters
+ * are never confused with a part of a multi-byte character.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class NodeOffsetIndex {
+
+    /**
+     * The key of the selection node array in bytes
+     */
+    private static final byte[] SELECTION_NODES = SelectionNodeKey.SELECTION_NODES.getKey()
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The key of the condition node array in bytes
+     */
+    private static final byte[] CONDITION_NODES = ConditionNodeKey.CONDITION_NODES.getKey()
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The key of the metadata in bytes
+     */
+    private static final byte[] METADATA = MetadataKey.METADATA.getKey().getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The key of the node in the element of the selection node array in bytes
+     */
+    private static final byte[] NODE = SelectionNodeKey.NODE.getKey().getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The key of the condition ID in bytes
+     */
+    private static final byte[] CONDITION_ID = SelectionNodeKey.CONDITION_ID.getKey()
+            .getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The literal of {@code null} in bytes
+     */
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * The content
+     */
+    private final byte[] content;
+
+    /**
+     * The current position of the scan
+     */
+    private int position;
+
+    /**
+     * The offsets of the selection nodes, where the start and the end of the
+     * {@code i} th node are at {@code 2i} and {@code 2i+1}
+     */
+    private int[] selectionNodes;
+
+    /**
+     * The condition IDs of the selection nodes, where {@code null} means the
+     * condition ID contains an escape sequence and is known only after the node
+     * has been parsed
+     */
+    private String[] selectionConditionIds;
+
+    /**
+     * The number of selection nodes
+     */
+    private int selectionNodeCount;
+
+    /**
+     * The decoded condition IDs keyed by their bytes in the content
+     */
+    private final Map<ByteBuffer, String> conditionIds;
+
+    /**
+     * The offsets of the condition nodes, where the start and the end of the
+     * {@code i} th node are at {@code 2i} and {@code 2i+1}
+     */
+    private int[] conditionNodes;
+
+    /**
+     * The number of condition nodes
+     */
+    private int conditionNodeCount;
+
+    /**
+     * The start of the metadata, or {@code -1} if the content has no metadata
+     */
+    private int metadataStart;
+
+    /**
+     * The end of the metadata
+     */
+    private int metadataEnd;
+
+    /**
+     * Constructor
+     *
+     * @param content The content
+     */
+    private NodeOffsetIndex(@NonNull byte[] content) {
+        this.content = content;
+        this.selectionNodes = new int[16];
+        this.selectionConditionIds = new String[8];
+        this.conditionNodes = new int[16];
+        this.conditionIds = new HashMap<>();
+        this.metadataStart = -1;
+    }
+
+    /**
+     * Scans the content passed as an argument and returns the index of the
+     * offsets of its nodes.
+     *
+     * @param content The UTF-8 encoded content
+     * @return The index of the offsets of the nodes
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the structure of the content is
+     *                                  malformed
+     */
+    public static NodeOffsetIndex of(@NonNull byte[] content) {
+        final NodeOffsetIndex index = new NodeOffsetIndex(content);
+        index.scan();
+        return index;
+    }
+
+    /**
+     * Returns the number of selection nodes.
+     *
+     * @return The number of selection nodes
+     */
+    public int getSelectionNodeCount() {
+        return this.selectionNodeCount;
+    }
+
+    /**
+     * Returns the number of condition nodes.
+     *
+     * @return The number of condition nodes
+     */
+    public int getConditionNodeCount() {
+        return this.conditionNodeCount;
+    }
+
+    /**
+     * Returns the offset of the selection node.
+     *
+     * @param index The index of the selection node
+     * @return The offset of the selection node
+     */
+    public int getSelectionNodeOffset(int index) {
+        return this.selectionNodes[checkIndex(index, this.selectionNodeCount) * 2];
+    }
+
+    /**
+     * Returns the length of the selection node.
+     *
+     * @param index The index of the selection node
+     * @return The length of the selection node
+     */
+    public int getSelectionNodeLength(int index) {
+        final int i = checkIndex(index, this.selectionNodeCount) * 2;
+        return this.selectionNodes[i + 1] - this.selectionNodes[i];
+    }
+
+    /**
+     * Returns the condition ID of the selection node recorded by the pre-scan.
+     * The condition ID is the same as the one of the parsed node, where the
+     * missing and the {@code null} condition ID is an empty string.
+     *
+     * @param index The index of the selection node
+     * @return The condition ID of the selection node, or {@code null} if the
+     *         condition ID contains an escape sequence and the node must be
+     *         parsed to know it
+     */
+    public String getSelectionNodeConditionId(int index) {
+        return this.selectionConditionIds[checkIndex(index, this.selectionNodeCount)];
+    }
+
+    /**
+     * Returns the offset of the condition node.
+     *
+     * @param index The index of the condition node
+     * @return The offset of the condition node
+     */
+    public int getConditionNodeOffset(int index) {
+        return this.conditionNodes[checkIndex(index, this.conditionNodeCount) * 2];
+    }
+
+    /**
+     * Returns the length of the condition node.
+     *
+     * @param index The index of the condition node
+     * @return The length of the condition node
+     */
+    public int getConditionNodeLength(int index) {
+        final int i = checkIndex(index, this.conditionNodeCount) * 2;
+        return this.conditionNodes[i + 1] - this.conditionNodes[i];
+    }
+
+    /**
+     * Tests whether the content has the metadata.
+     *
+     * @return {@code true} if the content has the metadata, otherwise
+     *         {@code false}
+     */
+    public boolean hasMetadata() {
+        return this.metadataStart >= 0;
+    }
+
+    /**
+     * Returns the offset of the metadata.
+     *
+     * @return The offset of the metadata, or {@code -1} if the content has no
+     *         metadata
+     */
+    public int getMetadataOffset() {
+        return this.metadataStart;
+    }
+
+    /**
+     * Returns the length of the metadata.
+     *
+     * @return The length of the metadata, or {@code 0} if the content has no
+     *         metadata
+     */
+    public int getMetadataLength() {
+        return this.metadataEnd - Math.max(this.metadataStart, 0);
+    }
+
+    /**
+     * Scans the top level object of the content.
+     */
+    private void scan() {
+
+        this.skipByteOrderMark();
+        this.skipWhitespace();
+        this.expect('{');
+
+        while (true) {
+            this.skipWhitespace();
+
+            final byte b = this.current();
+
+            if (b == '}') {
+                return;
+            }
+
+            if (b == ',') {
+                this.position++;
+                continue;
+            }
+
+            final int keyStart = this.position + 1;
+            this.skipString();
+            final int keyEnd = this.position - 1;
+
+            this.skipWhitespace();
+            this.expect(':');
+            this.skipWhitespace();
+
+            if (this.current() == '[' && this.keyEquals(keyStart, keyEnd, SELECTION_NODES)) {
+                this.scanNodes(true);
+            } else if (this.current() == '[' && this.keyEquals(keyStart, keyEnd, CONDITION_NODES)) {
+                this.scanNodes(false);
+            } else if (this.current() == '{' && this.keyEquals(keyStart, keyEnd, METADATA)) {
+                this.metadataStart = this.position;
+                this.skipValue();
+                this.metadataEnd = this.position;
+            } else {
+                this.skipValue();
+            }
+        }
+    }
+
+    /**
+     * Scans the node array and records the offsets of its elements.
+     *
+     * @param selection {@code true} for the selection node array, {@code false}
+     *                  for the condition node array
+     */
+    private void scanNodes(boolean selection) {
+
+        this.expect('[');
+
+        while (true) {
+            this.skipWhitespace();
+
+            final byte b = this.current();
+
+            if (b == ']') {
+                this.position++;
+                return;
+            }
+
+            if (b == ',') {
+                this.position++;
+                continue;
+            }
+
+            final int start = this.position;
+
+            if (b != '{') {
+                this.skipValue();
+            } else if (selection) {
+                final String conditionId = this.scanSelectionNode();
+                this.addSelectionNode(start, this.position, conditionId);
+            } else {
+                this.skipValue();
+                this.addConditionNode(start, this.position);
+            }
+        }
+    }
+
+    /**
+     * Scans the element of the selection node array and returns the condition ID
+     * of the node in the same way as {@link ContentReader} , where the last one
+     * wins if the element has more than one node.
+     *
+     * @return The condition ID, or {@code null} if it contains an escape sequence
+     */
+    private String scanSelectionNode() {
+
+        String conditionId = "";
+
+        this.expect('{');
+
+        while (true) {
+            this.skipWhitespace();
+
+            final byte b = this.current();
+
+            if (b == '}') {
+                this.position++;
+                return conditionId;
+            }
+
+            if (b == ',') {
+                this.position++;
+                continue;
+            }
+
+            final int keyStart = this.position + 1;
+            this.skipString();
+            final int keyEnd = this.position - 1;
+
+            this.skipWhitespace();
+            this.expect(':');
+            this.skipWhitespace();
+
+            if (this.current() == '{' && this.keyEquals(keyStart, keyEnd, NODE)) {
+                conditionId = this.scanNode(conditionId);
+            } else {
+                this.skipValue();
+            }
+        }
+    }
+
+    /**
+     * Scans the node of the element of the selection node array and returns its
+     * condition ID.
+     *
+     * @param conditionId The condition ID found before the node
+     * @return The condition ID, or {@code null} if it contains an escape sequence
+     */
+    private String scanNode(String conditionId) {
+
+        this.expect('{');
+
+        while (true) {
+            this.skipWhitespace();
+
+            final byte b = this.current();
+
+            if (b == '}') {
+                this.position++;
+                return conditionId;
+            }
+
+            if (b == ',') {
+                this.position++;
+                continue;
+            }
+
+            final int keyStart = this.position + 1;
+            this.skipString();
+            final int keyEnd = this.position - 1;
+
+            this.skipWhitespace();
+            this.expect(':');
+            this.skipWhitespace();
+
+            final byte valueStart = this.current();
+            final int start = this.position;
+            this.skipValue();
+
+            if (valueStart == '{' || valueStart == '[' || !this.keyEquals(keyStart, keyEnd, CONDITION_ID)) {
+                continue;
+            }
+
+            if (valueStart == '"') {
+                conditionId = this.decodeConditionId(start + 1, this.position - 1);
+            } else {
+                conditionId = this.keyEquals(start, this.position, NULL) ? ""
+                        : this.decodeConditionId(start, this.position);
+            }
+        }
+    }
+
+    /**
+     * Decodes the condition ID in the range, reusing the one decoded before.
+     *
+     * @param start The start of the condition ID without the quotes
+     * @param end   The end of the condition ID without the quotes
+     * @return The condition ID, or {@code null} if it contains an escape sequence
+     */
+    private String decodeConditionId(int start, int end) {
+
+        for (int i = start; i < end; i++) {
+            if (this.content[i] == '\\') {
+                return null;
+            }
+        }
+
+        return this.conditionIds.computeIfAbsent(ByteBuffer.wrap(this.content, start, end - start),
+                key -> new String(this.content, start, end - start, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Records the offsets and the condition ID of the selection node.
+     *
+     * @param start       The start of the node
+     * @param end         The end of the node
+     * @param conditionId The condition ID of the node
+     */
+    private void addSelectionNode(int start, int end, String conditionId) {
+
+        if (this.selectionNodeCount * 2 == this.selectionNodes.length) {
+            this.selectionNodes = Arrays.copyOf(this.selectionNodes, this.selectionNodes.length * 2);
+            this.selectionConditionIds = Arrays.copyOf(this.selectionConditionIds, this.selectionNodeCount * 2);
+        }
+
+        this.selectionNodes[this.selectionNodeCount * 2] = start;
+        this.selectionNodes[this.selectionNodeCount * 2 + 1] = end;
+        this.selectionConditionIds[this.selectionNodeCount] = conditionId;
+        this.selectionNodeCount++;
+    }
+
+    /**
+     * Records the offsets of the condition node.
+     *
+     * @param start The start of the node
+     * @param end   The end of the node
+     */
+    private void addConditionNode(int start, int end) {
+
+        if (this.conditionNodeCount * 2 == this.conditionNodes.length) {
+            this.conditionNodes = Arrays.copyOf(this.conditionNodes, this.conditionNodes.length * 2);
+        }
+
+        this.conditionNodes[this.conditionNodeCount * 2] = start;
+        this.conditionNodes[this.conditionNodeCount * 2 + 1] = end;
+        this.conditionNodeCount++;
+    }
+
+    /**
+     * Skips the value at the current position.
+     */
+    private void skipValue() {
+
+        final byte b = this.current();
+
+        if (b == '"') {
+            this.skipString();
+            return;
+        }
+
+        if (b != '{' && b != '[') {
+            while (this.position < this.content.length) {
+                final byte c = this.content[this.position];
+
+                if (c == ',' || c == '}' || c == ']' || isWhitespace(c)) {
+                    return;
+                }
+
+                this.position++;
+            }
+
+            return;
+        }
+
+        int depth = 0;
+
+        while (true) {
+            final byte c = this.current();
+
+            if (c == '"') {
+                this.skipString();
+                continue;
+            }
+
+            if (c == '{' || c == '[') {
+                depth++;
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+
+            this.position++;
+
+            if (depth == 0) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips the string at the current position including the quotes.
+     */
+    private void skipString() {
+
+        this.expect('"');
+
+        while (true) {
+            final byte b = this.current();
+            this.position++;
+
+            if (b == '\\') {
+                this.current();
+                this.position++;
+            } else if (b == '"') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips the byte order mark of UTF-8 at the start of the content.
+     */
+    private void skipByteOrderMark() {
+        if (this.content.length >= 3 && (this.content[0] & 0xFF) == 0xEF && (this.content[1] & 0xFF) == 0xBB
+                && (this.content[2] & 0xFF) == 0xBF) {
+            this.position = 3;
+        }
+    }
+
+    /**
+     * Skips the whitespaces at the current position.
+     */
+    private void skipWhitespace() {
+        while (this.position < this.content.length && isWhitespace(this.content[this.position])) {
+            this.position++;
+        }
+    }
+
+    /**
+     * Consumes the expected character at the current position.
+     *
+     * @param expected The expected character
+     */
+    private void expect(char expected) {
+
+        if (this.current() != expected) {
+            throw new ContentHandlingException(String.format("Expected '%s' at the offset %d of the content.",
+                    expected, this.position));
+        }
+
+        this.position++;
+    }
+
+    /**
+     * Returns the byte at the current position.
+     *
+     * @return The byte at the current position
+     */
+    private byte current() {
+
+        if (this.position >= this.content.length) {
+            throw new ContentHandlingException("Unexpected end of the content.");
+        }
+
+        return this.content[this.position];
+    }
+
+    /**
+     * Tests whether the key in the range equals the expected key.
+     *
+     * @param start    The start of the key
+     * @param end      The end of the key
+     * @param expected The expected key
+     * @return {@code true} if the key equals the expected key, otherwise
+     *         {@code false}
+     */
+    private boolean keyEquals(int start, int end, @NonNull byte[] expected) {
+        return Arrays.equals(this.content, start, end, expected, 0, expected.length);
+    }
+
+    /**
+     * Tests whether the byte is a whitespace of JSON.
+     *
+     * @param b The byte
+     * @return {@code true} if the byte is a whitespace, otherwise {@code false}
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\n' || b == '\r';
+    }
+
+    /**
+     * Checks the index of the node.
+     *
+     * @param index The index of the node
+     * @param count The number of nodes
+     * @return The index
+     *
+     * @exception IndexOutOfBoundsException If the index is out of range
+     */
+    private static int checkIndex(int index, int count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException(String.format("Index %d out of bounds for length %d", index, count));
+        }
+
+        return index;
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package org.thinkit.framework.content;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The sink that converts the nodes passed by a {@link ContentFormat} into the
+ * {@link SelectionNode} and the {@link ConditionNode} .
+ * <p>
+ * The values of the selection nodes are stored in the slots of the
+ * {@link ContentSchema} passed to the constructor, and the slots are resolved
+ * once for each array of attribute names.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class NodeSink implements ContentSink {
+
+    /**
+     * The schema of the attributes of the selection nodes
+     */
+    @Getter
+    private final ContentSchema schema;
+
+    /**
+     * The consumer of the condition nodes
+     */
+    private final Consumer<ConditionNode> conditionNodes;
+
+    /**
+     * The consumer of the selection nodes
+     */
+    private final Consumer<SelectionNode> selectionNodes;
+
+    /**
+     * The scalar values of the metadata
+     */
+    @Getter
+    private final Map<String, String> metadata;
+
+    /**
+     * The tags of the data types of the attributes
+     */
+    @Getter
+    private final Map<String, String> dataTypes;
+
+    /**
+     * The attribute names passed last
+     */
+    private String[] attributes;
+
+    /**
+     * The slots of the attribute names passed last
+     */
+    private int[] slots;
+
+    /**
+     * The index of the condition ID in the attribute names passed last, or
+     * {@code -1} if there is no condition ID
+     */
+    private int conditionIdIndex;
+
+    /**
+     * The number of slots used by the attribute names passed last
+     */
+    private int width;
+
+    /**
+     * {@code true} if a selection node has been passed, otherwise {@code false}
+     */
+    private boolean selectionNodePassed;
+
+    /**
+     * Constructor
+     *
+     * @param schema         The schema of the attributes of the selection nodes
+     * @param conditionNodes The consumer of the condition nodes
+     * @param selectionNodes The consumer of the selection nodes
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    NodeSink(@NonNull ContentSchema schema, @NonNull Consumer<ConditionNode> conditionNodes,
+            @NonNull Consumer<SelectionNode> selectionNodes) {
+        this.schema = schema;
+        this.conditionNodes = conditionNodes;
+        this.selectionNodes = selectionNodes;
+        this.metadata = new LinkedHashMap<>();
+        this.dataTypes = new LinkedHashMap<>();
+    }
+
+    @Override
+    public void metadata(@NonNull String key, String value) {
+        this.requireNoSelectionNode();
+        this.metadata.put(key, value);
+    }
+
+    @Override
+    public void dataType(@NonNull String attribute, @NonNull String tag) {
+        this.requireNoSelectionNode();
+        this.dataTypes.put(attribute, tag);
+    }
+
+    @Override
+    public void conditionNode(@NonNull String conditionId, @NonNull String[] keyNames, @NonNull String[] operands) {
+        this.requireNoSelectionNode();
+
+        if (keyNames.length != operands.length) {
+            throw new IllegalArgumentException(
+                    String.format("The condition node %s has %d key names but %d operands.", conditionId,
+                            keyNames.length, operands.length));
+        }
+
+        this.conditionNodes.accept(new ConditionNode(conditionId, keyNames.clone(), operands.clone()));
+    }
+
+    @Override
+    public void selectionNode(@NonNull String[] attributes, @NonNull String[] values) {
+
+        if (values.length > attributes.length) {
+            throw new IllegalArgumentException(String.format(
+                    "The selection node has %d values but %d attributes.", values.length, attributes.length));
+        }
+
+        if (attributes != this.attributes) {
+            this.resolveSlots(attributes);
+        }
+
+        this.selectionNodePassed = true;
+
+        final String[] nodeValues = new String[this.width];
+
+        for (int i = 0; i < values.length; i++) {
+            if (this.slots[i] >= 0) {
+                nodeValues[this.slots[i]] = values[i];
+            }
+        }
+
+        String conditionId = this.conditionIdIndex < 0 || this.conditionIdIndex >= values.length ? null
+                : values[this.conditionIdIndex];
+
+        if (conditionId == null) {
+            conditionId = "";
+
+            if (this.conditionIdIndex >= 0 && this.slots[this.conditionIdIndex] >= 0) {
+                nodeValues[this.slots[this.conditionIdIndex]] = conditionId;
+            }
+        }
+
+        this.selectionNodes.accept(new SelectionNode(conditionId, nodeValues, this.schema));
+    }
+
+    /**
+     * Resolves the slots of the attribute names passed as an argument.
+     *
+     * @param attributes The attribute names
+     */
+    private void resolveSlots(@NonNull String[] attributes) {
+
+        this.attributes = attributes;
+        this.slots = new int[attributes.length];
+        this.conditionIdIndex = -1;
+        this.width = 0;
+
+        for (int i = 0; i < attributes.length; i++) {
+            if (SelectionNodeKey.CONDITION_ID.getKey().equals(attributes[i])) {
+                this.conditionIdIndex = i;
+            }
+
+            this.slots[i] = this.schema.slotForRead(attributes[i]);
+            this.width = Math.max(this.width, this.slots[i] + 1);
+        }
+    }
+
+    /**
+     * Checks that no selection node has been passed yet.
+     *
+     * @throws IllegalStateException If a selection node has already been passed
+     */
+    private void requireNoSelectionNode() {
+        if (this.selectionNodePassed) {
+            throw new IllegalStateException(
+                    "The metadata, the data types and the condition nodes must be passed before the selection nodes.");
+        }
+    }
+}
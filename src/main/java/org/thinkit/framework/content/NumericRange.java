@@ -0,0 +1,265 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+/**
+ * The class that represents the range of the numeric values of an attribute.
+ * <p>
+ * The bound of the range is compared as the integer if it is specified as
+ * {@link Long} , {@link Integer} , {@link Short} or {@link Byte} and the value
+ * of the attribute is also an integer, otherwise compared as the floating point
+ * number. The {@code null} bound means that the range is not bounded on that
+ * side.
+ *
+ * <pre>
+ * Look up the records whose price is between 100 and 200:
+ * <code>
+ * List&lt;Map&lt;String, String&gt;&gt; contents = store.findByRange(attributes, "price", NumericRange.between(100, 200));
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@Getter
+@ToString
+@EqualsAndHashCode
+public final class NumericRange {
+
+    /**
+     * The lower bound, or {@code null} if the range is not bounded below
+     */
+    private final Number lower;
+
+    /**
+     * {@code true} if the lower bound is included in the range, otherwise
+     * {@code false}
+     */
+    private final boolean lowerInclusive;
+
+    /**
+     * The upper bound, or {@code null} if the range is not bounded above
+     */
+    private final Number upper;
+
+    /**
+     * {@code true} if the upper bound is included in the range, otherwise
+     * {@code false}
+     */
+    private final boolean upperInclusive;
+
+    /**
+     * Constructor
+     *
+     * @param lower          The lower bound, or {@code null} if the range is not
+     *                       bounded below
+     * @param lowerInclusive {@code true} if the lower bound is included in the
+     *                       range, otherwise {@code false}
+     * @param upper          The upper bound, or {@code null} if the range is not
+     *                       bounded above
+     * @param upperInclusive {@code true} if the upper bound is included in the
+     *                       range, otherwise {@code false}
+     *
+     * @exception IllegalArgumentException If the bound is {@code NaN}
+     */
+    private NumericRange(Number lower, boolean lowerInclusive, Number upper, boolean upperInclusive) {
+
+        if (isNaN(lower) || isNaN(upper)) {
+            throw new IllegalArgumentException("The bound of the range must not be NaN.");
+        }
+
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+
+    /**
+     * Returns the range of the values greater than or equal to the lower bound and
+     * less than or equal to the upper bound.
+     *
+     * @param lower The lower bound
+     * @param upper The upper bound
+     * @return The range
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the bound is {@code NaN}
+     */
+    public static NumericRange between(@NonNull Number lower, @NonNull Number upper) {
+        return new NumericRange(lower, true, upper, true);
+    }
+
+    /**
+     * Returns the range of the values greater than or equal to the lower bound.
+     *
+     * @param lower The lower bound
+     * @return The range
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the bound is {@code NaN}
+     */
+    public static NumericRange atLeast(@NonNull Number lower) {
+        return new NumericRange(lower, true, null, false);
+    }
+
+    /**
+     * Returns the range of the values greater than the lower bound.
+     *
+     * @param lower The lower bound
+     * @return The range
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the bound is {@code NaN}
+     */
+    public static NumericRange greaterThan(@NonNull Number lower) {
+        return new NumericRange(lower, false, null, false);
+    }
+
+    /**
+     * Returns the range of the values less than or equal to the upper bound.
+     *
+     * @param upper The upper bound
+     * @return The range
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the bound is {@code NaN}
+     */
+    public static NumericRange atMost(@NonNull Number upper) {
+        return new NumericRange(null, false, upper, true);
+    }
+
+    /**
+     * Returns the range of the values less than the upper bound.
+     *
+     * @param upper The upper bound
+     * @return The range
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the bound is {@code NaN}
+     */
+    public static NumericRange lessThan(@NonNull Number upper) {
+        return new NumericRange(null, false, upper, false);
+    }
+
+    /**
+     * Tests whether the integer value is above the lower bound of the range.
+     *
+     * @param value The value
+     * @return {@code true} if the value is not below the lower bound, otherwise
+     *         {@code false}
+     */
+    boolean isAboveLower(long value) {
+        if (this.lower == null) {
+            return true;
+        }
+
+        final int comparison = compare(value, this.lower);
+        return this.lowerInclusive ? comparison >= 0 : comparison > 0;
+    }
+
+    /**
+     * Tests whether the floating point value is above the lower bound of the
+     * range.
+     *
+     * @param value The value
+     * @return {@code true} if the value is not below the lower bound, otherwise
+     *         {@code false}
+     */
+    boolean isAboveLower(double value) {
+        if (this.lower == null) {
+            return true;
+        }
+
+        final int comparison = compare(value, this.lower);
+        return this.lowerInclusive ? comparison >= 0 : comparison > 0;
+    }
+
+    /**
+     * Tests whether the integer value is below the upper bound of the range.
+     *
+     * @param value The value
+     * @return {@code true} if the value is not above the upper bound, otherwise
+     *         {@code false}
+     */
+    boolean isBelowUpper(long value) {
+        if (this.upper == null) {
+            return true;
+        }
+
+        final int comparison = compare(value, this.upper);
+        return this.upperInclusive ? comparison <= 0 : comparison < 0;
+    }
+
+    /**
+     * Tests whether the floating point value is below the upper bound of the
+     * range.
+     *
+     * @param value The value
+     * @return {@code true} if the value is not above the upper bound, otherwise
+     *         {@code false}
+     */
+    boolean isBelowUpper(double value) {
+        if (this.upper == null) {
+            return true;
+        }
+
+        final int comparison = compare(value, this.upper);
+        return this.upperInclusive ? comparison <= 0 : comparison < 0;
+    }
+
+    /**
+     * Tests whether the bound is {@code NaN} .
+     *
+     * @param bound The bound, or {@code null}
+     * @return {@code true} if the bound is {@code NaN} , otherwise {@code false}
+     */
+    private static boolean isNaN(Number bound) {
+        return bound != null && Double.isNaN(bound.doubleValue());
+    }
+
+    /**
+     * Compares the integer value with the bound.
+     *
+     * @param value The value
+     * @param bound The bound
+     * @return The negative integer, zero, or the positive integer as the value is
+     *         less than, equal to, or greater than the bound
+     */
+    private static int compare(long value, @NonNull Number bound) {
+        if (bound instanceof Long || bound instanceof Integer || bound instanceof Short || bound instanceof Byte) {
+            return Long.compare(value, bound.longValue());
+        }
+
+        return compare((double) value, bound);
+    }
+
+    /**
+     * Compares the floating point value with the bound.
+     *
+     * @param value The value
+     * @param bound The bound
+     * @return The negative integer, zero, or the positive integer as the value is
+     *         less than, equal to, or greater than the bound
+     */
+    private static int compare(double value, @NonNull Number bound) {
+        final double boundValue = bound.doubleValue();
+        return value < boundValue ? -1 : value > boundValue ? 1 : 0;
+    }
+}
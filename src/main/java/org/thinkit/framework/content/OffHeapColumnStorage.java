@@ -0,0 +1,362 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.nio.IntBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+
+/**
+ * The column storage that holds the attribute values in the direct buffers
+ * outside of the heap.
+ * <p>
+ * The distinct values of all attributes are held once in a {@link StringTable}
+ * , and each column holds the IDs of its values in a direct integer buffer,
+ * where {@code -1} means the {@code null} value. The hash indexes are also
+ * built on the IDs and held in direct integer buffers. Only the values that are
+ * accessed are decoded into strings on the heap, so a large content adds only a
+ * few objects to the heap and does not lengthen the garbage collection.
+ * <p>
+ * The queries scan the columns by the IDs, so each distinct value is decoded at
+ * most once per query. The content is written into the storage by
+ * {@link Builder} while it is loaded, without holding the values of all rows on
+ * the heap.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class OffHeapColumnStorage implements ColumnStorage {
+
+    /**
+     * The empty row list
+     */
+    private static final int[] NO_ROWS = new int[0];
+
+    /**
+     * The table of the distinct values
+     */
+    private final StringTable stringTable;
+
+    /**
+     * The columns of the IDs of the attribute values
+     */
+    private final IntBuffer[] columns;
+
+    /**
+     * The number of rows
+     */
+    private final int rowCount;
+
+    /**
+     * Constructor
+     *
+     * @param stringTable The table of the distinct values
+     * @param columns     The columns of the IDs of the attribute values
+     * @param rowCount    The number of rows
+     */
+    private OffHeapColumnStorage(@NonNull StringTable stringTable, @NonNull IntBuffer[] columns, int rowCount) {
+        this.stringTable = stringTable;
+        this.columns = columns;
+        this.rowCount = rowCount;
+    }
+
+    /**
+     * Moves the columns of the attribute values passed as an argument to the
+     * off-heap storage.
+     *
+     * @param columns  The columns of the attribute values
+     * @param rowCount The number of rows
+     * @return The off-heap column storage
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the values exceed the capacity of the
+     *                                  off-heap storage
+     */
+    public static OffHeapColumnStorage of(@NonNull String[][] columns, int rowCount) {
+
+        final Builder builder = new Builder(rowCount);
+
+        for (String[] column : columns) {
+            final int slot = builder.addColumn();
+
+            for (int row = 0; row < rowCount; row++) {
+                builder.set(slot, row, column[row]);
+            }
+        }
+
+        return builder.build(rowCount);
+    }
+
+    @Override
+    public int rowCount() {
+        return this.rowCount;
+    }
+
+    @Override
+    public String get(int slot, int row) {
+        final int id = this.columns[slot].get(row);
+        return id < 0 ? null : this.stringTable.get(id);
+    }
+
+    @Override
+    public int idAt(int slot, int row) {
+        return this.columns[slot].get(row);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The ID is the one of the {@link StringTable} shared by all slots.
+     */
+    @Override
+    public String valueOf(int slot, int id) {
+        return this.stringTable.get(id);
+    }
+
+    @Override
+    public int idLimit(int slot) {
+        return this.stringTable.size();
+    }
+
+    @Override
+    public String[] column(int slot) {
+
+        final String[] column = new String[this.rowCount];
+
+        for (int row = 0; row < this.rowCount; row++) {
+            column[row] = this.get(slot, row);
+        }
+
+        return column;
+    }
+
+    @Override
+    public int[] findRows(int slot, @NonNull String value) {
+
+        final int id = this.stringTable.idOf(value);
+
+        if (id < 0) {
+            return NO_ROWS;
+        }
+
+        final IntBuffer column = this.columns[slot];
+        final int[] rows = new int[this.rowCount];
+        int size = 0;
+
+        for (int row = 0; row < this.rowCount; row++) {
+            if (column.get(row) == id) {
+                rows[size++] = row;
+            }
+        }
+
+        return Arrays.copyOf(rows, size);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The rows of each ID are laid out contiguously in one direct buffer, and the
+     * start of the rows of each ID is held in another direct buffer.
+     */
+    @Override
+    public HashIndex createHashIndex(int slot) {
+
+        final IntBuffer column = this.columns[slot];
+        final IntBuffer starts = StringTable.allocateInts(this.stringTable.size() + 1);
+        int indexed = 0;
+
+        for (int row = 0; row < this.rowCount; row++) {
+            final int id = column.get(row);
+
+            if (id >= 0) {
+                starts.put(id + 1, starts.get(id + 1) + 1);
+                indexed++;
+            }
+        }
+
+        for (int id = 0; id < this.stringTable.size(); id++) {
+            starts.put(id + 1, starts.get(id + 1) + starts.get(id));
+        }
+
+        final IntBuffer rows = StringTable.allocateInts(indexed);
+        final int[] cursors = new int[this.stringTable.size()];
+
+        for (int row = 0; row < this.rowCount; row++) {
+            final int id = column.get(row);
+
+            if (id >= 0) {
+                rows.put(starts.get(id) + cursors[id]++, row);
+            }
+        }
+
+        return value -> {
+            final int id = this.stringTable.idOf(value);
+
+            if (id < 0) {
+                return NO_ROWS;
+            }
+
+            final int[] matchedRows = new int[starts.get(id + 1) - starts.get(id)];
+            rows.get(starts.get(id), matchedRows);
+
+            return matchedRows;
+        };
+    }
+
+    /**
+     * The builder that writes the IDs of the values into the columns outside of
+     * the heap as the values are added.
+     * <p>
+     * Only the distinct values and their IDs are held on the heap while the
+     * content is loaded, and they are moved to the {@link StringTable} when the
+     * storage is built.
+     */
+    static final class Builder {
+
+        /**
+         * The IDs of the distinct values
+         */
+        private final Map<String, Integer> ids;
+
+        /**
+         * The distinct values in the order of the IDs
+         */
+        private final List<String> values;
+
+        /**
+         * The columns of the IDs of the attribute values
+         */
+        private final List<IntBuffer> columns;
+
+        /**
+         * The number of rows each column can hold
+         */
+        private int capacity;
+
+        /**
+         * Constructor
+         *
+         * @param capacity The initial number of rows each column can hold
+         */
+        Builder(int capacity) {
+            this.ids = new HashMap<>();
+            this.values = new ArrayList<>();
+            this.columns = new ArrayList<>();
+            this.capacity = capacity;
+        }
+
+        /**
+         * Adds the column in which no value is defined.
+         *
+         * @return The slot of the added column
+         */
+        public int addColumn() {
+            this.columns.add(allocateColumn(this.capacity, null));
+            return this.columns.size() - 1;
+        }
+
+        /**
+         * Sets the value of the slot in the row.
+         *
+         * @param slot  The slot of the attribute
+         * @param row   The row
+         * @param value The value, or {@code null} if the value is not defined
+         */
+        public void set(int slot, int row, String value) {
+
+            if (value == null) {
+                this.columns.get(slot).put(row, -1);
+                return;
+            }
+
+            Integer id = this.ids.get(value);
+
+            if (id == null) {
+                id = this.values.size();
+                this.ids.put(value, id);
+                this.values.add(value);
+            }
+
+            this.columns.get(slot).put(row, id);
+        }
+
+        /**
+         * Extends the number of rows each column can hold.
+         *
+         * @param capacity The new number of rows
+         */
+        public void grow(int capacity) {
+
+            for (int slot = 0; slot < this.columns.size(); slot++) {
+                this.columns.set(slot, allocateColumn(capacity, this.columns.get(slot)));
+            }
+
+            this.capacity = capacity;
+        }
+
+        /**
+         * Builds the storage of the rows added to this builder.
+         *
+         * @param rowCount The number of rows
+         * @return The off-heap column storage
+         *
+         * @throws ContentHandlingException If the values exceed the capacity of the
+         *                                  off-heap storage
+         */
+        public OffHeapColumnStorage build(int rowCount) {
+
+            final IntBuffer[] idColumns = new IntBuffer[this.columns.size()];
+
+            for (int slot = 0; slot < idColumns.length; slot++) {
+                final IntBuffer column = this.columns.get(slot);
+                idColumns[slot] = rowCount == this.capacity ? column : allocateColumn(rowCount, column);
+            }
+
+            return new OffHeapColumnStorage(StringTable.of(this.values), idColumns, rowCount);
+        }
+
+        /**
+         * Allocates the column of the IDs, copying the IDs of the source column and
+         * filling the rest with {@code -1} .
+         *
+         * @param capacity The number of rows of the column
+         * @param source   The column to be copied, or {@code null}
+         * @return The allocated column
+         */
+        private static IntBuffer allocateColumn(int capacity, IntBuffer source) {
+
+            final IntBuffer column = StringTable.allocateInts(capacity);
+            int row = 0;
+
+            if (source != null) {
+                final IntBuffer copied = source.duplicate();
+                copied.limit(Math.min(copied.limit(), capacity)).position(0);
+                column.put(copied);
+                row = column.position();
+            }
+
+            for (; row < capacity; row++) {
+                column.put(row, -1);
+            }
+
+            return column.clear();
+        }
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * The query prepared against a {@link ContentStore} that fetches a fixed set of
+ * attributes with the conditions of a fixed shape.
+ * <p>
+ * The slots of the attributes and the operands required by each condition node
+ * for each condition key are resolved when the query is prepared, and the rows
+ * are grouped by the condition ID in advance. Executing the query therefore
+ * only compares the bound operands with the required ones and copies the
+ * values of the resolved slots, without looking up the attributes or the
+ * condition keys by name.
+ * <p>
+ * The operands are bound in the order of the condition key names passed when
+ * the query was prepared. As with {@link ContentLoader#load} , each condition
+ * key and its operand is tested independently, and the conditional selection
+ * nodes are fetched if any of them is met.
+ *
+ * <pre>
+ * <code>
+ * PreparedQuery query = store.prepare(Set.of("name"), List.of("language"));
+ * List&lt;Map&lt;String, String&gt;&gt; contents = query.execute("ja");
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+public final class PreparedQuery {
+
+    /**
+     * The condition node places no constraint on the condition key
+     */
+    private static final byte ANY = 0;
+
+    /**
+     * The condition node requires the operand to equal the required one
+     */
+    private static final byte EQUALS = 1;
+
+    /**
+     * The condition node can never be met with the condition key
+     */
+    private static final byte NEVER = 2;
+
+    /**
+     * The content store
+     */
+    private final ContentStore store;
+
+    /**
+     * The attribute names to be acquired
+     */
+    private final String[] attributes;
+
+    /**
+     * The slots of the attributes
+     */
+    private final int[] slots;
+
+    /**
+     * The key names of the conditions
+     */
+    private final List<String> conditionKeyNames;
+
+    /**
+     * The kind of constraint of each condition node for each condition key
+     */
+    private final byte[][] constraints;
+
+    /**
+     * The operand required by each condition node for each condition key
+     */
+    private final String[][] requiredOperands;
+
+    /**
+     * The group of the condition ID of each condition node
+     */
+    private final int[] nodeGroups;
+
+    /**
+     * The rows of each group of the condition ID in ascending order
+     */
+    private final int[][] groupRows;
+
+    /**
+     * The unconditional rows in ascending order
+     */
+    private final int[] unconditionalRows;
+
+    /**
+     * Constructor
+     *
+     * @param store             The content store
+     * @param attributes        The attribute names to be acquired
+     * @param conditionKeyNames The key names of the conditions
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    PreparedQuery(@NonNull ContentStore store, @NonNull Set<String> attributes,
+            @NonNull List<String> conditionKeyNames) {
+        this.store = store;
+        this.attributes = attributes.toArray(new String[0]);
+        this.slots = new int[this.attributes.length];
+        this.conditionKeyNames = List.copyOf(conditionKeyNames);
+
+        for (int i = 0; i < this.attributes.length; i++) {
+            this.slots[i] = store.slotOf(this.attributes[i]);
+        }
+
+        final List<ConditionNode> conditionNodes = store.getConditionNodes();
+        final Map<String, Integer> groups = new HashMap<>();
+        final List<int[]> rowsOfGroups = new ArrayList<>();
+
+        this.nodeGroups = new int[conditionNodes.size()];
+
+        for (int node = 0; node < conditionNodes.size(); node++) {
+            final String conditionId = conditionNodes.get(node).getConditionId();
+
+            this.nodeGroups[node] = groups.computeIfAbsent(conditionId, key -> {
+                rowsOfGroups.add(key.isEmpty() ? new int[0] : store.getConditionalRows(key));
+                return rowsOfGroups.size() - 1;
+            });
+        }
+
+        this.groupRows = rowsOfGroups.toArray(new int[0][]);
+        this.unconditionalRows = store.getConditionalRows("");
+        this.constraints = new byte[this.conditionKeyNames.size()][conditionNodes.size()];
+        this.requiredOperands = new String[this.conditionKeyNames.size()][conditionNodes.size()];
+
+        for (int key = 0; key < this.conditionKeyNames.size(); key++) {
+            for (int node = 0; node < conditionNodes.size(); node++) {
+                this.resolveConstraint(key, node, conditionNodes.get(node));
+            }
+        }
+    }
+
+    /**
+     * Returns the key names of the conditions in the order the operands are
+     * bound.
+     *
+     * @return The key names of the conditions
+     */
+    public List<String> getConditionKeyNames() {
+        return this.conditionKeyNames;
+    }
+
+    /**
+     * Executes the query with the operands bound to the condition keys.
+     *
+     * @param operands The operands in the order of the condition key names
+     * @return The records retrieved from the content, in the order defined in the
+     *         content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the number of operands differs from
+     *                                     the number of condition keys
+     */
+    public List<Map<String, String>> execute(@NonNull String... operands) {
+        return this.execute(Arrays.asList(operands));
+    }
+
+    /**
+     * Executes the query with the operands bound to the condition keys.
+     *
+     * @param operands The operands in the order of the condition key names
+     * @return The records retrieved from the content, in the order defined in the
+     *         content
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the number of operands differs from
+     *                                     the number of condition keys
+     */
+    public List<Map<String, String>> execute(@NonNull List<String> operands) {
+
+        if (operands.size() != this.conditionKeyNames.size()) {
+            throw new IllegalArgumentException(
+                    String.format("The number of operands must be %d but was %d.", this.conditionKeyNames.size(),
+                            operands.size()));
+        }
+
+        final int[] rows = this.selectRows(operands);
+        final List<Map<String, String>> contents = new ArrayList<>(rows.length);
+
+        for (int row : rows) {
+            final Map<String, String> content = new HashMap<>(this.attributes.length * 4 / 3 + 1);
+
+            for (int i = 0; i < this.attributes.length; i++) {
+                content.put(this.attributes[i], this.store.valueAt(this.slots[i], row));
+            }
+
+            contents.add(content);
+        }
+
+        return contents;
+    }
+
+    /**
+     * Returns the rows that can be fetched with the operands.
+     *
+     * @param operands The operands in the order of the condition key names
+     * @return The rows in ascending order
+     */
+    private int[] selectRows(@NonNull List<String> operands) {
+
+        final boolean[] matchedGroups = new boolean[this.groupRows.length];
+        int size = this.unconditionalRows.length;
+
+        for (int node = 0; node < this.nodeGroups.length; node++) {
+            final int group = this.nodeGroups[node];
+
+            if (!matchedGroups[group] && this.matches(node, operands)) {
+                matchedGroups[group] = true;
+                size += this.groupRows[group].length;
+            }
+        }
+
+        if (size == this.unconditionalRows.length) {
+            return this.unconditionalRows.clone();
+        }
+
+        final int[] rows = Arrays.copyOf(this.unconditionalRows, size);
+        int position = this.unconditionalRows.length;
+
+        for (int group = 0; group < matchedGroups.length; group++) {
+            if (matchedGroups[group]) {
+                System.arraycopy(this.groupRows[group], 0, rows, position, this.groupRows[group].length);
+                position += this.groupRows[group].length;
+            }
+        }
+
+        Arrays.sort(rows);
+        return rows;
+    }
+
+    /**
+     * Tests whether the condition node is met by any of the operands.
+     *
+     * @param node     The condition node
+     * @param operands The operands in the order of the condition key names
+     * @return {@code true} if the condition node is met, otherwise {@code false}
+     */
+    private boolean matches(int node, @NonNull List<String> operands) {
+
+        for (int key = 0; key < this.constraints.length; key++) {
+            switch (this.constraints[key][node]) {
+                case ANY:
+                    return true;
+                case EQUALS:
+                    if (Objects.equals(this.requiredOperands[key][node], operands.get(key))) {
+                        return true;
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Resolves the constraint of the condition node for the condition key.
+     * <p>
+     * The condition node places no constraint if it has no condition with the key
+     * name, requires the operand if all of its conditions with the key name have
+     * the same operand, and can never be met otherwise.
+     *
+     * @param key           The condition key
+     * @param node          The index of the condition node
+     * @param conditionNode The condition node
+     */
+    private void resolveConstraint(int key, int node, @NonNull ConditionNode conditionNode) {
+
+        final String keyName = this.conditionKeyNames.get(key);
+        final String[] keyNames = conditionNode.getKeyNames();
+        final String[] operands = conditionNode.getOperands();
+
+        byte constraint = ANY;
+        String requiredOperand = null;
+
+        for (int i = 0; i < keyNames.length; i++) {
+            if (!Objects.equals(keyNames[i], keyName)) {
+                continue;
+            }
+
+            if (constraint == ANY) {
+                constraint = EQUALS;
+                requiredOperand = operands[i];
+            } else if (!Objects.equals(requiredOperand, operands[i])) {
+                constraint = NEVER;
+            }
+        }
+
+        this.constraints[key][node] = constraint;
+        this.requiredOperands[key][node] = requiredOperand;
+    }
+}
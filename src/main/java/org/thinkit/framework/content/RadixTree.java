@@ -0,0 +1,344 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Arrays;
+
+import lombok.NonNull;
+
+/**
+ * The radix tree that maps the values of an attribute to the rows of the
+ * selection nodes and answers the prefix queries.
+ * <p>
+ * The edges of the tree are labeled with the substrings of the values, and the
+ * chains of nodes having only one child are compressed into one edge. After
+ * all values have been added, {@link #freeze()} lays out the rows in the
+ * depth-first order so that the rows of any subtree occupy a contiguous range.
+ * A prefix query therefore only walks down the tree along the prefix and copies
+ * one range, regardless of the number of values.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class RadixTree {
+
+    /**
+     * The empty row list
+     */
+    private static final int[] NO_ROWS = new int[0];
+
+    /**
+     * The root node
+     */
+    private final Node root;
+
+    /**
+     * The rows laid out in the depth-first order, or {@code null} before the tree
+     * is frozen
+     */
+    private int[] rows;
+
+    /**
+     * Constructor
+     */
+    RadixTree() {
+        this.root = new Node("");
+    }
+
+    /**
+     * Returns the frozen radix tree built from the values of the column passed as
+     * an argument. The {@code null} values are not added.
+     *
+     * @param column The values of the attribute indexed by the row
+     * @return The frozen radix tree
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static RadixTree of(@NonNull String[] column) {
+
+        final RadixTree radixTree = new RadixTree();
+
+        for (int row = 0; row < column.length; row++) {
+            if (column[row] != null) {
+                radixTree.add(column[row], row);
+            }
+        }
+
+        return radixTree.freeze();
+    }
+
+    /**
+     * Adds the value of the row passed as an argument.
+     *
+     * @param value The value of the attribute
+     * @param row   The row
+     * @return This radix tree
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the tree has already been frozen
+     */
+    public RadixTree add(@NonNull String value, int row) {
+
+        if (this.rows != null) {
+            throw new IllegalStateException("The radix tree has already been frozen.");
+        }
+
+        Node node = this.root;
+        int offset = 0;
+
+        while (offset < value.length()) {
+            final Node child = node.getChild(value.charAt(offset));
+
+            if (child == null) {
+                final Node leaf = new Node(value.substring(offset));
+                leaf.addRow(row);
+                node.addChild(leaf);
+                return this;
+            }
+
+            final int common = commonPrefixLength(child.label, value, offset);
+
+            if (common < child.label.length()) {
+                final Node middle = new Node(child.label.substring(0, common));
+                child.label = child.label.substring(common);
+                middle.addChild(child);
+                node.replaceChild(middle);
+                node = middle;
+            } else {
+                node = child;
+            }
+
+            offset += common;
+        }
+
+        node.addRow(row);
+        return this;
+    }
+
+    /**
+     * Lays out the rows in the depth-first order and makes the tree read-only.
+     *
+     * @return This radix tree
+     */
+    public RadixTree freeze() {
+
+        if (this.rows == null) {
+            this.rows = new int[this.root.layout(0, null)];
+            this.root.layout(0, this.rows);
+        }
+
+        return this;
+    }
+
+    /**
+     * Returns the rows whose value starts with the prefix passed as an argument.
+     *
+     * @param prefix The prefix
+     * @return The rows in ascending order
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @exception IllegalStateException If the tree has not been frozen yet
+     */
+    public int[] findByPrefix(@NonNull String prefix) {
+
+        if (this.rows == null) {
+            throw new IllegalStateException("The radix tree has not been frozen yet.");
+        }
+
+        Node node = this.root;
+        int offset = 0;
+
+        while (offset < prefix.length()) {
+            final Node child = node.getChild(prefix.charAt(offset));
+
+            if (child == null) {
+                return NO_ROWS;
+            }
+
+            final int length = Math.min(child.label.length(), prefix.length() - offset);
+
+            if (!prefix.regionMatches(offset, child.label, 0, length)) {
+                return NO_ROWS;
+            }
+
+            node = child;
+            offset += length;
+        }
+
+        final int[] matchedRows = Arrays.copyOfRange(this.rows, node.start, node.end);
+        Arrays.sort(matchedRows);
+
+        return matchedRows;
+    }
+
+    /**
+     * Returns the length of the common prefix of the label and the value from the
+     * offset.
+     *
+     * @param label  The label of the edge
+     * @param value  The value
+     * @param offset The offset of the value
+     * @return The length of the common prefix
+     */
+    private static int commonPrefixLength(@NonNull String label, @NonNull String value, int offset) {
+
+        final int length = Math.min(label.length(), value.length() - offset);
+        int common = 0;
+
+        while (common < length && label.charAt(common) == value.charAt(offset + common)) {
+            common++;
+        }
+
+        return common;
+    }
+
+    /**
+     * The node of the radix tree.
+     */
+    private static final class Node {
+
+        /**
+         * The label of the edge to this node
+         */
+        private String label;
+
+        /**
+         * The first characters of the labels of the children in ascending order
+         */
+        private char[] firstChars = new char[0];
+
+        /**
+         * The children in the order of {@link #firstChars}
+         */
+        private Node[] children = new Node[0];
+
+        /**
+         * The rows whose value ends at this node
+         */
+        private int[] ownRows = NO_ROWS;
+
+        /**
+         * The number of rows whose value ends at this node
+         */
+        private int ownRowCount;
+
+        /**
+         * The start of the range of the rows of this subtree
+         */
+        private int start;
+
+        /**
+         * The end of the range of the rows of this subtree
+         */
+        private int end;
+
+        /**
+         * Constructor
+         *
+         * @param label The label of the edge to this node
+         */
+        private Node(@NonNull String label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the child whose label starts with the character.
+         *
+         * @param c The first character of the label
+         * @return The child, or {@code null} if it does not exist
+         */
+        private Node getChild(char c) {
+            final int index = Arrays.binarySearch(this.firstChars, c);
+            return index < 0 ? null : this.children[index];
+        }
+
+        /**
+         * Adds the child keeping the order of the first characters.
+         *
+         * @param child The child
+         */
+        private void addChild(@NonNull Node child) {
+
+            final char c = child.label.charAt(0);
+            final int index = -Arrays.binarySearch(this.firstChars, c) - 1;
+            final int length = this.firstChars.length;
+
+            final char[] newFirstChars = Arrays.copyOf(this.firstChars, length + 1);
+            final Node[] newChildren = Arrays.copyOf(this.children, length + 1);
+
+            System.arraycopy(newFirstChars, index, newFirstChars, index + 1, length - index);
+            System.arraycopy(newChildren, index, newChildren, index + 1, length - index);
+            newFirstChars[index] = c;
+            newChildren[index] = child;
+
+            this.firstChars = newFirstChars;
+            this.children = newChildren;
+        }
+
+        /**
+         * Replaces the child having the same first character with the node passed as
+         * an argument.
+         *
+         * @param child The new child
+         */
+        private void replaceChild(@NonNull Node child) {
+            this.children[Arrays.binarySearch(this.firstChars, child.label.charAt(0))] = child;
+        }
+
+        /**
+         * Adds the row whose value ends at this node.
+         *
+         * @param row The row
+         */
+        private void addRow(int row) {
+
+            if (this.ownRowCount == this.ownRows.length) {
+                this.ownRows = Arrays.copyOf(this.ownRows, Math.max(this.ownRows.length * 2, 1));
+            }
+
+            this.ownRows[this.ownRowCount++] = row;
+        }
+
+        /**
+         * Writes the rows of this subtree in the depth-first order from the position
+         * passed as an argument and records the range.
+         * <p>
+         * If {@code null} is passed as the rows, only the number of rows is counted.
+         *
+         * @param position The position from which the rows are written
+         * @param rows     The array to which the rows are written, or {@code null}
+         * @return The position next to the last row written
+         */
+        private int layout(int position, int[] rows) {
+
+            this.start = position;
+
+            if (rows != null) {
+                System.arraycopy(this.ownRows, 0, rows, position, this.ownRowCount);
+                this.ownRows = NO_ROWS;
+            }
+
+            position += this.ownRowCount;
+
+            for (Node child : this.children) {
+                position = child.layout(position, rows);
+            }
+
+            this.end = position;
+
+            return position;
+        }
+    }
+}
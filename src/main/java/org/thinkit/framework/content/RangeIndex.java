@@ -0,0 +1,415 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.Arrays;
+import java.util.function.IntBinaryOperator;
+
+import lombok.NonNull;
+
+/**
+ * The index that holds the numeric values of an attribute in ascending order
+ * and answers the range queries by binary search.
+ * <p>
+ * The values are parsed once when the index is built. If all numeric values
+ * of the attribute are integers, they are held in a {@code long[]} column,
+ * otherwise in a {@code double[]} column. The rows are held in a permutation
+ * array in the same order as the sorted column. The values that are
+ * {@code null} or not numeric are not indexed and never match a range.
+ * <p>
+ * A numeric value is a decimal number with an optional sign, fraction and
+ * exponent, such as {@code "-12"} , {@code "1.5"} or {@code "2e3"} . The
+ * characters of each value are checked before it is parsed, so the values that
+ * are not numeric are rejected without throwing any exception.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class RangeIndex {
+
+    /**
+     * The digits of the maximum value of {@code long}
+     */
+    private static final String MAX_LONG_DIGITS = String.valueOf(Long.MAX_VALUE);
+
+    /**
+     * The digits of the minimum value of {@code long} without the sign
+     */
+    private static final String MIN_LONG_DIGITS = MAX_LONG_DIGITS.substring(0, MAX_LONG_DIGITS.length() - 1) + "8";
+
+    /**
+     * The sorted integer values, or {@code null} if the column holds floating
+     * point numbers
+     */
+    private final long[] longValues;
+
+    /**
+     * The sorted floating point values, or {@code null} if the column holds
+     * integers
+     */
+    private final double[] doubleValues;
+
+    /**
+     * The rows in the order of the sorted values
+     */
+    private final int[] rows;
+
+    /**
+     * Constructor
+     *
+     * @param longValues   The sorted integer values
+     * @param doubleValues The sorted floating point values
+     * @param rows         The rows in the order of the sorted values
+     */
+    private RangeIndex(long[] longValues, double[] doubleValues, @NonNull int[] rows) {
+        this.longValues = longValues;
+        this.doubleValues = doubleValues;
+        this.rows = rows;
+    }
+
+    /**
+     * Returns the range index built from the values of the column passed as an
+     * argument.
+     *
+     * @param column The values of the attribute indexed by the row
+     * @return The range index
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static RangeIndex of(@NonNull String[] column) {
+
+        final long[] longValues = new long[column.length];
+        final double[] doubleValues = new double[column.length];
+        final int[] rows = new int[column.length];
+        boolean integral = true;
+        int size = 0;
+
+        for (int row = 0; row < column.length; row++) {
+            final String value = column[row];
+
+            if (value == null) {
+                continue;
+            }
+
+            final Long longValue = parseLong(value);
+
+            if (longValue != null) {
+                longValues[size] = longValue;
+                doubleValues[size] = longValue;
+            } else {
+                final Double doubleValue = parseDouble(value);
+
+                if (doubleValue == null) {
+                    continue;
+                }
+
+                integral = false;
+                doubleValues[size] = doubleValue;
+            }
+
+            rows[size++] = row;
+        }
+
+        final int[] order = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+
+        if (integral) {
+            sort(order, (left, right) -> Long.compare(longValues[left], longValues[right]));
+        } else {
+            sort(order, (left, right) -> Double.compare(doubleValues[left], doubleValues[right]));
+        }
+
+        final long[] sortedLongValues = integral ? new long[size] : null;
+        final double[] sortedDoubleValues = integral ? null : new double[size];
+        final int[] sortedRows = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            if (integral) {
+                sortedLongValues[i] = longValues[order[i]];
+            } else {
+                sortedDoubleValues[i] = doubleValues[order[i]];
+            }
+
+            sortedRows[i] = rows[order[i]];
+        }
+
+        return new RangeIndex(sortedLongValues, sortedDoubleValues, sortedRows);
+    }
+
+    /**
+     * Tests whether the value passed as an argument is numeric and in the range,
+     * with the same semantics as {@link #findRows(NumericRange)} .
+     *
+     * @param value The value of the attribute, or {@code null}
+     * @param range The range
+     * @return {@code true} if the value is in the range, otherwise {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as the range
+     */
+    public static boolean isInRange(String value, @NonNull NumericRange range) {
+
+        if (value == null) {
+            return false;
+        }
+
+        final Long longValue = parseLong(value);
+
+        if (longValue != null) {
+            return range.isAboveLower(longValue) && range.isBelowUpper(longValue);
+        }
+
+        final Double doubleValue = parseDouble(value);
+
+        return doubleValue != null && range.isAboveLower(doubleValue) && range.isBelowUpper(doubleValue);
+    }
+
+    /**
+     * Parses the value passed as an argument as the number.
+     *
+     * @param value The value of the attribute, or {@code null}
+     * @return The {@link Long} if the value is an integer, the {@link Double} if
+     *         the value is a floating point number, otherwise {@code null}
+     */
+    public static Number parseNumber(String value) {
+
+        if (value == null) {
+            return null;
+        }
+
+        final Long longValue = parseLong(value);
+
+        if (longValue != null) {
+            return longValue;
+        }
+
+        return parseDouble(value);
+    }
+
+    /**
+     * Compares the numbers returned by {@link #parseNumber(String)} .
+     *
+     * @param left  The number to be compared
+     * @param right The number to be compared
+     * @return The negative integer, zero, or the positive integer as the left is
+     *         less than, equal to, or greater than the right
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public static int compare(@NonNull Number left, @NonNull Number right) {
+
+        if (left instanceof Long && right instanceof Long) {
+            return Long.compare(left.longValue(), right.longValue());
+        }
+
+        return Double.compare(left.doubleValue(), right.doubleValue());
+    }
+
+    /**
+     * Returns the rows whose value is in the range passed as an argument.
+     *
+     * @param range The range
+     * @return The rows in ascending order
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int[] findRows(@NonNull NumericRange range) {
+
+        final int start = this.lowerBound(range);
+        final int end = Math.max(start, this.upperBound(range));
+
+        final int[] matchedRows = Arrays.copyOfRange(this.rows, start, end);
+        Arrays.sort(matchedRows);
+
+        return matchedRows;
+    }
+
+    /**
+     * Returns the first position whose value is not below the lower bound.
+     *
+     * @param range The range
+     * @return The first position in the range
+     */
+    private int lowerBound(@NonNull NumericRange range) {
+
+        int low = 0;
+        int high = this.rows.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final boolean above = this.longValues != null ? range.isAboveLower(this.longValues[middle])
+                    : range.isAboveLower(this.doubleValues[middle]);
+
+            if (above) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Returns the first position whose value is above the upper bound.
+     *
+     * @param range The range
+     * @return The position next to the last position in the range
+     */
+    private int upperBound(@NonNull NumericRange range) {
+
+        int low = 0;
+        int high = this.rows.length;
+
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            final boolean below = this.longValues != null ? range.isBelowUpper(this.longValues[middle])
+                    : range.isBelowUpper(this.doubleValues[middle]);
+
+            if (below) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Parses the value as the integer.
+     *
+     * @param value The value
+     * @return The integer, or {@code null} if the value is not an integer in the
+     *         range of {@code long}
+     */
+    private static Long parseLong(@NonNull String value) {
+
+        final int digitStart = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        final int digitCount = value.length() - digitStart;
+
+        if (digitCount == 0 || digitCount > MAX_LONG_DIGITS.length()
+                || skipDigits(value, digitStart) != value.length()) {
+            return null;
+        }
+
+        if (digitCount == MAX_LONG_DIGITS.length() && value.substring(digitStart)
+                .compareTo(value.charAt(0) == '-' ? MIN_LONG_DIGITS : MAX_LONG_DIGITS) > 0) {
+            return null;
+        }
+
+        return Long.parseLong(value);
+    }
+
+    /**
+     * Parses the value as the floating point number.
+     *
+     * @param value The value
+     * @return The floating point number, or {@code null} if the value is not a
+     *         decimal number
+     */
+    private static Double parseDouble(@NonNull String value) {
+
+        int position = value.startsWith("-") || value.startsWith("+") ? 1 : 0;
+        final int integerEnd = skipDigits(value, position);
+        int digitCount = integerEnd - position;
+        position = integerEnd;
+
+        if (position < value.length() && value.charAt(position) == '.') {
+            final int fractionEnd = skipDigits(value, position + 1);
+            digitCount += fractionEnd - position - 1;
+            position = fractionEnd;
+        }
+
+        if (digitCount == 0) {
+            return null;
+        }
+
+        if (position < value.length() && (value.charAt(position) == 'e' || value.charAt(position) == 'E')) {
+            position++;
+
+            if (position < value.length() && (value.charAt(position) == '-' || value.charAt(position) == '+')) {
+                position++;
+            }
+
+            final int exponentEnd = skipDigits(value, position);
+
+            if (exponentEnd == position) {
+                return null;
+            }
+
+            position = exponentEnd;
+        }
+
+        return position == value.length() ? Double.parseDouble(value) : null;
+    }
+
+    /**
+     * Skips the decimal digits of the value from the position passed as an
+     * argument.
+     *
+     * @param value    The value
+     * @param position The position from which the digits are skipped
+     * @return The position of the first character that is not a digit
+     */
+    private static int skipDigits(@NonNull String value, int position) {
+
+        while (position < value.length() && value.charAt(position) >= '0' && value.charAt(position) <= '9') {
+            position++;
+        }
+
+        return position;
+    }
+
+    /**
+     * Sorts the positions with the comparator by the stable merge sort.
+     *
+     * @param order      The positions to be sorted
+     * @param comparator The comparator of the positions
+     */
+    private static void sort(@NonNull int[] order, @NonNull IntBinaryOperator comparator) {
+
+        int[] source = order;
+        int[] target = new int[order.length];
+
+        for (int width = 1; width < order.length; width <<= 1) {
+            for (int low = 0; low < order.length; low += width << 1) {
+                final int middle = Math.min(low + width, order.length);
+                final int high = Math.min(low + (width << 1), order.length);
+                int left = low;
+                int right = middle;
+
+                for (int i = low; i < high; i++) {
+                    if (left < middle
+                            && (right >= high || comparator.applyAsInt(source[left], source[right]) <= 0)) {
+                        target[i] = source[left++];
+                    } else {
+                        target[i] = source[right++];
+                    }
+                }
+            }
+
+            final int[] swap = source;
+            source = target;
+            target = swap;
+        }
+
+        if (source != order) {
+            System.arraycopy(source, 0, order, 0, order.length);
+        }
+    }
+}
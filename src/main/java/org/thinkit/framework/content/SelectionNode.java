@@ -0,0 +1,154 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.lang3.StringUtils;
+
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The class that represents a selection node read from the content.
+ * <p>
+ * The values of the attributes are held in a positional array indexed by the
+ * slots of the {@link ContentSchema} shared by the nodes read from the same
+ * content. The array may be shorter than the schema if the slots have been
+ * added after the node was read, and the value of such a slot is {@code null} .
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+@RequiredArgsConstructor
+final class SelectionNode {
+
+    /**
+     * The condition ID, or the empty string if the node is unconditional
+     */
+    @Getter
+    @NonNull
+    private final String conditionId;
+
+    /**
+     * The values of the attributes by the slot
+     */
+    @NonNull
+    private final String[] values;
+
+    /**
+     * The schema of the attributes
+     */
+    @Getter
+    @NonNull
+    private final ContentSchema schema;
+
+    /**
+     * Tests whether the selection node can be fetched with the condition IDs
+     * passed as an argument.
+     * <p>
+     * The selection node without the condition ID can be fetched unconditionally.
+     *
+     * @param conditionIds The condition IDs to be fetched
+     * @return {@code true} if the selection node can be fetched, otherwise
+     *         {@code false}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public boolean isSelectable(@NonNull Set<String> conditionIds) {
+        return StringUtils.isEmpty(this.conditionId) || conditionIds.contains(this.conditionId);
+    }
+
+    /**
+     * Returns the number of slots held by the node.
+     *
+     * @return The number of slots
+     */
+    public int size() {
+        return this.values.length;
+    }
+
+    /**
+     * Returns the value of the slot passed as an argument.
+     *
+     * @param slot The slot resolved by the schema
+     * @return The value of the slot, or {@code null} if the node does not have
+     *         the value
+     */
+    public String get(int slot) {
+        return slot < 0 || slot >= this.values.length ? null : this.values[slot];
+    }
+
+    /**
+     * Returns the value of the attribute passed as an argument.
+     *
+     * @param attribute The attribute name
+     * @return The value of the attribute, or {@code null} if the node does not
+     *         have the value
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public String get(@NonNull String attribute) {
+        return this.get(this.schema.slotOf(attribute));
+    }
+
+    /**
+     * Builds the record containing the values of the attributes to be acquired.
+     * The value of the attribute that is not defined in the node is {@code null} .
+     * <p>
+     * The slots of the attributes are resolved for each call. Use
+     * {@link #toContent(String[], int[])} with the slots resolved once when
+     * building the records of many nodes.
+     *
+     * @param attributes The attribute names to be acquired
+     * @return The record
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Map<String, String> toContent(@NonNull Set<String> attributes) {
+
+        final Map<String, String> content = new HashMap<>(attributes.size());
+
+        for (String attribute : attributes) {
+            content.put(attribute, this.get(attribute));
+        }
+
+        return content;
+    }
+
+    /**
+     * Builds the record containing the values of the attributes to be acquired
+     * with the slots resolved in advance.
+     *
+     * @param attributes The attribute names to be acquired
+     * @param slots      The slots of the attributes resolved by the schema
+     * @return The record
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public Map<String, String> toContent(@NonNull String[] attributes, @NonNull int[] slots) {
+
+        final Map<String, String> content = new HashMap<>(attributes.length);
+
+        for (int i = 0; i < attributes.length; i++) {
+            content.put(attributes[i], this.get(slots[i]));
+        }
+
+        return content;
+    }
+}
@@ -39,7 +39,8 @@ import lombok.Cleanup;
  * 当該クラスではStAX形式でのXML解析を行います。<br>
  * <br>
  * コンテンツファイルの管理方法がXMLからjsonへ変更したため{@link StaxContentHandler}は非推奨になりました。<br>
- * json形式のコンテンツを解析する場合は{@link ContentLoader}を使用してください。
+ * json形式のコンテンツを解析する場合は{@link ContentLoader}を使用してください。<br>
+ * XML形式のコンテンツを解析する場合は{@link ContentStore#loadXml}を使用してください。
  *
  * @deprecated This class has been deprecated due to a change in the content
  *             management method to JSON format.
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import lombok.NonNull;
+
+/**
+ * The table of distinct strings held in the direct buffers outside of the
+ * heap.
+ * <p>
+ * Each string is identified by its ID, which is its position in the list passed
+ * when the table is built. The strings are encoded in UTF-8 and stored one
+ * after another in one direct buffer, and the offset and the hash code of each
+ * string and the open addressing hash table for the lookup by string are held
+ * in direct integer buffers. Therefore the table adds only a few objects to the
+ * heap regardless of the number of strings. The strings are decoded only when
+ * they are accessed.
+ * <p>
+ * The table is read-only after it has been built and can be shared between
+ * threads.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class StringTable {
+
+    /**
+     * The UTF-8 encoded strings
+     */
+    private final ByteBuffer data;
+
+    /**
+     * The offsets of the strings in the data, where the offset of the ID
+     * {@code size} is the end of the data
+     */
+    private final IntBuffer offsets;
+
+    /**
+     * The hash codes of the strings
+     */
+    private final IntBuffer hashCodes;
+
+    /**
+     * The open addressing hash table holding the ID plus one, where {@code 0}
+     * means an empty bucket
+     */
+    private final IntBuffer hashTable;
+
+    /**
+     * The number of strings
+     */
+    private final int size;
+
+    /**
+     * Constructor
+     *
+     * @param data      The UTF-8 encoded strings
+     * @param offsets   The offsets of the strings in the data
+     * @param hashCodes The hash codes of the strings
+     * @param hashTable The open addressing hash table
+     * @param size      The number of strings
+     */
+    private StringTable(@NonNull ByteBuffer data, @NonNull IntBuffer offsets, @NonNull IntBuffer hashCodes,
+            @NonNull IntBuffer hashTable, int size) {
+        this.data = data;
+        this.offsets = offsets;
+        this.hashCodes = hashCodes;
+        this.hashTable = hashTable;
+        this.size = size;
+    }
+
+    /**
+     * Builds the string table from the distinct strings passed as an argument.
+     *
+     * @param values The distinct strings in the order of the IDs
+     * @return The string table
+     *
+     * @exception NullPointerException  If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the encoded strings exceed the capacity
+     *                                  of a direct buffer
+     */
+    public static StringTable of(@NonNull List<String> values) {
+
+        final int size = values.size();
+        final byte[][] encoded = new byte[size][];
+        long length = 0;
+
+        for (int id = 0; id < size; id++) {
+            encoded[id] = values.get(id).getBytes(StandardCharsets.UTF_8);
+            length += encoded[id].length;
+        }
+
+        if (length > Integer.MAX_VALUE) {
+            throw new ContentHandlingException(
+                    "The strings of the content exceed the capacity of the off-heap storage.");
+        }
+
+        final ByteBuffer data = ByteBuffer.allocateDirect((int) length);
+        final IntBuffer offsets = allocateInts(size + 1);
+        final IntBuffer hashCodes = allocateInts(size);
+        final IntBuffer hashTable = allocateInts(Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1);
+        final int mask = hashTable.capacity() - 1;
+
+        for (int id = 0; id < size; id++) {
+            offsets.put(id, data.position());
+            data.put(encoded[id]);
+
+            final int hashCode = values.get(id).hashCode();
+            hashCodes.put(id, hashCode);
+
+            int bucket = spread(hashCode) & mask;
+
+            while (hashTable.get(bucket) != 0) {
+                bucket = (bucket + 1) & mask;
+            }
+
+            hashTable.put(bucket, id + 1);
+        }
+
+        offsets.put(size, data.position());
+
+        return new StringTable(data, offsets, hashCodes, hashTable, size);
+    }
+
+    /**
+     * Allocates the direct integer buffer in the native byte order.
+     *
+     * @param capacity The number of integers
+     * @return The direct integer buffer
+     */
+    static IntBuffer allocateInts(int capacity) {
+        return ByteBuffer.allocateDirect(capacity * Integer.BYTES).order(ByteOrder.nativeOrder()).asIntBuffer();
+    }
+
+    /**
+     * Returns the number of strings.
+     *
+     * @return The number of strings
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Decodes the string of the ID passed as an argument.
+     *
+     * @param id The ID of the string
+     * @return The string
+     */
+    public String get(int id) {
+
+        final int offset = this.offsets.get(id);
+        final byte[] bytes = new byte[this.offsets.get(id + 1) - offset];
+
+        this.data.get(offset, bytes);
+
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the ID of the string passed as an argument.
+     *
+     * @param value The string
+     * @return The ID of the string, or {@code -1} if the table does not contain
+     *         the string
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    public int idOf(@NonNull String value) {
+
+        final int hashCode = value.hashCode();
+        final int mask = this.hashTable.capacity() - 1;
+        byte[] encoded = null;
+
+        for (int bucket = spread(hashCode) & mask;; bucket = (bucket + 1) & mask) {
+            final int entry = this.hashTable.get(bucket);
+
+            if (entry == 0) {
+                return -1;
+            }
+
+            final int id = entry - 1;
+
+            if (this.hashCodes.get(id) != hashCode) {
+                continue;
+            }
+
+            if (encoded == null) {
+                encoded = value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            if (this.equalsAt(id, encoded)) {
+                return id;
+            }
+        }
+    }
+
+    /**
+     * Tests whether the string of the ID equals the encoded string.
+     *
+     * @param id      The ID of the string
+     * @param encoded The UTF-8 encoded string
+     * @return {@code true} if the strings are equal, otherwise {@code false}
+     */
+    private boolean equalsAt(int id, @NonNull byte[] encoded) {
+
+        final int offset = this.offsets.get(id);
+
+        if (this.offsets.get(id + 1) - offset != encoded.length) {
+            return false;
+        }
+
+        for (int i = 0; i < encoded.length; i++) {
+            if (this.data.get(offset + i) != encoded[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Spreads the higher bits of the hash code to the lower bits.
+     *
+     * @param hashCode The hash code
+     * @return The spread hash code
+     */
+    private static int spread(int hashCode) {
+        return hashCode ^ (hashCode >>> 16);
+    }
+}
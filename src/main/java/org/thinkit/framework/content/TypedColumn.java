@@ -0,0 +1,254 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.util.BitSet;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The column of an attribute whose values are parsed into the primitive array
+ * of its {@link DataType} .
+ * <p>
+ * The {@code int} , {@code long} and {@code double} values are held in the
+ * primitive arrays of the same type, and the {@code boolean} values are held in
+ * a {@link BitSet} . Whether each row has a value is held in another
+ * {@link BitSet} , since the primitive arrays cannot represent {@code null} .
+ * The values are read without parsing or boxing, and an integral column can
+ * also be read as a wider type.
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class TypedColumn {
+
+    /**
+     * The attribute name
+     */
+    private final String attribute;
+
+    /**
+     * The data type
+     */
+    @Getter
+    private final DataType dataType;
+
+    /**
+     * The rows that have a value
+     */
+    private final BitSet present;
+
+    /**
+     * The {@code int} values, or {@code null} if the data type is not
+     * {@link DataType#INT}
+     */
+    private final int[] ints;
+
+    /**
+     * The {@code long} values, or {@code null} if the data type is not
+     * {@link DataType#LONG}
+     */
+    private final long[] longs;
+
+    /**
+     * The {@code double} values, or {@code null} if the data type is not
+     * {@link DataType#DOUBLE}
+     */
+    private final double[] doubles;
+
+    /**
+     * The {@code boolean} values, or {@code null} if the data type is not
+     * {@link DataType#BOOLEAN}
+     */
+    private final BitSet booleans;
+
+    /**
+     * Constructor
+     *
+     * @param attribute The attribute name
+     * @param dataType  The data type
+     * @param rowCount  The number of rows
+     */
+    private TypedColumn(@NonNull String attribute, @NonNull DataType dataType, int rowCount) {
+        this.attribute = attribute;
+        this.dataType = dataType;
+        this.present = new BitSet(rowCount);
+        this.ints = dataType == DataType.INT ? new int[rowCount] : null;
+        this.longs = dataType == DataType.LONG ? new long[rowCount] : null;
+        this.doubles = dataType == DataType.DOUBLE ? new double[rowCount] : null;
+        this.booleans = dataType == DataType.BOOLEAN ? new BitSet(rowCount) : null;
+    }
+
+    /**
+     * Parses the values passed as an argument into the typed column.
+     *
+     * @param attribute The attribute name
+     * @param dataType  The data type other than {@link DataType#STRING}
+     * @param values    The values of the rows, where {@code null} means no value
+     * @return The typed column
+     *
+     * @exception NullPointerException     If {@code null} is passed as an argument
+     * @exception IllegalArgumentException If the data type is
+     *                                     {@link DataType#STRING}
+     * @throws ContentHandlingException    If a value cannot be parsed as the data
+     *                                     type
+     */
+    public static TypedColumn of(@NonNull String attribute, @NonNull DataType dataType, @NonNull String[] values) {
+
+        if (dataType == DataType.STRING) {
+            throw new IllegalArgumentException("The string attribute does not need the typed column.");
+        }
+
+        final TypedColumn column = new TypedColumn(attribute, dataType, values.length);
+
+        for (int row = 0; row < values.length; row++) {
+            if (values[row] == null) {
+                continue;
+            }
+
+            column.present.set(row);
+
+            try {
+                switch (dataType) {
+                    case INT:
+                        column.ints[row] = DataType.parseInt(values[row]);
+                        break;
+                    case LONG:
+                        column.longs[row] = DataType.parseLong(values[row]);
+                        break;
+                    case DOUBLE:
+                        column.doubles[row] = DataType.parseDouble(values[row]);
+                        break;
+                    default:
+                        column.booleans.set(row, DataType.parseBoolean(values[row]));
+                        break;
+                }
+            } catch (ContentHandlingException e) {
+                throw new ContentHandlingException(
+                        String.format("The attribute %s declared as %s has an invalid value at the row %d.",
+                                attribute, dataType.getTag(), row),
+                        e);
+            }
+        }
+
+        return column;
+    }
+
+    /**
+     * Tests whether the row has no value.
+     *
+     * @param row The row
+     * @return {@code true} if the row has no value, otherwise {@code false}
+     */
+    public boolean isNull(int row) {
+        return !this.present.get(row);
+    }
+
+    /**
+     * Returns the value of the row as an {@code int} .
+     *
+     * @param row The row
+     * @return The value of the row
+     *
+     * @throws ContentHandlingException If the data type is not
+     *                                  {@link DataType#INT} or the row has no
+     *                                  value
+     */
+    public int getInt(int row) {
+        this.requireValue(row, this.dataType == DataType.INT, DataType.INT);
+        return this.ints[row];
+    }
+
+    /**
+     * Returns the value of the row as a {@code long} .
+     *
+     * @param row The row
+     * @return The value of the row
+     *
+     * @throws ContentHandlingException If the data type is neither
+     *                                  {@link DataType#INT} nor
+     *                                  {@link DataType#LONG} or the row has no
+     *                                  value
+     */
+    public long getLong(int row) {
+        this.requireValue(row, this.dataType == DataType.INT || this.dataType == DataType.LONG, DataType.LONG);
+        return this.dataType == DataType.INT ? this.ints[row] : this.longs[row];
+    }
+
+    /**
+     * Returns the value of the row as a {@code double} .
+     *
+     * @param row The row
+     * @return The value of the row
+     *
+     * @throws ContentHandlingException If the data type is not numeric or the row
+     *                                  has no value
+     */
+    public double getDouble(int row) {
+        this.requireValue(row, this.dataType != DataType.BOOLEAN, DataType.DOUBLE);
+
+        if (this.dataType == DataType.INT) {
+            return this.ints[row];
+        }
+
+        if (this.dataType == DataType.LONG) {
+            return this.longs[row];
+        }
+
+        return this.doubles[row];
+    }
+
+    /**
+     * Returns the value of the row as a {@code boolean} .
+     *
+     * @param row The row
+     * @return The value of the row
+     *
+     * @throws ContentHandlingException If the data type is not
+     *                                  {@link DataType#BOOLEAN} or the row has no
+     *                                  value
+     */
+    public boolean getBoolean(int row) {
+        this.requireValue(row, this.dataType == DataType.BOOLEAN, DataType.BOOLEAN);
+        return this.booleans.get(row);
+    }
+
+    /**
+     * Checks that the column can be read as the requested data type and the row
+     * has a value.
+     *
+     * @param row        The row
+     * @param compatible {@code true} if the data type can be read as the
+     *                   requested one, otherwise {@code false}
+     * @param requested  The requested data type
+     *
+     * @throws ContentHandlingException If the column cannot be read as the
+     *                                  requested data type or the row has no
+     *                                  value
+     */
+    private void requireValue(int row, boolean compatible, @NonNull DataType requested) {
+
+        if (!compatible) {
+            throw new ContentHandlingException(String.format("The attribute %s declared as %s cannot be read as %s.",
+                    this.attribute, this.dataType.getTag(), requested.getTag()));
+        }
+
+        if (this.isNull(row)) {
+            throw new ContentHandlingException(
+                    String.format("The attribute %s has no value at the row %d.", this.attribute, row));
+        }
+    }
+}
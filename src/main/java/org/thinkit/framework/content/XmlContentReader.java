@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * The class that reads the nodes of the legacy XML content file one by one with
+ * the streaming XML parser.
+ * <p>
+ * The XML content defines the selection nodes as the {@code Node} elements,
+ * whose attributes are the values of the node, and the condition nodes as the
+ * {@code Condition} elements in the {@code Conditions} element, each of which
+ * has the {@code conditionId} , the {@code keyName} and the {@code value}
+ * attributes. Unlike the deprecated {@link StaxContentHandler} , the content
+ * is parsed only once with the shared {@link XMLInputFactory} , and the nodes
+ * are returned in the same form as {@link ContentReader} returns, so the XML
+ * content is loaded into the same {@link ContentStore} as the JSON content.
+ *
+ * <pre>
+ * <code>
+ * try (XmlContentReader reader = XmlContentReader.of(contentStream)) {
+ *     while (reader.next() != null) {
+ *         // do something
+ *     }
+ * }
+ * </code>
+ * </pre>
+ *
+ * @author Kato Shinya
+ * @since 1.0.0
+ */
+final class XmlContentReader implements Closeable {
+
+    /**
+     * The shared XML factory, which neither resolves the external entities nor
+     * supports DTD
+     */
+    private static final XMLInputFactory XML_FACTORY = createFactory();
+
+    /**
+     * The local name of the element of the selection node
+     */
+    private static final String NODE = "Node";
+
+    /**
+     * The local name of the element of the condition node
+     */
+    private static final String CONDITION = "Condition";
+
+    /**
+     * The attribute name of the key name of the condition
+     */
+    private static final String KEY_NAME = "keyName";
+
+    /**
+     * The attribute name of the operand of the condition
+     */
+    private static final String VALUE = "value";
+
+    /**
+     * The stream of content file
+     */
+    private final InputStream contentStream;
+
+    /**
+     * The streaming XML parser
+     */
+    private final XMLStreamReader parser;
+
+    /**
+     * The schema of the attributes of the selection nodes
+     */
+    @Getter
+    private final ContentSchema schema;
+
+    /**
+     * The selection node read last
+     */
+    private SelectionNode selectionNode;
+
+    /**
+     * The condition node read last
+     */
+    private ConditionNode conditionNode;
+
+    /**
+     * Constructor
+     *
+     * @param contentStream The stream of content file
+     * @param parser        The streaming XML parser
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     */
+    private XmlContentReader(@NonNull InputStream contentStream, @NonNull XMLStreamReader parser) {
+        this.contentStream = contentStream;
+        this.parser = parser;
+        this.schema = ContentSchema.inferred();
+    }
+
+    /**
+     * Returns the new instance of {@link XmlContentReader} that reads all
+     * attributes of the selection nodes.
+     *
+     * @param contentStream The stream of content file
+     * @return The new instance of {@link XmlContentReader}
+     *
+     * @exception NullPointerException If {@code null} is passed as an argument
+     * @throws ContentHandlingException If the content cannot be read
+     */
+    public static XmlContentReader of(@NonNull InputStream contentStream) {
+        try {
+            return new XmlContentReader(contentStream, XML_FACTORY.createXMLStreamReader(contentStream));
+        } catch (XMLStreamException e) {
+            final ContentHandlingException exception = new ContentHandlingException(
+                    "Could not read the XML content.", e);
+
+            try {
+                contentStream.close();
+            } catch (IOException suppressed) {
+                exception.addSuppressed(suppressed);
+            }
+
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads the next node of the content.
+     *
+     * @return The type of node read, or {@code null} if there is no more node
+     *
+     * @throws ContentHandlingException If the content is malformed
+     */
+    public ContentReader.NodeType next() {
+
+        this.selectionNode = null;
+        this.conditionNode = null;
+
+        try {
+            while (this.parser.hasNext()) {
+                if (this.parser.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+
+                final String elementName = this.parser.getLocalName();
+
+                if (NODE.equals(elementName)) {
+                    this.selectionNode = this.readSelectionNode();
+                    return ContentReader.NodeType.SELECTION_NODE;
+                }
+
+                if (CONDITION.equals(elementName)) {
+                    this.conditionNode = this.readConditionNode();
+                    return ContentReader.NodeType.CONDITION_NODE;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new ContentHandlingException("Could not read the XML content.", e);
+        }
+
+        return null;
+    }
+
+    /**
+     * Returns the selection node read by the last call to {@link #next()} .
+     *
+     * @return The selection node, or {@code null} if the last node read is not a
+     *         selection node
+     */
+    public SelectionNode getSelectionNode() {
+        return this.selectionNode;
+    }
+
+    /**
+     * Returns the condition node read by the last call to {@link #next()} .
+     *
+     * @return The condition node, or {@code null} if the last node read is not a
+     *         condition node
+     */
+    public ConditionNode getConditionNode() {
+        return this.conditionNode;
+    }
+
+    /**
+     * Reads the selection node from the attributes of the current element.
+     *
+     * @return The selection node
+     */
+    private SelectionNode readSelectionNode() {
+
+        final int attributeCount = this.parser.getAttributeCount();
+        final int[] slots = new int[attributeCount];
+        String conditionId = "";
+        int width = 0;
+
+        for (int i = 0; i < attributeCount; i++) {
+            final String attribute = this.parser.getAttributeLocalName(i);
+
+            if (SelectionNodeKey.CONDITION_ID.getKey().equals(attribute)) {
+                conditionId = this.parser.getAttributeValue(i);
+            }
+
+            slots[i] = this.schema.slotForRead(attribute);
+            width = Math.max(width, slots[i] + 1);
+        }
+
+        final String[] values = new String[width];
+
+        for (int i = 0; i < attributeCount; i++) {
+            values[slots[i]] = this.parser.getAttributeValue(i);
+        }
+
+        return new SelectionNode(conditionId, values, this.schema);
+    }
+
+    /**
+     * Reads the condition node from the attributes of the current element. Each
+     * {@code Condition} element is read as the condition node of one condition.
+     *
+     * @return The condition node
+     *
+     * @throws ContentHandlingException If the element has no key name
+     */
+    private ConditionNode readConditionNode() {
+
+        final String conditionId = this.parser.getAttributeValue(null, ConditionNodeKey.CONDITION_ID.getKey());
+        final String keyName = this.parser.getAttributeValue(null, KEY_NAME);
+
+        if (keyName == null) {
+            throw new ContentHandlingException(String.format("The %s element of the condition ID %s has no %s.",
+                    CONDITION, conditionId, KEY_NAME));
+        }
+
+        return new ConditionNode(conditionId == null ? "" : conditionId, new String[] { keyName },
+                new String[] { this.parser.getAttributeValue(null, VALUE) });
+    }
+
+    /**
+     * Creates the shared XML factory.
+     *
+     * @return The XML factory
+     */
+    private static XMLInputFactory createFactory() {
+
+        final XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+
+        return factory;
+    }
+
+    @Override
+    public void close() {
+        try (this.contentStream) {
+            this.parser.close();
+        } catch (XMLStreamException | IOException e) {
+            throw new ContentHandlingException("Could not close the XML content.", e);
+        }
+    }
+}
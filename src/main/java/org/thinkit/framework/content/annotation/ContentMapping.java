@@ -37,4 +37,72 @@ public @interface ContentMapping {
      * @return The relative path to the content file
      */
     String content();
+
+    /**
+     * Specify the attribute names on which the hash indexes are built when the
+     * content is loaded into the content store.
+     * <p>
+     * The attributes declared here can be looked up by value in constant time with
+     * {@code Content#loadContentByIndex} .
+     *
+     * @return The attribute names on which the hash indexes are built
+     */
+    String[] indexes() default {};
+
+    /**
+     * Specify the attribute names on which the radix trees are built when the
+     * content is loaded into the content store.
+     * <p>
+     * The attributes declared here can be looked up by prefix without scanning
+     * the content with {@code Content#loadContentByPrefix} .
+     *
+     * @return The attribute names on which the radix trees are built
+     */
+    String[] prefixIndexes() default {};
+
+    /**
+     * Specify the numeric attribute names on which the sorted columns are built
+     * when the content is loaded into the content store.
+     * <p>
+     * The attributes declared here can be looked up by range with binary search
+     * with {@code Content#loadContentByRange} .
+     *
+     * @return The attribute names on which the sorted columns are built
+     */
+    String[] rangeIndexes() default {};
+
+    /**
+     * Specify the attribute name of the primary key of the content.
+     * <p>
+     * The record can be fetched by the value of the primary key in constant time
+     * with {@code Content#loadContentByKey} . If it is not specified, the
+     * {@code "primaryKey"} in the metadata of the content file is used.
+     *
+     * @return The attribute name of the primary key
+     */
+    String primaryKey() default "";
+
+    /**
+     * Specify whether the values of the content are held outside of the heap when
+     * the content is loaded into the content store.
+     * <p>
+     * Enable this for a very large content to keep its values from lengthening
+     * the garbage collection, at the cost of decoding the values on each access.
+     *
+     * @return {@code true} if the values are held outside of the heap, otherwise
+     *         {@code false}
+     */
+    boolean offHeap() default false;
+
+    /**
+     * Specify whether the selection nodes of the JSON content are parsed in
+     * parallel when the content is loaded into the content store.
+     * <p>
+     * Enable this for a very large content to shorten its first load, at the cost
+     * of holding the whole content file in memory while it is parsed.
+     *
+     * @return {@code true} if the selection nodes are parsed in parallel,
+     *         otherwise {@code false}
+     */
+    boolean parallel() default false;
 }
@@ -0,0 +1,216 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ConditionMatcher} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ConditionMatcherTest {
+
+    /**
+     * テスト用の条件節点
+     */
+    private static final List<ConditionNode> CONDITION_NODES = List.of(
+            new ConditionNode("1", new String[] { "key", "name" }, new String[] { "1", "テスト" }),
+            new ConditionNode("2", new String[] { "key" }, new String[] { "テスト" }),
+            new ConditionNode("3", new String[] { "key", "flag" }, new String[] { "2", null }),
+            new ConditionNode("4", new String[] {}, new String[] {}),
+            new ConditionNode("1", new String[] { "key" }, new String[] { "3" }));
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ConditionMatcher#resolve(List)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・非ASCIIの被演算子がバイト列として比較されること
+     * ・条件節点の {@code null} の被演算子は条件の {@code null} の値にのみ一致すること
+     * ・条件節点で使用されていないキーは無視されること
+     * ・条件がない場合は空の集合が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testResolve() {
+
+        final ConditionMatcher matcher = ConditionMatcher.of(CONDITION_NODES);
+        final Map<String, String> nullFlag = new HashMap<>();
+        nullFlag.put("key", "2");
+        nullFlag.put("flag", null);
+
+        assertEquals(Set.of("1", "4"), matcher.resolve(List.of(Map.of("key", "1", "name", "テスト", "unused", "x"))));
+        assertEquals(Set.of("2", "4"), matcher.resolve(List.of(Map.of("key", "テスト"))));
+        assertEquals(Set.of("4"), matcher.resolve(List.of(Map.of("key", "テス"))));
+        assertEquals(Set.of("3", "4"), matcher.resolve(List.of(nullFlag)));
+        assertEquals(Set.of("4"), matcher.resolve(List.of(Map.of("key", "2", "flag", "1"))));
+        assertEquals(Set.of("1", "2", "3", "4"), matcher.resolve(List.of(Map.of("unused", "x"))));
+        assertEquals(Set.of("1", "4"), matcher.resolve(List.of(Map.of("key", "3"))));
+        assertEquals(Set.of(), matcher.resolve(List.of()));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ConditionMatcher#resolve(List)} メソッドで条件の被演算子が UTF-8 に符号化されることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・サロゲートペアを含む被演算子が一致すること
+     * ・対になっていないサロゲートは {@link String#getBytes(java.nio.charset.Charset)} と同様に置換されること
+     * ・作業領域を超える長い被演算子と多数の条件が照合されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testResolveEncoding() {
+
+        final String longOperand = "あ".repeat(100);
+        final ConditionMatcher matcher = ConditionMatcher.of(List.of(
+                new ConditionNode("1", new String[] { "key" }, new String[] { "\uD83D\uDE00" }),
+                new ConditionNode("2", new String[] { "key" }, new String[] { "?" }),
+                new ConditionNode("3", new String[] { "key" }, new String[] { longOperand })));
+
+        assertEquals(Set.of("1"), matcher.resolve(List.of(Map.of("key", "\uD83D\uDE00"))));
+        assertEquals(Set.of("2"), matcher.resolve(List.of(Map.of("key", "\uD83D"))));
+        assertEquals(Set.of("3"), matcher.resolve(List.of(Map.of("key", longOperand))));
+
+        final List<Map<String, String>> conditions = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            conditions.add(Map.of("key", String.valueOf(i)));
+        }
+
+        conditions.add(Map.of("key", longOperand));
+        assertEquals(Set.of("3"), matcher.resolve(conditions));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ConditionMatcher#resolve(List)} メソッドの返却値が文字列の比較による条件の照合結果と一致することを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・ランダムに生成した条件節点と条件の全てで結果が一致すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testResolveMatchesConditionNode() {
+
+        final Random random = new Random(39);
+        final String[] keyNames = { "key", "名前", "flag" };
+        final String[] values = { "1", "2", "テスト", "", null };
+
+        for (int trial = 0; trial < 200; trial++) {
+            final List<ConditionNode> conditionNodes = new ArrayList<>();
+
+            for (int i = 0; i < 6; i++) {
+                final int size = random.nextInt(3);
+                final String[] nodeKeyNames = new String[size];
+                final String[] operands = new String[size];
+
+                for (int j = 0; j < size; j++) {
+                    nodeKeyNames[j] = keyNames[random.nextInt(keyNames.length)];
+                    operands[j] = values[random.nextInt(values.length)];
+                }
+
+                conditionNodes.add(new ConditionNode(String.valueOf(random.nextInt(4)), nodeKeyNames, operands));
+            }
+
+            final List<Map<String, String>> conditions = new ArrayList<>();
+
+            for (int i = random.nextInt(3); i >= 0; i--) {
+                final Map<String, String> condition = new HashMap<>();
+                condition.put(keyNames[random.nextInt(keyNames.length)], values[random.nextInt(values.length)]);
+                condition.put(keyNames[random.nextInt(keyNames.length)], values[random.nextInt(values.length)]);
+                conditions.add(condition);
+            }
+
+            final Set<String> expected = new HashSet<>();
+
+            for (ConditionNode conditionNode : conditionNodes) {
+                if (matchesAny(conditionNode, conditions)) {
+                    expected.add(conditionNode.getConditionId());
+                }
+            }
+
+            assertEquals(expected, ConditionMatcher.of(conditionNodes).resolve(conditions));
+        }
+    }
+
+    /**
+     * 条件節点がいずれかの条件マップに一致するかを文字列の比較によって判定します。
+     * 条件マップに含まれないキー名の条件は無視されます。
+     *
+     * @param conditionNode 条件節点
+     * @param conditions    条件リスト
+     * @return いずれかの条件マップに一致する場合は {@code true} 、それ以外は {@code false}
+     */
+    private static boolean matchesAny(ConditionNode conditionNode, List<Map<String, String>> conditions) {
+
+        for (Map<String, String> condition : conditions) {
+            boolean matched = true;
+
+            for (int i = 0; i < conditionNode.getKeyNames().length; i++) {
+                final String keyName = conditionNode.getKeyNames()[i];
+
+                if (condition.containsKey(keyName)
+                        && !Objects.equals(conditionNode.getOperands()[i], condition.get(keyName))) {
+                    matched = false;
+                }
+            }
+
+            if (matched) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,366 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+/**
+ * {@link ContentBundle} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentBundleTest {
+
+    /**
+     * バンドルのみに含まれるテスト用コンテンツ
+     */
+    private static final String BUNDLED_CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"テスト\"}}],"
+            + "\"conditionNodes\": []}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentBundleWriter#write(Path, Path)} メソッドで書き込んだバンドルを {@link ContentBundle#open(Path)} メソッドで開いた際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・全てのコンテンツが名前の順に含まれること
+     * ・コンテンツのストリームからコンテンツファイルと同じバイト列を読み込めること
+     * ・圧縮されたコンテンツは展開されて読み込まれること
+     * ・JSON 以外の形式のコンテンツも含まれ、圧縮の拡張子を除くコンテンツファイルの拡張子が返却されること
+     * ・含まれない名前の場合は {@link java.util.Optional#empty()} が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testWriteAndOpen(@TempDir Path directory) throws IOException {
+
+        final Path contentDirectory = directory.resolve("content");
+        Files.createDirectories(contentDirectory.resolve("nested"));
+        Files.copy(getResourcePath("content/testContent.json"), contentDirectory.resolve("testContent.json"));
+        Files.copy(getResourcePath("content/testCompressedContent.json.gz"),
+                contentDirectory.resolve("testCompressedContent.json.gz"));
+        Files.writeString(contentDirectory.resolve("nested/bundled.json"), BUNDLED_CONTENT);
+        Files.writeString(contentDirectory.resolve("nested/table.csv"), "code,name\nA001,テスト\n");
+        Files.writeString(contentDirectory.resolve("ignored.txt"), "ignored");
+
+        final Path bundleFile = directory.resolve("content.bundle");
+        ContentBundleWriter.main(new String[] { contentDirectory.toString(), bundleFile.toString() });
+
+        final byte[] expected = Files.readAllBytes(getResourcePath("content/testContent.json"));
+
+        try (ContentBundle bundle = ContentBundle.open(bundleFile)) {
+            assertEquals(4, bundle.size());
+            assertEquals(List.of("nested/bundled", "nested/table", "testCompressedContent", "testContent"),
+                    bundle.getNames());
+            assertTrue(bundle.contains("nested/bundled"));
+            assertFalse(bundle.contains("ignored"));
+            assertFalse(bundle.openContent("notExist").isPresent());
+            assertEquals(Optional.of(".json"), bundle.getExtension("testCompressedContent"));
+            assertEquals(Optional.of(".csv"), bundle.getExtension("nested/table"));
+            assertEquals(Optional.empty(), bundle.getExtension("notExist"));
+
+            try (InputStream contentStream = bundle.openContent("testContent").get()) {
+                assertArrayEquals(expected, contentStream.readAllBytes());
+            }
+
+            try (InputStream contentStream = bundle.openContent("testCompressedContent").get()) {
+                assertArrayEquals(expected, contentStream.readAllBytes());
+            }
+
+            try (InputStream contentStream = bundle.openContent("nested/bundled").get()) {
+                assertArrayEquals(BUNDLED_CONTENT.getBytes(StandardCharsets.UTF_8), contentStream.readAllBytes());
+            }
+
+            try (InputStream contentStream = bundle.openContent("nested/table").get()) {
+                assertEquals("code,name\nA001,テスト\n",
+                        new String(contentStream.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 拡張子を持たないバージョン 1 のバンドルを開いた際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・圧縮形式のコードからコンテンツが展開されて読み込まれること
+     * ・コンテンツファイルの拡張子として {@code ".json"} が返却されること
+     * ・未知の圧縮形式のコードの場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * 圧縮形式のコードは {@link ContentCompression} の定義順に依存せず固定であること
+     * </pre>
+     */
+    @Test
+    public void testVersion1Bundle() {
+
+        final byte[] data = BUNDLED_CONTENT.getBytes(StandardCharsets.UTF_8);
+
+        try (ContentBundle bundle = ContentBundle.of(createVersion1Bundle("a", data, 2))) {
+            assertEquals(Optional.of(".json"), bundle.getExtension("a"));
+
+            try (InputStream contentStream = bundle.openContent("a").get()) {
+                assertArrayEquals(data, contentStream.readAllBytes());
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        try (ContentBundle bundle = ContentBundle.of(createVersion1Bundle("a", data, 3))) {
+            assertThrows(ContentHandlingException.class, () -> bundle.openContent("a"));
+        }
+
+        assertEquals(0, ContentCompression.GZIP.getCode());
+        assertEquals(1, ContentCompression.DEFLATE.getCode());
+        assertEquals(2, ContentCompression.NONE.getCode());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentBundle#install(ContentBundle)} メソッドでバンドルをインストールした際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・クラスパスに存在しないコンテンツがインストールしたバンドルから読み込まれること
+     * ・アンインストール後はクラスパスから読み込まれること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testInstall(@TempDir Path directory) throws IOException {
+
+        Files.writeString(directory.resolve("bundledContent.json"), BUNDLED_CONTENT);
+
+        final Path bundleFile = directory.resolve("content.bundle");
+        ContentBundleWriter.write(directory, bundleFile);
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(BundledContent.class);
+
+        try {
+            ContentBundle.install(ContentBundle.open(bundleFile));
+
+            assertEquals(List.of(Map.of("code", "A001", "name", "テスト")),
+                    ContentLoader.load(descriptor.openContentStream(), Set.of("code", "name")));
+        } finally {
+            ContentBundle.uninstall();
+        }
+
+        assertFalse(ContentBundle.getInstalled().isPresent());
+        assertNull(descriptor.openContentStream());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * JSON 以外の形式のコンテンツを含むバンドルをインストールした際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・バンドルに格納された拡張子からコンテンツの形式が判定されること
+     * ・クラスパスに存在しないCSVコンテンツがバンドルから読み込まれること
+     * ・アンインストール後はバンドルの形式が使用されないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testInstallFormat(@TempDir Path directory) throws IOException {
+
+        Files.writeString(directory.resolve("bundledTable.csv"), "conditionId,test1\n,0\n");
+        Files.writeString(directory.resolve("bundledXml.xml"), "<content/>");
+
+        final Path bundleFile = directory.resolve("content.bundle");
+        ContentBundleWriter.write(directory, bundleFile);
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(BundledTable.class);
+
+        try {
+            ContentBundle.install(ContentBundle.open(bundleFile));
+
+            assertSame(ContentFormat.csv(), descriptor.getFormat());
+            assertFalse(descriptor.isXml());
+            assertTrue(ContentDescriptor.of(BundledXml.class).isXml());
+            assertNull(ContentDescriptor.of(BundledXml.class).getFormat());
+
+            final BundledTable content = new BundledTable();
+            assertEquals(List.of(Map.of("test1", "0")), content.loadContent(content));
+        } finally {
+            ContentBundle.uninstall();
+        }
+
+        assertNull(descriptor.getFormat());
+        assertFalse(ContentDescriptor.of(BundledXml.class).isXml());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 不正なバンドルを開いた際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・マジックナンバーが一致しない場合、途中で終わる場合は {@link ContentHandlingException} が発生すること
+     * ・閉じたバンドルからコンテンツを開く場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testMalformedBundle(@TempDir Path directory) throws IOException {
+
+        assertThrows(ContentHandlingException.class,
+                () -> ContentBundle.of("{\"selectionNodes\": []}".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(ContentHandlingException.class, () -> ContentBundle.of(new byte[] { 0x43, 0x46 }));
+
+        final Path bundleFile = directory.resolve("content.bundle");
+        ContentBundleWriter.write(directory, bundleFile);
+
+        final byte[] bundle = Files.readAllBytes(bundleFile);
+        assertEquals(0, ContentBundle.of(bundle).size());
+
+        final ContentBundle closedBundle = ContentBundle.of(bundle);
+        closedBundle.close();
+        assertThrows(ContentHandlingException.class, () -> closedBundle.contains("testContent"));
+    }
+
+    /**
+     * コンテンツを 1 つだけ含むバージョン 1 のバンドルを作成します。
+     *
+     * @param name        コンテンツ名
+     * @param data        コンテンツのバイト列
+     * @param compression 圧縮形式のコード
+     * @return バンドルのバイト列
+     */
+    private static byte[] createVersion1Bundle(String name, byte[] data, int compression) {
+
+        final byte[] encodedName = name.getBytes(StandardCharsets.UTF_8);
+        final int namesOffset = ContentBundle.HEADER_SIZE + 2 * Integer.BYTES + 28;
+        final ByteBuffer buffer = ByteBuffer.allocate(namesOffset + encodedName.length + data.length);
+
+        buffer.putInt(ContentBundle.MAGIC).putInt(1).putInt(1).putInt(2);
+        buffer.putInt((ContentBundle.hash(name) & 1) == 0 ? 1 : 0).putInt((ContentBundle.hash(name) & 1) == 0 ? 0 : 1);
+        buffer.putInt(namesOffset).putInt(encodedName.length).putLong(namesOffset + encodedName.length)
+                .putLong(data.length).putInt(compression);
+        buffer.put(encodedName).put(data);
+
+        return buffer.array();
+    }
+
+    /**
+     * テスト用リソースのパスを返却します。
+     *
+     * @param resource リソース名
+     * @return リソースのパス
+     */
+    private static Path getResourcePath(String resource) {
+        try {
+            return Path.of(ContentBundleTest.class.getClassLoader().getResource(resource).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @ContentMapping(content = "bundledContent")
+    private static final class BundledContent {
+    }
+
+    @ContentMapping(content = "bundledXml")
+    private static final class BundledXml {
+    }
+
+    /**
+     * テスト用のアトリビュートです。
+     */
+    private enum TestAttribute implements Attribute {
+        TEST1;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    /**
+     * バンドルのCSVコンテンツファイルにマッピングされたテスト用のコンテンツです。
+     */
+    @ContentMapping(content = "bundledTable")
+    private static final class BundledTable implements Content<ContentEntityForTest> {
+
+        @Override
+        public Set<Attribute> getAttributes() {
+            return Set.of(TestAttribute.TEST1);
+        }
+
+        @Override
+        public List<Map<Condition, String>> getConditions() {
+            return List.of();
+        }
+
+        @Override
+        public ContentEntityForTest execute() {
+            return new ContentEntityForTest();
+        }
+    }
+}
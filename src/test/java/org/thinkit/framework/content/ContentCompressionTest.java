@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentCompression} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentCompressionTest {
+
+    /**
+     * 圧縮の検証に使用するテスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"テスト\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"B001\", \"name\": \"banana\"}}],"
+            + "\"conditionNodes\": []}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentCompression#of(String)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・ファイル名の接尾辞から圧縮形式が判定されること
+     * ・既知の接尾辞がない場合は {@link ContentCompression#NONE} が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testOf() {
+        assertEquals(ContentCompression.GZIP, ContentCompression.of("content.json.gz"));
+        assertEquals(ContentCompression.DEFLATE, ContentCompression.of("content.json.deflate"));
+        assertEquals(ContentCompression.NONE, ContentCompression.of("content.json"));
+        assertEquals(ContentCompression.NONE, ContentCompression.of(""));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentCompression#decompress(InputStream)} メソッドで展開したストリームを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・gzipとdeflateで圧縮したコンテンツが元のバイト列に展開されること
+     * ・展開したストリームをそのまま {@link ContentLoader#load(InputStream, Set)} に渡せること
+     * ・gzipの形式ではないストリームの場合は {@link ZipException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testDecompress() throws IOException {
+
+        final byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+        final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        final ByteArrayOutputStream deflate = new ByteArrayOutputStream();
+
+        try (OutputStream outputStream = new GZIPOutputStream(gzip)) {
+            outputStream.write(content);
+        }
+
+        try (OutputStream outputStream = new DeflaterOutputStream(deflate)) {
+            outputStream.write(content);
+        }
+
+        try (InputStream contentStream = ContentCompression.GZIP
+                .decompress(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertArrayEquals(content, contentStream.readAllBytes());
+        }
+
+        try (InputStream contentStream = ContentCompression.DEFLATE
+                .decompress(new ByteArrayInputStream(deflate.toByteArray()))) {
+            assertArrayEquals(content, contentStream.readAllBytes());
+        }
+
+        assertEquals(
+                List.of(Map.of("code", "A001", "name", "テスト"), Map.of("code", "B001", "name", "banana")),
+                ContentLoader.load(ContentCompression.GZIP.decompress(new ByteArrayInputStream(gzip.toByteArray())),
+                        Set.of("code", "name")));
+        assertThrows(ZipException.class,
+                () -> ContentCompression.GZIP.decompress(new ByteArrayInputStream(content)));
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+/**
+ * {@link ContentDescriptor} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentDescriptorTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentDescriptor#of(Class)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・同じクラスに対して同じインスタンスが返却されること
+     * ・コンテンツファイルのリソースパスと索引定義が解決されていること
+     * ・コンテンツファイルのストリームを開けること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testOf() throws IOException {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(MappedContent.class);
+
+        assertSame(descriptor, ContentDescriptor.of(MappedContent.class));
+        assertEquals("content/testContent.json", descriptor.getResourcePath());
+        assertEquals(Set.of("test1"), descriptor.getDefinition().getIndexes());
+
+        try (InputStream contentStream = descriptor.openContentStream()) {
+            assertNotNull(contentStream);
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 圧縮されたコンテンツファイルにマッピングされたクラスの {@link ContentDescriptor} を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・圧縮されたコンテンツファイルのリソースパスと圧縮形式が解決されていること
+     * ・開いたストリームから展開されたコンテンツを読み込めること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testCompressed() throws IOException {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(CompressedContent.class);
+
+        assertEquals("content/testCompressedContent.json.gz", descriptor.getResourcePath());
+        assertEquals(ContentCompression.GZIP, descriptor.getCompression());
+        assertEquals(ContentCompression.NONE, ContentDescriptor.of(MappedContent.class).getCompression());
+
+        try (InputStream expected = ContentDescriptorTest.class.getClassLoader()
+                .getResourceAsStream("content/testContent.json");
+                InputStream contentStream = descriptor.openContentStream()) {
+            assertArrayEquals(expected.readAllBytes(), contentStream.readAllBytes());
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentMapping} が付与されていないクラスの {@link ContentDescriptor} を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・マッピングとリソースパスが {@code null} であること
+     * ・コンテンツファイルのストリームを開く際に {@link NullPointerException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testNotMapped() {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(String.class);
+
+        assertNull(descriptor.getMapping());
+        assertNull(descriptor.getResourcePath());
+        assertThrows(NullPointerException.class, descriptor::openContentStream);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentDescriptor#toAttributeNames(Set)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・アトリビュートの名前が返却されること
+     * ・等価なアトリビュートのセットに対してキャッシュされた同じインスタンスが返却されること
+     * ・異なるアトリビュートのセットに対しては新たに変換されること
+     * ・変更後に再利用されたセットに対して古い名前が返却されないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testToAttributeNames() {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(MappedContent.class);
+        final Set<Attribute> attributes = Set.of(TestAttribute.TEST1, TestAttribute.TEST2);
+        final Set<String> names = descriptor.toAttributeNames(attributes);
+
+        assertEquals(Set.of("test1", "test2"), names);
+        assertSame(names, descriptor.toAttributeNames(attributes));
+        assertSame(names, descriptor.toAttributeNames(new HashSet<>(attributes)));
+        assertEquals(Set.of("test1"), descriptor.toAttributeNames(Set.of(TestAttribute.TEST1)));
+
+        final Set<Attribute> reused = new HashSet<>(attributes);
+        assertEquals(Set.of("test1", "test2"), descriptor.toAttributeNames(reused));
+
+        reused.remove(TestAttribute.TEST2);
+        assertEquals(Set.of("test1"), descriptor.toAttributeNames(reused));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentDescriptor#toStringConditions(List)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件ごとに条件キーの名前をキーとする条件マップが返却されること
+     * ・等価な条件リストに対してキャッシュされた同じインスタンスが返却されること
+     * ・変更後に再利用された条件リストに対して古い条件が返却されないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testToStringConditions() {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(MappedContent.class);
+        final Map<Condition, String> condition = new HashMap<>();
+        condition.put(TestCondition.TEST1, "a");
+        condition.put(TestCondition.TEST2, "b");
+
+        final List<Map<Condition, String>> conditions = new ArrayList<>(List.of(condition));
+        final List<Map<String, String>> names = descriptor.toStringConditions(conditions);
+
+        assertEquals(Set.of(Map.of("test1", "a"), Map.of("test2", "b")), Set.copyOf(names));
+        assertSame(names, descriptor.toStringConditions(conditions));
+        assertSame(names, descriptor.toStringConditions(List.of(Map.copyOf(condition))));
+
+        condition.put(TestCondition.TEST1, "c");
+        assertEquals(Set.of(Map.of("test1", "c"), Map.of("test2", "b")),
+                Set.copyOf(descriptor.toStringConditions(conditions)));
+
+        conditions.clear();
+        assertEquals(List.of(), descriptor.toStringConditions(conditions));
+    }
+
+    /**
+     * テスト用のアトリビュートです。
+     */
+    private enum TestAttribute implements Attribute {
+        TEST1, TEST2;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    /**
+     * テスト用の条件キーです。
+     */
+    private enum TestCondition implements Condition {
+        TEST1, TEST2;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    @ContentMapping(content = "testContent", indexes = "test1")
+    private static final class MappedContent {
+    }
+
+    @ContentMapping(content = "testCompressedContent")
+    private static final class CompressedContent {
+    }
+}
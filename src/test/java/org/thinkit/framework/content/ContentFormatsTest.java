@@ -0,0 +1,241 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+/**
+ * {@link ContentFormats} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentFormatsTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 利用可能なフォーマットを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・組み込みのフォーマットが先頭に含まれること
+     * ・{@link java.util.ServiceLoader} で登録されたフォーマットが含まれること
+     * ・圧縮形式の接尾辞を除いたファイル名の拡張子でフォーマットが解決されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testAll() {
+
+        final List<ContentFormat> formats = ContentFormats.all();
+
+        assertSame(ContentFormat.csv(), formats.get(0));
+        assertSame(ContentFormat.tsv(), formats.get(1));
+        assertTrue(formats.stream().anyMatch(LineContentFormat.class::isInstance));
+        assertSame(ContentFormat.csv(), ContentFormats.ofFileName("master.csv.gz").get());
+        assertSame(ContentFormat.tsv(), ContentFormats.ofFileName("master.tsv").get());
+        assertTrue(ContentFormats.ofFileName("master.lines").get() instanceof LineContentFormat);
+        assertFalse(ContentFormats.ofFileName("master.json").isPresent());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * フォーマットの拡張子を持つコンテンツファイルを走査できることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・圧縮されたCSVコンテンツファイルが展開されて読み込まれること
+     * ・登録されたフォーマットのコンテンツファイルが読み込まれること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testScan(@TempDir final Path directory) throws IOException {
+
+        final Path csvFile = directory.resolve("master.csv.gz");
+
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(csvFile))) {
+            output.write("#conditionNode,1,key,a\ncode,conditionId\nA001,\nB001,1\n".getBytes(StandardCharsets.UTF_8));
+        }
+
+        assertEquals(List.of(Map.of("code", "A001"), Map.of("code", "B001")),
+                ContentLoader.scan(csvFile, Set.of("code"), List.of(Map.of("key", "a"))));
+        assertEquals(List.of(Map.of("code", "A001")), ContentLoader.scan(csvFile, Set.of("code")));
+
+        final Path lineFile = Files.writeString(directory.resolve("master.lines"), "x\ny\n");
+        assertEquals(List.of(Map.of("value", "x"), Map.of("value", "y")),
+                ContentLoader.scan(lineFile, Set.of("value")));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * CSVコンテンツファイルにマッピングされたコンテンツを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・JSONと同じリソースの解決方法でCSVコンテンツファイルが解決されること
+     * ・条件を指定しない場合は条件のないレコードのみが返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testMappedContent() {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(CsvContent.class);
+
+        assertEquals("content/testCsvContent.csv", descriptor.getResourcePath());
+        assertSame(ContentFormat.csv(), descriptor.getFormat());
+        assertNull(ContentDescriptor.of(String.class).getFormat());
+
+        final CsvContent content = new CsvContent();
+        final List<Map<String, String>> contents = content.loadContent(content);
+
+        assertEquals(List.of(Map.of("test1", "0")), contents);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 選択ノードの後に条件ノードを渡した際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link IllegalStateException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testConditionNodeAfterSelectionNode() {
+
+        final NodeSink sink = new NodeSink(ContentSchema.inferred(), conditionNode -> {
+        }, selectionNode -> {
+        });
+
+        sink.selectionNode(new String[] { "code" }, new String[] { "A001" });
+
+        assertThrows(IllegalStateException.class,
+                () -> sink.conditionNode("1", new String[] { "key" }, new String[] { "a" }));
+        assertThrows(IllegalArgumentException.class,
+                () -> sink.selectionNode(new String[] { "code" }, new String[] { "A001", "B001" }));
+    }
+
+    /**
+     * {@link java.util.ServiceLoader} で登録されるテスト用のフォーマットです。各行を属性 {@code value} の値として読み込みます。
+     */
+    public static final class LineContentFormat implements ContentFormat {
+
+        /**
+         * 属性名
+         */
+        private static final String[] ATTRIBUTES = { "value" };
+
+        @Override
+        public String getExtension() {
+            return ".lines";
+        }
+
+        @Override
+        public void read(final InputStream contentStream, final ContentSink sink) throws IOException {
+
+            final BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(contentStream, StandardCharsets.UTF_8));
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+                sink.selectionNode(ATTRIBUTES, new String[] { line });
+            }
+        }
+    }
+
+    /**
+     * テスト用のアトリビュートです。
+     */
+    private enum TestAttribute implements Attribute {
+        TEST1;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    /**
+     * CSVコンテンツファイルにマッピングされたテスト用のコンテンツです。
+     */
+    @ContentMapping(content = "testCsvContent")
+    private static final class CsvContent implements Content<ContentEntityForTest> {
+
+        @Override
+        public Set<Attribute> getAttributes() {
+            return Set.of(TestAttribute.TEST1);
+        }
+
+        @Override
+        public List<Map<Condition, String>> getConditions() {
+            return List.of();
+        }
+
+        @Override
+        public ContentEntityForTest execute() {
+            return new ContentEntityForTest();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentGenerator} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentGeneratorTest {
+
+    /**
+     * {@link ContentGenerator#generate(java.io.OutputStream)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestGenerate {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 条件ノードなしで生成したコンテンツを {@link ContentLoader#load(java.io.InputStream, Set)} で読み込めることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・取得したリストのサイズが選択ノード数と等しいこと
+         * ・各レコードの値が濃度の範囲内であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        public void testWithoutConditionNodes() {
+            final ContentGenerator generator = ContentGenerator.builder().selectionNodes(50).attributesPerNode(3)
+                    .cardinality(10).build();
+
+            final List<Map<String, String>> contents = ContentLoader.load(generate(generator),
+                    Set.of(ContentGenerator.attributeName(0), ContentGenerator.attributeName(2)));
+
+            assertNotNull(contents);
+            assertEquals(50, contents.size());
+
+            for (Map<String, String> content : contents) {
+                final int value = Integer.parseInt(content.get(ContentGenerator.attributeName(2)));
+                assertTrue(value >= 0 && value < 10);
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 条件ノードありで生成したコンテンツを {@link ContentGenerator#getMatchingConditions()} の条件で読み込めることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・取得したすべてのレコードの条件IDが <code>"0"</code> であること
+         * ・取得したレコード数が選択率から大きく外れていないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        public void testWithConditionNodes() {
+            final ContentGenerator generator = ContentGenerator.builder().selectionNodes(2000).conditionNodes(20)
+                    .conditionsPerNode(3).selectivity(0.25).build();
+
+            final List<Map<String, String>> contents = ContentLoader.load(generate(generator),
+                    Set.of(SelectionNodeKey.CONDITION_ID.getKey()), generator.getMatchingConditions());
+
+            assertTrue(contents.size() > 400 && contents.size() < 600);
+
+            for (Map<String, String> content : contents) {
+                assertEquals("0", content.get(SelectionNodeKey.CONDITION_ID.getKey()));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 条件ノードを1つだけ生成したコンテンツの条件IDを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての選択ノードが唯一の条件ノードの条件ID <code>"0"</code> を参照すること
+         * ・定義されていない条件IDを参照する選択ノードがないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * 選択率に関わらず全ての選択ノードが条件に一致する。
+         * </pre>
+         */
+        @Test
+        public void testWithSingleConditionNode() {
+            final ContentGenerator generator = ContentGenerator.builder().selectionNodes(100).conditionNodes(1)
+                    .selectivity(0.25).build();
+
+            final List<Map<String, String>> contents = ContentLoader.load(generate(generator),
+                    Set.of(SelectionNodeKey.CONDITION_ID.getKey()), generator.getMatchingConditions());
+
+            assertEquals(100, contents.size());
+
+            for (Map<String, String> content : contents) {
+                assertEquals("0", content.get(SelectionNodeKey.CONDITION_ID.getKey()));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 同じシード値で生成したコンテンツが同一であることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・同じシード値で生成したコンテンツのバイト列が等しいこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        public void testReproducible() {
+            final ContentGenerator generator = ContentGenerator.builder().selectionNodes(100).conditionNodes(5)
+                    .seed(42L).build();
+
+            final ByteArrayOutputStream first = new ByteArrayOutputStream();
+            final ByteArrayOutputStream second = new ByteArrayOutputStream();
+            generator.generate(first);
+            generator.generate(second);
+
+            assertArrayEquals(first.toByteArray(), second.toByteArray());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正なパラメータを指定した場合に例外が発生することを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・選択率が範囲外の場合 {@link IllegalArgumentException} が発生すること
+         * ・濃度が <code>0</code> の場合 {@link IllegalArgumentException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        public void testInvalidParameters() {
+            assertThrows(IllegalArgumentException.class, () -> ContentGenerator.builder().selectivity(1.5).build());
+            assertThrows(IllegalArgumentException.class, () -> ContentGenerator.builder().cardinality(0).build());
+        }
+    }
+
+    private ByteArrayInputStream generate(final ContentGenerator generator) {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        generator.generate(outputStream);
+        return new ByteArrayInputStream(outputStream.toByteArray());
+    }
+}
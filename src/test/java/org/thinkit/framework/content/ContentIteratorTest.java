@@ -0,0 +1,187 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentIterator} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentIteratorTest {
+
+    /**
+     * 選択ノードの後に条件ノードを定義したテスト用コンテンツ
+     */
+    private static final String TRAILING_CONDITION_NODES = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"result\": \"a\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"result\": \"b\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"result\": \"c\"}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"result\": \"d\"}}],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"2\"}]}}]}";
+
+    /**
+     * 選択ノードの前に条件ノードを定義したテスト用コンテンツ
+     */
+    private static final String LEADING_CONDITION_NODES = "{\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}}],"
+            + "\"selectionNodes\": [" + "{\"node\": {\"conditionId\": \"1\", \"result\": \"a\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"result\": \"b\"}}]}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 選択ノードの後に条件ノードが定義されている場合の {@link ContentIterator} の返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件に一致するレコードと条件なしのレコードがコンテンツに定義された順番で返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testTrailingConditionNodes() {
+
+        final ContentIterator contents = ContentIterator.of(toStream(TRAILING_CONDITION_NODES), Set.of("result"),
+                List.of(Map.of("key", "2")));
+
+        assertEquals("a", contents.next().get("result"));
+        assertEquals("c", contents.next().get("result"));
+        assertEquals("d", contents.next().get("result"));
+        assertFalse(contents.hasNext());
+        assertThrows(NoSuchElementException.class, contents::next);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 条件を指定しない場合の {@link ContentIterator} の返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件なしのレコードのみが返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testWithoutConditions() {
+
+        final ContentIterator contents = ContentIterator.of(toStream(TRAILING_CONDITION_NODES), Set.of("result"),
+                List.of());
+
+        assertEquals("a", contents.next().get("result"));
+        assertEquals("c", contents.next().get("result"));
+        assertFalse(contents.hasNext());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 選択ノードの前に条件ノードが定義されている場合の {@link ContentIterator} の返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件に一致するレコードと条件なしのレコードがコンテンツに定義された順番で返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testLeadingConditionNodes() {
+
+        final ContentIterator contents = ContentIterator.of(toStream(LEADING_CONDITION_NODES), Set.of("result"),
+                List.of(Map.of("key", "1")));
+
+        assertTrue(contents.hasNext());
+        assertEquals("a", contents.next().get("result"));
+        assertEquals("b", contents.next().get("result"));
+        assertFalse(contents.hasNext());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentIterator#ofConditionIds(InputStream, Set, Set)} メソッドで生成した {@link ContentIterator} の返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・選択ノードの後に条件ノードが定義されていても、条件付きのレコードが条件ノードを読み込む前に返却されること
+     * ・指定した条件IDのレコードと条件なしのレコードのみが定義された順番で返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * 条件ノードを途中で切ったコンテンツを使用し、条件ノードが読み込まれないことを確認する。
+     * </pre>
+     */
+    @Test
+    public void testOfConditionIds() {
+
+        final String truncated = TRAILING_CONDITION_NODES.substring(0,
+                TRAILING_CONDITION_NODES.indexOf("\"conditionNodes\"")) + "\"conditionNodes\": [{\"node\": {";
+        final ContentIterator truncatedContents = ContentIterator.ofConditionIds(toStream(truncated),
+                Set.of("result"), Set.of("1"));
+
+        assertEquals("a", truncatedContents.next().get("result"));
+        assertEquals("b", truncatedContents.next().get("result"));
+        assertEquals("c", truncatedContents.next().get("result"));
+        truncatedContents.close();
+
+        final ContentIterator contents = ContentIterator.ofConditionIds(toStream(TRAILING_CONDITION_NODES),
+                Set.of("result"), Set.of("2"));
+
+        assertEquals("a", contents.next().get("result"));
+        assertEquals("c", contents.next().get("result"));
+        assertEquals("d", contents.next().get("result"));
+        assertFalse(contents.hasNext());
+    }
+
+    private InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
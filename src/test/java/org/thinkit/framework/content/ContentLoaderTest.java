@@ -15,7 +15,9 @@
 package org.thinkit.framework.content;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.thinkit.common.catalog.Extension;
@@ -23,13 +25,19 @@ import org.thinkit.common.util.reflection.FluentReflection;
 import org.thinkit.framework.content.catalog.ContentRoot;
 
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.jupiter.api.Nested;
@@ -686,6 +694,419 @@ public final class ContentLoaderTest {
         }
     }
 
+    /**
+     * {@link ContentLoader#loadFirst(InputStream, Set, List)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestLoadFirst {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#loadFirst(InputStream, Set)} メソッドの返却値を確認する。
+         * このテストでは選択ノードを複数定義した標準のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentLoader#loadFirst(InputStream, Set)} から取得した値が存在すること
+         * ・キー名 <code>"test1"</code> に紐づく項目の値が先頭のレコードの値 <code>"0"</code> であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testWithoutConditions() {
+
+            final Optional<Map<String, String>> content = ContentLoader
+                    .loadFirst(getResourceAsStream(TestContentName.DEFAULT.getPath()), TEST_ATTRIBUTE_SET);
+
+            assertTrue(content.isPresent());
+            assertEquals("0", content.get().get(TestContentAttribute.test1.getString()));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#loadFirst(InputStream, Set, List)} メソッドの返却値を確認する。
+         * このテストでは条件ノードの個数が小規模のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件に一致するレコードが存在する場合 <code>"result"</code> に紐づく値が <code>"1"</code> であること
+         * ・条件に一致するレコードが存在しない場合 {@link Optional#empty()} が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testWithConditions() {
+
+            final String resultAttribute = "result";
+
+            final Map<String, String> conditions = new HashMap<>(2);
+            conditions.put(TestCondition.testCondition1.getString(), "1");
+            conditions.put(TestCondition.testCondition2.getString(), "0");
+
+            final Optional<Map<String, String>> content = ContentLoader.loadFirst(
+                    getResourceAsStream(TestContentName.SMALL_CONDITION_NODES.getPath()), Set.of(resultAttribute),
+                    List.of(conditions));
+
+            assertTrue(content.isPresent());
+            assertEquals("1", content.get().get(resultAttribute));
+
+            final Map<String, String> noMatchConditions = new HashMap<>(2);
+            noMatchConditions.put(TestCondition.testCondition1.getString(), "1");
+            noMatchConditions.put(TestCondition.testCondition2.getString(), "");
+
+            assertFalse(ContentLoader.loadFirst(getResourceAsStream(TestContentName.SMALL_CONDITION_NODES.getPath()),
+                    Set.of(resultAttribute), List.of(noMatchConditions)).isPresent());
+        }
+    }
+
+    /**
+     * {@link ContentLoader#loadUnique(InputStream, Set, List)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestLoadUnique {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#loadUnique(InputStream, Set)} メソッドの返却値を確認する。
+         * このテストでは選択ノードが1件のみのコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentLoader#loadUnique(InputStream, Set)} から取得した値が存在すること
+         * ・キー名 <code>"test5"</code> に紐づく項目の値が <code>"test"</code> であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testUniqueRecord() {
+
+            final Optional<Map<String, String>> content = ContentLoader.loadUnique(
+                    getResourceAsStream(TestContentName.SMALL_SELECTION_NODES.getPath()), TEST_ATTRIBUTE_SET);
+
+            assertTrue(content.isPresent());
+            assertEquals("test", content.get().get(TestContentAttribute.test5.getString()));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#loadUnique(InputStream, Set)} メソッドの例外を確認する。
+         * このテストでは選択ノードを複数定義した標準のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・複数のレコードが一致する場合 {@link ContentHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testMultipleRecords() {
+            assertThrows(ContentHandlingException.class, () -> ContentLoader
+                    .loadUnique(getResourceAsStream(TestContentName.DEFAULT.getPath()), TEST_ATTRIBUTE_SET));
+        }
+    }
+
+    /**
+     * {@link ContentLoader#stream(InputStream, Set, List)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestStream {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#stream(InputStream, Set, List)} メソッドの返却値を確認する。
+         * このテストでは条件ノードの個数が中規模のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentLoader#stream(InputStream, Set, List)} から取得した要素が {@link ContentLoader#load(InputStream, Set, List)} の返却値と等しいこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ コンテンツ取得条件
+         * ・<code>"testCondition1" : "false"</code>
+         * ・<code>"testCondition2" : "test"</code>
+         * ・<code>"testCondition3" : "100"</code>
+         * ・<code>"testCondition4" : "テスト"</code>
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testSameAsLoad() {
+
+            final Set<String> attributes = Set.of("result");
+
+            final Map<String, String> conditions = new HashMap<>(4);
+            conditions.put(TestCondition.testCondition1.getString(), "false");
+            conditions.put(TestCondition.testCondition2.getString(), "test");
+            conditions.put(TestCondition.testCondition3.getString(), "100");
+            conditions.put(TestCondition.testCondition4.getString(), "テスト");
+
+            final List<Map<String, String>> expectedContents = ContentLoader.load(
+                    getResourceAsStream(TestContentName.MEDIUM_CONDITION_NODES.getPath()), attributes,
+                    List.of(conditions));
+
+            try (Stream<Map<String, String>> contents = ContentLoader.stream(
+                    getResourceAsStream(TestContentName.MEDIUM_CONDITION_NODES.getPath()), attributes,
+                    List.of(conditions))) {
+                assertEquals(expectedContents, contents.collect(Collectors.toList()));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#stream(InputStream, Set)} メソッドの返却値を確認する。
+         * このテストでは選択ノードの個数が大規模のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentLoader#stream(InputStream, Set)} から取得した要素が {@link ContentLoader#load(InputStream, Set)} の返却値と等しいこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testWithoutConditions() {
+
+            final List<Map<String, String>> expectedContents = ContentLoader
+                    .load(getResourceAsStream(TestContentName.LARGE_SELECTION_NODES.getPath()), TEST_ATTRIBUTE_SET);
+
+            try (Stream<Map<String, String>> contents = ContentLoader
+                    .stream(getResourceAsStream(TestContentName.LARGE_SELECTION_NODES.getPath()), TEST_ATTRIBUTE_SET)) {
+                assertEquals(expectedContents, contents.collect(Collectors.toList()));
+            }
+        }
+    }
+
+    /**
+     * {@link ContentLoader#iterator(InputStream, Set, List)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestIterator {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#iterator(InputStream, Set)} メソッドの返却値を確認する。
+         * このテストでは選択ノードを複数定義した標準のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・コンテンツに定義された順番でレコードが返却されること
+         * ・レコードをすべて取得した後に {@link Iterator#hasNext()} が {@code false} を返却すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testOrder() {
+
+            final Iterator<Map<String, String>> contents = ContentLoader
+                    .iterator(getResourceAsStream(TestContentName.DEFAULT.getPath()), TEST_ATTRIBUTE_SET);
+
+            assertEquals("0", contents.next().get(TestContentAttribute.test1.getString()));
+            assertEquals("1", contents.next().get(TestContentAttribute.test1.getString()));
+            assertEquals("1", contents.next().get(TestContentAttribute.test1.getString()));
+            assertFalse(contents.hasNext());
+        }
+    }
+
+    /**
+     * {@link ContentLoader#forEach(InputStream, Set, List, java.util.function.Consumer)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestForEach {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#forEach(InputStream, Set, List, java.util.function.Consumer)} メソッドの機能を確認する。
+         * このテストでは条件ノードの個数が小規模のコンテンツファイルを使用する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件に一致するレコードのみがコンシューマに渡されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ コンテンツ取得条件
+         * ・<code>"testCondition1" : "0"</code>
+         * ・<code>"testCondition2" : ""</code>
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testWithConditions() {
+
+            final String resultAttribute = "result";
+
+            final Map<String, String> conditions = new HashMap<>(2);
+            conditions.put(TestCondition.testCondition1.getString(), "0");
+            conditions.put(TestCondition.testCondition2.getString(), "");
+
+            final List<Map<String, String>> contents = new ArrayList<>();
+            ContentLoader.forEach(getResourceAsStream(TestContentName.SMALL_CONDITION_NODES.getPath()),
+                    Set.of(resultAttribute), List.of(conditions), contents::add);
+
+            assertEquals(1, contents.size());
+            assertEquals("0", contents.get(0).get(resultAttribute));
+        }
+    }
+
+    /**
+     * {@link ContentLoader#scan(Path, Set, List)} メソッドのテストメソッドを定義するネストクラスです。
+     *
+     * @author Kato Shinya
+     * @since 1.0
+     * @version 1.0
+     */
+    @Nested
+    final class TestScan {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#scan(Path, Set, List)} メソッドの返却値が
+         * {@link ContentLoader#load(InputStream, Set, List)} メソッドの返却値と一致することを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件なしで全てのテスト用コンテンツの返却値が一致すること
+         * ・条件ありで条件ノードを持つテスト用コンテンツの返却値が一致すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testSameAsLoad() {
+
+            for (TestContentName contentName : TestContentName.values()) {
+                assertEquals(ContentLoader.load(getResourceAsStream(contentName.getPath()), TEST_ATTRIBUTE_SET),
+                        ContentLoader.scan(getResourcePath(contentName.getPath()), TEST_ATTRIBUTE_SET));
+            }
+
+            final Set<String> attributes = Set.of("result");
+
+            for (String value : List.of("0", "1", "2")) {
+                final Map<String, String> conditions = new HashMap<>(2);
+                conditions.put(TestCondition.testCondition1.getString(), value);
+                conditions.put(TestCondition.testCondition2.getString(), "");
+
+                for (TestContentName contentName : List.of(TestContentName.SMALL_CONDITION_NODES,
+                        TestContentName.MEDIUM_CONDITION_NODES, TestContentName.LARGE_CONDITION_NODES)) {
+                    assertEquals(
+                            ContentLoader.load(getResourceAsStream(contentName.getPath()), attributes,
+                                    List.of(conditions)),
+                            ContentLoader.scan(getResourcePath(contentName.getPath()), attributes,
+                                    List.of(conditions)));
+                }
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentLoader} クラスの {@link ContentLoader#scanEach(Path, Set, List, java.util.function.Consumer)} メソッドの機能を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件に一致するレコードのみがコンシューマに渡されること
+         * ・存在しないコンテンツファイルを指定した場合は {@link ContentHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * このテストケースおよび期待値は使用するテスト用のコンテンツに定義されたキーと値に依存しています。
+         * </pre>
+         */
+        @Test
+        public void testScanEach() {
+
+            final String resultAttribute = "result";
+
+            final Map<String, String> conditions = new HashMap<>(2);
+            conditions.put(TestCondition.testCondition1.getString(), "0");
+            conditions.put(TestCondition.testCondition2.getString(), "");
+
+            final List<Map<String, String>> contents = new ArrayList<>();
+            ContentLoader.scanEach(getResourcePath(TestContentName.SMALL_CONDITION_NODES.getPath()),
+                    Set.of(resultAttribute), List.of(conditions), contents::add);
+
+            assertEquals(1, contents.size());
+            assertEquals("0", contents.get(0).get(resultAttribute));
+            assertThrows(ContentHandlingException.class, () -> ContentLoader
+                    .scan(Path.of("notExist" + Extension.json()), Set.of(resultAttribute), List.of(conditions)));
+        }
+    }
+
     /**
      * {@link ContentLoader#getNodeList(Map, Key)} メソッドのテストメソッドを定義するテストクラスです。
      * {@link ContentLoader#getNodeList(Map, Key)} はprivateメソッドです。
@@ -1411,6 +1832,21 @@ public final class ContentLoaderTest {
                 .getResourceAsStream(ContentRoot.ROOT.getTag() + content + Extension.json());
     }
 
+    /**
+     * テスト用のコンテンツファイルのパスを返却します。
+     *
+     * @param content コンテンツ名
+     * @return コンテンツファイルのパス
+     */
+    private Path getResourcePath(final String content) {
+        try {
+            return Path.of(ContentLoaderTest.class.getClassLoader()
+                    .getResource(ContentRoot.ROOT.getTag() + content + Extension.json()).toURI());
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     /**
      * テスト用コンテンツ名クラス
      */
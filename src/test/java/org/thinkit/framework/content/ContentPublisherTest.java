@@ -0,0 +1,291 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentPublisher} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentPublisherTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentPublisher} がサブスクライバの要求数に応じてレコードを発行することを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・要求した数のレコードのみが発行されること
+     * ・要求した数のレコードのみがイテレータから読み込まれること
+     * ・すべてのレコードを発行した後に完了が通知されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testBackpressure() {
+
+        final CountingIterator contents = new CountingIterator(5);
+        final TestSubscriber subscriber = new TestSubscriber();
+        new ContentPublisher(contents, Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        assertEquals(2, subscriber.received.size());
+        assertTrue(contents.count.get() <= 3);
+        assertFalse(subscriber.completed);
+
+        subscriber.subscription.request(3);
+        assertEquals(5, subscriber.received.size());
+        assertTrue(subscriber.completed);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentPublisher} の購読をキャンセルした場合の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・キャンセル後にレコードが発行されないこと
+     * ・完了が通知されないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testCancel() {
+
+        final TestSubscriber subscriber = new TestSubscriber();
+        new ContentPublisher(new CountingIterator(5), Runnable::run).subscribe(subscriber);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+
+        assertEquals(1, subscriber.received.size());
+        assertFalse(subscriber.completed);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentPublisher} に不正な要求数を指定した場合の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・要求数が <code>0</code> の場合 {@link IllegalArgumentException} が通知されること
+     * ・2件目のサブスクライバに {@link IllegalStateException} が通知されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testErrors() {
+
+        final ContentPublisher publisher = new ContentPublisher(new CountingIterator(5), Runnable::run);
+        final TestSubscriber subscriber = new TestSubscriber();
+        final TestSubscriber secondSubscriber = new TestSubscriber();
+
+        publisher.subscribe(subscriber);
+        publisher.subscribe(secondSubscriber);
+        subscriber.subscription.request(0);
+
+        assertTrue(subscriber.error instanceof IllegalArgumentException);
+        assertTrue(secondSubscriber.error instanceof IllegalStateException);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * サブスクライバまたはイテレータが例外を発生させた場合の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・サブスクライバが発生させた例外は {@link Flow.Subscriber#onError(Throwable)} に通知されず再送出されること
+     * ・サブスクライバが例外を発生させた場合はコンテンツのストリームが閉じられ、以降のレコードが発行されないこと
+     * ・イテレータが発生させた例外は {@link Flow.Subscriber#onError(Throwable)} に通知されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testSubscriberFailure() {
+
+        final AtomicBoolean closed = new AtomicBoolean();
+        final InputStream contentStream = new ByteArrayInputStream(("{\"selectionNodes\": ["
+                + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\"}},"
+                + "{\"node\": {\"conditionId\": \"\", \"code\": \"B001\"}}]}").getBytes(StandardCharsets.UTF_8)) {
+
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+
+        final TestSubscriber subscriber = new TestSubscriber() {
+
+            @Override
+            public void onNext(Map<String, String> item) {
+                super.onNext(item);
+                throw new IllegalStateException("subscriber failure");
+            }
+        };
+
+        new ContentPublisher(ContentIterator.of(contentStream, Set.of("code"), List.of()), Runnable::run)
+                .subscribe(subscriber);
+
+        assertThrows(IllegalStateException.class, () -> subscriber.subscription.request(2));
+        assertEquals(1, subscriber.received.size());
+        assertNull(subscriber.error);
+        assertTrue(closed.get());
+
+        subscriber.subscription.request(1);
+        assertEquals(1, subscriber.received.size());
+
+        final TestSubscriber failedSubscriber = new TestSubscriber();
+        new ContentPublisher(new CountingIterator(5) {
+
+            @Override
+            public Map<String, String> next() {
+                throw new IllegalStateException("iterator failure");
+            }
+        }, Runnable::run).subscribe(failedSubscriber);
+
+        failedSubscriber.subscription.request(1);
+        assertTrue(failedSubscriber.error instanceof IllegalStateException);
+    }
+
+    /**
+     * 読み込んだレコード数を数えるテスト用のイテレータです。
+     */
+    private static class CountingIterator implements Iterator<Map<String, String>> {
+
+        /**
+         * レコード数
+         */
+        private final int size;
+
+        /**
+         * 読み込んだレコード数
+         */
+        private final AtomicInteger count = new AtomicInteger();
+
+        /**
+         * コンストラクタ
+         *
+         * @param size レコード数
+         */
+        private CountingIterator(final int size) {
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.count.get() < this.size;
+        }
+
+        @Override
+        public Map<String, String> next() {
+            return Map.of("result", String.valueOf(this.count.getAndIncrement()));
+        }
+    }
+
+    /**
+     * 受信した通知を記録するテスト用のサブスクライバです。
+     */
+    private static class TestSubscriber implements Flow.Subscriber<Map<String, String>> {
+
+        /**
+         * 購読
+         */
+        private Flow.Subscription subscription;
+
+        /**
+         * 受信したレコード
+         */
+        private final List<Map<String, String>> received = new ArrayList<>();
+
+        /**
+         * 完了が通知されたか否か
+         */
+        private boolean completed;
+
+        /**
+         * 通知されたエラー
+         */
+        private Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Map<String, String> item) {
+            this.received.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            this.error = throwable;
+        }
+
+        @Override
+        public void onComplete() {
+            this.completed = true;
+        }
+    }
+}
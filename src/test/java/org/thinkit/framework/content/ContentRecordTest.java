@@ -0,0 +1,261 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentRecord} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentRecordTest {
+
+    /**
+     * データ型が宣言されたテスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"metadata\": {\"primaryKey\": \"code\", \"dataTypes\": "
+            + "{\"count\": \"int\", \"price\": \"LONG\", \"rate\": \"double\", \"active\": \"boolean\", \"code\": \"string\"}},"
+            + "\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"count\": \"1\", \"price\": \"100L\", \"rate\": \"0.5\", \"active\": \"true\", \"memo\": \"12\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"code\": \"B001\", \"count\": \"2\", \"price\": \"200\", \"rate\": \"1.0\", \"active\": \"FALSE\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"C001\", \"count\": null, \"price\": \"300\"}}],"
+            + "\"conditionNodes\": [{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operand\": \"fruit\"}]}}]}";
+
+    /**
+     * {@link ContentStore#selectRecords(List)} メソッドのテストクラスです。
+     */
+    @Nested
+    class TestSelectRecords {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 宣言されたデータ型で値を取得できることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・宣言された属性の値がプリミティブ型として返却されること
+         * ・宣言されていない属性の値は呼び出し時に解析されること
+         * ・条件に一致する条件付きのレコードが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testTypedValues() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT));
+            final List<ContentRecord> records = store.selectRecords(List.of(Map.of("type", "fruit")));
+
+            assertEquals(3, records.size());
+
+            final ContentRecord first = records.get(0);
+            assertEquals(1, first.getInt("count"));
+            assertEquals(100L, first.getLong("price"));
+            assertEquals(100.0, first.getDouble("price"));
+            assertEquals(0.5, first.getDouble("rate"));
+            assertTrue(first.getBoolean("active"));
+            assertEquals(12, first.getInt("memo"));
+            assertEquals("A001", first.getString("code"));
+
+            final ContentRecord second = records.get(1);
+            assertEquals("B001", second.getString("code"));
+            assertEquals(2L, second.getLong("count"));
+            assertFalse(second.getBoolean("active"));
+
+            assertEquals(Map.of("code", "C001", "price", "300"), records.get(2).toMap(Set.of("code", "price")));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 条件を指定しない場合は条件付きのレコードが返却されないことを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件のないレコードのみが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWithoutConditions() {
+
+            final List<ContentRecord> records = ContentStore.load(toStream(CONTENT)).selectRecords();
+
+            assertEquals(2, records.size());
+            assertEquals("C001", records.get(1).getString("code"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 値が存在しない場合と型が異なる場合の挙動を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・値が存在しない属性は {@code null} として判定されること
+         * ・値が存在しない属性を取得した場合は {@link ContentHandlingException} が発生すること
+         * ・宣言された型と異なる型で取得した場合は {@link ContentHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testNullAndMismatch() {
+
+            final ContentRecord record = ContentStore.load(toStream(CONTENT)).selectRecords().get(1);
+
+            assertTrue(record.isNull("count"));
+            assertTrue(record.isNull("rate"));
+            assertTrue(record.isNull("memo"));
+            assertFalse(record.isNull("price"));
+            assertNull(record.getString("memo"));
+            assertThrows(ContentHandlingException.class, () -> record.getInt("count"));
+            assertThrows(ContentHandlingException.class, () -> record.getInt("memo"));
+            assertThrows(ContentHandlingException.class, () -> record.getInt("price"));
+            assertThrows(ContentHandlingException.class, () -> record.getBoolean("price"));
+        }
+    }
+
+    /**
+     * {@link ContentStore#getRecord(List, String)} メソッドのテストクラスです。
+     */
+    @Nested
+    class TestGetRecord {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 主キーでレコードを取得できることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・主キーに一致するレコードが返却されること
+         * ・条件に一致しない条件付きのレコードは返却されないこと
+         * ・データ型の宣言がストアから取得できること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testGetRecord() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT));
+
+            assertEquals(200L, store.getRecord(List.of(Map.of("type", "fruit")), "B001").get().getLong("price"));
+            assertTrue(store.getRecord("B001").isEmpty());
+            assertTrue(store.getRecord("Z999").isEmpty());
+            assertEquals(DataType.LONG, store.getDataType("price"));
+            assertEquals(DataType.STRING, store.getDataType("memo"));
+            assertNotNull(store.getTypedColumn("rate"));
+            assertNull(store.getTypedColumn("code"));
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 宣言されたデータ型で解析できない値が含まれる場合の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・読み込み時に {@link ContentHandlingException} が発生すること
+     * ・未知のデータ型が宣言された場合も {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testInvalidContent() {
+
+        assertThrows(ContentHandlingException.class, () -> ContentStore.load(toStream(
+                "{\"metadata\": {\"dataTypes\": {\"count\": \"int\"}}, \"selectionNodes\": [{\"node\": {\"count\": \"one\"}}]}")));
+        assertThrows(ContentHandlingException.class, () -> ContentStore.load(toStream(
+                "{\"metadata\": {\"dataTypes\": {\"count\": \"decimal\"}}, \"selectionNodes\": [{\"node\": {\"count\": \"1\"}}]}")));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * データ型の解析処理の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・タグが大文字と小文字を区別せずに解決されること
+     * ・{@code long} の値には接尾辞 {@code L} を付与できること
+     * ・真偽値は {@code true} と {@code false} のみが許容されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testDataType() {
+
+        assertEquals(DataType.DOUBLE, DataType.of("Double"));
+        assertEquals(10L, DataType.parseLong("10l"));
+        assertTrue(DataType.parseBoolean("True"));
+        assertThrows(ContentHandlingException.class, () -> DataType.parseBoolean("yes"));
+        assertThrows(ContentHandlingException.class, () -> DataType.parseInt("2147483648"));
+        assertThrows(IllegalArgumentException.class,
+                () -> TypedColumn.of("code", DataType.STRING, new String[] { "A001" }));
+    }
+
+    private static InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentSchema} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentSchemaTest {
+
+    /**
+     * 選択ノードごとにキーが異なるテスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"name\": \"banana\", \"code\": \"B001\"}},"
+            + "{\"node\": {\"price\": \"100\", \"nested\": {\"a\": \"b\"}, \"name\": null}}]}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 固定されたスキーマの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・スキーマに含まれる属性のみにスロットが割り当てられること
+     * ・読み込み時にスロットが追加されないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testFixed() {
+
+        final ContentSchema schema = ContentSchema.of(List.of("code", "name"));
+
+        assertEquals(2, schema.size());
+        assertEquals("code", schema.getName(0));
+        assertArrayEquals(new int[] { 1, 0, -1 }, schema.slotsOf(new String[] { "name", "code", "price" }));
+        assertEquals(-1, schema.slotForRead("price"));
+        assertEquals(2, schema.size());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 推論されるスキーマで選択ノードを読み込んだ際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・全ての選択ノードのキーの和集合が最初に出現した順にスロットとして割り当てられること
+     * ・全ての選択ノードが同じスキーマを共有すること
+     * ・後から追加されたスロットの値は {@code null} として扱われること
+     * ・入れ子のオブジェクトは読み飛ばされること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testInferred() {
+
+        final List<SelectionNode> selectionNodes = new ArrayList<>();
+
+        try (ContentReader reader = ContentReader
+                .of(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)))) {
+            while (reader.next() != null) {
+                selectionNodes.add(reader.getSelectionNode());
+            }
+
+            final ContentSchema schema = reader.getSchema();
+
+            assertArrayEquals(new int[] { 0, 1, 2, 3, -1 },
+                    schema.slotsOf(new String[] { "conditionId", "code", "name", "price", "nested" }));
+
+            for (SelectionNode selectionNode : selectionNodes) {
+                assertSame(schema, selectionNode.getSchema());
+            }
+        }
+
+        assertEquals(2, selectionNodes.get(0).size());
+        assertEquals("A001", selectionNodes.get(0).get("code"));
+        assertNull(selectionNodes.get(0).get("name"));
+        assertEquals("B001", selectionNodes.get(1).get("code"));
+        assertEquals("1", selectionNodes.get(1).getConditionId());
+        assertEquals("", selectionNodes.get(2).getConditionId());
+        assertNull(selectionNodes.get(2).get("code"));
+        assertEquals("100", selectionNodes.get(2).get("price"));
+        assertNull(selectionNodes.get(2).get("nested"));
+
+        final Map<String, String> expected = new HashMap<>();
+        expected.put("name", null);
+        expected.put("price", "100");
+        assertEquals(expected, selectionNodes.get(2).toContent(Set.of("name", "price")));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 推論されるスキーマに複数のスレッドから同時にスロットを追加した場合の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・同じ属性名には全てのスレッドで同じスロットが割り当てられること
+     * ・スロットは重複せず、各スロットから割り当てられた属性名が取得できること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testConcurrentGrowth() throws Exception {
+
+        final ContentSchema schema = ContentSchema.inferred();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            final List<Future<int[]>> futures = new ArrayList<>();
+
+            for (int thread = 0; thread < 4; thread++) {
+                futures.add(executor.submit(() -> {
+                    final int[] slots = new int[200];
+
+                    for (int i = 0; i < slots.length; i++) {
+                        slots[i] = schema.slotForRead("attribute" + i);
+                    }
+
+                    return slots;
+                }));
+            }
+
+            final int[] expected = futures.get(0).get();
+
+            for (Future<int[]> future : futures) {
+                assertArrayEquals(expected, future.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(200, schema.size());
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals("attribute" + i, schema.getName(schema.slotOf("attribute" + i)));
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentStoreCache} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentStoreCacheTest {
+
+    /**
+     * テスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"selectionNodes\": [{\"node\": {\"conditionId\": \"\", \"result\": \"a\"}}]}";
+
+    @AfterEach
+    void tearDown() {
+        ContentStoreCache.clear();
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 複数のスレッドから同時に {@link ContentStoreCache#get(Class, Supplier)} メソッドを実行した際の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・ローダーが一度だけ実行されること
+     * ・全てのスレッドに同じ {@link ContentStore} が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testConcurrentLoads() throws Exception {
+
+        final int threads = 16;
+        final AtomicInteger loads = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(threads);
+        final CountDownLatch release = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<ContentStore>> futures = new ArrayList<>();
+
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    return ContentStoreCache.get(ContentStoreCacheTest.class, () -> {
+                        loads.incrementAndGet();
+                        await(release);
+                        return load();
+                    });
+                }));
+            }
+
+            started.await();
+            Thread.sleep(100);
+            release.countDown();
+
+            final ContentStore store = futures.get(0).get();
+
+            for (Future<ContentStore> future : futures) {
+                assertSame(store, future.get());
+            }
+
+            assertEquals(1, loads.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * ローダーが失敗した場合の {@link ContentStoreCache#get(Class, Supplier)} メソッドの動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・ローダーの例外がそのまま送出されること
+     * ・次の呼び出しで再度ロードされること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testFailedLoad() {
+
+        assertThrows(ContentHandlingException.class, () -> ContentStoreCache.get(ContentStoreCacheTest.class, () -> {
+            throw new ContentHandlingException("failed");
+        }));
+
+        final ContentStore store = ContentStoreCache.get(ContentStoreCacheTest.class, this::load);
+
+        assertSame(store, ContentStoreCache.get(ContentStoreCacheTest.class, this::load));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentStoreCache#evict(Class)} メソッドの動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・削除後の呼び出しで再度ロードされること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testEvict() {
+
+        final ContentStore store = ContentStoreCache.get(ContentStoreCacheTest.class, this::load);
+        ContentStoreCache.evict(ContentStoreCacheTest.class);
+
+        assertNotSame(store, ContentStoreCache.get(ContentStoreCacheTest.class, this::load));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentStoreCache#getIfLoaded(Class)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・ロード前は空が返却され、ロードが実行されないこと
+     * ・ロード後はロードされた {@link ContentStore} が返却されること
+     * ・{@link ContentStoreCache#clear()} の後は空が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testGetIfLoaded() {
+
+        assertTrue(ContentStoreCache.getIfLoaded(ContentStoreCacheTest.class).isEmpty());
+
+        final ContentStore store = ContentStoreCache.get(ContentStoreCacheTest.class, this::load);
+
+        assertSame(store, ContentStoreCache.getIfLoaded(ContentStoreCacheTest.class).get());
+
+        ContentStoreCache.clear();
+
+        assertTrue(ContentStoreCache.getIfLoaded(ContentStoreCacheTest.class).isEmpty());
+        assertNotSame(store, ContentStoreCache.get(ContentStoreCacheTest.class, this::load));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link ContentBundle#uninstall()} メソッドでキャッシュが削除されることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link ContentBundle#uninstall()} の後の呼び出しで再度ロードされること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testEvictOnBundleChange() {
+
+        final ContentStore store = ContentStoreCache.get(ContentStoreCacheTest.class, this::load);
+        ContentBundle.uninstall();
+
+        assertTrue(ContentStoreCache.getIfLoaded(ContentStoreCacheTest.class).isEmpty());
+        assertNotSame(store, ContentStoreCache.get(ContentStoreCacheTest.class, this::load));
+    }
+
+    private ContentStore load() {
+        return ContentStore.load(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
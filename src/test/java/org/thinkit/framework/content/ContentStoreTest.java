@@ -0,0 +1,899 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link ContentStore} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class ContentStoreTest {
+
+    /**
+     * 索引の検証に使用するテスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"apple\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"B001\", \"name\": \"banana\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"code\": \"A001\", \"name\": \"apricot\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\"}}],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}}]}";
+
+    /**
+     * メタデータで主キーを宣言したテスト用コンテンツ
+     */
+    private static final String KEYED_CONTENT = "{\"metadata\": {\"primaryKey\": \"code\"},"
+            + "\"selectionNodes\": [" + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"apple\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"code\": \"B001\", \"name\": \"banana\"}}],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}}]}";
+
+    /**
+     * テスト用コンテンツの索引定義
+     */
+    private static final IndexDefinition DEFINITION = IndexDefinition.builder().indexes(Set.of("code", "none"))
+            .build();
+
+    /**
+     * {@link ContentStore#select} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestSelect {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 条件ありで {@link ContentStore#select(Set, List)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentLoader#load(InputStream, Set, List)} と同じレコードが同じ順番で返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWithConditions() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT));
+            final List<Map<String, String>> conditions = List.of(Map.of("key", "1"));
+
+            assertEquals(4, store.size());
+            assertEquals(ContentLoader.load(toStream(CONTENT), Set.of("code", "name"), conditions),
+                    store.select(Set.of("code", "name"), conditions));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 条件なしで {@link ContentStore#select(Set)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件なしのレコードのみが返却されること
+         * ・選択ノードに定義されていない属性の値が {@code null} であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testWithoutConditions() {
+
+            final List<Map<String, String>> contents = ContentStore.load(toStream(CONTENT))
+                    .select(Set.of("name"));
+
+            assertEquals(3, contents.size());
+            assertEquals("apple", contents.get(0).get("name"));
+            assertEquals("banana", contents.get(1).get("name"));
+            assertTrue(contents.get(2).containsKey("name"));
+            assertNull(contents.get(2).get("name"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentStore#selectFirst(Set, List)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentStore#select(Set, List)} の先頭のレコードが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSelectFirst() {
+
+            final ContentStore store = ContentStore.load(toStream(KEYED_CONTENT));
+
+            assertEquals(Optional.of(Map.of("name", "apple")),
+                    store.selectFirst(Set.of("name"), List.of(Map.of("key", "1"))));
+            assertEquals(store.select(Set.of("code"), List.of(Map.of("key", "1"))).stream().findFirst(),
+                    store.selectFirst(Set.of("code"), List.of(Map.of("key", "1"))));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentStore#selectUnique(Set, List)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・一致するレコードが1件の場合そのレコードが返却されること
+         * ・一致するレコードが複数存在する場合 {@link ContentHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSelectUnique() {
+
+            final ContentStore store = ContentStore.load(toStream(KEYED_CONTENT));
+
+            assertEquals(Optional.of(Map.of("name", "apple")),
+                    store.selectUnique(Set.of("name"), List.of(Map.of("key", "2"))));
+            assertThrows(ContentHandlingException.class,
+                    () -> store.selectUnique(Set.of("name"), List.of(Map.of("key", "1"))));
+        }
+    }
+
+    /**
+     * {@link ContentStore#find} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestFind {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 索引を定義した属性で {@link ContentStore#find(Set, List, String, String)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・属性の値が一致し条件に一致するレコードがコンテンツに定義された順番で返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testIndexedAttribute() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT), DEFINITION);
+            final List<Map<String, String>> contents = store.find(Set.of("name"), List.of(Map.of("key", "1")),
+                    "code", "A001");
+
+            assertTrue(store.isIndexed("code"));
+            assertEquals(3, contents.size());
+            assertEquals("apple", contents.get(0).get("name"));
+            assertEquals("apricot", contents.get(1).get("name"));
+            assertNull(contents.get(2).get("name"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 索引を定義していない属性で {@link ContentStore#find(Set, String, String)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・索引を定義した場合と同じレコードが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testNotIndexedAttribute() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT));
+
+            assertFalse(store.isIndexed("code"));
+            assertEquals(ContentStore.load(toStream(CONTENT), DEFINITION).find(Set.of("name"), "code", "A001"),
+                    store.find(Set.of("name"), "code", "A001"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 一致する値が存在しない場合の {@link ContentStore#find(Set, String, String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・存在しない値、存在しない属性のいずれの場合も空のリストが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testNotFound() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT), DEFINITION);
+
+            assertTrue(store.find(Set.of("name"), "code", "C001").isEmpty());
+            assertTrue(store.find(Set.of("name"), "none", "A001").isEmpty());
+            assertTrue(store.find(Set.of("name"), "unknown", "A001").isEmpty());
+        }
+    }
+
+    /**
+     * {@link ContentStore#findByPrefix} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestFindByPrefix {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 接頭辞索引を定義した属性で {@link ContentStore#findByPrefix(Set, List, String, String)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・属性の値が接頭辞で始まり条件に一致するレコードがコンテンツに定義された順番で返却されること
+         * ・接頭辞索引を定義しない場合と同じレコードが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testPrefixIndexedAttribute() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT),
+                    IndexDefinition.builder().prefixIndexes(Set.of("name")).build());
+            final List<Map<String, String>> contents = store.findByPrefix(Set.of("code"),
+                    List.of(Map.of("key", "1")), "name", "ap");
+
+            assertTrue(store.isPrefixIndexed("name"));
+            assertEquals(2, contents.size());
+            assertEquals("A001", contents.get(0).get("code"));
+            assertEquals("A001", contents.get(1).get("code"));
+            assertEquals(ContentStore.load(toStream(CONTENT)).findByPrefix(Set.of("code"), "name", "a"),
+                    store.findByPrefix(Set.of("code"), "name", "a"));
+            assertTrue(store.findByPrefix(Set.of("code"), "name", "c").isEmpty());
+        }
+    }
+
+    /**
+     * {@link ContentStore#findByRange} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestFindByRange {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 範囲索引を定義した属性で {@link ContentStore#findByRange(Set, String, NumericRange)} メソッドを実行した際の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・属性の値が範囲に含まれるレコードがコンテンツに定義された順番で返却されること
+         * ・範囲索引を定義しない場合と同じレコードが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testRangeIndexedAttribute() {
+
+            final String content = "{\"selectionNodes\": ["
+                    + "{\"node\": {\"conditionId\": \"\", \"code\": \"A\", \"price\": \"300\"}},"
+                    + "{\"node\": {\"conditionId\": \"\", \"code\": \"B\", \"price\": \"100\"}},"
+                    + "{\"node\": {\"conditionId\": \"\", \"code\": \"C\", \"price\": \"-\"}},"
+                    + "{\"node\": {\"conditionId\": \"\", \"code\": \"D\", \"price\": \"200\"}}]}";
+            final ContentStore store = ContentStore.load(toStream(content),
+                    IndexDefinition.builder().rangeIndexes(Set.of("price")).build());
+            final List<Map<String, String>> contents = store.findByRange(Set.of("code"), "price",
+                    NumericRange.atLeast(150));
+
+            assertTrue(store.isRangeIndexed("price"));
+            assertEquals(2, contents.size());
+            assertEquals("A", contents.get(0).get("code"));
+            assertEquals("D", contents.get(1).get("code"));
+            assertEquals(ContentStore.load(toStream(content)).findByRange(Set.of("code"), "price",
+                    NumericRange.lessThan(300)), store.findByRange(Set.of("code"), "price", NumericRange.lessThan(300)));
+        }
+    }
+
+    /**
+     * 集計メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestAggregation {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentStore#count(List)} 、{@link ContentStore#distinct(List, String)} 、{@link ContentStore#groupByCount(List, String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・条件に一致するレコードのみが集計されること
+         * ・値が初めて現れた順番で返却されること
+         * ・{@code null} の値は集計されないこと
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testCountAndDistinct() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT));
+            final List<Map<String, String>> conditions = List.of(Map.of("key", "1"));
+
+            assertEquals(3, store.count());
+            assertEquals(4, store.count(conditions));
+            assertEquals(List.of("A001", "B001"), List.copyOf(store.distinct("code")));
+            assertEquals(List.of("apple", "banana", "apricot"), List.copyOf(store.distinct(conditions, "name")));
+            assertEquals(Map.of("A001", 3, "B001", 1), store.groupByCount(conditions, "code"));
+            assertEquals(Map.of("A001", 2, "B001", 1), store.groupByCount("code"));
+            assertTrue(store.distinct("unknown").isEmpty());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * {@link ContentStore#min(String)} 、{@link ContentStore#max(String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての値が数値の場合は数値として比較されること
+         * ・数値でない値が含まれる場合は文字列として比較されること
+         * ・値が存在しない場合は空が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testMinAndMax() {
+
+            final ContentStore store = ContentStore.load(toStream("{\"selectionNodes\": ["
+                    + "{\"node\": {\"conditionId\": \"\", \"price\": \"20\", \"code\": \"b\"}},"
+                    + "{\"node\": {\"conditionId\": \"\", \"price\": \"100\", \"code\": \"a\"}},"
+                    + "{\"node\": {\"conditionId\": \"\", \"price\": \"3.5\", \"code\": \"10\"}}]}"));
+
+            assertEquals(Optional.of("3.5"), store.min("price"));
+            assertEquals(Optional.of("100"), store.max("price"));
+            assertEquals(Optional.of("10"), store.min("code"));
+            assertEquals(Optional.of("b"), store.max("code"));
+            assertTrue(store.min("unknown").isEmpty());
+        }
+    }
+
+    /**
+     * {@link ContentStore#get} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestGet {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * メタデータで主キーを宣言した場合の {@link ContentStore#get(Set, List, String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・主キーの値が一致し条件に一致するレコードが返却されること
+         * ・条件に一致しない場合、主キーの値が存在しない場合は空が返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testPrimaryKeyInMetadata() {
+
+            final ContentStore store = ContentStore.load(toStream(KEYED_CONTENT));
+
+            assertEquals("code", store.getPrimaryKey().get());
+            assertEquals("apple", store.get(Set.of("name"), "A001").get().get("name"));
+            assertEquals("banana", store.get(Set.of("name"), List.of(Map.of("key", "1")), "B001").get().get("name"));
+            assertTrue(store.get(Set.of("name"), "B001").isEmpty());
+            assertTrue(store.get(Set.of("name"), "C001").isEmpty());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 索引定義で主キーを宣言した場合の {@link ContentStore#get(Set, String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・索引定義の主キーがメタデータの主キーより優先されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testPrimaryKeyInDefinition() {
+
+            final ContentStore store = ContentStore.load(toStream(KEYED_CONTENT),
+                    IndexDefinition.builder().primaryKey("name").build());
+
+            assertEquals("A001", store.get(Set.of("code"), "apple").get().get("code"));
+            assertTrue(store.get(Set.of("code"), "A001").isEmpty());
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 大量の選択ノードに対する {@link ContentStore#get(Set, String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての主キーの値に対して対応するレコードが返却されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testManySelectionNodes() {
+
+            final StringBuilder content = new StringBuilder("{\"selectionNodes\": [");
+
+            for (int i = 0; i < 1000; i++) {
+                content.append(i == 0 ? "" : ",").append("{\"node\": {\"conditionId\": \"\", \"code\": \"")
+                        .append(i).append("\"}}");
+            }
+
+            final ContentStore store = ContentStore.load(toStream(content.append("]}").toString()),
+                    IndexDefinition.builder().primaryKey("code").build());
+
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(String.valueOf(i), store.get(Set.of("code"), String.valueOf(i)).get().get("code"));
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 主キーが不正な場合の {@link ContentStore} の動作を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・主キーを宣言していない場合は {@link ContentHandlingException} が発生すること
+         * ・主キーの値が重複している場合は {@link ContentHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testInvalidPrimaryKey() {
+            assertThrows(ContentHandlingException.class,
+                    () -> ContentStore.load(toStream(CONTENT)).get(Set.of("name"), "A001"));
+            assertThrows(ContentHandlingException.class,
+                    () -> ContentStore.load(toStream(CONTENT), IndexDefinition.builder().primaryKey("code").build()));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 主キーを宣言したコンテンツに選択ノードがない場合の {@link ContentStore#get(Set, List, String)} メソッドの返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link Optional#empty()} が返却されること
+         * ・{@link ContentStore#getRecord(List, String)} も {@link Optional#empty()} を返却すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testNoSelectionNodes() {
+
+            final ContentStore store = ContentStore.load(toStream(
+                    "{\"metadata\": {\"primaryKey\": \"code\"}, \"selectionNodes\": [], \"conditionNodes\": []}"));
+
+            assertEquals(Optional.empty(), store.get(Set.of("name"), "A001"));
+            assertEquals(Optional.empty(), store.get(Set.of("name"), List.of(Map.of("key", "1")), "A001"));
+            assertEquals(Optional.empty(), store.getRecord(List.of(), "A001"));
+        }
+    }
+
+    /**
+     * オフヒープ保存のテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestOffHeap {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * オフヒープ保存を指定した {@link ContentStore} の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての検索、集計の結果がヒープ保存の場合と同じであること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSameAsHeap() {
+
+            final ContentStore heap = ContentStore.load(toStream(KEYED_CONTENT),
+                    IndexDefinition.builder().indexes(Set.of("name")).build());
+            final ContentStore offHeap = ContentStore.load(toStream(KEYED_CONTENT),
+                    IndexDefinition.builder().indexes(Set.of("name")).offHeap(true).build());
+            final Set<String> attributes = Set.of("code", "name", "unknown");
+            final List<Map<String, String>> conditions = List.of(Map.of("key", "1"));
+
+            assertEquals(heap.select(attributes, conditions), offHeap.select(attributes, conditions));
+            assertEquals(heap.find(attributes, conditions, "name", "banana"),
+                    offHeap.find(attributes, conditions, "name", "banana"));
+            assertEquals(heap.find(attributes, "code", "A001"), offHeap.find(attributes, "code", "A001"));
+            assertTrue(offHeap.find(attributes, "code", "Z999").isEmpty());
+            assertTrue(offHeap.find(attributes, "name", "cherry").isEmpty());
+            assertEquals(heap.get(attributes, conditions, "B001"), offHeap.get(attributes, conditions, "B001"));
+            assertEquals(heap.findByPrefix(attributes, "name", "ap"), offHeap.findByPrefix(attributes, "name", "ap"));
+            assertEquals(heap.groupByCount(conditions, "code"), offHeap.groupByCount(conditions, "code"));
+            assertEquals(heap.max("name"), offHeap.max("name"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 読み込み中にオフヒープへ書き込まれた多数の選択ノードに対する集計と走査の結果を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・列の容量を超える選択ノードを読み込めること
+         * ・途中の選択ノードで初めて定義された属性が前の選択ノードで {@code null} になること
+         * ・索引のない属性の前方一致と範囲の検索結果がヒープ保存の場合と同じであること
+         * ・件数の集計、重複の除去、最小値と最大値がヒープ保存の場合と同じであること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testManySelectionNodes() {
+
+            final StringBuilder content = new StringBuilder("{\"selectionNodes\": [");
+
+            for (int i = 0; i < 1000; i++) {
+                content.append(i == 0 ? "" : ",").append(String.format(
+                        "{\"node\": {\"conditionId\": \"%s\", \"code\": \"C%03d\", \"group\": \"G%d\"%s}}",
+                        i % 3 == 0 ? "1" : "", i, i % 7, i < 500 ? "" : String.format(", \"price\": \"%d\"", i % 50)));
+            }
+
+            content.append("], \"conditionNodes\": [{\"node\": {\"conditionId\": \"1\", \"exclude\": false, "
+                    + "\"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}}]}");
+
+            final ContentStore heap = ContentStore.load(toStream(content.toString()));
+            final ContentStore offHeap = ContentStore.load(toStream(content.toString()),
+                    IndexDefinition.builder().offHeap(true).build());
+            final Set<String> attributes = Set.of("code", "group", "price");
+            final List<Map<String, String>> conditions = List.of(Map.of("key", "1"));
+
+            assertEquals(heap.select(attributes, conditions), offHeap.select(attributes, conditions));
+            assertNull(offHeap.select(attributes, conditions).get(0).get("price"));
+            assertEquals(heap.findByPrefix(attributes, "code", "C12"), offHeap.findByPrefix(attributes, "code", "C12"));
+            assertEquals(heap.findByRange(attributes, conditions, "price", NumericRange.between(10, 20)),
+                    offHeap.findByRange(attributes, conditions, "price", NumericRange.between(10, 20)));
+            assertEquals(heap.groupByCount(conditions, "group"), offHeap.groupByCount(conditions, "group"));
+            assertEquals(List.copyOf(heap.distinct("price")), List.copyOf(offHeap.distinct("price")));
+            assertEquals(heap.min(conditions, "price"), offHeap.min(conditions, "price"));
+            assertEquals(Optional.of("49"), offHeap.max("price"));
+        }
+    }
+
+    /**
+     * {@link ContentStore#selectEnum} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestSelectEnum {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 列挙型のアトリビュートと条件でレコードを取得できることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・{@link ContentStore#select(Set, List)} と同じレコードが同じ順番で返却されること
+         * ・レコードが {@link EnumMap} として返却されること
+         * ・列挙型でない条件のキーも解決されること
+         * ・コンテンツに存在しないアトリビュートの値は {@code null} であること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSelectEnum() {
+
+            final ContentStore store = ContentStore.load(toStream(CONTENT));
+            final Set<TestAttribute> attributes = EnumSet.allOf(TestAttribute.class);
+            final Condition stringKey = () -> "key";
+
+            for (List<Map<Condition, String>> conditions : List.of(List.<Map<Condition, String>>of(),
+                    List.<Map<Condition, String>>of(Map.of(TestCondition.KEY, "1")),
+                    List.<Map<Condition, String>>of(Map.of(TestCondition.KEY, "2")),
+                    List.<Map<Condition, String>>of(Map.of(stringKey, "1")),
+                    List.<Map<Condition, String>>of(Map.of(TestCondition.UNKNOWN, "1")))) {
+
+                final List<Map<String, String>> stringConditions = new ArrayList<>();
+                conditions.forEach(condition -> condition
+                        .forEach((key, operand) -> stringConditions.add(Map.of(key.getString(), operand))));
+
+                final List<Map<String, String>> expected = store.select(Set.of("code", "name", "unknown"),
+                        stringConditions);
+                final List<EnumMap<TestAttribute, String>> actual = store.selectEnum(TestAttribute.class,
+                        attributes, conditions);
+
+                assertEquals(expected.size(), actual.size());
+
+                for (int i = 0; i < expected.size(); i++) {
+                    for (TestAttribute attribute : attributes) {
+                        assertEquals(expected.get(i).get(attribute.getString()), actual.get(i).get(attribute));
+                    }
+                }
+            }
+
+            assertEquals(4, store.selectEnum(TestAttribute.class, EnumSet.of(TestAttribute.CODE),
+                    List.of(Map.of(TestCondition.KEY, "1"))).size());
+            assertNull(store.selectEnum(TestAttribute.class, EnumSet.of(TestAttribute.UNKNOWN), List.of()).get(0)
+                    .get(TestAttribute.UNKNOWN));
+            assertThrows(IllegalArgumentException.class,
+                    () -> store.selectEnum(TestAttribute.class, EnumSet.noneOf(TestAttribute.class), List.of()));
+        }
+    }
+
+    /**
+     * {@link ContentStore#loadParallel} メソッドのテストケースを管理するインナークラスです。
+     */
+    @Nested
+    class TestLoadParallel {
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 選択ノードを並列に解析した {@link ContentStore} の返却値を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全ての検索の結果が逐次に読み込んだ場合と同じであること
+         * ・メタデータで宣言された主キーとデータ型が使用されること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testSameAsSequential() {
+
+            final String content = "{\"metadata\": {\"primaryKey\": \"code\", \"dataTypes\": {\"price\": \"int\"}},"
+                    + "\"selectionNodes\": ["
+                    + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"price\": \"100\"}},"
+                    + "{\"node\": {\"conditionId\": \"1\", \"code\": \"B001\", \"price\": \"200\"}}],"
+                    + "\"conditionNodes\": ["
+                    + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}}]}";
+            final ContentStore sequential = ContentStore.load(toStream(content), DEFINITION);
+            final ContentStore parallel = ContentStore.load(toStream(content),
+                    IndexDefinition.builder().indexes(Set.of("code", "none")).parallel(true).build());
+            final Set<String> attributes = Set.of("code", "price");
+            final List<Map<String, String>> conditions = List.of(Map.of("key", "1"));
+
+            assertEquals(sequential.select(attributes, conditions), parallel.select(attributes, conditions));
+            assertEquals(sequential.find(attributes, "code", "A001"), parallel.find(attributes, "code", "A001"));
+            assertEquals(sequential.get(attributes, conditions, "B001"), parallel.get(attributes, conditions, "B001"));
+            assertEquals(DataType.INT, parallel.getDataType("price"));
+            assertEquals(200, parallel.getRecord(conditions, "B001").get().getInt("price"));
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 複数の範囲に分割して並列に解析される大きなコンテンツを読み込めることを確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・全てのレコードがコンテンツに定義された順番で返却されること
+         * ・途中の選択ノードで初めて定義された属性が前の選択ノードで {@code null} になること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testLargeContent() {
+
+            final int size = 10000;
+            final StringBuilder content = new StringBuilder("{\"selectionNodes\": [");
+
+            for (int i = 0; i < size; i++) {
+                content.append(i == 0 ? "" : ",").append(String.format(
+                        "{\"node\": {\"conditionId\": \"\", \"code\": \"C%05d\"%s}}", i,
+                        i < size / 2 ? "" : String.format(", \"name\": \"name of %05d\"", i)));
+            }
+
+            content.append("], \"conditionNodes\": []}");
+
+            final ForkJoinPool pool = new ForkJoinPool(4);
+
+            try {
+                final ContentStore parallel = ContentStore.loadParallel(toStream(content.toString()),
+                        IndexDefinition.none(), pool);
+                final ContentStore sequential = ContentStore.load(toStream(content.toString()));
+                final List<Map<String, String>> records = parallel.select(Set.of("code", "name"), List.of());
+
+                assertEquals(size, records.size());
+                assertEquals(sequential.select(Set.of("code", "name"), List.of()), records);
+                assertNull(records.get(0).get("name"));
+                assertEquals("name of 09999", records.get(size - 1).get("name"));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        /**
+         * <pre>
+         * ❏ 概要
+         * 不正なコンテンツを並列に読み込んだ際の挙動を確認する。
+         * </pre>
+         *
+         * <pre>
+         * ❏ 観点
+         * ・構造が不正な場合は {@link ContentHandlingException} が発生すること
+         * ・選択ノードの値が不正な場合は {@link ContentHandlingException} が発生すること
+         * </pre>
+         *
+         * <pre>
+         * ❏ 留意点
+         * なし
+         * </pre>
+         */
+        @Test
+        void testMalformed() {
+
+            final IndexDefinition definition = IndexDefinition.builder().parallel(true).build();
+
+            for (String content : List.of("{\"selectionNodes\": [{\"node\": {}}",
+                    "{\"selectionNodes\": [{\"node\": {\"code\": A001}}], \"conditionNodes\": []}")) {
+                assertThrows(ContentHandlingException.class, () -> ContentStore.load(toStream(content), definition),
+                        content);
+            }
+        }
+    }
+
+    /**
+     * テスト用のアトリビュートです。
+     */
+    private enum TestAttribute implements Attribute {
+        CODE, NAME, UNKNOWN;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    /**
+     * テスト用の条件です。
+     */
+    private enum TestCondition implements Condition {
+        UNKNOWN, KEY;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    private InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
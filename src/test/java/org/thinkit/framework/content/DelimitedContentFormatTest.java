@@ -0,0 +1,231 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link DelimitedContentFormat} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class DelimitedContentFormatTest {
+
+    /**
+     * テスト用のCSVコンテンツ
+     */
+    private static final String CSV_CONTENT = "#metadata,primaryKey,code\r\n" + "# comment\r\n"
+            + "#conditionNode,1,type,fruit\r\n" + "#conditionNode,2,type,fruit,color,red\r\n"
+            + "conditionId,code,name\r\n" + ",A001,apple\r\n" + "1,B001,banana\r\n" + "2,C001,cherry\r\n"
+            + "\r\n" + ",D001,\"date, \"\"dried\"\"\"\r\n";
+
+    /**
+     * テスト用CSVコンテンツと同じノードを持つJSONコンテンツ
+     */
+    private static final String JSON_CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"apple\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"code\": \"B001\", \"name\": \"banana\"}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"code\": \"C001\", \"name\": \"cherry\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"D001\", \"name\": \"date, \\\"dried\\\"\"}}],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"fruit\"}]}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"fruit\"}, {\"keyName\": \"color\", \"operator\": \"=\", \"operand\": \"red\"}]}}]}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * CSVコンテンツから取得したレコードを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・同じノードを持つJSONコンテンツと同じレコードが同じ順番で返却されること
+     * ・ディレクティブで定義された条件ノードが使用されること
+     * ・引用符で囲まれたフィールドの区切り文字と二重引用符が値として読み込まれること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testParity() {
+
+        final Set<String> attributes = Set.of("code", "name", "conditionId");
+
+        for (List<Map<String, String>> conditions : List.of(List.<Map<String, String>>of(),
+                List.of(Map.of("type", "fruit")), List.of(Map.of("type", "fruit", "color", "red")),
+                List.of(Map.of("type", "fruit", "color", "blue")), List.of(Map.of("type", "meat")))) {
+            assertEquals(ContentLoader.load(toStream(JSON_CONTENT), attributes, conditions),
+                    ContentLoader.load(toStream(CSV_CONTENT), ContentFormat.csv(), attributes, conditions));
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * CSVコンテンツを {@link ContentStore} に読み込めることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・ディレクティブで定義されたメタデータの主キーが使用されること
+     * ・同じノードを持つJSONコンテンツと同じレコードが返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testContentStore() {
+
+        final ContentStore store = ContentStore.load(toStream(CSV_CONTENT), ContentFormat.csv(),
+                IndexDefinition.none());
+        final ContentStore expected = ContentStore.load(toStream(JSON_CONTENT));
+        final List<Map<String, String>> conditions = List.of(Map.of("type", "fruit"));
+
+        assertEquals(expected.select(Set.of("code", "name"), conditions),
+                store.select(Set.of("code", "name"), conditions));
+        assertEquals("banana", store.get(Set.of("name"), conditions, "B001").get().get("name"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * ディレクティブで宣言したデータ型が {@link ContentStore} で使用されることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@code #dataType} で宣言した属性のデータ型が返却されること
+     * ・宣言したデータ型で値を取得できること
+     * ・宣言していない属性のデータ型は文字列であること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testDataTypes() {
+
+        final ContentStore store = ContentStore.load(
+                toStream("#metadata,primaryKey,code\n#dataType,price,int\ncode,price\nA001,100\nB001,200\n"),
+                ContentFormat.csv(), IndexDefinition.none());
+
+        assertEquals(DataType.INT, store.getDataType("price"));
+        assertEquals(DataType.STRING, store.getDataType("code"));
+        assertEquals(200, store.getRecord("B001").get().getInt("price"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * フィールドの解析規則を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・引用符で囲まれていない空のフィールドは {@code null} として読み込まれること
+     * ・引用符で囲まれた空のフィールドは空文字列として読み込まれること
+     * ・引用符で囲まれたフィールドの改行が値として読み込まれること
+     * ・不足しているフィールドは {@code null} として読み込まれること
+     * ・BOM と改行コード CR が扱えること
+     * ・ヘッダー行の後の {@code #} で始まる行はデータとして読み込まれること
+     * ・TSV ではタブが区切り文字として扱われること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testFields() {
+
+        final Set<String> attributes = Set.of("a", "b", "c");
+        final List<Map<String, String>> contents = ContentLoader.load(
+                toStream("﻿a,b,c\r,\"\",\"x\ny\"\r#1\r"), ContentFormat.csv(), attributes, List.of());
+
+        assertEquals(List.of(toMap(null, "", "x\ny"), toMap("#1", null, null)), contents);
+        assertEquals(List.of(toMap("1,2", "3", null)), ContentLoader.load(toStream("a\tb\tc\n1,2\t3\n"),
+                ContentFormat.tsv(), attributes, List.of()));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 不正なCSVコンテンツを読み込んだ際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・閉じられていない引用符がある場合は {@link ContentHandlingException} が発生すること
+     * ・ヘッダー行よりフィールドが多い行がある場合は {@link ContentHandlingException} が発生すること
+     * ・閉じ引用符の後に文字がある場合は {@link ContentHandlingException} が発生すること
+     * ・不正なディレクティブがある場合は {@link ContentHandlingException} が発生すること
+     * ・属性名またはタグのないデータ型のディレクティブがある場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testMalformed() {
+
+        final Set<String> attributes = Set.of("a");
+
+        for (String content : Arrays.asList("a\n\"1\n", "a\n1,2\n", "a\n\"1\"x\n", "#conditionNode,1,key\na\n",
+                "#metadata,key\na\n", "#dataType,price\na\n", "#dataType,,int\na\n", "a,,b\n")) {
+            assertThrows(ContentHandlingException.class,
+                    () -> ContentLoader.load(toStream(content), ContentFormat.csv(), attributes, List.of()),
+                    content);
+        }
+    }
+
+    private static Map<String, String> toMap(final String a, final String b, final String c) {
+
+        final Map<String, String> content = new HashMap<>();
+        content.put("a", a);
+        content.put("b", b);
+        content.put("c", c);
+
+        return content;
+    }
+
+    private static InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+/**
+ * {@link IndexDefinition} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class IndexDefinitionTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link IndexDefinition#of(ContentMapping)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link ContentMapping#indexes()} に宣言した属性名が索引定義に設定されていること
+     * ・{@link ContentMapping#prefixIndexes()} に宣言した属性名が索引定義に設定されていること
+     * ・{@link ContentMapping#rangeIndexes()} に宣言した属性名が索引定義に設定されていること
+     * ・{@link ContentMapping#primaryKey()} に宣言した主キーが索引定義に設定されていること
+     * ・{@link ContentMapping#parallel()} に宣言した並列読み込みの指定が索引定義に設定されていること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testOf() {
+        assertEquals(Set.of("code", "name"),
+                IndexDefinition.of(IndexedContent.class.getAnnotation(ContentMapping.class)).getIndexes());
+        assertEquals(Set.of("name"),
+                IndexDefinition.of(IndexedContent.class.getAnnotation(ContentMapping.class)).getPrefixIndexes());
+        assertEquals(Set.of("price"),
+                IndexDefinition.of(IndexedContent.class.getAnnotation(ContentMapping.class)).getRangeIndexes());
+        assertEquals("code",
+                IndexDefinition.of(IndexedContent.class.getAnnotation(ContentMapping.class)).getPrimaryKey());
+        assertTrue(IndexDefinition.of(IndexedContent.class.getAnnotation(ContentMapping.class)).isParallel());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link IndexDefinition#none()} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・索引が定義されていないこと
+     * ・並列読み込みが指定されていないこと
+     * ・ビルダーで索引を指定しない場合と等価であること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testNone() {
+        assertTrue(IndexDefinition.none().getIndexes().isEmpty());
+        assertTrue(IndexDefinition.none().getPrimaryKey().isEmpty());
+        assertFalse(IndexDefinition.none().isParallel());
+        assertEquals(IndexDefinition.builder().build(), IndexDefinition.none());
+    }
+
+    @ContentMapping(content = "test", indexes = { "code", "name", "code" }, prefixIndexes = "name", rangeIndexes = "price", primaryKey = "code", parallel = true)
+    private static final class IndexedContent {
+    }
+}
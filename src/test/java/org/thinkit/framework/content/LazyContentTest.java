@@ -0,0 +1,283 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link LazyContent} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class LazyContentTest {
+
+    /**
+     * 遅延読み込みの検証に使用するテスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"metadata\": {\"description\": \"{[\\\"]}\"}, \"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"りんご\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"code\": \"B001\", \"name\": \"b}a]n\\\"a\"}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"code\": \"C001\", \"name\": null, \"extra\": [1, {\"a\": 2}]}}],"
+            + "\"other\": [1, 2.5, true, null],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"1\"}]}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"exclude\": false, \"conditions\": [{\"keyName\": \"key\", \"operator\": \"=\", \"operand\": \"2\"}]}}]}";
+
+    /**
+     * テスト用コンテンツの取得対象の属性
+     */
+    private static final Set<String> ATTRIBUTES = Set.of("code", "name");
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * コンテンツを開いた際の節点の数を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・BOM、文字列中の括弧、エスケープされた引用符、他のキーの値が節点として数えられないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testNodeCount() {
+
+        final LazyContent content = LazyContent.of(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(3, content.selectionNodeCount());
+        assertEquals(2, content.conditionNodeCount());
+        assertEquals(3, LazyContent.of(("\uFEFF" + CONTENT).getBytes(StandardCharsets.UTF_8)).selectionNodeCount());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link LazyContent#getSelectionNode(int, Set)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・指定した位置の選択節点の値のみが返却されること
+     * ・範囲外の位置を指定した場合は {@link IndexOutOfBoundsException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testGetSelectionNode() {
+
+        final LazyContent content = LazyContent.of(CONTENT.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(Map.of("code", "A001", "name", "りんご"), content.getSelectionNode(0, ATTRIBUTES));
+        assertEquals(Map.of("code", "B001", "name", "b}a]n\"a"), content.getSelectionNode(1, ATTRIBUTES));
+        assertEquals(Map.of("code", "C001"), content.getSelectionNode(2, Set.of("code")));
+        assertThrows(IndexOutOfBoundsException.class, () -> content.getSelectionNode(3, ATTRIBUTES));
+        assertThrows(IndexOutOfBoundsException.class, () -> content.getSelectionNode(-1, ATTRIBUTES));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link LazyContent#load(Set, List)} メソッドの返却値が {@link ContentLoader#load} と一致することを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件なし、条件あり、一致する条件がない場合の全てで返却値が一致すること
+     * ・{@link LazyContent#loadFirst(Set, List)} メソッドが最初の取得対象のレコードを返却すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testLoad() {
+
+        final LazyContent content = LazyContent
+                .of(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)));
+
+        for (List<Map<String, String>> conditions : List.of(List.<Map<String, String>>of(),
+                List.of(Map.of("key", "1")), List.of(Map.of("key", "1"), Map.of("key", "2")),
+                List.of(Map.of("key", "3")))) {
+            assertEquals(
+                    ContentLoader.load(new ByteArrayInputStream(CONTENT.getBytes(StandardCharsets.UTF_8)), ATTRIBUTES,
+                            conditions),
+                    content.load(ATTRIBUTES, conditions));
+        }
+
+        assertEquals(1, content.load(ATTRIBUTES).size());
+        assertEquals(Map.of("code", "A001"), content.loadFirst(Set.of("code"), List.of(Map.of("key", "2"))).get());
+        assertTrue(LazyContent.of("{\"selectionNodes\": []}".getBytes(StandardCharsets.UTF_8)).loadFirst(ATTRIBUTES)
+                .isEmpty());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 複数のスレッドから同時に遅延読み込みのコンテンツを参照した場合の返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・選択節点をキャッシュする場合としない場合の両方で {@link ContentLoader#load} と同じレコードが返却されること
+     * ・選択節点ごとに異なる属性を持つ場合も全てのスレッドで正しい値が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+
+        final StringBuilder builder = new StringBuilder("{\"selectionNodes\": [");
+
+        for (int i = 0; i < 500; i++) {
+            builder.append(i == 0 ? "" : ",").append(String.format(
+                    "{\"node\": {\"conditionId\": \"\", \"code\": \"%d\", \"attribute%d\": \"%d\"}}", i,
+                    i % 50, i));
+        }
+
+        final byte[] bytes = builder.append("], \"conditionNodes\": []}").toString()
+                .getBytes(StandardCharsets.UTF_8);
+        final Set<String> attributes = Set.of("code", "attribute0", "attribute49");
+        final List<Map<String, String>> expected = ContentLoader.load(new ByteArrayInputStream(bytes), attributes);
+
+        for (boolean cacheNodes : new boolean[] { true, false }) {
+            final LazyContent content = LazyContent.of(bytes, cacheNodes);
+            final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+            try {
+                final List<Future<List<Map<String, String>>>> futures = new ArrayList<>();
+
+                for (int thread = 0; thread < 8; thread++) {
+                    final int start = thread;
+                    futures.add(executor.submit(() -> {
+                        for (int i = start; i < 500; i += 8) {
+                            assertEquals(expected.get(i), content.getSelectionNode(i, attributes));
+                        }
+
+                        return content.load(attributes);
+                    }));
+                }
+
+                for (Future<List<Map<String, String>>> future : futures) {
+                    assertEquals(expected, future.get());
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 条件IDが一致しない選択節点が解析されないことを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件IDが一致しない選択節点は不正な値を含んでいても解析されないこと
+     * ・条件IDが一致する場合は選択節点が解析され {@link ContentHandlingException} が発生すること
+     * ・エスケープを含む条件ID、数値の条件ID、{@code null} の条件IDが解析後の条件IDと同様に扱われること
+     * ・同じ条件で繰り返し取得しても同じレコードが返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * {@link ContentLoader#loadLazily(java.io.InputStream)} メソッドで開いたコンテンツを使用する。
+     * </pre>
+     */
+    @Test
+    public void testSkipUnselectedNodes() {
+
+        final String skipped = "{\"selectionNodes\": ["
+                + "{\"node\": {\"conditionId\": \"\\u0031\", \"code\": \"A001\"}},"
+                + "{\"node\": {\"conditionId\": 1, \"code\": \"B001\"}},"
+                + "{\"node\": {\"conditionId\": null, \"code\": \"C001\"}},"
+                + "{\"node\": {\"conditionId\": \"2\", \"code\": tru}}],"
+                + "\"conditionNodes\": ["
+                + "{\"node\": {\"conditionId\": \"1\", \"conditions\": [{\"keyName\": \"key\", \"operand\": \"1\"}]}},"
+                + "{\"node\": {\"conditionId\": \"2\", "
+                + "\"conditions\": [{\"keyName\": \"key\", \"operand\": \"2\"}]}}]}";
+
+        final LazyContent content = ContentLoader
+                .loadLazily(new ByteArrayInputStream(skipped.getBytes(StandardCharsets.UTF_8)));
+        final List<Map<String, String>> conditions = List.of(Map.of("key", "1"));
+        final List<Map<String, String>> expected = List.of(Map.of("code", "A001"), Map.of("code", "B001"),
+                Map.of("code", "C001"));
+
+        assertEquals(List.of(Map.of("code", "C001")), content.load(Set.of("code")));
+        assertEquals(expected, content.load(Set.of("code"), conditions));
+        assertEquals(expected, content.load(Set.of("code"), conditions));
+        assertEquals(Map.of("code", "A001"), content.loadFirst(Set.of("code"), conditions).get());
+        assertThrows(ContentHandlingException.class,
+                () -> content.load(Set.of("code"), List.of(Map.of("key", "2"))));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 構造が不正なコンテンツを開いた際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・途中で終わるコンテンツ、オブジェクトで始まらないコンテンツの場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testMalformedContent() {
+        assertThrows(ContentHandlingException.class,
+                () -> LazyContent.of("{\"selectionNodes\": [{\"node\": {".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(ContentHandlingException.class,
+                () -> LazyContent.of("[\"selectionNodes\"]".getBytes(StandardCharsets.UTF_8)));
+        assertThrows(ContentHandlingException.class,
+                () -> LazyContent.of("{\"selectionNodes\": [\"unterminated".getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@link NdjsonContentFormat} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class NdjsonContentFormatTest {
+
+    /**
+     * テスト用のNDJSONコンテンツ
+     */
+    private static final String NDJSON_CONTENT = "{\"metadata\": {\"primaryKey\": \"code\"}}\n"
+            + "{\"conditionNode\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"fruit\"}]}}\n"
+            + "{\"selectionNode\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"apple\"}}\n"
+            + "{\"selectionNode\": {\"conditionId\": \"1\", \"code\": \"B001\", \"name\": \"banana\"}}\n"
+            + "\n" + "{\"selectionNode\": {\"conditionId\": \"2\", \"code\": \"C001\", \"name\": \"cherry\"}}\n"
+            + "{\"conditionNode\": {\"conditionId\": \"2\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"fruit\"}, {\"keyName\": \"color\", \"operator\": \"=\", \"operand\": \"red\"}]}}\n"
+            + "{\"selectionNode\": {\"conditionId\": \"\", \"code\": \"D001\", \"name\": \"date\"}}";
+
+    /**
+     * テスト用NDJSONコンテンツと同じノードを持つJSONコンテンツ
+     */
+    private static final String JSON_CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"A001\", \"name\": \"apple\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"code\": \"B001\", \"name\": \"banana\"}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"code\": \"C001\", \"name\": \"cherry\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"code\": \"D001\", \"name\": \"date\"}}],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"fruit\"}]}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"exclude\": false, \"conditions\": [{\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"fruit\"}, {\"keyName\": \"color\", \"operator\": \"=\", \"operand\": \"red\"}]}}]}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * NDJSONコンテンツから取得したレコードを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・同じノードを持つJSONコンテンツと同じレコードが同じ順番で返却されること
+     * ・選択ノードの後に追記された条件ノードが使用されること
+     * ・空行が無視されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testParity() {
+
+        final Set<String> attributes = Set.of("code", "name", "conditionId");
+
+        for (List<Map<String, String>> conditions : List.of(List.<Map<String, String>>of(),
+                List.of(Map.of("type", "fruit")), List.of(Map.of("type", "fruit", "color", "red")),
+                List.of(Map.of("type", "fruit", "color", "blue")), List.of(Map.of("type", "meat")))) {
+            assertEquals(ContentLoader.load(toStream(JSON_CONTENT), attributes, conditions),
+                    ContentLoader.load(toStream(NDJSON_CONTENT), ContentFormat.ndjson(), attributes, conditions));
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * NDJSONコンテンツを {@link ContentStore} に読み込めることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・メタデータの行で定義された主キーが使用されること
+     * ・同じノードを持つJSONコンテンツと同じレコードが返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testContentStore() {
+
+        final ContentStore store = ContentStore.load(toStream(NDJSON_CONTENT), ContentFormat.ndjson(),
+                IndexDefinition.none());
+        final ContentStore expected = ContentStore.load(toStream(JSON_CONTENT));
+        final List<Map<String, String>> conditions = List.of(Map.of("type", "fruit", "color", "red"));
+
+        assertEquals(expected.select(Set.of("code", "name"), conditions),
+                store.select(Set.of("code", "name"), conditions));
+        assertEquals("cherry", store.get(Set.of("name"), conditions, "C001").get().get("name"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * NDJSONコンテンツファイルを {@link ContentLoader#scan(Path, Set, List)} メソッドで走査した際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・同じノードを持つJSONコンテンツと同じレコードが同じ順番で返却されること
+     * ・選択ノードの後に追記された条件ノードが使用されること
+     * ・圧縮されたコンテンツファイルも走査できること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * コンテンツファイルは条件ノードを読み込む走査と選択ノードを読み込む走査の2回読み込まれる。
+     * </pre>
+     */
+    @Test
+    public void testScan(@TempDir Path directory) throws IOException {
+
+        final Path contentFile = directory.resolve("content.ndjson");
+        Files.writeString(contentFile, NDJSON_CONTENT);
+
+        final Path compressedFile = directory.resolve("content.ndjson.gz");
+
+        try (OutputStream output = new GZIPOutputStream(Files.newOutputStream(compressedFile))) {
+            output.write(NDJSON_CONTENT.getBytes(StandardCharsets.UTF_8));
+        }
+
+        final Set<String> attributes = Set.of("code", "name");
+
+        for (List<Map<String, String>> conditions : List.of(List.<Map<String, String>>of(),
+                List.of(Map.of("type", "fruit")), List.of(Map.of("type", "fruit", "color", "red")))) {
+            final List<Map<String, String>> expected = ContentLoader.load(toStream(JSON_CONTENT), attributes,
+                    conditions);
+
+            assertEquals(expected, ContentLoader.scan(contentFile, attributes, conditions));
+            assertEquals(expected, ContentLoader.scan(compressedFile, attributes, conditions));
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * メタデータの行で宣言したデータ型を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・メタデータの {@code dataTypes} オブジェクトで宣言したデータ型が {@link ContentStore} で使用されること
+     * ・ストリームから逐次読み込んだ場合もデータ型がシンクに渡されること
+     * ・宣言していない属性のデータ型は文字列であること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testDataTypes() throws IOException {
+
+        final String content = "{\"metadata\": {\"primaryKey\": \"code\", \"dataTypes\": {\"price\": \"long\"}}}\n"
+                + "{\"selectionNode\": {\"conditionId\": \"\", \"code\": \"A001\", \"price\": \"100\"}}\n"
+                + "{\"selectionNode\": {\"conditionId\": \"\", \"code\": \"B001\", \"price\": \"200\"}}\n";
+
+        final ContentStore store = ContentStore.load(toStream(content), ContentFormat.ndjson(),
+                IndexDefinition.none());
+
+        assertEquals(DataType.LONG, store.getDataType("price"));
+        assertEquals(DataType.STRING, store.getDataType("code"));
+        assertEquals(200L, store.getRecord("B001").get().getLong("price"));
+
+        final NodeSink sink = new NodeSink(ContentSchema.inferred(), conditionNode -> {
+        }, selectionNode -> {
+        });
+        ContentFormat.ndjson().read(toStream(content), sink);
+
+        assertEquals(Map.of("price", "long"), sink.getDataTypes());
+        assertEquals("code", sink.getMetadata().get("primaryKey"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 複数のチャンクに分割されるNDJSONコンテンツを読み込めることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・全てのレコードがコンテンツに定義された順番で返却されること
+     * ・コンテンツの末尾に追記された条件ノードが全てのチャンクの選択ノードに適用されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * チャンクの最小サイズを超えるようにコンテンツを生成する。
+     * </pre>
+     */
+    @Test
+    public void testChunks() {
+
+        final int size = 40000;
+        final StringBuilder content = new StringBuilder();
+        final List<Map<String, String>> expected = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            content.append(String.format(
+                    "{\"selectionNode\": {\"conditionId\": \"%s\", \"code\": \"C%05d\", \"name\": \"name of %05d\"}}\n",
+                    i % 2 == 0 ? "" : "1", i, i));
+            expected.add(Map.of("code", String.format("C%05d", i)));
+        }
+
+        content.append(
+                "{\"conditionNode\": {\"conditionId\": \"1\", \"conditions\": [{\"keyName\": \"type\", \"operand\": \"odd\"}]}}\n");
+
+        assertEquals(expected, ContentLoader.load(toStream(content.toString()), ContentFormat.ndjson(),
+                Set.of("code"), List.of(Map.of("type", "odd"))));
+        assertEquals(size / 2, ContentLoader
+                .load(toStream(content.toString()), ContentFormat.ndjson(), Set.of("code"), List.of()).size());
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * コンテンツをチャンクに分割する境界を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・チャンクの最小サイズに満たないコンテンツは分割されないこと
+     * ・全ての境界が行の先頭に位置すること
+     * ・最後の境界がコンテンツの末尾であること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testSplit() {
+
+        final byte[] small = NDJSON_CONTENT.getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(new int[] { 0, small.length }, NdjsonContentFormat.split(small, 8));
+
+        final byte[] large = "{}\n".repeat(1 << 20).getBytes(StandardCharsets.UTF_8);
+        final int[] bounds = NdjsonContentFormat.split(large, 3);
+
+        assertEquals(4, bounds.length);
+        assertEquals(0, bounds[0]);
+        assertEquals(large.length, bounds[bounds.length - 1]);
+
+        for (int i = 1; i < bounds.length - 1; i++) {
+            assertEquals('\n', large[bounds[i] - 1]);
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 不正なNDJSONコンテンツを読み込んだ際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・JSONとして不正な行がある場合は {@link ContentHandlingException} が発生すること
+     * ・ノードを持たない行がある場合は {@link ContentHandlingException} が発生すること
+     * ・複数のノードを持つ行がある場合は {@link ContentHandlingException} が発生すること
+     * ・ノードがオブジェクトでない行がある場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testMalformed() {
+
+        for (String content : List.of("{\"selectionNode\": {\"code\": \"A001\"}\n", "{}\n", "[]\n",
+                "{\"selectionNode\": {}, \"conditionNode\": {}}\n", "{\"selectionNode\": \"A001\"}\n")) {
+            assertThrows(ContentHandlingException.class,
+                    () -> ContentLoader.load(toStream(content), ContentFormat.ndjson(), Set.of("code"), List.of()),
+                    content);
+        }
+    }
+
+    private static InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link PreparedQuery} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class PreparedQueryTest {
+
+    /**
+     * 複数の条件キーを持つテスト用コンテンツ
+     */
+    private static final String CONTENT = "{\"selectionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"result\": \"a\"}},"
+            + "{\"node\": {\"conditionId\": \"\", \"result\": \"b\"}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"result\": \"c\"}},"
+            + "{\"node\": {\"conditionId\": \"1\", \"result\": \"d\"}},"
+            + "{\"node\": {\"conditionId\": \"3\", \"result\": \"e\"}}],"
+            + "\"conditionNodes\": ["
+            + "{\"node\": {\"conditionId\": \"1\", \"exclude\": false, \"conditions\": [{\"keyName\": \"lang\", \"operator\": \"=\", \"operand\": \"ja\"}, {\"keyName\": \"type\", \"operator\": \"=\", \"operand\": \"x\"}]}},"
+            + "{\"node\": {\"conditionId\": \"2\", \"exclude\": false, \"conditions\": [{\"keyName\": \"lang\", \"operator\": \"=\", \"operand\": \"en\"}]}},"
+            + "{\"node\": {\"conditionId\": \"3\", \"exclude\": false, \"conditions\": [{\"keyName\": \"lang\", \"operator\": \"=\", \"operand\": \"ja\"}, {\"keyName\": \"lang\", \"operator\": \"=\", \"operand\": \"en\"}]}}]}";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link PreparedQuery#execute(String...)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・様々な被演算子の組み合わせで {@link ContentStore#select(Set, List)} と同じレコードが同じ順番で返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testExecute() {
+
+        final ContentStore store = ContentStore.load(toStream(CONTENT));
+        final PreparedQuery query = store.prepare(Set.of("result"), List.of("lang", "type"));
+
+        for (String lang : List.of("ja", "en", "fr")) {
+            for (String type : List.of("x", "y")) {
+                assertEquals(store.select(Set.of("result"), List.of(Map.of("lang", lang), Map.of("type", type))),
+                        query.execute(lang, type));
+            }
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 条件キーを持たない {@link PreparedQuery} の返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件なしのレコードのみが返却されること
+     * ・存在しない属性の値が {@code null} であること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testWithoutConditions() {
+
+        final List<Map<String, String>> contents = ContentStore.load(toStream(CONTENT))
+                .prepare(Set.of("result", "unknown"), List.of()).execute();
+
+        assertEquals(1, contents.size());
+        assertEquals("b", contents.get(0).get("result"));
+        assertTrue(contents.get(0).containsKey("unknown"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 被演算子の数が条件キーの数と異なる場合の {@link PreparedQuery#execute(String...)} メソッドの動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link IllegalArgumentException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testInvalidOperands() {
+
+        final PreparedQuery query = ContentStore.load(toStream(CONTENT)).prepare(Set.of("result"),
+                List.of("lang"));
+
+        assertThrows(IllegalArgumentException.class, () -> query.execute("ja", "x"));
+    }
+
+    private InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
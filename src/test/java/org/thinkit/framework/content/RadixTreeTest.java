@@ -0,0 +1,132 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link RadixTree} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class RadixTreeTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link RadixTree#findByPrefix(String)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・接頭辞に一致する行が昇順で返却されること
+     * ・辺の途中で終わる接頭辞、辺の途中で一致しなくなる接頭辞が正しく扱われること
+     * ・空の接頭辞の場合は {@code null} 以外の全ての行が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testFindByPrefix() {
+
+        final RadixTree radixTree = RadixTree
+                .of(new String[] { "1000001", "1000002", "100", "1010001", null, "2000001", "1000001", "" });
+
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 6 }, radixTree.findByPrefix("10"));
+        assertArrayEquals(new int[] { 0, 1, 2, 6 }, radixTree.findByPrefix("100"));
+        assertArrayEquals(new int[] { 0, 6 }, radixTree.findByPrefix("1000001"));
+        assertArrayEquals(new int[] { 3 }, radixTree.findByPrefix("101"));
+        assertArrayEquals(new int[0], radixTree.findByPrefix("1001"));
+        assertArrayEquals(new int[0], radixTree.findByPrefix("10000011"));
+        assertArrayEquals(new int[0], radixTree.findByPrefix("3"));
+        assertArrayEquals(new int[] { 0, 1, 2, 3, 5, 6, 7 }, radixTree.findByPrefix(""));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * ランダムな値に対する {@link RadixTree#findByPrefix(String)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・全ての値を走査した場合と同じ行が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testRandomValues() {
+
+        final Random random = new Random(0);
+        final String[] column = new String[2000];
+
+        for (int row = 0; row < column.length; row++) {
+            column[row] = Integer.toString(random.nextInt(5000), 4);
+        }
+
+        final RadixTree radixTree = RadixTree.of(column);
+
+        for (int i = 0; i < 300; i++) {
+            final String prefix = Integer.toString(random.nextInt(500), 4);
+            final int[] expected = IntStream.range(0, column.length).filter(row -> column[row].startsWith(prefix))
+                    .toArray();
+
+            assertArrayEquals(expected, radixTree.findByPrefix(prefix));
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 凍結前後の {@link RadixTree} の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・凍結前に検索した場合は {@link IllegalStateException} が発生すること
+     * ・凍結後に値を追加した場合は {@link IllegalStateException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testFreeze() {
+
+        final RadixTree radixTree = new RadixTree().add("abc", 0);
+
+        assertThrows(IllegalStateException.class, () -> radixTree.findByPrefix("a"));
+        assertEquals(1, radixTree.freeze().findByPrefix("a").length);
+        assertThrows(IllegalStateException.class, () -> radixTree.add("abd", 1));
+    }
+}
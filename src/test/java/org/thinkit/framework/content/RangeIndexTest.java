@@ -0,0 +1,153 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link RangeIndex} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class RangeIndexTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 整数値の列に対する {@link RangeIndex#findRows(NumericRange)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・範囲の境界の包含、除外が正しく扱われること
+     * ・数値でない値、{@code null} は範囲に一致しないこと
+     * ・行が昇順で返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testIntegralColumn() {
+
+        final RangeIndex rangeIndex = RangeIndex
+                .of(new String[] { "30", "10", null, "20", "abc", "10", "", "-5", "9223372036854775807" });
+
+        assertArrayEquals(new int[] { 0, 1, 3, 5 }, rangeIndex.findRows(NumericRange.between(10, 30)));
+        assertArrayEquals(new int[] { 0, 3, 8 }, rangeIndex.findRows(NumericRange.greaterThan(10L)));
+        assertArrayEquals(new int[] { 1, 5, 7 }, rangeIndex.findRows(NumericRange.lessThan(20)));
+        assertArrayEquals(new int[] { 1, 3, 5, 7 }, rangeIndex.findRows(NumericRange.atMost(20)));
+        assertArrayEquals(new int[] { 8 }, rangeIndex.findRows(NumericRange.greaterThan(9223372036854775806L)));
+        assertArrayEquals(new int[] { 0, 3, 8 }, rangeIndex.findRows(NumericRange.atLeast(10.5)));
+        assertArrayEquals(new int[0], rangeIndex.findRows(NumericRange.between(31, 29)));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 数値として扱われる値の書式を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・符号、小数部、指数部を持つ10進数が数値として扱われること
+     * ・{@code long} の範囲を超える整数は浮動小数点数として扱われること
+     * ・10進数の書式に従わない値は数値として扱われないこと
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testNumberFormat() {
+
+        assertEquals(3L, RangeIndex.parseNumber("+3"));
+        assertEquals(-9223372036854775808L, RangeIndex.parseNumber("-9223372036854775808"));
+        assertEquals(9223372036854775808.0, RangeIndex.parseNumber("9223372036854775808"));
+        assertEquals(150.0, RangeIndex.parseNumber("1.5e2"));
+        assertEquals(0.5, RangeIndex.parseNumber(".5"));
+        assertEquals(1.0, RangeIndex.parseNumber("1."));
+        assertEquals(-0.02, RangeIndex.parseNumber("-2E-2"));
+
+        for (String value : new String[] { "", "-", ".", "1e", "1e+", "12a", "a1", " 1", "1 ", "NaN", "Infinity",
+                "0x10", "1d", "1.2.3", "--1" }) {
+            assertNull(RangeIndex.parseNumber(value), value);
+            assertFalse(RangeIndex.isInRange(value, NumericRange.atLeast(Long.MIN_VALUE)), value);
+        }
+
+        assertTrue(RangeIndex.isInRange("1.5e2", NumericRange.between(100, 200)));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * ランダムな値に対する {@link RangeIndex#findRows(NumericRange)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link RangeIndex#isInRange(String, NumericRange)} で全ての値を走査した場合と同じ行が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testRandomValues() {
+
+        final Random random = new Random(0);
+        final String[] column = new String[3000];
+
+        for (int row = 0; row < column.length; row++) {
+            column[row] = row % 7 == 0 ? String.valueOf(random.nextInt(100) / 4.0)
+                    : String.valueOf(random.nextInt(100) - 50);
+        }
+
+        final RangeIndex rangeIndex = RangeIndex.of(column);
+
+        for (int i = 0; i < 200; i++) {
+            final double lower = random.nextInt(120) - 60;
+            final double upper = lower + random.nextInt(40) / 2.0;
+
+            for (NumericRange range : List.of(NumericRange.between(lower, upper), NumericRange.greaterThan(lower),
+                    NumericRange.lessThan(upper))) {
+                final int[] expected = IntStream.range(0, column.length)
+                        .filter(row -> RangeIndex.isInRange(column[row], range)).toArray();
+
+                assertArrayEquals(expected, rangeIndex.findRows(range));
+            }
+        }
+
+        assertEquals(column.length, rangeIndex.findRows(NumericRange.atLeast(Double.NEGATIVE_INFINITY)).length);
+    }
+}
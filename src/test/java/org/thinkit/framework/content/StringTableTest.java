@@ -0,0 +1,93 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link StringTable} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class StringTableTest {
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * {@link StringTable#get(int)} 、{@link StringTable#idOf(String)} メソッドの返却値を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・マルチバイト文字、空文字列を含む文字列が復元されること
+     * ・文字列から ID が取得できること
+     * ・存在しない文字列の場合は {@code -1} が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testGetAndIdOf() {
+
+        final List<String> values = new ArrayList<>(List.of("", "apple", "りんご", "Aa", "BB"));
+
+        for (int i = 0; i < 1000; i++) {
+            values.add("value" + i);
+        }
+
+        final StringTable stringTable = StringTable.of(values);
+
+        assertEquals(values.size(), stringTable.size());
+
+        for (int id = 0; id < values.size(); id++) {
+            assertEquals(values.get(id), stringTable.get(id));
+            assertEquals(id, stringTable.idOf(values.get(id)));
+        }
+
+        assertEquals(-1, stringTable.idOf("banana"));
+        assertEquals(-1, stringTable.idOf("りん"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 空の {@link StringTable} の動作を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・{@link StringTable#idOf(String)} が {@code -1} を返却すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testEmpty() {
+        assertEquals(-1, StringTable.of(List.of()).idOf("apple"));
+    }
+}
@@ -0,0 +1,336 @@
+/*
+ * Copyright 2020 Kato Shinya.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License
+ * is distributed on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express
+ * or implied. See the License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package org.thinkit.framework.content;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.thinkit.framework.content.annotation.ContentMapping;
+
+/**
+ * {@link XmlContentReader} クラスのテストクラスです。
+ *
+ * @author Kato Shinya
+ * @since 1.0
+ * @version 1.0
+ */
+public final class XmlContentReaderTest {
+
+    /**
+     * テスト用のXMLコンテンツ
+     */
+    private static final String CONTENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?><Content><Nodes>"
+            + "<Node conditionId=\"\" code=\"A001\" name=\"apple\" />"
+            + "<Node conditionId=\"1\" code=\"B001\" name=\"banana\" price=\"100\" />"
+            + "</Nodes><Conditions>"
+            + "<Condition conditionId=\"1\" keyName=\"key\" operand=\"=\" value=\"1\" />"
+            + "</Conditions></Content>";
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * XMLコンテンツからノードを順番に読み込めることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・選択ノードの属性が推論されたスキーマのスロットに格納されること
+     * ・条件要素が1件の条件を持つ条件ノードとして読み込まれること
+     * ・全てのノードを読み込んだ後は {@code null} が返却されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testNext() {
+
+        try (XmlContentReader reader = XmlContentReader.of(toStream(CONTENT))) {
+            assertEquals(ContentReader.NodeType.SELECTION_NODE, reader.next());
+            assertEquals("", reader.getSelectionNode().getConditionId());
+            assertEquals("apple", reader.getSelectionNode().get("name"));
+            assertNull(reader.getConditionNode());
+
+            assertEquals(ContentReader.NodeType.SELECTION_NODE, reader.next());
+            assertEquals("1", reader.getSelectionNode().getConditionId());
+            assertEquals("100", reader.getSelectionNode().get("price"));
+
+            assertEquals(ContentReader.NodeType.CONDITION_NODE, reader.next());
+            final ConditionNode conditionNode = reader.getConditionNode();
+            assertEquals("1", conditionNode.getConditionId());
+            assertArrayEquals(new String[] { "key" }, conditionNode.getKeyNames());
+            assertArrayEquals(new String[] { "1" }, conditionNode.getOperands());
+            assertNull(reader.getSelectionNode());
+
+            assertNull(reader.next());
+            assertEquals(4, reader.getSchema().size());
+        }
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * XMLコンテンツを {@link ContentStore} に読み込めることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・条件に一致する条件付きのレコードが返却されること
+     * ・条件を指定しない場合は条件のないレコードのみが返却されること
+     * ・索引が構築されること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testLoadXml() {
+
+        final ContentStore store = ContentStore.loadXml(toStream(CONTENT),
+                IndexDefinition.builder().indexes(Set.of("code")).build());
+        final Set<String> attributes = Set.of("code", "price");
+
+        final Map<String, String> banana = new HashMap<>();
+        banana.put("code", "B001");
+        banana.put("price", "100");
+        final Map<String, String> apple = new HashMap<>();
+        apple.put("code", "A001");
+        apple.put("price", null);
+
+        assertEquals(List.of(apple, banana), store.select(attributes, List.of(Map.of("key", "1"))));
+        assertEquals(List.of(apple), store.select(attributes, List.of(Map.of("key", "2"))));
+        assertEquals(List.of(banana), store.find(attributes, List.of(Map.of("key", "1")), "code", "B001"));
+        assertTrue(store.isIndexed("code"));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * 不正なXMLコンテンツを読み込んだ際の挙動を確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・形式が誤っている場合は {@link ContentHandlingException} が発生すること
+     * ・キー名のない条件要素が含まれる場合は {@link ContentHandlingException} が発生すること
+     * ・DTD が含まれる場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testMalformed() {
+
+        assertThrows(ContentHandlingException.class,
+                () -> ContentStore.loadXml(toStream("<Content><Node code=\"A001\"></Content>"), IndexDefinition.none()));
+        assertThrows(ContentHandlingException.class, () -> ContentStore.loadXml(
+                toStream("<Content><Conditions><Condition conditionId=\"1\" value=\"1\" /></Conditions></Content>"),
+                IndexDefinition.none()));
+        assertThrows(ContentHandlingException.class,
+                () -> ContentStore.loadXml(toStream("<?xml version=\"1.0\"?><!DOCTYPE Content [<!ENTITY e \"x\">]>"
+                        + "<Content><Node code=\"&e;\" /></Content>"), IndexDefinition.none()));
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * コンテンツのストリームが閉じられることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・リーダーの作成に失敗した場合もストリームが閉じられること
+     * ・リーダーを閉じた場合はストリームが閉じられること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testClose() {
+
+        final CloseTrackingStream failingStream = new CloseTrackingStream("", true);
+
+        assertThrows(ContentHandlingException.class, () -> XmlContentReader.of(failingStream));
+        assertTrue(failingStream.closed);
+
+        final CloseTrackingStream contentStream = new CloseTrackingStream("<Content></Content>", false);
+        XmlContentReader.of(contentStream).close();
+        assertTrue(contentStream.closed);
+    }
+
+    /**
+     * <pre>
+     * ❏ 概要
+     * XMLコンテンツファイルにマッピングされたコンテンツを読み込めることを確認する。
+     * </pre>
+     *
+     * <pre>
+     * ❏ 観点
+     * ・JSONと同じリソースの解決方法でXMLコンテンツファイルが解決されること
+     * ・{@link Content#loadContent(Content)} で条件に一致するレコードが返却されること
+     * ・{@link Content#loadUniqueContent(Content)} で複数のレコードが一致する場合は {@link ContentHandlingException} が発生すること
+     * </pre>
+     *
+     * <pre>
+     * ❏ 留意点
+     * なし
+     * </pre>
+     */
+    @Test
+    public void testXmlContent() {
+
+        final ContentDescriptor descriptor = ContentDescriptor.of(XmlContent.class);
+
+        assertTrue(descriptor.isXml());
+        assertEquals("content/testXmlContent.xml", descriptor.getResourcePath());
+
+        final XmlContent content = new XmlContent(List.of(Map.of(TestCondition.KEY, "b")));
+        final List<Map<String, String>> contents = content.loadContent(content);
+
+        assertEquals(2, contents.size());
+        assertEquals("0", contents.get(0).get("test1"));
+        assertEquals("4", contents.get(1).get("test3"));
+        assertEquals("0", content.loadFirstContent(content).get().get("test1"));
+        assertThrows(ContentHandlingException.class, () -> content.loadUniqueContent(content));
+    }
+
+    /**
+     * テスト用のアトリビュートです。
+     */
+    private enum TestAttribute implements Attribute {
+        TEST1, TEST3;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    /**
+     * テスト用の条件です。
+     */
+    private enum TestCondition implements Condition {
+        KEY;
+
+        @Override
+        public String getString() {
+            return this.name().toLowerCase();
+        }
+    }
+
+    /**
+     * XMLコンテンツファイルにマッピングされたテスト用のコンテンツです。
+     */
+    @ContentMapping(content = "testXmlContent")
+    private static final class XmlContent implements Content<ContentEntityForTest> {
+
+        /**
+         * 取得条件
+         */
+        private final List<Map<Condition, String>> conditions;
+
+        private XmlContent(final List<Map<Condition, String>> conditions) {
+            this.conditions = conditions;
+        }
+
+        @Override
+        public Set<Attribute> getAttributes() {
+            return Set.of(TestAttribute.TEST1, TestAttribute.TEST3);
+        }
+
+        @Override
+        public List<Map<Condition, String>> getConditions() {
+            return this.conditions;
+        }
+
+        @Override
+        public ContentEntityForTest execute() {
+            return new ContentEntityForTest();
+        }
+    }
+
+    /**
+     * 閉じられたかどうかを記録するテスト用のストリームです。
+     */
+    private static final class CloseTrackingStream extends FilterInputStream {
+
+        /**
+         * 読み込み時に {@link IOException} を発生させる場合は {@code true}
+         */
+        private final boolean failing;
+
+        /**
+         * 閉じられた場合は {@code true}
+         */
+        private boolean closed;
+
+        private CloseTrackingStream(final String content, final boolean failing) {
+            super(toStream(content));
+            this.failing = failing;
+        }
+
+        @Override
+        public int read() throws IOException {
+            this.failIfFailing();
+            return super.read();
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            this.failIfFailing();
+            return super.read(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            this.closed = true;
+            super.close();
+        }
+
+        private void failIfFailing() throws IOException {
+            if (this.failing) {
+                throw new IOException("read failure");
+            }
+        }
+    }
+
+    private static InputStream toStream(final String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}